@@ -4,17 +4,13 @@ import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Base API Client for making HTTP requests
  * Provides common functionality for all API endpoint classes
+ * All requests go through the shared keep-alive HttpTransport
  */
 public class BaseAPIClient {
 
@@ -121,57 +117,7 @@ public class BaseAPIClient {
      */
     protected APIResponse executeRequestToFullURL(String fullUrl, String method, String body) throws Exception {
         logger.info("Executing {} request to full URL: {}", method, fullUrl);
-
-        URL url = new URL(fullUrl);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod(method);
-
-        // Set default headers
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestProperty("Accept", "application/json");
-
-        // Add auth token if present
-        if (authToken != null && !authToken.isEmpty()) {
-            connection.setRequestProperty("Authorization", "Bearer " + authToken);
-        }
-
-        // Add custom headers if present
-        if (defaultHeaders != null) {
-            for (Map.Entry<String, String> header : defaultHeaders.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
-        }
-
-        // Send request body if present
-        if (body != null && (method.equals("POST") || method.equals("PUT"))) {
-            connection.setDoOutput(true);
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = body.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-        }
-
-        // Read response
-        int responseCode = connection.getResponseCode();
-        logger.info("Response Code: {}", responseCode);
-
-        BufferedReader in;
-        if (responseCode >= 200 && responseCode < 300) {
-            in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        } else {
-            in = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-        }
-
-        String inputLine;
-        StringBuilder response = new StringBuilder();
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-        }
-        in.close();
-
-        logger.info("Response: {}", response.toString());
-
-        return new APIResponse(response.toString(), responseCode, fullUrl);
+        return HttpTransport.send(fullUrl, method, body, buildHeaders());
     }
 
     /**
@@ -184,57 +130,28 @@ public class BaseAPIClient {
     protected APIResponse executeRequestWithResponse(String endpoint, String method, String body) throws Exception {
         String fullUrl = baseUrl + endpoint;
         logger.info("Executing {} request to: {}", method, fullUrl);
+        return HttpTransport.send(fullUrl, method, body, buildHeaders());
+    }
 
-        URL url = new URL(fullUrl);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod(method);
-
-        // Set default headers
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestProperty("Accept", "application/json");
+    /**
+     * Build request headers: JSON content type, bearer token if set, then the default headers
+     * @return Header map
+     */
+    protected Map<String, String> buildHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Accept", "application/json");
 
         // Add auth token if present
         if (authToken != null && !authToken.isEmpty()) {
-            connection.setRequestProperty("Authorization", "Bearer " + authToken);
+            headers.put("Authorization", "Bearer " + authToken);
         }
 
         // Add custom headers if present
         if (defaultHeaders != null) {
-            for (Map.Entry<String, String> header : defaultHeaders.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
-        }
-
-        // Send request body if present
-        if (body != null && (method.equals("POST") || method.equals("PUT"))) {
-            connection.setDoOutput(true);
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = body.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-        }
-
-        // Read response
-        int responseCode = connection.getResponseCode();
-        logger.info("Response Code: {}", responseCode);
-
-        BufferedReader in;
-        if (responseCode >= 200 && responseCode < 300) {
-            in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        } else {
-            in = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
+            headers.putAll(defaultHeaders);
         }
-
-        String inputLine;
-        StringBuilder response = new StringBuilder();
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-        }
-        in.close();
-
-        logger.info("Response: {}", response.toString());
-
-        return new APIResponse(response.toString(), responseCode, fullUrl);
+        return headers;
     }
 
     /**
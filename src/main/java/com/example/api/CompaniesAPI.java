@@ -1,12 +1,9 @@
 package com.example.api;
 
 import io.qameta.allure.Step;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * API Client for Companies operations
@@ -19,6 +16,8 @@ public class CompaniesAPI extends BaseAPIClient {
 
     /**
      * Send request to URL with JSON body and return response
+     * Only the JSON Content-Type and Accept headers are sent, as before the shared transport;
+     * the client's auth token and default headers are not added for this endpoint.
      * @param urlEndpoint Complete URL endpoint (e.g., "https://api.example.com/v1/data")
      * @param jsonRequest JSON request body as String
      * @return APIResponse object containing status code and JSON response body
@@ -29,55 +28,23 @@ public class CompaniesAPI extends BaseAPIClient {
         logger.info("URL: {}", urlEndpoint);
         logger.info("JSON Request: {}", jsonRequest);
 
-        // Create URL object
-        URL url = new URL(urlEndpoint);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-
-        // Set request method to POST
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestProperty("Accept", "application/json");
-        connection.setDoOutput(true);
-
-        // Send JSON request body
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = jsonRequest.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
-
-        // Get response code
-        int statusCode = connection.getResponseCode();
-        logger.info("Response Status Code: {}", statusCode);
-
-        // Read response
-        BufferedReader in;
-        if (statusCode >= 200 && statusCode < 300) {
-            in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        } else {
-            in = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-        }
-
-        StringBuilder response = new StringBuilder();
-        String inputLine;
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-        }
-        in.close();
-
-        String responseBody = response.toString();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Accept", "application/json");
+        APIResponse apiResponse = HttpTransport.send(urlEndpoint, "POST", jsonRequest, headers);
+        int statusCode = apiResponse.getStatusCode();
+        String responseBody = apiResponse.getResponseBody();
 
         // Log and print response
         logger.info("=== API Response ===");
         logger.info("Status Code: {}", statusCode);
-        logger.info("Response Body: {}", responseBody);
+        logger.debug("Response Body: {}", responseBody);
 
         System.out.println("\n=== API Response ===");
         System.out.println("Status Code: " + statusCode);
         System.out.println("JSON Response: " + responseBody);
         System.out.println("====================\n");
 
-        // Create and return APIResponse object
-        APIResponse apiResponse = new APIResponse(responseBody, statusCode, urlEndpoint);
         return apiResponse;
     }
 }
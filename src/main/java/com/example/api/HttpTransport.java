@@ -0,0 +1,143 @@
+package com.example.api;
+
+import com.example.utils.APIConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared HTTP transport for all API clients
+ * One java.net.http.HttpClient is reused by every BaseAPIClient, so connections are kept alive and
+ * TCP/TLS setup is paid once per host instead of once per request. HTTP/2 is negotiated over https
+ * where the server supports it (api.http2=false forces HTTP/1.1); plain http always uses HTTP/1.1 keep-alive.
+ *
+ * Timeouts: api.connectTimeout (defaults to api.timeout) for connecting, api.timeout for the response.
+ * Bodies are sent and read as bytes and decoded with the response charset (UTF-8 by default), so
+ * newlines and multi-byte characters are preserved.
+ */
+public final class HttpTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpTransport.class);
+
+    // Headers the JDK client manages itself and refuses to accept from callers
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "host", "expect", "upgrade");
+
+    private static volatile HttpClient client;
+
+    private HttpTransport() {
+    }
+
+    /**
+     * Get the shared client, creating it on first use
+     */
+    public static HttpClient getClient() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (HttpTransport.class) {
+                current = client;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                            .version(APIConfigManager.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofMillis(APIConfigManager.getConnectTimeout()))
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .build();
+                    client = current;
+                    logger.info("HTTP transport created (version={}, connectTimeout={} ms)",
+                            current.version(), APIConfigManager.getConnectTimeout());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Send a request and read the whole response
+     * @param url Complete URL
+     * @param method HTTP method
+     * @param body Request body, sent for POST and PUT only (can be null)
+     * @param headers Request headers
+     * @return APIResponse with status code and decoded response body
+     * @throws Exception if the request cannot be sent or times out
+     */
+    public static APIResponse send(String url, String method, String body, Map<String, String> headers) throws Exception {
+        byte[] payload = body != null && ("POST".equals(method) || "PUT".equals(method))
+                ? body.getBytes(StandardCharsets.UTF_8) : null;
+
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response = getClient().send(buildRequest(url, method, payload, headers),
+                HttpResponse.BodyHandlers.ofByteArray());
+        String responseBody = new String(response.body(), charsetOf(response));
+
+        logger.info("{} {} -> {} ({} bytes, {}, {} ms)", method, url, response.statusCode(), response.body().length,
+                response.version(), (System.nanoTime() - started) / 1_000_000);
+        logger.debug("Response: {}", responseBody);
+
+        return new APIResponse(responseBody, response.statusCode(), url);
+    }
+
+    /**
+     * Send a request without blocking the calling thread; nothing is logged per request
+     * @param request Request built with buildRequest
+     * @return Future completing with the response status and discarded body
+     */
+    public static CompletableFuture<HttpResponse<Void>> sendAsync(HttpRequest request) {
+        return getClient().sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Build a request with the transport's timeouts and protocol rules
+     * @param url Complete URL
+     * @param method HTTP method
+     * @param payload Request body bytes (can be null)
+     * @param headers Request headers
+     * @return Immutable request, safe to send many times
+     */
+    public static HttpRequest buildRequest(String url, String method, byte[] payload, Map<String, String> headers) {
+        HttpRequest.BodyPublisher publisher = payload != null
+                ? HttpRequest.BodyPublishers.ofByteArray(payload)
+                : HttpRequest.BodyPublishers.noBody();
+
+        URI uri = URI.create(url);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(APIConfigManager.getTimeout()))
+                .method(method, publisher);
+        if (!"https".equalsIgnoreCase(uri.getScheme())) {
+            // HTTP/2 is negotiated through TLS ALPN; a cleartext h2c upgrade attempt would stop the connection being pooled
+            request.version(HttpClient.Version.HTTP_1_1);
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                logger.debug("Skipping header managed by the HTTP client: {}", header.getKey());
+                continue;
+            }
+            request.setHeader(header.getKey(), header.getValue());
+        }
+        return request.build();
+    }
+
+    private static Charset charsetOf(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        for (String part : contentType.split(";")) {
+            String trimmed = part.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                try {
+                    return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Unknown response charset '{}', using UTF-8", trimmed);
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
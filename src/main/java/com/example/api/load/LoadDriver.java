@@ -0,0 +1,243 @@
+package com.example.api.load;
+
+import com.example.api.HttpTransport;
+import com.example.utils.APIConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a weighted mix of DTO requests against the jetrade/process endpoint (or a LocalStubServer)
+ * Requests go through the shared HttpTransport client with sendAsync, so in-flight requests do not
+ * hold a thread each: a handful of threads is enough for hundreds of concurrent requests.
+ *
+ * The type of each request is drawn from the profile seed and the request's sequence number, not from
+ * a generator shared by the completion threads, so the n-th request of a run always has the same type
+ * and a run capped by maxRequests sends the same mix every time.
+ *
+ * Not thread-safe: run one profile at a time per driver.
+ */
+public class LoadDriver implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final ExecutorService completions;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private LoadProfile profile;
+    private HttpRequest[] requests;
+    private LoadStats[] stats;
+    private int[] cumulativeWeights;
+    private long measureFrom;
+    private long deadline;
+    private final AtomicLong lastCompletion = new AtomicLong();
+
+    public LoadDriver() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.completions = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "api-load-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a profile to completion
+     * @param profile What to send and how hard
+     * @return Report with per request type latencies, throughput and error ratio
+     */
+    public LoadReport run(LoadProfile profile) {
+        prepare(profile);
+        logger.info("Starting load run: {}", profile);
+
+        long started = System.nanoTime();
+        measureFrom = started + profile.getWarmup().toNanos();
+        deadline = measureFrom + profile.getDuration().toNanos();
+        lastCompletion.set(measureFrom);
+
+        if (profile.isOpenLoop()) {
+            runOpenLoop();
+        } else {
+            runClosedLoop();
+        }
+
+        long unfinished = awaitInFlight();
+        Map<String, LoadStats> byType = new LinkedHashMap<>();
+        for (LoadStats s : stats) {
+            byType.put(s.getName(), s);
+        }
+        LoadReport report = new LoadReport(profile, byType, Math.max(0, lastCompletion.get() - measureFrom), unfinished);
+        logger.info(report.getSummary());
+        return report;
+    }
+
+    private void prepare(LoadProfile profile) {
+        this.profile = profile;
+        List<LoadRequest> mix = profile.getMix();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Accept", "application/json");
+
+        requests = new HttpRequest[mix.size()];
+        stats = new LoadStats[mix.size()];
+        cumulativeWeights = new int[mix.size()];
+        Map<String, LoadStats> byName = new LinkedHashMap<>();
+        int total = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            LoadRequest request = mix.get(i);
+            requests[i] = HttpTransport.buildRequest(profile.getUrl(), "POST", request.body(), headers);
+            // Types added twice under one name share their stats
+            stats[i] = byName.computeIfAbsent(request.getName(), LoadStats::new);
+            total += request.getWeight();
+            cumulativeWeights[i] = total;
+        }
+        sent.set(0);
+        inFlight.set(0);
+    }
+
+    /**
+     * Closed loop: keep exactly N requests outstanding until the run ends
+     */
+    private void runClosedLoop() {
+        int concurrency = profile.getConcurrency();
+        CountDownLatch chainsDone = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            next(chainsDone);
+        }
+        awaitLatch(chainsDone);
+    }
+
+    private void next(CountDownLatch chainsDone) {
+        long sequence = reserve();
+        if (sequence < 0) {
+            chainsDone.countDown();
+            return;
+        }
+        send(sequence, System.nanoTime(), () -> next(chainsDone));
+    }
+
+    /**
+     * Open loop: start a request every 1/rate seconds from a single pacing thread
+     * Latency counts from the scheduled start, so time spent waiting for an in-flight slot is included.
+     */
+    private void runOpenLoop() {
+        long period = Math.max(1, (long) (1_000_000_000.0 / profile.getRatePerSecond()));
+        Semaphore slots = new Semaphore(profile.getMaxInFlight());
+        long intended = System.nanoTime();
+        long sequence;
+        while (intended < deadline && (sequence = reserve()) >= 0) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                inFlight.decrementAndGet();
+                break;
+            }
+            send(sequence, intended, slots::release);
+            intended += period;
+        }
+    }
+
+    /**
+     * Claim the next request if the run is not over
+     * @return Sequence number of the request, starting at 1, or -1 if the run is over
+     */
+    private long reserve() {
+        if (System.nanoTime() >= deadline) {
+            return -1;
+        }
+        long sequence = sent.incrementAndGet();
+        long max = profile.getMaxRequests();
+        if (max > 0 && sequence > max) {
+            return -1;
+        }
+        inFlight.incrementAndGet();
+        return sequence;
+    }
+
+    private void send(long sequence, long startNanos, Runnable then) {
+        int type = pick(sequence);
+        HttpTransport.sendAsync(requests[type]).whenCompleteAsync((response, error) -> {
+            long now = System.nanoTime();
+            if (startNanos >= measureFrom) {
+                stats[type].record(now - startNanos, error != null || !isSuccess(response));
+                lastCompletion.accumulateAndGet(now, Math::max);
+            }
+            if (error != null) {
+                logger.debug("{} failed: {}", stats[type].getName(), error.toString());
+            }
+            inFlight.decrementAndGet();
+            then.run();
+        }, completions);
+    }
+
+    /**
+     * Draw the type of a request from the seed and its sequence number only, whatever thread asks
+     */
+    private int pick(long sequence) {
+        int roll = new SplittableRandom(profile.getSeed() + sequence * 0x9E3779B97F4A7C15L)
+                .nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    /**
+     * Wait for outstanding requests, at most one request timeout
+     * @return Requests still outstanding after waiting
+     */
+    private long awaitInFlight() {
+        long giveUp = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(APIConfigManager.getTimeout());
+        while (inFlight.get() > 0 && System.nanoTime() < giveUp) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        long left = inFlight.get();
+        if (left > 0) {
+            logger.warn("{} requests still in flight at the end of the load run", left);
+        }
+        return left;
+    }
+
+    private void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(profile.getWarmup().toMillis() + profile.getDuration().toMillis() + APIConfigManager.getTimeout(),
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the completion threads; the driver cannot be used afterwards
+     */
+    @Override
+    public void close() {
+        completions.shutdownNow();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.api.load;
+
+import com.example.utils.APIConfigManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes one load run: target URL, request mix and how hard to drive it
+ *
+ * Two modes:
+ * - concurrency N (closed loop): N requests are always in flight, each completion starts the next one
+ * - rate R (open loop): requests are started every 1/R seconds whatever the response times are,
+ *   with at most maxInFlight outstanding; latency is measured from the scheduled start, so a slow
+ *   server is not hidden by the driver waiting for it (coordinated omission)
+ *
+ * The run stops after the duration or after maxRequests requests, whichever comes first.
+ * Defaults come from api.load.* (system property first, then api-config.properties).
+ */
+public final class LoadProfile {
+
+    private final String url;
+    private final List<LoadRequest> mix;
+    private final int concurrency;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Duration duration;
+    private final Duration warmup;
+    private final long maxRequests;
+    private final long seed;
+
+    private LoadProfile(Builder builder) {
+        this.url = builder.url;
+        this.mix = Collections.unmodifiableList(new ArrayList<>(builder.mix));
+        this.concurrency = builder.concurrency;
+        this.ratePerSecond = builder.ratePerSecond;
+        this.maxInFlight = builder.maxInFlight;
+        this.duration = builder.duration;
+        this.warmup = builder.warmup;
+        this.maxRequests = builder.maxRequests;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public List<LoadRequest> getMix() {
+        return mix;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    /**
+     * Check if requests are paced at a fixed rate rather than by completions
+     */
+    public boolean isOpenLoop() {
+        return ratePerSecond > 0;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public long getMaxRequests() {
+        return maxRequests;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return (isOpenLoop() ? "rate " + ratePerSecond + "/s (max in flight " + maxInFlight + ")" : "concurrency " + concurrency)
+                + ", duration " + duration.toMillis() + " ms"
+                + (maxRequests > 0 ? ", max " + maxRequests + " requests" : "")
+                + ", mix " + mix + " -> " + url;
+    }
+
+    static String setting(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value != null && !value.isEmpty() ? value : APIConfigManager.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Builder for LoadProfile
+     */
+    public static class Builder {
+        private String url = setting("api.load.url", APIConfigManager.getEndpointURL());
+        private final List<LoadRequest> mix = new ArrayList<>();
+        private int concurrency = Integer.parseInt(setting("api.load.concurrency", "10"));
+        private double ratePerSecond = Double.parseDouble(setting("api.load.rate", "0"));
+        private int maxInFlight = Integer.parseInt(setting("api.load.maxInFlight", "200"));
+        private Duration duration = Duration.ofSeconds(Long.parseLong(setting("api.load.durationSeconds", "30")));
+        private Duration warmup = Duration.ofSeconds(Long.parseLong(setting("api.load.warmupSeconds", "0")));
+        private long maxRequests = Long.parseLong(setting("api.load.maxRequests", "0"));
+        private long seed = 42L;
+
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder add(LoadRequest request) {
+            this.mix.add(request);
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            this.concurrency = concurrency;
+            this.ratePerSecond = 0;
+            return this;
+        }
+
+        public Builder rate(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Requests sent during the warm-up are not recorded
+         */
+        public Builder warmup(Duration warmup) {
+            this.warmup = warmup;
+            return this;
+        }
+
+        public Builder maxRequests(long maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Seed for picking request types, the same seed replays the same sequence
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (mix.isEmpty()) {
+                throw new IllegalStateException("Load profile needs at least one request type");
+            }
+            if (url == null || url.isEmpty()) {
+                throw new IllegalStateException("Load profile needs a target URL");
+            }
+            if (ratePerSecond <= 0 && concurrency < 1) {
+                throw new IllegalStateException("Concurrency must be at least 1 when no rate is set");
+            }
+            if (maxInFlight < 1) {
+                throw new IllegalStateException("maxInFlight must be at least 1");
+            }
+            return new LoadProfile(this);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.api.load;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of one load run: per request type and overall latency, throughput and error ratio
+ * Throughput is counted over the measured part of the run only (warm-up excluded).
+ */
+public final class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<String, LoadStats> byType;
+    private final LoadStats overall;
+    private final long measuredNanos;
+    private final long unfinished;
+
+    LoadReport(LoadProfile profile, Map<String, LoadStats> byType, long measuredNanos, long unfinished) {
+        this.profile = profile;
+        this.byType = Collections.unmodifiableMap(new LinkedHashMap<>(byType));
+        this.overall = LoadStats.merge("ALL", byType.values());
+        this.measuredNanos = measuredNanos;
+        this.unfinished = unfinished;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the stats of one request type, null if the type is not in the mix
+     */
+    public LoadStats getStats(String requestType) {
+        return byType.get(requestType);
+    }
+
+    public Map<String, LoadStats> getStatsByType() {
+        return byType;
+    }
+
+    public LoadStats getOverall() {
+        return overall;
+    }
+
+    public long getMeasuredMillis() {
+        return measuredNanos / 1_000_000;
+    }
+
+    /**
+     * Get requests still outstanding when the run gave up waiting for them
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Get completed requests per second over the measured part of the run
+     */
+    public double getThroughput() {
+        return measuredNanos <= 0 ? 0.0 : overall.getCount() * 1_000_000_000.0 / measuredNanos;
+    }
+
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Load run: ").append(profile).append('\n');
+        summary.append(String.format("Throughput: %.1f req/s over %d ms, error ratio %.2f%%%s%n", getThroughput(),
+                getMeasuredMillis(), overall.getErrorRatio() * 100,
+                unfinished > 0 ? ", " + unfinished + " unfinished" : ""));
+        for (LoadStats stats : byType.values()) {
+            summary.append("  ").append(stats).append('\n');
+        }
+        summary.append("  ").append(overall);
+        return summary.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.api.load;
+
+import com.example.api.dto.BankBalRequestDTO;
+import com.example.api.dto.CustomerAssetsRequestDTO;
+import com.example.api.dto.LoginRequestDTO;
+import com.example.api.dto.MarginContactAllowanceRequestDTO;
+import com.example.api.dto.MngAlertRequestDTO;
+import com.example.api.dto.PreferredCompaniesRequestDTO;
+import com.example.utils.APIConfigManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+
+/**
+ * One request type in a load mix
+ * The DTO is serialized once when the request is created, so the load loop only sends pre-built bytes.
+ * The weight sets how often the type is picked relative to the other types in the mix.
+ */
+public final class LoadRequest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String name;
+    private final byte[] body;
+    private final int weight;
+
+    private LoadRequest(String name, byte[] body, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1 for " + name);
+        }
+        this.name = name;
+        this.body = body;
+        this.weight = weight;
+    }
+
+    /**
+     * Create a request type from any DTO
+     * @param name Request type name used in the report
+     * @param dto Request DTO, serialized with Jackson
+     * @param weight Relative weight in the mix
+     */
+    public static LoadRequest of(String name, Object dto, int weight) {
+        try {
+            return new LoadRequest(name, objectMapper.writeValueAsBytes(dto), weight);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + name + " request: " + e.getMessage(), e);
+        }
+    }
+
+    public static LoadRequest login(String userName, String password, int weight) {
+        return of("LOGIN", new LoginRequestDTO.Builder()
+                .userName(userName)
+                .password(password)
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public static LoadRequest customerAssets(String nin, int weight) {
+        return of("CUSTOMER_ASSETS", new CustomerAssetsRequestDTO.Builder()
+                .nin(nin)
+                .sessionId(APIConfigManager.getSessionID())
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public static LoadRequest bankBal(String nin, String accRegisterType, int weight) {
+        return of("BANK_BAL", new BankBalRequestDTO.Builder()
+                .nin(nin)
+                .accRegisterType(accRegisterType)
+                .sessionId(APIConfigManager.getSessionID())
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public static LoadRequest mngAlert(String nin, int weight) {
+        return of("MNG_ALERT", new MngAlertRequestDTO.Builder()
+                .reqAlertNin(nin)
+                .sessionID(APIConfigManager.getSessionID())
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public static LoadRequest preferredCompanies(String nin, int weight) {
+        return of("PREFERRED_COMPANIES", new PreferredCompaniesRequestDTO.Builder()
+                .nin(nin)
+                .sessionId(APIConfigManager.getSessionID())
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public static LoadRequest marginContactAllowance(String nin, int weight) {
+        return of("MARGIN_CONTACT_ALLOWANCE", new MarginContactAllowanceRequestDTO.Builder()
+                .nin(nin)
+                .sessionId(APIConfigManager.getSessionID())
+                .lstLogin(APIConfigManager.getCurrentDate())
+                .build(), weight);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getBody() {
+        return Arrays.copyOf(body, body.length);
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (weight " + weight + ", " + body.length + " bytes)";
+    }
+}
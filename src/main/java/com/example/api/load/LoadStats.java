@@ -0,0 +1,97 @@
+package com.example.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count of one request type
+ * Latencies are recorded in microseconds with 3 significant digits; every completed request is
+ * recorded, failed ones included. A request is an error when it throws or returns a non-2xx status.
+ */
+public final class LoadStats {
+
+    private final String name;
+    private final Histogram histogram;
+    private final LongAdder errors = new LongAdder();
+
+    LoadStats(String name) {
+        this.name = name;
+        this.histogram = new ConcurrentHistogram(3);
+    }
+
+    private LoadStats(String name, Histogram histogram, long errors) {
+        this.name = name;
+        this.histogram = histogram;
+        this.errors.add(errors);
+    }
+
+    void record(long latencyNanos, boolean error) {
+        histogram.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Combine several request types into one (used for the overall line of the report)
+     */
+    static LoadStats merge(String name, Iterable<LoadStats> parts) {
+        Histogram merged = new Histogram(3);
+        long errors = 0;
+        for (LoadStats part : parts) {
+            merged.add(part.histogram);
+            errors += part.getErrors();
+        }
+        return new LoadStats(name, merged, errors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getErrorRatio() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) getErrors() / count;
+    }
+
+    /**
+     * Get a latency percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds, 0 if nothing was recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public double getMaxMillis() {
+        return histogram.getMaxValue() / 1_000.0;
+    }
+
+    public double getMeanMillis() {
+        return histogram.getMean() / 1_000.0;
+    }
+
+    /**
+     * Get a copy of the underlying histogram (values in microseconds), e.g. to export it
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-26s count=%d errors=%d (%.2f%%) p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                name, getCount(), getErrors(), getErrorRatio() * 100, getPercentileMillis(50),
+                getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+    }
+}
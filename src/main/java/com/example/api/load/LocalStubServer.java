@@ -0,0 +1,113 @@
+package com.example.api.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the jetrade/process endpoint, used to exercise LoadDriver without the real server
+ * Every POST to /jetrade/process gets the same canned JSON body after an optional fixed delay;
+ * every Nth request can be answered with HTTP 500 to check error accounting.
+ */
+public class LocalStubServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStubServer.class);
+    public static final String PATH = "/jetrade/process";
+
+    static {
+        // Headers and body go out as separate writes; without TCP_NODELAY each response waits for a delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] responseBody;
+    private final long delayMillis;
+    private final int failEvery;
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * Start a stub that answers immediately with an empty success body
+     */
+    public LocalStubServer() throws IOException {
+        this("{\"status\":\"SUCCESS\"}", 0, 0, 32);
+    }
+
+    /**
+     * Start a stub on a free local port
+     * @param responseBody JSON returned for every request
+     * @param delayMillis Delay before answering, simulates server processing time
+     * @param failEvery Answer every Nth request with HTTP 500 (0 = never)
+     * @param threads Handler threads, the most requests the stub processes at once
+     * @throws IOException if the port cannot be opened
+     */
+    public LocalStubServer(String responseBody, long delayMillis, int failEvery, int threads) throws IOException {
+        this.responseBody = responseBody.getBytes(StandardCharsets.UTF_8);
+        this.delayMillis = delayMillis;
+        this.failEvery = failEvery;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Local stub server listening on {}", getUrl());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long number = received.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int status = failEvery > 0 && number % failEvery == 0 ? 500 : 200;
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, responseBody.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(responseBody);
+        }
+    }
+
+    /**
+     * Get the full endpoint URL to use as the load profile URL
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+    }
+
+    /**
+     * Get the number of requests received so far
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -58,11 +58,11 @@ public class GetGrpSessionTimetableData {
         }
     }
 
-    public boolean fetchGrpSessionTimetableByCondition(String whereClause) {
+    public boolean fetchGrpSessionTimetableByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching group session timetable data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_GRP_SESSION_TIMETABLE WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allGrpSessionTimetableData = results;
@@ -1,6 +1,8 @@
 package com.example.dataBase.agm;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -119,13 +121,14 @@ public class GetAGMData {
         try {
             logger.info("Fetching AGM data for Next Work Day: " + nextWorkDay);
 
+            SqlWhere where = SqlWhere.create()
+                    .within("AGM.NEXT_WORK_DAY", DateWindow.day(nextWorkDay));
             String query = "SELECT AGM.COMPANY_CODE, AGM.AGM_DATE, AGM.CASH_DISTRIBUTION, " +
                           "AGM.SHARE_DISTRIBUTION, AGM.NEXT_WORK_DAY, AGM.ADJUSTMENT_FACTOR, AGM.APPROVED " +
-                          "FROM Fund_Agm_Dates AGM " +
-                          "WHERE TRUNC(AGM.NEXT_WORK_DAY) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "ORDER BY AGM.TIME_STAMP DESC";
+                          "FROM Fund_Agm_Dates AGM" + where.toSql() +
+                          " ORDER BY AGM.TIME_STAMP DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nextWorkDay);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allAGMData = results;
@@ -140,7 +143,7 @@ public class GetAGMData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching AGM data: " + e.getMessage(), e);
             return false;
         }
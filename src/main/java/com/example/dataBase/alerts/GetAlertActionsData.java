@@ -1,6 +1,7 @@
 package com.example.dataBase.alerts;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetAlertActionsData {
 
     private static final Logger logger = Logger.getLogger(GetAlertActionsData.class);
+    private static final String TABLE = "ALERT_ACTIONS";
     private OracleDBConnection dbConnection;
 
     // Alert actions data fields
@@ -35,7 +37,7 @@ public class GetAlertActionsData {
         try {
             logger.info("Fetching all alert actions data");
             String query = "SELECT * FROM ALERT_ACTIONS";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allAlertActionsData = results;
@@ -54,7 +56,7 @@ public class GetAlertActionsData {
         try {
             logger.info("Fetching alert action by ID: " + actionId);
             String query = "SELECT * FROM ALERT_ACTIONS WHERE ACTION_ID = ?";
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, actionId);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, actionId);
 
             if (!results.isEmpty()) {
                 allAlertActionsData = results;
@@ -1,6 +1,7 @@
 package com.example.dataBase.alerts;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetAlertCriteriaData {
 
     private static final Logger logger = Logger.getLogger(GetAlertCriteriaData.class);
+    private static final String TABLE = "ALERT_CRITERIA";
     private OracleDBConnection dbConnection;
 
     // Alert criteria data fields
@@ -37,7 +39,7 @@ public class GetAlertCriteriaData {
         try {
             logger.info("Fetching all alert criteria data");
             String query = "SELECT * FROM ALERT_CRITERIA";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allAlertCriteriaData = results;
@@ -56,7 +58,7 @@ public class GetAlertCriteriaData {
         try {
             logger.info("Fetching alert criteria by ID: " + criteriaId);
             String query = "SELECT * FROM ALERT_CRITERIA WHERE CRITERIA_ID = ?";
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, criteriaId);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, criteriaId);
 
             if (!results.isEmpty()) {
                 allAlertCriteriaData = results;
@@ -75,7 +77,7 @@ public class GetAlertCriteriaData {
         try {
             logger.info("Fetching alert criteria by type: " + criteriaType);
             String query = "SELECT * FROM ALERT_CRITERIA WHERE CRITERIA_TYPE = ?";
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, criteriaType);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, criteriaType);
 
             if (!results.isEmpty()) {
                 allAlertCriteriaData = results;
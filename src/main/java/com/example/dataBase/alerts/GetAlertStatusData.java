@@ -1,6 +1,7 @@
 package com.example.dataBase.alerts;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetAlertStatusData {
 
     private static final Logger logger = Logger.getLogger(GetAlertStatusData.class);
+    private static final String TABLE = "ALERT_STATUS";
     private OracleDBConnection dbConnection;
 
     // Alert status data fields
@@ -36,7 +38,7 @@ public class GetAlertStatusData {
         try {
             logger.info("Fetching all alert status data");
             String query = "SELECT * FROM ALERT_STATUS";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allAlertStatusData = results;
@@ -54,8 +56,8 @@ public class GetAlertStatusData {
     public boolean fetchAlertStatusById(String statusId) {
         try {
             logger.info("Fetching alert status by ID: " + statusId);
-            String query = "SELECT * FROM ALERT_STATUS WHERE STATUS_ID = '" + statusId + "'";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM ALERT_STATUS WHERE STATUS_ID = ?";
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, statusId);
 
             if (!results.isEmpty()) {
                 allAlertStatusData = results;
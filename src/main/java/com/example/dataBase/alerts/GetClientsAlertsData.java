@@ -1,6 +1,8 @@
 package com.example.dataBase.alerts;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -145,13 +147,14 @@ public class GetClientsAlertsData {
         try {
             logger.info("Fetching active alerts for Company: " + companyCode + " and Date: " + date);
 
-            String query = "SELECT * FROM CLIENTSALERTS " +
-                          "WHERE SYMBOLID = ? " +
-                          "AND TRUNC(CREATION_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "AND STATUSID = 1 " +
-                          "ORDER BY CREATION_DATE DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("SYMBOLID", companyCode)
+                    .within("CREATION_DATE", DateWindow.day(date))
+                    .raw("STATUSID = 1");
+            String query = "SELECT * FROM CLIENTSALERTS" + where.toSql() +
+                          " ORDER BY CREATION_DATE DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, companyCode, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allClientsAlertsData = results;
@@ -162,7 +165,7 @@ public class GetClientsAlertsData {
                 logger.warn("No active alerts found for Company: " + companyCode + " and Date: " + date);
                 return false;
             }
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching active alerts: " + e.getMessage(), e);
             return false;
         }
@@ -180,13 +183,14 @@ public class GetClientsAlertsData {
             logger.info("Fetching alerts for Company: " + companyCode +
                        ", Date: " + date + ", StatusID: " + statusId);
 
-            String query = "SELECT * FROM CLIENTSALERTS " +
-                          "WHERE SYMBOLID = ? " +
-                          "AND TRUNC(CREATION_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "AND STATUSID = ? " +
-                          "ORDER BY CREATION_DATE DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("SYMBOLID", companyCode)
+                    .within("CREATION_DATE", DateWindow.day(date))
+                    .eq("STATUSID", statusId);
+            String query = "SELECT * FROM CLIENTSALERTS" + where.toSql() +
+                          " ORDER BY CREATION_DATE DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, companyCode, date, statusId);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allClientsAlertsData = results;
@@ -197,7 +201,7 @@ public class GetClientsAlertsData {
                 logger.warn("No alerts found for the specified parameters");
                 return false;
             }
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching alerts: " + e.getMessage(), e);
             return false;
         }
@@ -1,6 +1,8 @@
 package com.example.dataBase.clients;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -45,11 +47,13 @@ public class GetCashData {
         try {
             logger.info("Fetching client daily balance for NIN: " + nin + " and Date: " + date);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE NIN = ? AND TRUNC(balance_date) = TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY balance_date";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("balance_date", DateWindow.day(date));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY balance_date";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allBalanceData = results;
@@ -64,7 +68,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
@@ -115,13 +119,13 @@ public class GetCashData {
             logger.info("Fetching client daily balance for NIN: " + nin +
                        " between " + startDate + " and " + endDate);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(balance_date) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY balance_date";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("balance_date", DateWindow.between(startDate, endDate));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY balance_date";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allBalanceData = results;
@@ -137,7 +141,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
@@ -186,11 +190,12 @@ public class GetCashData {
         try {
             logger.info("Fetching client daily balance for all clients on Date: " + date);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE TRUNC(balance_date) = TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY NIN";
+            SqlWhere where = SqlWhere.create()
+                    .within("balance_date", DateWindow.day(date));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY NIN";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allBalanceData = results;
@@ -205,7 +210,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
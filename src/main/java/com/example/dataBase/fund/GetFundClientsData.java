@@ -83,7 +83,7 @@ public class GetFundClientsData {
 
             String query = "SELECT * FROM fund_clients";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allFundClientsData = results;
@@ -1,6 +1,11 @@
 package com.example.dataBase.fund;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
+import com.example.verification.mirror.TableDiffEngine;
+import com.example.verification.mirror.TableDiffReport;
+import com.example.verification.mirror.TableDiffSpec;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -85,7 +90,7 @@ public class GetFundClientsMirrorData {
 
             String query = "SELECT * FROM fund_clients_mirror";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allFundClientsMirrorData = results;
@@ -178,10 +183,11 @@ public class GetFundClientsMirrorData {
         try {
             logger.info("Fetching fund clients mirror data for date: " + mirrorDate);
 
-            String query = "SELECT * FROM fund_clients_mirror " +
-                          "WHERE TRUNC(MIRROR_DATE) = TO_DATE(?, 'YYYY-MM-DD')";
+            SqlWhere where = SqlWhere.create()
+                    .within("MIRROR_DATE", DateWindow.day(mirrorDate));
+            String query = "SELECT * FROM fund_clients_mirror" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, mirrorDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allFundClientsMirrorData = results;
@@ -195,12 +201,29 @@ public class GetFundClientsMirrorData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching fund clients mirror data by date: " + e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Diff fund_clients_mirror against fund_clients, row by row on (CL_ID, FUND_CODE)
+     * Reads each table once into hash buckets spilled to disk, so the tables are never loaded whole (see TableDiffEngine).
+     * MIRROR_DATE and SYNC_STATUS exist only in the mirror and are reported as not compared.
+     * @return Diff report with missing, extra and changed rows, or null if the tables cannot be read
+     */
+    public TableDiffReport compareWithFundClients() {
+        try {
+            logger.info("Diffing fund clients mirror against fund clients");
+            TableDiffSpec spec = TableDiffSpec.of("FUND_CLIENTS", "FUND_CLIENTS_MIRROR", "CL_ID", "FUND_CODE");
+            return new TableDiffEngine(dbConnection).diff(spec);
+        } catch (SQLException | IllegalArgumentException e) {
+            logger.error("Error diffing fund clients mirror: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
     /**
      * Parse fund client mirror data from database row
      * @param row Database row containing fund client mirror data
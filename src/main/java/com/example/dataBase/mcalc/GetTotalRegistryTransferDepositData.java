@@ -1,6 +1,8 @@
 package com.example.dataBase.mcalc;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -37,15 +39,16 @@ public class GetTotalRegistryTransferDepositData {
         try {
             logger.info("Fetching stock transfer data for NIN: " + nin + ", Symbol: " + symbol + ", Status: " + operationStatus + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER " +
-                          "WHERE OPERATION_STATUS = ? " +
-                          "AND NIN = ? " +
-                          "AND SYMBOL = ? " +
-                          "AND volume > 0 " +
-                          "AND TRUNC(EXECUTION_TIME) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY EXECUTION_TIME DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("OPERATION_STATUS", operationStatus)
+                    .eq("NIN", nin)
+                    .eq("SYMBOL", symbol)
+                    .raw("volume > 0")
+                    .within("EXECUTION_TIME", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER" + where.toSql() +
+                          " ORDER BY EXECUTION_TIME DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, operationStatus, nin, symbol, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Stock transfer data fetched successfully. Found " + results.size() + " record(s)");
@@ -55,7 +58,7 @@ public class GetTotalRegistryTransferDepositData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching stock transfer data: " + e.getMessage(), e);
             return false;
         }
@@ -105,15 +108,16 @@ public class GetTotalRegistryTransferDepositData {
         try {
             logger.info("Fetching successful stock transfers for NIN: " + nin + ", Symbol: " + symbol + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER " +
-                          "WHERE OPERATION_STATUS = 'Success' " +
-                          "AND NIN = ? " +
-                          "AND SYMBOL = ? " +
-                          "AND volume > 0 " +
-                          "AND TRUNC(EXECUTION_TIME) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY EXECUTION_TIME DESC";
+            SqlWhere where = SqlWhere.create()
+                    .raw("OPERATION_STATUS = 'Success'")
+                    .eq("NIN", nin)
+                    .eq("SYMBOL", symbol)
+                    .raw("volume > 0")
+                    .within("EXECUTION_TIME", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER" + where.toSql() +
+                          " ORDER BY EXECUTION_TIME DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, symbol, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Successful stock transfers fetched. Found " + results.size() + " record(s)");
@@ -123,7 +127,7 @@ public class GetTotalRegistryTransferDepositData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching successful stock transfers: " + e.getMessage(), e);
             return false;
         }
@@ -232,13 +236,14 @@ public class GetTotalRegistryTransferDepositData {
         try {
             logger.info("Fetching stock transfer data for NIN: " + nin + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER " +
-                          "WHERE NIN = ? " +
-                          "AND volume > 0 " +
-                          "AND TRUNC(EXECUTION_TIME) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY EXECUTION_TIME DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .raw("volume > 0")
+                    .within("EXECUTION_TIME", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM SEC_EQ_STOCKTRANFER" + where.toSql() +
+                          " ORDER BY EXECUTION_TIME DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Stock transfer data fetched successfully. Found " + results.size() + " record(s)");
@@ -248,7 +253,7 @@ public class GetTotalRegistryTransferDepositData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching stock transfer data: " + e.getMessage(), e);
             return false;
         }
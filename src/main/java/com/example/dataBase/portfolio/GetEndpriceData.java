@@ -1,9 +1,13 @@
 package com.example.dataBase.portfolio;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
+import com.example.verification.market.ClosePriceIndex;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -149,11 +153,12 @@ public class GetEndpriceData {
         try {
             logger.info("Fetching end price data for exact date: " + tradeDate);
 
-            String query = "SELECT COMPANY_CODE, TRADE_DATE, CLOSE FROM MDF_TIME_SERIES " +
-                          "WHERE TRUNC(TRADE_DATE) = TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY COMPANY_CODE";
+            SqlWhere where = SqlWhere.create()
+                    .within("TRADE_DATE", DateWindow.day(tradeDate));
+            String query = "SELECT COMPANY_CODE, TRADE_DATE, CLOSE FROM MDF_TIME_SERIES" + where.toSql() +
+                          " ORDER BY COMPANY_CODE";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, tradeDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("End price data fetched successfully. Found " + results.size() + " record(s)");
@@ -163,7 +168,7 @@ public class GetEndpriceData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching end price data: " + e.getMessage(), e);
             return false;
         }
@@ -197,4 +202,29 @@ public class GetEndpriceData {
             return false;
         }
     }
+
+    /**
+     * Get last close on or before a date from the in-memory price index (no query after the first load)
+     * @param companyCode Company code to query
+     * @param tradeDate Trade date in format 'DD-Mon-YYYY' (e.g., '25-Nov-2025')
+     * @return Close price, or null if no close found
+     */
+    public Double getEndpriceOnOrBefore(String companyCode, String tradeDate) {
+        try {
+            double close = ClosePriceIndex.getShared(dbConnection)
+                    .closeOnOrBefore(companyCode, ClosePriceIndex.parseTradeDate(tradeDate));
+            if (Double.isNaN(close)) {
+                logger.warn("No end price found for company: " + companyCode + " up to date: " + tradeDate);
+                return null;
+            }
+            return close;
+
+        } catch (SQLException e) {
+            logger.error("Error loading price index: " + e.getMessage(), e);
+            return null;
+        } catch (DateTimeParseException e) {
+            logger.error("Invalid trade date: " + tradeDate);
+            return null;
+        }
+    }
 }
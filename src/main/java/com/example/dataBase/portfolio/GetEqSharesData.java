@@ -1,6 +1,8 @@
 package com.example.dataBase.portfolio;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -95,11 +97,13 @@ public class GetEqSharesData {
         try {
             logger.info("Fetching equity shares data for NIN: " + nin + " and Date: " + date);
 
-            String query = "SELECT * FROM SEC_EQ_SHARES " +
-                          "WHERE NIN = ? AND TRUNC(TIME_STAMP) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("TIME_STAMP", DateWindow.day(date))
+                    .raw("SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0");
+            String query = "SELECT * FROM SEC_EQ_SHARES" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Equity shares data fetched successfully. Found " + results.size() + " record(s)");
@@ -109,7 +113,7 @@ public class GetEqSharesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching equity shares data: " + e.getMessage(), e);
             return false;
         }
@@ -126,11 +130,14 @@ public class GetEqSharesData {
         try {
             logger.info("Fetching equity shares data for NIN: " + nin + ", Company: " + companyCode + ", and Date: " + date);
 
-            String query = "SELECT * FROM SEC_EQ_SHARES " +
-                          "WHERE NIN = ? AND COMPANY_CODE = ? AND TRUNC(TIME_STAMP) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .eq("COMPANY_CODE", companyCode)
+                    .within("TIME_STAMP", DateWindow.day(date))
+                    .raw("SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0");
+            String query = "SELECT * FROM SEC_EQ_SHARES" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, companyCode, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Equity shares data fetched successfully. Found " + results.size() + " record(s)");
@@ -140,7 +147,7 @@ public class GetEqSharesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching equity shares data: " + e.getMessage(), e);
             return false;
         }
@@ -1,15 +1,21 @@
 package com.example.dataBase.portfolio;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
+import com.example.verification.holdings.HoldingsRebuildEngine;
+import com.example.verification.holdings.HoldingsRebuildReport;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Class to retrieve Daily Portfolio data from SEC_EQU_DAILY_PORTFOLIO table
- * Contains only 5 fetch methods
+ * Contains 5 fetch methods and the holdings rebuild check
  */
 public class GetEquDailyPortfolioData {
 
@@ -95,11 +101,13 @@ public class GetEquDailyPortfolioData {
         try {
             logger.info("Fetching daily portfolio data for NIN: " + nin + " and Date: " + date);
 
-            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO " +
-                          "WHERE NIN = ? AND TRUNC(PORTFOLIO_DATE) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("PORTFOLIO_DATE", DateWindow.day(date))
+                    .raw("SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0");
+            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Daily portfolio data fetched successfully. Found " + results.size() + " record(s)");
@@ -109,7 +117,7 @@ public class GetEquDailyPortfolioData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching daily portfolio data: " + e.getMessage(), e);
             return false;
         }
@@ -126,11 +134,14 @@ public class GetEquDailyPortfolioData {
         try {
             logger.info("Fetching daily portfolio data for NIN: " + nin + ", Company: " + companyCode + ", and Date: " + date);
 
-            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO " +
-                          "WHERE NIN = ? AND COMPANY_CODE = ? AND TRUNC(PORTFOLIO_DATE) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .eq("COMPANY_CODE", companyCode)
+                    .within("PORTFOLIO_DATE", DateWindow.day(date))
+                    .raw("SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0");
+            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, companyCode, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Daily portfolio data fetched successfully. Found " + results.size() + " record(s)");
@@ -140,7 +151,7 @@ public class GetEquDailyPortfolioData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching daily portfolio data: " + e.getMessage(), e);
             return false;
         }
@@ -155,11 +166,12 @@ public class GetEquDailyPortfolioData {
         try {
             logger.info("Fetching daily portfolio data for Portfolio Date: " + portfolioDate);
 
-            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO " +
-                          "WHERE TRUNC(PORTFOLIO_DATE) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .within("PORTFOLIO_DATE", DateWindow.day(portfolioDate))
+                    .raw("SHARES_COUNT IS NOT NULL AND SHARES_COUNT != 0");
+            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, portfolioDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Daily portfolio data fetched successfully. Found " + results.size() + " record(s)");
@@ -169,9 +181,48 @@ public class GetEquDailyPortfolioData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching daily portfolio data: " + e.getMessage(), e);
             return false;
         }
     }
+
+    /**
+     * Rebuild every client's holdings from trades, virtual trades and stock/registry transfers, and diff them
+     * against SEC_EQU_DAILY_PORTFOLIO (and SEC_EQ_SHARES when the window reaches today)
+     * @param startDate Start date (format: YYYY-MM-DD)
+     * @param endDate End date (format: YYYY-MM-DD)
+     * @return Report with the differing share counts, or null if the tables cannot be read
+     */
+    public HoldingsRebuildReport rebuildHoldings(String startDate, String endDate) {
+        try {
+            LocalDate start = DateWindow.parseDate(startDate);
+            LocalDate end = DateWindow.parseDate(endDate);
+            logger.info("Rebuilding holdings of all clients between " + start + " and " + end);
+            return new HoldingsRebuildEngine(dbConnection).rebuildAll(start, end);
+        } catch (SQLException | IllegalArgumentException e) {
+            logger.error("Error rebuilding holdings: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Rebuild one client's holdings and diff them against SEC_EQU_DAILY_PORTFOLIO (and SEC_EQ_SHARES when the
+     * window reaches today)
+     * @param nin NIN to check
+     * @param startDate Start date (format: YYYY-MM-DD)
+     * @param endDate End date (format: YYYY-MM-DD)
+     * @return Report with the differing share counts, or null if the tables cannot be read
+     */
+    public HoldingsRebuildReport rebuildHoldingsByNin(String nin, String startDate, String endDate) {
+        try {
+            LocalDate start = DateWindow.parseDate(startDate);
+            LocalDate end = DateWindow.parseDate(endDate);
+            logger.info("Rebuilding holdings for NIN: " + nin + " between " + start + " and " + end);
+            return new HoldingsRebuildEngine(dbConnection).rebuild(Collections.singletonList(nin), start, end);
+        } catch (SQLException | IllegalArgumentException e) {
+            logger.error("Error rebuilding holdings: " + e.getMessage(), e);
+            return null;
+        }
+    }
 }
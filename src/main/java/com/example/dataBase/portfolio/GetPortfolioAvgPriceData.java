@@ -1,6 +1,8 @@
 package com.example.dataBase.portfolio;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -97,12 +99,13 @@ public class GetPortfolioAvgPriceData {
         try {
             logger.info("Fetching portfolio average price data for NIN: " + nin + " and Trade Date: " + tradeDate);
 
-            String query = "SELECT * FROM SEC_PORTFOLIO_AVG_PRICE " +
-                          "WHERE NIN = ? AND TRUNC(TRADE_DATE) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND AVG_PRICE IS NOT NULL AND AVG_PRICE != 0 " +
-                          "AND AMOUNT IS NOT NULL AND AMOUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("TRADE_DATE", DateWindow.day(tradeDate))
+                    .raw("AVG_PRICE IS NOT NULL AND AVG_PRICE != 0 AND AMOUNT IS NOT NULL AND AMOUNT != 0");
+            String query = "SELECT * FROM SEC_PORTFOLIO_AVG_PRICE" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, tradeDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Portfolio average price data fetched successfully. Found " + results.size() + " record(s)");
@@ -112,7 +115,7 @@ public class GetPortfolioAvgPriceData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching portfolio average price data: " + e.getMessage(), e);
             return false;
         }
@@ -129,12 +132,14 @@ public class GetPortfolioAvgPriceData {
         try {
             logger.info("Fetching portfolio average price data for NIN: " + nin + ", Company: " + companyCode + ", and Trade Date: " + tradeDate);
 
-            String query = "SELECT * FROM SEC_PORTFOLIO_AVG_PRICE " +
-                          "WHERE NIN = ? AND COMPANY_CODE = ? AND TRUNC(TRADE_DATE) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "AND AVG_PRICE IS NOT NULL AND AVG_PRICE != 0 " +
-                          "AND AMOUNT IS NOT NULL AND AMOUNT != 0";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .eq("COMPANY_CODE", companyCode)
+                    .within("TRADE_DATE", DateWindow.day(tradeDate))
+                    .raw("AVG_PRICE IS NOT NULL AND AVG_PRICE != 0 AND AMOUNT IS NOT NULL AND AMOUNT != 0");
+            String query = "SELECT * FROM SEC_PORTFOLIO_AVG_PRICE" + where.toSql();
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, companyCode, tradeDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Portfolio average price data fetched successfully. Found " + results.size() + " record(s)");
@@ -144,7 +149,7 @@ public class GetPortfolioAvgPriceData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching portfolio average price data: " + e.getMessage(), e);
             return false;
         }
@@ -1,6 +1,8 @@
 package com.example.dataBase.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -37,6 +39,9 @@ public class GetFixSendQueryTagsData {
     public boolean fetchFixSendQueryTagsByClientId(String clientId) {
         try {
             logger.info("Fetching FIX send query tags by client ID: " + clientId);
+            SqlWhere where = SqlWhere.create()
+                    .eq("SO.CL_ID", clientId)
+                    .within("SF.TIME_STAMP", DateWindow.databaseToday());
             String query = "SELECT SF.SL_NO, " +
                           "       SF.MSG_DATE, " +
                           "       SF.TAG_52_SENDING_TIME, " +
@@ -48,12 +53,10 @@ public class GetFixSendQueryTagsData {
                           "       SF.STATUS " +
                           "  FROM SEC_FIX_SEND_QUEY_TAGS SF " +
                           "INNER JOIN SEC_ORDERS SO " +
-                          "    ON SF.SL_NO = SO.SL_NO " +
-                          "WHERE SO.CL_ID = ? " +
-                          "   AND TRUNC(SF.TIME_STAMP) = TRUNC(SYSDATE) " +
-                          "ORDER BY SF.SL_NO DESC";
+                          "    ON SF.SL_NO = SO.SL_NO" + where.toSql() +
+                          " ORDER BY SF.SL_NO DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allFixSendQueryTagsData = results;
@@ -73,6 +76,9 @@ public class GetFixSendQueryTagsData {
     public boolean fetchFixSendQueryTagsByClientIdAndDate(String clientId, String date) {
         try {
             logger.info("Fetching FIX send query tags by client ID: " + clientId + " and date: " + date);
+            SqlWhere where = SqlWhere.create()
+                    .eq("SO.CL_ID", clientId)
+                    .within("SF.TIME_STAMP", DateWindow.day(date));
             String query = "SELECT SF.SL_NO, " +
                           "       SF.MSG_DATE, " +
                           "       SF.TAG_52_SENDING_TIME, " +
@@ -84,12 +90,10 @@ public class GetFixSendQueryTagsData {
                           "       SF.STATUS " +
                           "  FROM SEC_FIX_SEND_QUEY_TAGS SF " +
                           "INNER JOIN SEC_ORDERS SO " +
-                          "    ON SF.SL_NO = SO.SL_NO " +
-                          "WHERE SO.CL_ID = ? " +
-                          "   AND TRUNC(SF.TIME_STAMP) = TO_DATE(?, 'DD-MON-YY') " +
-                          "ORDER BY SF.SL_NO DESC";
+                          "    ON SF.SL_NO = SO.SL_NO" + where.toSql() +
+                          " ORDER BY SF.SL_NO DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allFixSendQueryTagsData = results;
@@ -100,7 +104,7 @@ public class GetFixSendQueryTagsData {
                 logger.warn("No FIX send query tags found for client ID: " + clientId + " on date: " + date);
                 return false;
             }
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching FIX send query tags data: " + e.getMessage(), e);
             return false;
         }
@@ -143,6 +147,10 @@ public class GetFixSendQueryTagsData {
     public boolean fetchFixSendQueryTagsBySymbol(String clientId, String symbol) {
         try {
             logger.info("Fetching FIX send query tags by client ID: " + clientId + " and symbol: " + symbol);
+            SqlWhere where = SqlWhere.create()
+                    .eq("SO.CL_ID", clientId)
+                    .eq("SF.TAG_55_SYMBOL", symbol)
+                    .within("SF.TIME_STAMP", DateWindow.databaseToday());
             String query = "SELECT SF.SL_NO, " +
                           "       SF.MSG_DATE, " +
                           "       SF.TAG_52_SENDING_TIME, " +
@@ -154,13 +162,10 @@ public class GetFixSendQueryTagsData {
                           "       SF.STATUS " +
                           "  FROM SEC_FIX_SEND_QUEY_TAGS SF " +
                           "INNER JOIN SEC_ORDERS SO " +
-                          "    ON SF.SL_NO = SO.SL_NO " +
-                          "WHERE SO.CL_ID = ? " +
-                          "   AND SF.TAG_55_SYMBOL = ? " +
-                          "   AND TRUNC(SF.TIME_STAMP) = TRUNC(SYSDATE) " +
-                          "ORDER BY SF.SL_NO DESC";
+                          "    ON SF.SL_NO = SO.SL_NO" + where.toSql() +
+                          " ORDER BY SF.SL_NO DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId, symbol);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allFixSendQueryTagsData = results;
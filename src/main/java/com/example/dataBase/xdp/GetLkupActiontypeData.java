@@ -1,6 +1,7 @@
 package com.example.dataBase.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupActiontypeData {
 
     private static final Logger logger = Logger.getLogger(GetLkupActiontypeData.class);
+    private static final String TABLE = "XDP_LKUP_ACTIONTYPE";
     private OracleDBConnection dbConnection;
 
     // Lookup Action Type data fields - All 2 columns from XDP_LKUP_ACTIONTYPE table
@@ -32,7 +34,7 @@ public class GetLkupActiontypeData {
         try {
             logger.info("Fetching all lookup action type data from XDP_LKUP_ACTIONTYPE");
             String query = "SELECT * FROM XDP_LKUP_ACTIONTYPE";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupActiontypeData = results;
@@ -51,11 +53,11 @@ public class GetLkupActiontypeData {
         }
     }
 
-    public boolean fetchLkupActiontypeByCondition(String whereClause) {
+    public boolean fetchLkupActiontypeByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup action type data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_ACTIONTYPE WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupActiontypeData = results;
@@ -1,6 +1,7 @@
 package com.example.dataBase.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupHeaderData {
 
     private static final Logger logger = Logger.getLogger(GetLkupHeaderData.class);
+    private static final String TABLE = "XDP_LKUP_HEADER";
     private OracleDBConnection dbConnection;
 
     // Lookup Header data fields - All 4 columns from XDP_LKUP_HEADER table
@@ -34,7 +36,7 @@ public class GetLkupHeaderData {
         try {
             logger.info("Fetching all lookup header data from XDP_LKUP_HEADER");
             String query = "SELECT * FROM XDP_LKUP_HEADER";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupHeaderData = results;
@@ -53,11 +55,11 @@ public class GetLkupHeaderData {
         }
     }
 
-    public boolean fetchLkupHeaderByCondition(String whereClause) {
+    public boolean fetchLkupHeaderByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup header data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_HEADER WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupHeaderData = results;
@@ -1,6 +1,7 @@
 package com.example.dataBase.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetMarketsData {
 
     private static final Logger logger = Logger.getLogger(GetMarketsData.class);
+    private static final String TABLE = "XDP_MARKETS";
     private OracleDBConnection dbConnection;
 
     // XDP_MARKETS column fields
@@ -38,7 +40,7 @@ public class GetMarketsData {
         try {
             logger.info("Fetching all markets data from XDP_MARKETS");
             String query = "SELECT * FROM XDP_MARKETS";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allMarketsData = results;
@@ -54,11 +56,11 @@ public class GetMarketsData {
         }
     }
 
-    public boolean fetchMarketsByCondition(String whereClause) {
+    public boolean fetchMarketsByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching markets data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_MARKETS WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allMarketsData = results;
@@ -1,6 +1,18 @@
 package com.example.dataBase.xdp;
 
+import com.example.records.TradeRecord;
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.KeysetPage;
+import com.example.utils.db.KeysetPager;
+import com.example.utils.db.KeysetSpec;
+import com.example.utils.db.RowHandler;
+import com.example.utils.db.SqlWhere;
+import com.example.utils.db.WatermarkReader;
+import com.example.utils.db.WatermarkRun;
+import com.example.utils.db.WatermarkSpec;
+import com.example.verification.market.TradeTapeReport;
+import com.example.verification.market.TradeTapeVerifier;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -21,6 +33,11 @@ import java.util.Map;
 public class GetTradesData {
 
     private static final Logger logger = Logger.getLogger(GetTradesData.class);
+    // Latest first by the trade sequence, which is unique and indexed
+    private static final KeysetSpec LATEST_TRADES = KeysetSpec.table("XDP_TRADES").key("SEQ").descending();
+    // Inserts stamp CREATION_DATE, updates DATEOFLASTUPDATE, and both stamp TIME_STAMP
+    private static final WatermarkSpec TRADES_WATERMARK = WatermarkSpec.table("XDP_TRADES")
+            .columns("DATEOFLASTUPDATE", "CREATION_DATE", "TIME_STAMP").timestampColumns("DATEOFLASTUPDATE", "CREATION_DATE");
     private OracleDBConnection dbConnection;
 
     // Store all rows if multiple records exist
@@ -45,7 +62,7 @@ public class GetTradesData {
 
             String query = "SELECT * FROM xdp_trades";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -62,6 +79,110 @@ public class GetTradesData {
         }
     }
 
+    /**
+     * Stream all trades from XDP_TRADES without keeping them in memory
+     * Rows are not stored in getAllTradeRecords(); the handler receives a reused row view
+     * @param handler Callback invoked once per trade
+     * @return Number of trades processed, or -1 if the query failed
+     */
+    public long streamAllTrades(RowHandler handler) {
+        try {
+            logger.info("Streaming all trades from XDP_TRADES");
+
+            String query = "SELECT * FROM xdp_trades";
+
+            long count = dbConnection.forEachRow(query, handler);
+            logger.info("Trades streamed successfully. Processed " + count + " record(s)");
+            return count;
+
+        } catch (SQLException e) {
+            logger.error("Error streaming trades data: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Fetch one page of XDP_TRADES, latest trade first
+     * Rows are stored as the current records; pass the returned page's continuation token to get the next page
+     * @param continuationToken Token of the previous page, null for the first page
+     * @param pageSize Number of rows per page
+     * @return Page with rows and the next token, or null if the query failed
+     */
+    public KeysetPage fetchTradesPage(String continuationToken, int pageSize) {
+        try {
+            KeysetPage page = new KeysetPager(dbConnection, LATEST_TRADES.pageSize(pageSize)).fetch(continuationToken);
+            allTradesData = page.getRows();
+            logger.info("XDP_TRADES page fetched: " + page.size() + " record(s)" + (page.hasMore() ? "" : ", last page"));
+            return page;
+        } catch (SQLException e) {
+            logger.error("Error fetching XDP_TRADES page: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Walk XDP_TRADES page by page, latest trade first, without keeping earlier pages in memory
+     * Save each page's continuation token to restart a failed job from the last completed page.
+     * @param continuationToken Where to start, null for the beginning
+     * @param pageSize Number of rows per page
+     * @param handler Callback invoked once per page, returns false to stop
+     * @return Number of rows processed, or -1 if a query failed
+     */
+    public long walkTrades(String continuationToken, int pageSize, KeysetPager.PageHandler handler) {
+        try {
+            return new KeysetPager(dbConnection, LATEST_TRADES.pageSize(pageSize)).forEachPage(continuationToken, handler);
+        } catch (SQLException e) {
+            logger.error("Error walking XDP_TRADES: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Fetch the trades inserted or updated since the last committed incremental run
+     * The first run fetches every trade. Commit the returned run once the trades are validated so the
+     * next run starts after them; a run that is not committed is fetched again next time.
+     * @return Run holding the changed trades (also stored as the current records), or null if the query failed
+     */
+    public WatermarkRun fetchTradesChangedSinceLastRun() {
+        try {
+            WatermarkRun run = new WatermarkReader(dbConnection, TRADES_WATERMARK).fetch();
+            allTradesData = run.getRows();
+            logger.info("XDP_TRADES incremental fetch: " + run);
+            return run;
+        } catch (SQLException e) {
+            logger.error("Error fetching changed XDP_TRADES rows: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Add up today's trades per instrument (open, high, low, last, VWAP, volume, value, trade count) and
+     * check them against XDP_INST_LIVEQUOTE and XDP_MARKET_SUMMARY (see TradeTapeVerifier)
+     * @return Report with the day figures and the issues found, or null if the tables cannot be read
+     */
+    public TradeTapeReport verifyTradeTapeToday() {
+        return verifyTradeTape(DateWindow.databaseToday());
+    }
+
+    /**
+     * Add up one day's trades per instrument and check them against XDP_INST_LIVEQUOTE and XDP_MARKET_SUMMARY
+     * @param date Date in format dd-MM-yyyy (e.g., "01-11-2025")
+     * @return Report with the day figures and the issues found, or null if the tables cannot be read
+     */
+    public TradeTapeReport verifyTradeTape(String date) {
+        return verifyTradeTape(DateWindow.day(date));
+    }
+
+    private TradeTapeReport verifyTradeTape(DateWindow window) {
+        try {
+            logger.info("Checking the XDP_TRADES tape for " + window);
+            return new TradeTapeVerifier(dbConnection).verify(window);
+        } catch (SQLException e) {
+            logger.error("Error checking the trade tape: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
     /**
      * Fetch trades by instrument code
      * @param instrumentCode Instrument code to filter
@@ -100,11 +221,12 @@ public class GetTradesData {
         try {
             logger.info("Fetching trades for today");
 
-            String query = "SELECT * FROM xdp_trades " +
-                          "WHERE TRUNC(TRADE_DATE) = TRUNC(SYSDATE) " +
-                          "ORDER BY ROWNUM DESC";
+            SqlWhere where = SqlWhere.create()
+                    .within("TRADE_DATE", DateWindow.databaseToday());
+            String query = "SELECT * FROM xdp_trades" + where.toSql() +
+                          " ORDER BY ROWNUM DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -130,11 +252,12 @@ public class GetTradesData {
         try {
             logger.info("Fetching trades for date: " + date);
 
-            String query = "SELECT * FROM xdp_trades " +
-                          "WHERE TRUNC(TRADE_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "ORDER BY ROWNUM DESC";
+            SqlWhere where = SqlWhere.create()
+                    .within("TRADE_DATE", DateWindow.day(date));
+            String query = "SELECT * FROM xdp_trades" + where.toSql() +
+                          " ORDER BY ROWNUM DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -145,7 +268,7 @@ public class GetTradesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching trades data for date: " + e.getMessage(), e);
             return false;
         }
@@ -196,14 +319,15 @@ public class GetTradesData {
         try {
             logger.info("Fetching trades for NIN: " + nin + " and Date: " + date);
 
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("TRADE_DATE", DateWindow.day(date));
             String query = "SELECT TRADE_DATE, NIN as CLIENT_NIN, COMPANY_CODE, TRNX_TYPE, " +
                           "VOLUME, PRICE, REASON, SEQ, TIME_STAMP " +
-                          "FROM sec_virtual_trade " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(TRADE_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "ORDER BY TIME_STAMP DESC";
+                          "FROM sec_virtual_trade" + where.toSql() +
+                          " ORDER BY TIME_STAMP DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, date);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -214,7 +338,7 @@ public class GetTradesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching trades data: " + e.getMessage(), e);
             return false;
         }
@@ -265,12 +389,13 @@ public class GetTradesData {
         try {
             logger.info("Fetching trades for Date: " + date + " and Instrument: " + instrumentCode);
 
-            String query = "SELECT * FROM xdp_trades " +
-                          "WHERE TRUNC(TRADE_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "AND INST_SEQ = ? " +
-                          "ORDER BY ROWNUM DESC";
+            SqlWhere where = SqlWhere.create()
+                    .within("TRADE_DATE", DateWindow.day(date))
+                    .eq("INST_SEQ", instrumentCode);
+            String query = "SELECT * FROM xdp_trades" + where.toSql() +
+                          " ORDER BY ROWNUM DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, date, instrumentCode);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -281,7 +406,7 @@ public class GetTradesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching trades data: " + e.getMessage(), e);
             return false;
         }
@@ -299,15 +424,16 @@ public class GetTradesData {
         try {
             logger.info("Fetching trades for NIN: " + nin + ", Date: " + date + ", Instrument: " + instrumentCode);
 
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("TRADE_DATE", DateWindow.day(date))
+                    .eq("COMPANY_CODE", instrumentCode);
             String query = "SELECT TRADE_DATE, NIN as CLIENT_NIN, COMPANY_CODE, TRNX_TYPE, " +
                           "VOLUME, PRICE, REASON, SEQ, TIME_STAMP " +
-                          "FROM sec_virtual_trade " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(TRADE_DATE) = TO_DATE(?, 'DD-MM-YYYY') " +
-                          "AND COMPANY_CODE = ? " +
-                          "ORDER BY TIME_STAMP DESC";
+                          "FROM sec_virtual_trade" + where.toSql() +
+                          " ORDER BY TIME_STAMP DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, date, instrumentCode);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allTradesData = results;
@@ -318,12 +444,64 @@ public class GetTradesData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching trades data: " + e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Fetch last N trades as typed records (highest SEQ first)
+     * Columns are read by position into TradeRecord, so no per-row map or string copy is made;
+     * prices, volumes and dates keep their database types.
+     * @param limit Number of trades to fetch
+     * @return Trade records, empty if none were found or the query failed
+     */
+    public List<TradeRecord> fetchLastNTradeRecords(int limit) {
+        try {
+            logger.info("Fetching last " + limit + " trade records from XDP_TRADES");
+
+            String query = TradeRecord.SELECT + " WHERE SEQ IS NOT NULL ORDER BY SEQ DESC FETCH FIRST ? ROWS ONLY";
+            List<TradeRecord> tradeRecords = dbConnection.queryForList(query, TradeRecord.MAPPER, limit);
+
+            if (!tradeRecords.isEmpty()) {
+                logger.info("Trade records fetched successfully. Found " + tradeRecords.size() + " record(s)");
+            } else {
+                logger.warn("No trades found");
+            }
+            return tradeRecords;
+
+        } catch (SQLException e) {
+            logger.error("Error fetching trade records: " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Fetch trades of one instrument as typed records (highest SEQ first)
+     * @param instSeq INST_SEQ to query
+     * @return Trade records, empty if none were found or the query failed
+     */
+    public List<TradeRecord> fetchTradeRecordsByInstSeq(String instSeq) {
+        try {
+            logger.info("Fetching trade records for INST_SEQ: " + instSeq);
+
+            String query = TradeRecord.SELECT + " WHERE INST_SEQ = ? ORDER BY SEQ DESC";
+            List<TradeRecord> tradeRecords = dbConnection.queryForList(query, TradeRecord.MAPPER, instSeq);
+
+            if (!tradeRecords.isEmpty()) {
+                logger.info("Trade records fetched successfully. Found " + tradeRecords.size() + " record(s)");
+            } else {
+                logger.warn("No trades found for INST_SEQ: " + instSeq);
+            }
+            return tradeRecords;
+
+        } catch (SQLException e) {
+            logger.error("Error fetching trade records: " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Get all trade records
      * @return List of all trade data rows
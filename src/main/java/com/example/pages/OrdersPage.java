@@ -71,6 +71,9 @@ public class OrdersPage extends BasePage {
     @FindBy(css = ".alert-error, .error-message, [class*='error']")
     private WebElement genericErrorMessage;
 
+    // Local time of the last confirm click, for order latency tracing
+    private long lastConfirmMillis;
+
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -189,9 +192,19 @@ public class OrdersPage extends BasePage {
     public void confirmOrder() {
         logger.info("Confirming order");
      //   waitForElementVisible(orderFormConfirm_mainContainer);
+        lastConfirmMillis = System.currentTimeMillis();
         click(orderFormConfirm_confirmButton);
     }
 
+    /**
+     * Get the local time of the last confirm click
+     * Used by OrderLatencyTracer as the start of an order's path
+     * @return Epoch milliseconds, 0 if no order was confirmed yet
+     */
+    public long getLastConfirmMillis() {
+        return lastConfirmMillis;
+    }
+
     /**
      * Cancel order in confirmation popup
      * Used internally by order placement methods
@@ -0,0 +1,188 @@
+package com.example.records;
+
+import com.example.utils.db.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Typed SEC_CLIENTS_BALANCES row
+ * Generated by RecordGenerator from src/main/schema/ClientBalanceRecord.columns, do not edit by hand.
+ */
+public record ClientBalanceRecord(
+        String nin,
+        BigDecimal curBal,
+        BigDecimal unclearedChqBal,
+        BigDecimal postpondedBal,
+        String createdBy,
+        LocalDateTime creationDate,
+        String userId,
+        LocalDateTime timeStamp,
+        BigDecimal buyOrdinmarketBal,
+        BigDecimal dvpUnclearedBal,
+        BigDecimal t3Sell,
+        BigDecimal t2Sell,
+        BigDecimal t1Sell,
+        BigDecimal maturedBal,
+        BigDecimal collectedBalPrevious,
+        BigDecimal t3Buy,
+        BigDecimal t2Buy,
+        BigDecimal t1Buy,
+        BigDecimal t3MaturedAmount,
+        BigDecimal t2MaturedAmount,
+        BigDecimal t1MaturedAmount,
+        BigDecimal t0Sell,
+        BigDecimal t0Buy,
+        BigDecimal t0MaturedAmount,
+        BigDecimal uncollectedWithdrawalFrombnk,
+        BigDecimal liabCurBal,
+        BigDecimal liabUnclearedChqBal,
+        BigDecimal liabPostpondedBal,
+        BigDecimal liabCollectedBalPrevious,
+        BigDecimal liabUncolWithdrawalFrombnk,
+        BigDecimal liabMaturedBal,
+        BigDecimal t3Balance,
+        LocalDateTime t3MaturityDate,
+        BigDecimal t2Balance,
+        LocalDateTime t2MaturityDate,
+        BigDecimal t1Balance,
+        LocalDateTime t1MaturityDate,
+        BigDecimal t0Balance,
+        LocalDateTime t3UrgentDate,
+        BigDecimal t3UrgentAmount,
+        BigDecimal t3UrgentFees,
+        LocalDateTime t2UrgentDate,
+        BigDecimal t2UrgentAmount,
+        BigDecimal t2UrgentFees,
+        LocalDateTime t1UrgentDate,
+        BigDecimal t1UrgentAmount,
+        BigDecimal t1UrgentFees,
+        BigDecimal reservedVisaBal,
+        BigDecimal visaAccountIncome,
+        BigDecimal visaMaxDailyCashbal,
+        BigDecimal unclearedQpay,
+        BigDecimal liabUnclearedQpay,
+        BigDecimal reservedQpayRefund,
+        BigDecimal atmWithdrawDay,
+        BigDecimal atmWithdrawMonth,
+        BigDecimal atmWithdrawYear,
+        BigDecimal t0UrgentWithdrawal,
+        BigDecimal t1UrgentWithdrawal,
+        BigDecimal t2UrgentWithdrawal,
+        BigDecimal t3UrgentWithdrawal,
+        BigDecimal t4UrgentWithdrawal,
+        BigDecimal t5UrgentWithdrawal,
+        BigDecimal t6UrgentWithdrawal,
+        BigDecimal t0UrgentSwift,
+        BigDecimal t1UrgentSwift,
+        BigDecimal t2UrgentSwift,
+        BigDecimal t3UrgentSwift,
+        BigDecimal t4UrgentSwift,
+        BigDecimal t5UrgentSwift,
+        BigDecimal t6UrgentSwift,
+        BigDecimal totalExemptFromFees,
+        BigDecimal t3MaxCurBal,
+        BigDecimal mBalance) {
+
+    public static final String TABLE = "SEC_CLIENTS_BALANCES";
+
+    /**
+     * Column list in MAPPER order; select exactly these columns, e.g. through SELECT
+     */
+    public static final String COLUMNS = "NIN, CUR_BAL, UNCLEARED_CHQ_BAL, POSTPONDED_BAL, CREATED_BY, CREATION_DATE, USER_ID, " +
+            "TIME_STAMP, BUY_ORDINMARKET_BAL, DVP_UNCLEARED_BAL, T3_SELL, T2_SELL, T1_SELL, " +
+            "MATURED_BAL, COLLECTED_BAL_PREVIOUS, T3_BUY, T2_BUY, T1_BUY, T3_MATURED_AMOUNT, " +
+            "T2_MATURED_AMOUNT, T1_MATURED_AMOUNT, T0_SELL, T0_BUY, T0_MATURED_AMOUNT, " +
+            "UNCOLLECTED_WITHDRAWAL_FROMBNK, LIAB_CUR_BAL, LIAB_UNCLEARED_CHQ_BAL, " +
+            "LIAB_POSTPONDED_BAL, LIAB_COLLECTED_BAL_PREVIOUS, LIAB_UNCOL_WITHDRAWAL_FROMBNK, " +
+            "LIAB_MATURED_BAL, T3_BALANCE, T3_MATURITY_DATE, T2_BALANCE, T2_MATURITY_DATE, T1_BALANCE, " +
+            "T1_MATURITY_DATE, T0_BALANCE, T3_URGENT_DATE, T3_URGENT_AMOUNT, T3_URGENT_FEES, " +
+            "T2_URGENT_DATE, T2_URGENT_AMOUNT, T2_URGENT_FEES, T1_URGENT_DATE, T1_URGENT_AMOUNT, " +
+            "T1_URGENT_FEES, RESERVED_VISA_BAL, VISA_ACCOUNT_INCOME, VISA_MAX_DAILY_CASHBAL, " +
+            "UNCLEARED_QPAY, LIAB_UNCLEARED_QPAY, RESERVED_QPAY_REFUND, ATM_WITHDRAW_DAY, " +
+            "ATM_WITHDRAW_MONTH, ATM_WITHDRAW_YEAR, T0_URGENT_WITHDRAWAL, T1_URGENT_WITHDRAWAL, " +
+            "T2_URGENT_WITHDRAWAL, T3_URGENT_WITHDRAWAL, T4_URGENT_WITHDRAWAL, T5_URGENT_WITHDRAWAL, " +
+            "T6_URGENT_WITHDRAWAL, T0_URGENT_SWIFT, T1_URGENT_SWIFT, T2_URGENT_SWIFT, T3_URGENT_SWIFT, " +
+            "T4_URGENT_SWIFT, T5_URGENT_SWIFT, T6_URGENT_SWIFT, TOTAL_EXEMPT_FROM_FEES, " +
+            "T3_MAX_CUR_BAL, M_BALANCE";
+
+    public static final String SELECT = "SELECT " + COLUMNS + " FROM " + TABLE;
+
+    /**
+     * Reads the columns of SELECT by position
+     */
+    public static final RowMapper<ClientBalanceRecord> MAPPER = resultSet -> new ClientBalanceRecord(
+            resultSet.getString(1),
+            resultSet.getBigDecimal(2),
+            resultSet.getBigDecimal(3),
+            resultSet.getBigDecimal(4),
+            resultSet.getString(5),
+            RowMapper.getLocalDateTime(resultSet, 6),
+            resultSet.getString(7),
+            RowMapper.getLocalDateTime(resultSet, 8),
+            resultSet.getBigDecimal(9),
+            resultSet.getBigDecimal(10),
+            resultSet.getBigDecimal(11),
+            resultSet.getBigDecimal(12),
+            resultSet.getBigDecimal(13),
+            resultSet.getBigDecimal(14),
+            resultSet.getBigDecimal(15),
+            resultSet.getBigDecimal(16),
+            resultSet.getBigDecimal(17),
+            resultSet.getBigDecimal(18),
+            resultSet.getBigDecimal(19),
+            resultSet.getBigDecimal(20),
+            resultSet.getBigDecimal(21),
+            resultSet.getBigDecimal(22),
+            resultSet.getBigDecimal(23),
+            resultSet.getBigDecimal(24),
+            resultSet.getBigDecimal(25),
+            resultSet.getBigDecimal(26),
+            resultSet.getBigDecimal(27),
+            resultSet.getBigDecimal(28),
+            resultSet.getBigDecimal(29),
+            resultSet.getBigDecimal(30),
+            resultSet.getBigDecimal(31),
+            resultSet.getBigDecimal(32),
+            RowMapper.getLocalDateTime(resultSet, 33),
+            resultSet.getBigDecimal(34),
+            RowMapper.getLocalDateTime(resultSet, 35),
+            resultSet.getBigDecimal(36),
+            RowMapper.getLocalDateTime(resultSet, 37),
+            resultSet.getBigDecimal(38),
+            RowMapper.getLocalDateTime(resultSet, 39),
+            resultSet.getBigDecimal(40),
+            resultSet.getBigDecimal(41),
+            RowMapper.getLocalDateTime(resultSet, 42),
+            resultSet.getBigDecimal(43),
+            resultSet.getBigDecimal(44),
+            RowMapper.getLocalDateTime(resultSet, 45),
+            resultSet.getBigDecimal(46),
+            resultSet.getBigDecimal(47),
+            resultSet.getBigDecimal(48),
+            resultSet.getBigDecimal(49),
+            resultSet.getBigDecimal(50),
+            resultSet.getBigDecimal(51),
+            resultSet.getBigDecimal(52),
+            resultSet.getBigDecimal(53),
+            resultSet.getBigDecimal(54),
+            resultSet.getBigDecimal(55),
+            resultSet.getBigDecimal(56),
+            resultSet.getBigDecimal(57),
+            resultSet.getBigDecimal(58),
+            resultSet.getBigDecimal(59),
+            resultSet.getBigDecimal(60),
+            resultSet.getBigDecimal(61),
+            resultSet.getBigDecimal(62),
+            resultSet.getBigDecimal(63),
+            resultSet.getBigDecimal(64),
+            resultSet.getBigDecimal(65),
+            resultSet.getBigDecimal(66),
+            resultSet.getBigDecimal(67),
+            resultSet.getBigDecimal(68),
+            resultSet.getBigDecimal(69),
+            resultSet.getBigDecimal(70),
+            resultSet.getBigDecimal(71),
+            resultSet.getBigDecimal(72),
+            resultSet.getBigDecimal(73));
+}
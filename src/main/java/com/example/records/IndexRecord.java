@@ -0,0 +1,100 @@
+package com.example.records;
+
+import com.example.utils.db.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Typed XDP_INDICES row
+ * Generated by RecordGenerator from src/main/schema/IndexRecord.columns, do not edit by hand.
+ */
+public record IndexRecord(
+        String instCode,
+        BigDecimal indexlevel,
+        BigDecimal sessionhigh,
+        BigDecimal sessionlow,
+        BigDecimal percentageofcapitalization,
+        BigDecimal variationfrompreviousday,
+        String indexlevelcode,
+        String rebroadcastindicator,
+        BigDecimal preliminaryopeninglevel,
+        String preliminaryopeningtime,
+        BigDecimal firstlevel,
+        String firsttime,
+        BigDecimal openingreferencelevel,
+        String openingreferencetime,
+        BigDecimal closingreferencelevel,
+        String closingreferencetime,
+        BigDecimal percentvariationprevclos,
+        BigDecimal highlevel,
+        String hightime,
+        BigDecimal lowlevel,
+        String lowtime,
+        BigDecimal clearinglevel,
+        String clearingtime,
+        BigDecimal liquidationlevel,
+        String liquidationtime,
+        BigDecimal typeoflevel,
+        BigDecimal marketId,
+        BigDecimal numofsecuritiesquoted,
+        String updatedbymsgno,
+        LocalDateTime dateoflastupdate,
+        BigDecimal closingindexlevel,
+        BigDecimal netchange,
+        LocalDateTime dateoflastupdatenano) {
+
+    public static final String TABLE = "XDP_INDICES";
+
+    /**
+     * Column list in MAPPER order; select exactly these columns, e.g. through SELECT
+     */
+    public static final String COLUMNS = "INST_CODE, INDEXLEVEL, SESSIONHIGH, SESSIONLOW, PERCENTAGEOFCAPITALIZATION, " +
+            "VARIATIONFROMPREVIOUSDAY, INDEXLEVELCODE, REBROADCASTINDICATOR, PRELIMINARYOPENINGLEVEL, " +
+            "PRELIMINARYOPENINGTIME, FIRSTLEVEL, FIRSTTIME, OPENINGREFERENCELEVEL, " +
+            "OPENINGREFERENCETIME, CLOSINGREFERENCELEVEL, CLOSINGREFERENCETIME, " +
+            "PERCENTVARIATIONPREVCLOS, HIGHLEVEL, HIGHTIME, LOWLEVEL, LOWTIME, CLEARINGLEVEL, " +
+            "CLEARINGTIME, LIQUIDATIONLEVEL, LIQUIDATIONTIME, TYPEOFLEVEL, MARKET_ID, " +
+            "NUMOFSECURITIESQUOTED, UPDATEDBYMSGNO, DATEOFLASTUPDATE, CLOSINGINDEXLEVEL, NETCHANGE, " +
+            "DATEOFLASTUPDATENANO";
+
+    public static final String SELECT = "SELECT " + COLUMNS + " FROM " + TABLE;
+
+    /**
+     * Reads the columns of SELECT by position
+     */
+    public static final RowMapper<IndexRecord> MAPPER = resultSet -> new IndexRecord(
+            resultSet.getString(1),
+            resultSet.getBigDecimal(2),
+            resultSet.getBigDecimal(3),
+            resultSet.getBigDecimal(4),
+            resultSet.getBigDecimal(5),
+            resultSet.getBigDecimal(6),
+            resultSet.getString(7),
+            resultSet.getString(8),
+            resultSet.getBigDecimal(9),
+            resultSet.getString(10),
+            resultSet.getBigDecimal(11),
+            resultSet.getString(12),
+            resultSet.getBigDecimal(13),
+            resultSet.getString(14),
+            resultSet.getBigDecimal(15),
+            resultSet.getString(16),
+            resultSet.getBigDecimal(17),
+            resultSet.getBigDecimal(18),
+            resultSet.getString(19),
+            resultSet.getBigDecimal(20),
+            resultSet.getString(21),
+            resultSet.getBigDecimal(22),
+            resultSet.getString(23),
+            resultSet.getBigDecimal(24),
+            resultSet.getString(25),
+            resultSet.getBigDecimal(26),
+            resultSet.getBigDecimal(27),
+            resultSet.getBigDecimal(28),
+            resultSet.getString(29),
+            RowMapper.getLocalDateTime(resultSet, 30),
+            resultSet.getBigDecimal(31),
+            resultSet.getBigDecimal(32),
+            RowMapper.getLocalDateTime(resultSet, 33));
+}
@@ -0,0 +1,94 @@
+package com.example.records;
+
+import com.example.utils.db.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Typed XDP_TRADES row
+ * Generated by RecordGenerator from src/main/schema/TradeRecord.columns, do not edit by hand.
+ */
+public record TradeRecord(
+        BigDecimal seq,
+        BigDecimal tradeid,
+        String quotelinkid,
+        String instSeq,
+        LocalDateTime tradeDate,
+        BigDecimal price,
+        BigDecimal volume,
+        String smalltradeindicator,
+        String tradcond2,
+        String tradcond3,
+        String tradeorigin,
+        String openingtradeindicator,
+        String tradeState,
+        BigDecimal iscancelled,
+        LocalDateTime cancelleddate,
+        BigDecimal cumulativequantity,
+        BigDecimal highestprice,
+        BigDecimal lowestprice,
+        String tickdirection,
+        LocalDateTime dateoflastupdate,
+        String updatedbymsgno,
+        String createdBy,
+        LocalDateTime creationDate,
+        String userId,
+        LocalDateTime timeStamp,
+        BigDecimal variationlastprice,
+        String createdByIpAddress,
+        String createdByPcName,
+        String userIdIpAddress,
+        String userIdPcName,
+        String tradedirection) {
+
+    public static final String TABLE = "XDP_TRADES";
+
+    /**
+     * Column list in MAPPER order; select exactly these columns, e.g. through SELECT
+     */
+    public static final String COLUMNS = "SEQ, TRADEID, QUOTELINKID, INST_SEQ, TRADE_DATE, PRICE, VOLUME, SMALLTRADEINDICATOR, " +
+            "TRADCOND2, TRADCOND3, TRADEORIGIN, OPENINGTRADEINDICATOR, TRADE_STATE, ISCANCELLED, " +
+            "CANCELLEDDATE, CUMULATIVEQUANTITY, HIGHESTPRICE, LOWESTPRICE, TICKDIRECTION, " +
+            "DATEOFLASTUPDATE, UPDATEDBYMSGNO, CREATED_BY, CREATION_DATE, USER_ID, TIME_STAMP, " +
+            "VARIATIONLASTPRICE, CREATED_BY_IP_ADDRESS, CREATED_BY_PC_NAME, USER_ID_IP_ADDRESS, " +
+            "USER_ID_PC_NAME, TRADEDIRECTION";
+
+    public static final String SELECT = "SELECT " + COLUMNS + " FROM " + TABLE;
+
+    /**
+     * Reads the columns of SELECT by position
+     */
+    public static final RowMapper<TradeRecord> MAPPER = resultSet -> new TradeRecord(
+            resultSet.getBigDecimal(1),
+            resultSet.getBigDecimal(2),
+            resultSet.getString(3),
+            resultSet.getString(4),
+            RowMapper.getLocalDateTime(resultSet, 5),
+            resultSet.getBigDecimal(6),
+            resultSet.getBigDecimal(7),
+            resultSet.getString(8),
+            resultSet.getString(9),
+            resultSet.getString(10),
+            resultSet.getString(11),
+            resultSet.getString(12),
+            resultSet.getString(13),
+            resultSet.getBigDecimal(14),
+            RowMapper.getLocalDateTime(resultSet, 15),
+            resultSet.getBigDecimal(16),
+            resultSet.getBigDecimal(17),
+            resultSet.getBigDecimal(18),
+            resultSet.getString(19),
+            RowMapper.getLocalDateTime(resultSet, 20),
+            resultSet.getString(21),
+            resultSet.getString(22),
+            RowMapper.getLocalDateTime(resultSet, 23),
+            resultSet.getString(24),
+            RowMapper.getLocalDateTime(resultSet, 25),
+            resultSet.getBigDecimal(26),
+            resultSet.getString(27),
+            resultSet.getString(28),
+            resultSet.getString(29),
+            resultSet.getString(30),
+            resultSet.getString(31));
+}
@@ -54,11 +54,11 @@ public class GetIndexCompositionData {
         }
     }
 
-    public boolean fetchIndexCompositionByCondition(String whereClause) {
+    public boolean fetchIndexCompositionByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching index composition data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_INDEX_COMPOSITION WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allIndexCompositionData = results;
@@ -1,5 +1,6 @@
 package com.example.screensData.clients;
 
+import com.example.records.ClientBalanceRecord;
 import com.example.utils.OracleDBConnection;
 import org.apache.log4j.Logger;
 
@@ -222,6 +223,33 @@ public class GetClientsBalancesData {
         return allData.size();
     }
 
+    /**
+     * Fetch client balances by NIN as typed records
+     * All 73 columns are read by position into ClientBalanceRecord, keeping amounts as BigDecimal
+     * and dates as LocalDateTime instead of converting every field to a String.
+     * @param nin NIN to query
+     * @return Balance records, empty if none were found or the query failed
+     */
+    public List<ClientBalanceRecord> fetchClientBalanceRecordsByNin(String nin) {
+        try {
+            logger.info("Fetching client balance records for NIN: " + nin);
+
+            String query = ClientBalanceRecord.SELECT + " WHERE NIN = ?";
+            List<ClientBalanceRecord> balanceRecords = dbConnection.queryForList(query, ClientBalanceRecord.MAPPER, nin);
+
+            if (!balanceRecords.isEmpty()) {
+                logger.info("Client balance records fetched successfully. Found " + balanceRecords.size() + " record(s)");
+            } else {
+                logger.warn("No client balances data found for NIN: " + nin);
+            }
+            return balanceRecords;
+
+        } catch (SQLException e) {
+            logger.error("Error fetching client balance records: " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Get all data records
      * @return List of all data records
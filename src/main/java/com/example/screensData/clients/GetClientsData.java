@@ -1,6 +1,7 @@
 package com.example.screensData.clients;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.MultiKeyQuery;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -15,6 +16,8 @@ import java.util.Map;
 public class GetClientsData {
 
     private static final Logger logger = Logger.getLogger(GetClientsData.class);
+    private static final MultiKeyQuery CLIENTS_BY_ID =
+            MultiKeyQuery.of("SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (" + MultiKeyQuery.KEYS + ")");
     private OracleDBConnection dbConnection;
 
     // Client data fields
@@ -59,8 +62,8 @@ public class GetClientsData {
         try {
             logger.info("Fetching client data for ID: " + clientId);
 
-            String query = "SELECT * FROM SEC_CLIENTS C WHERE C.cl_id='" + clientId + "'";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM SEC_CLIENTS C WHERE C.cl_id = ?";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId);
 
             if (!results.isEmpty()) {
                 allClientsData = results;
@@ -89,17 +92,7 @@ public class GetClientsData {
         try {
             logger.info("Fetching client data for multiple IDs");
 
-            // Build IN clause
-            StringBuilder idClause = new StringBuilder();
-            for (int i = 0; i < clientIds.size(); i++) {
-                idClause.append("'").append(clientIds.get(i)).append("'");
-                if (i < clientIds.size() - 1) {
-                    idClause.append(", ");
-                }
-            }
-
-            String query = "SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (" + idClause.toString() + ")";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = CLIENTS_BY_ID.execute(dbConnection, clientIds);
 
             if (!results.isEmpty()) {
                 allClientsData = results;
@@ -158,12 +151,14 @@ public class GetClientsData {
             logger.info("Fetching client IDs with limit: " + limit);
 
             String query = "select * from sec_clients where PERSONAL_ID_EXPIRY_DATE >= TRUNC(SYSDATE) ORDER BY cl_id";
+            List<Map<String, Object>> results;
             if (limit > 0) {
-                query += " FETCH FIRST " + limit + " ROWS ONLY";
+                query += " FETCH FIRST ? ROWS ONLY";
+                results = dbConnection.executeQueryWithParams(query, limit);
+            } else {
+                results = dbConnection.executeQuery(query);
             }
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
-
             for (Map<String, Object> row : results) {
                 String clId = row.get("CL_ID") != null ? row.get("CL_ID").toString() : "";
                 if (!clId.isEmpty()) {
@@ -1,6 +1,7 @@
 package com.example.screensData.mcalc;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.MultiKeyQuery;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -15,6 +16,8 @@ import java.util.Map;
 public class GetCalculatorStudyData {
 
     private static final Logger logger = Logger.getLogger(GetCalculatorStudyData.class);
+    private static final MultiKeyQuery STUDY_BY_NIN =
+            MultiKeyQuery.of("SELECT * FROM MYCALCULATOR_STUDY WHERE NIN IN (" + MultiKeyQuery.KEYS + ")");
     private OracleDBConnection dbConnection;
 
     // Calculator Study data fields - All 24 columns from MYCALCULATOR_STUDY table
@@ -66,8 +69,8 @@ public class GetCalculatorStudyData {
         try {
             logger.info("Fetching calculator study data for NIN: " + nin);
 
-            String query = "SELECT * FROM MYCALCULATOR_STUDY WHERE NIN = '" + nin + "'";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM MYCALCULATOR_STUDY WHERE NIN = ?";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin);
 
             if (!results.isEmpty()) {
                 allStudyData = results;
@@ -95,16 +98,7 @@ public class GetCalculatorStudyData {
         try {
             logger.info("Fetching calculator study data for multiple NINs");
 
-            StringBuilder ninClause = new StringBuilder();
-            for (int i = 0; i < nins.size(); i++) {
-                ninClause.append("'").append(nins.get(i)).append("'");
-                if (i < nins.size() - 1) {
-                    ninClause.append(", ");
-                }
-            }
-
-            String query = "SELECT * FROM MYCALCULATOR_STUDY WHERE NIN IN (" + ninClause.toString() + ")";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = STUDY_BY_NIN.execute(dbConnection, nins);
 
             if (!results.isEmpty()) {
                 allStudyData = results;
@@ -1,6 +1,8 @@
 package com.example.screensData.mcalc;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -34,12 +36,13 @@ public class GetCashData {
         try {
             logger.info("Fetching client daily balance for NIN: " + nin + ", Balance Date: " + balanceDate);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(balance_date) = TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY balance_date";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("balance_date", DateWindow.day(balanceDate));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY balance_date";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, balanceDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Client daily balance data fetched successfully. Found " + results.size() + " record(s)");
@@ -55,7 +58,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
@@ -107,12 +110,13 @@ public class GetCashData {
         try {
             logger.info("Fetching client daily balance for NIN: " + nin + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(balance_date) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY balance_date";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("balance_date", DateWindow.between(startDate, endDate));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY balance_date";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Client daily balance data fetched successfully. Found " + results.size() + " record(s)");
@@ -128,7 +132,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
@@ -178,11 +182,12 @@ public class GetCashData {
         try {
             logger.info("Fetching client daily balance for Balance Date: " + balanceDate);
 
-            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances " +
-                          "WHERE TRUNC(balance_date) = TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY NIN";
+            SqlWhere where = SqlWhere.create()
+                    .within("balance_date", DateWindow.day(balanceDate));
+            String query = "SELECT NIN, balance_date, CUR_BAL FROM sec_cltdaily_balances" + where.toSql() +
+                          " ORDER BY NIN";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, balanceDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Client daily balance data fetched successfully. Found " + results.size() + " record(s)");
@@ -198,7 +203,7 @@ public class GetCashData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching client daily balance data: " + e.getMessage(), e);
             return false;
         }
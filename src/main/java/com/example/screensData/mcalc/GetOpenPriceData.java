@@ -1,9 +1,11 @@
 package com.example.screensData.mcalc;
 
 import com.example.utils.OracleDBConnection;
+import com.example.verification.market.ClosePriceIndex;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -204,4 +206,29 @@ public class GetOpenPriceData {
             return false;
         }
     }
+
+    /**
+     * Get open price (last close before a date) from the in-memory price index (no query after the first load)
+     * @param companyCode Company code to query
+     * @param tradeDate Trade date in format 'DD-Mon-YYYY' (e.g., '25-Nov-2025')
+     * @return Open price, or null if no close found before the date
+     */
+    public Double getOpenPriceBeforeDate(String companyCode, String tradeDate) {
+        try {
+            double close = ClosePriceIndex.getShared(dbConnection)
+                    .closeBefore(companyCode, ClosePriceIndex.parseTradeDate(tradeDate));
+            if (Double.isNaN(close)) {
+                logger.warn("No open price found for company: " + companyCode + " before date: " + tradeDate);
+                return null;
+            }
+            return close;
+
+        } catch (SQLException e) {
+            logger.error("Error loading price index: " + e.getMessage(), e);
+            return null;
+        } catch (DateTimeParseException e) {
+            logger.error("Invalid trade date: " + tradeDate);
+            return null;
+        }
+    }
 }
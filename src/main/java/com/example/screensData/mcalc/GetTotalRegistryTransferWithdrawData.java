@@ -1,6 +1,8 @@
 package com.example.screensData.mcalc;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -37,14 +39,15 @@ public class GetTotalRegistryTransferWithdrawData {
         try {
             logger.info("Fetching registry transfer data for NIN: " + nin + ", Symbol: " + symbol + ", Status: " + status + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER " +
-                          "WHERE NIN = ? " +
-                          "AND SYMBOL = ? " +
-                          "AND Status = ? " +
-                          "AND TRUNC(CREATION_Time) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY CREATION_Time DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .eq("SYMBOL", symbol)
+                    .eq("Status", status)
+                    .within("CREATION_Time", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER" + where.toSql() +
+                          " ORDER BY CREATION_Time DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, symbol, status, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Registry transfer data fetched successfully. Found " + results.size() + " record(s)");
@@ -54,7 +57,7 @@ public class GetTotalRegistryTransferWithdrawData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching registry transfer data: " + e.getMessage(), e);
             return false;
         }
@@ -103,14 +106,15 @@ public class GetTotalRegistryTransferWithdrawData {
         try {
             logger.info("Fetching successful registry transfers for NIN: " + nin + ", Symbol: " + symbol + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER " +
-                          "WHERE NIN = ? " +
-                          "AND SYMBOL = ? " +
-                          "AND Status = 'Success' " +
-                          "AND TRUNC(CREATION_Time) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY CREATION_Time DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .eq("SYMBOL", symbol)
+                    .raw("Status = 'Success'")
+                    .within("CREATION_Time", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER" + where.toSql() +
+                          " ORDER BY CREATION_Time DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, symbol, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Successful registry transfers fetched. Found " + results.size() + " record(s)");
@@ -120,7 +124,7 @@ public class GetTotalRegistryTransferWithdrawData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching successful registry transfers: " + e.getMessage(), e);
             return false;
         }
@@ -226,12 +230,13 @@ public class GetTotalRegistryTransferWithdrawData {
         try {
             logger.info("Fetching registry transfer data for NIN: " + nin + " between " + startDate + " and " + endDate);
 
-            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER " +
-                          "WHERE NIN = ? " +
-                          "AND TRUNC(CREATION_Time) BETWEEN TO_DATE(?, 'DD-Mon-YYYY') AND TO_DATE(?, 'DD-Mon-YYYY') " +
-                          "ORDER BY CREATION_Time DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("NIN", nin)
+                    .within("CREATION_Time", DateWindow.between(startDate, endDate));
+            String query = "SELECT * FROM GRP_REGISTERY_TRANSFER" + where.toSql() +
+                          " ORDER BY CREATION_Time DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin, startDate, endDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 logger.info("Registry transfer data fetched successfully. Found " + results.size() + " record(s)");
@@ -241,7 +246,7 @@ public class GetTotalRegistryTransferWithdrawData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching registry transfer data: " + e.getMessage(), e);
             return false;
         }
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Class to retrieve and store Virtual Trade data from sec_virtual_trade table
@@ -60,8 +61,8 @@ public class GetVirtualTradeData {
         try {
             logger.info("Fetching virtual trade data for NIN: " + nin);
 
-            String query = "SELECT * FROM sec_virtual_trade WHERE NIN = '" + nin + "'";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM sec_virtual_trade WHERE NIN = ?";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin);
 
             if (!results.isEmpty()) {
                 allTradeData = results;
@@ -89,16 +90,13 @@ public class GetVirtualTradeData {
         try {
             logger.info("Fetching virtual trade data for multiple NINs");
 
-            StringBuilder ninClause = new StringBuilder();
-            for (int i = 0; i < nins.size(); i++) {
-                ninClause.append("'").append(nins.get(i)).append("'");
-                if (i < nins.size() - 1) {
-                    ninClause.append(", ");
-                }
-            }
+            // Build IN clause with placeholders
+            String placeholders = nins.stream()
+                    .map(id -> "?")
+                    .collect(Collectors.joining(", "));
 
-            String query = "SELECT * FROM sec_virtual_trade WHERE NIN IN (" + ninClause.toString() + ")";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM sec_virtual_trade WHERE NIN IN (" + placeholders + ")";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nins.toArray());
 
             if (!results.isEmpty()) {
                 allTradeData = results;
@@ -1,11 +1,20 @@
 package com.example.screensData.orders;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.KeysetPage;
+import com.example.utils.db.KeysetPager;
+import com.example.utils.db.KeysetSpec;
+import com.example.utils.db.RowHandler;
+import com.example.utils.db.SqlWhere;
+import com.example.verification.orders.OrderLifecycleReconciler;
+import com.example.verification.orders.OrderLifecycleReport;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +24,8 @@ import java.util.Map;
 public class GetOrdersData {
 
     private static final Logger logger = Logger.getLogger(GetOrdersData.class);
+    // XDP_ORDERS has no unique sequence: latest TIME_STAMP first, ROWID breaks ties
+    private static final KeysetSpec LATEST_XDP_ORDERS = KeysetSpec.table("XDP_ORDERS").key("TIME_STAMP", KeysetSpec.ROWID).descending();
     private OracleDBConnection dbConnection;
 
     // Order data fields - Main columns from SEC_ORDERS table
@@ -65,12 +76,14 @@ public class GetOrdersData {
         try {
             logger.info("Fetching orders for client ID: " + clientId + " for today");
 
-            String query = "SELECT * FROM sec_orders o " +
-                          "WHERE o.cl_id = ? " +
-                          "AND order_date = TRUNC(SYSDATE) " +
-                          "ORDER BY o.time_stamp DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("o.cl_id", clientId)
+                    // ORDER_DATE holds the trading day at midnight; equality keeps rows stamped with a time out, as before
+                    .raw("o.order_date = TRUNC(SYSDATE)");
+            String query = "SELECT * FROM sec_orders o" + where.toSql() +
+                          " ORDER BY o.time_stamp DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -100,12 +113,13 @@ public class GetOrdersData {
         try {
             logger.info("Fetching orders for client ID: " + clientId + " for date: " + orderDate);
 
-            String query = "SELECT * FROM sec_orders o " +
-                          "WHERE o.cl_id = ? " +
-                          "AND TRUNC(order_date) = TO_DATE(?, 'YYYY-MM-DD') " +
-                          "ORDER BY o.time_stamp DESC";
+            SqlWhere where = SqlWhere.create()
+                    .eq("o.cl_id", clientId)
+                    .within("order_date", DateWindow.day(orderDate));
+            String query = "SELECT * FROM sec_orders o" + where.toSql() +
+                          " ORDER BY o.time_stamp DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, clientId, orderDate);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -119,7 +133,7 @@ public class GetOrdersData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error fetching orders data: " + e.getMessage(), e);
             return false;
         }
@@ -168,7 +182,7 @@ public class GetOrdersData {
 
             String query = "SELECT * FROM XDP_ORDERS ORDER BY ROWNUM DESC";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -189,7 +203,29 @@ public class GetOrdersData {
     }
 
     /**
-     * Fetch limited number of orders from XDP_ORDERS table
+     * Stream all orders from XDP_ORDERS without keeping them in memory
+     * Rows are not stored in getAllOrderRecords(); the handler receives a reused row view
+     * @param handler Callback invoked once per order
+     * @return Number of orders processed, or -1 if the query failed
+     */
+    public long streamAllOrdersFromXDP(RowHandler handler) {
+        try {
+            logger.info("Streaming ALL orders from XDP_ORDERS table");
+
+            String query = "SELECT * FROM XDP_ORDERS";
+
+            long count = dbConnection.forEachRow(query, handler);
+            logger.info("Orders streamed successfully from XDP_ORDERS. Processed " + count + " record(s)");
+            return count;
+
+        } catch (SQLException e) {
+            logger.error("Error streaming orders data from XDP_ORDERS: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Fetch the latest orders from XDP_ORDERS table (newest TIME_STAMP first)
      * @param limit Maximum number of records to fetch
      * @return true if data found, false otherwise
      */
@@ -197,9 +233,10 @@ public class GetOrdersData {
         try {
             logger.info("Fetching last " + limit + " orders from XDP_ORDERS table");
 
-            String query = "SELECT * FROM XDP_ORDERS ORDER BY ROWNUM DESC FETCH FIRST " + limit + " ROWS ONLY";
-
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            // A limit below 1 finds nothing, as FETCH FIRST 0 ROWS did; KeysetSpec rejects such page sizes
+            List<Map<String, Object>> results = limit > 0
+                    ? new KeysetPager(dbConnection, LATEST_XDP_ORDERS.pageSize(limit)).fetch(null).getRows()
+                    : new ArrayList<>();
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -219,6 +256,77 @@ public class GetOrdersData {
         }
     }
 
+    /**
+     * Fetch one page of XDP_ORDERS, latest order first
+     * Rows are stored as the current records; pass the returned page's continuation token to get the next page
+     * @param continuationToken Token of the previous page, null for the first page
+     * @param pageSize Number of rows per page
+     * @return Page with rows and the next token, or null if the query failed
+     */
+    public KeysetPage fetchXDPOrdersPage(String continuationToken, int pageSize) {
+        try {
+            KeysetPage page = new KeysetPager(dbConnection, LATEST_XDP_ORDERS.pageSize(pageSize)).fetch(continuationToken);
+            allOrdersData = page.getRows();
+            if (!page.isEmpty()) {
+                parseOrderData(page.getRows().get(0));
+            }
+            logger.info("XDP_ORDERS page fetched: " + page.size() + " record(s)" + (page.hasMore() ? "" : ", last page"));
+            return page;
+        } catch (SQLException e) {
+            logger.error("Error fetching XDP_ORDERS page: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Walk XDP_ORDERS page by page, latest order first, without keeping earlier pages in memory
+     * Save each page's continuation token to restart a failed job from the last completed page.
+     * @param continuationToken Where to start, null for the beginning
+     * @param pageSize Number of rows per page
+     * @param handler Callback invoked once per page, returns false to stop
+     * @return Number of rows processed, or -1 if a query failed
+     */
+    public long walkXDPOrders(String continuationToken, int pageSize, KeysetPager.PageHandler handler) {
+        try {
+            return new KeysetPager(dbConnection, LATEST_XDP_ORDERS.pageSize(pageSize)).forEachPage(continuationToken, handler);
+        } catch (SQLException e) {
+            logger.error("Error walking XDP_ORDERS: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Reconcile today's order lifecycles across SEC_ORDERS, SEC_FIX_SEND_QUEY_TAGS, XDP_ORDERS and XDP_ORDERS_HIST
+     * @return Report with the broken and orphaned lifecycles, or null if the tables cannot be read
+     */
+    public OrderLifecycleReport reconcileOrderLifecyclesToday() {
+        return reconcileOrderLifecycles(DateWindow.databaseToday());
+    }
+
+    /**
+     * Reconcile one day's order lifecycles across SEC_ORDERS, SEC_FIX_SEND_QUEY_TAGS, XDP_ORDERS and XDP_ORDERS_HIST
+     * @param orderDate Order date (format: YYYY-MM-DD)
+     * @return Report with the broken and orphaned lifecycles, or null if the tables cannot be read
+     */
+    public OrderLifecycleReport reconcileOrderLifecycles(String orderDate) {
+        try {
+            return reconcileOrderLifecycles(DateWindow.day(orderDate));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error reconciling order lifecycles: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private OrderLifecycleReport reconcileOrderLifecycles(DateWindow window) {
+        try {
+            logger.info("Reconciling order lifecycles for " + window);
+            return new OrderLifecycleReconciler(dbConnection).reconcile(window);
+        } catch (SQLException e) {
+            logger.error("Error reconciling order lifecycles: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
     /**
      * Dynamic method to fetch orders from SEC_ORDERS table with flexible parameters
      * Accepts any number of column-value pairs as parameters and builds a safe query
@@ -242,9 +350,7 @@ public class GetOrdersData {
             }
 
             // Filter out null and empty values, and validate column names
-            Map<String, Object> validParams = new HashMap<>();
-            List<Object> paramValues = new ArrayList<>();
-            StringBuilder whereClause = new StringBuilder();
+            Map<String, Object> validParams = new LinkedHashMap<>();
 
             for (Map.Entry<String, Object> entry : parameters.entrySet()) {
                 String columnName = entry.getKey();
@@ -262,8 +368,8 @@ public class GetOrdersData {
                     continue;
                 }
 
-                // Validate column name to prevent SQL injection (only allow alphanumeric and underscore)
-                if (!isValidColumnName(columnName)) {
+                // Validate column name to prevent SQL injection (column names are written into the SQL text)
+                if (!SqlWhere.isValidColumnName(columnName)) {
                     logger.warn("Invalid column name detected: " + columnName + ". Skipping.");
                     continue;
                 }
@@ -278,25 +384,17 @@ public class GetOrdersData {
             }
 
             // Build WHERE clause with parameterized query
-            boolean isFirst = true;
-            for (String columnName : validParams.keySet()) {
-                if (!isFirst) {
-                    whereClause.append(" AND ");
-                }
-                whereClause.append(columnName).append(" = ?");
-                paramValues.add(validParams.get(columnName));
-                isFirst = false;
-            }
+            SqlWhere where = SqlWhere.create().eqAll(validParams);
 
             // Build the complete query
-            String query = "SELECT * FROM sec_orders WHERE " + whereClause.toString() + " ORDER BY TIME_STAMP DESC";
+            String query = "SELECT * FROM sec_orders" + where.toSql() + " ORDER BY TIME_STAMP DESC";
 
             logger.info("Executing dynamic query with " + validParams.size() + " parameter(s)");
             logger.debug("Query: " + query);
             logger.debug("Parameters: " + validParams);
 
             // Execute the query using parameterized statement
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, paramValues.toArray());
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -319,53 +417,31 @@ public class GetOrdersData {
         }
     }
 
-    /**
-     * Validates column name to prevent SQL injection
-     * Only allows alphanumeric characters, underscores, and common database naming patterns
-     *
-     * @param columnName The column name to validate
-     * @return true if valid, false otherwise
-     */
-    private boolean isValidColumnName(String columnName) {
-        if (columnName == null || columnName.trim().isEmpty()) {
-            return false;
-        }
-
-        // Allow only letters, numbers, underscores, and hyphens
-        // Column names must start with a letter or underscore
-        String pattern = "^[A-Za-z_][A-Za-z0-9_]{0,63}$";
-        return columnName.matches(pattern);
-    }
-
     /**
      * Dynamic method to fetch orders with date range support
-     * Extends the basic dynamic query to support date ranges
+     * Extends the basic dynamic query to support date ranges; both ends are inclusive days and are
+     * applied as a half-open range on the bare column (dateColumn >= start AND dateColumn < end + 1 day)
      *
      * @param parameters Map of column names and their values
      * @param dateColumn The date column to filter on (e.g., "ORDER_DATE")
-     * @param startDate Start date (format: YYYY-MM-DD)
-     * @param endDate End date (format: YYYY-MM-DD)
+     * @param startDate Start date (YYYY-MM-DD, DD-MM-YYYY or DD-Mon-YYYY), null or empty for no lower bound
+     * @param endDate End date (same formats), null or empty for no upper bound
      * @return true if data found, false otherwise
      */
     public boolean fetchOrdersWithDateRange(Map<String, Object> parameters, String dateColumn, String startDate, String endDate) {
         try {
             // Validate date column name
-            if (!isValidColumnName(dateColumn)) {
+            if (!SqlWhere.isValidColumnName(dateColumn)) {
                 logger.error("Invalid date column name: " + dateColumn);
                 return false;
             }
 
-            // Initialize parameters map if null
-            Map<String, Object> allParams = parameters != null ? new HashMap<>(parameters) : new HashMap<>();
-
             // Filter out null and empty values
-            Map<String, Object> validParams = new HashMap<>();
-            List<Object> paramValues = new ArrayList<>();
-            StringBuilder whereClause = new StringBuilder();
+            Map<String, Object> validParams = new LinkedHashMap<>();
 
             // Add regular parameters
-            if (!allParams.isEmpty()) {
-                for (Map.Entry<String, Object> entry : allParams.entrySet()) {
+            if (parameters != null) {
+                for (Map.Entry<String, Object> entry : parameters.entrySet()) {
                     String columnName = entry.getKey();
                     Object value = entry.getValue();
 
@@ -373,52 +449,42 @@ public class GetOrdersData {
                         continue;
                     }
 
-                    if (!isValidColumnName(columnName)) {
+                    if (!SqlWhere.isValidColumnName(columnName)) {
                         logger.warn("Invalid column name: " + columnName);
                         continue;
                     }
 
-                    if (whereClause.length() > 0) {
-                        whereClause.append(" AND ");
-                    }
-                    whereClause.append(columnName).append(" = ?");
-                    paramValues.add(value);
                     validParams.put(columnName, value);
                 }
             }
 
             // Add date range conditions
-            if (startDate != null && !startDate.trim().isEmpty()) {
-                if (whereClause.length() > 0) {
-                    whereClause.append(" AND ");
-                }
-                whereClause.append("TRUNC(").append(dateColumn).append(") >= TO_DATE(?, 'YYYY-MM-DD')");
-                paramValues.add(startDate);
-            }
-
-            if (endDate != null && !endDate.trim().isEmpty()) {
-                if (whereClause.length() > 0) {
-                    whereClause.append(" AND ");
-                }
-                whereClause.append("TRUNC(").append(dateColumn).append(") <= TO_DATE(?, 'YYYY-MM-DD')");
-                paramValues.add(endDate);
+            boolean hasStart = startDate != null && !startDate.trim().isEmpty();
+            boolean hasEnd = endDate != null && !endDate.trim().isEmpty();
+            SqlWhere where = SqlWhere.create().eqAll(validParams);
+            if (hasStart && hasEnd) {
+                where.within(dateColumn, DateWindow.between(startDate, endDate));
+            } else if (hasStart) {
+                where.within(dateColumn, DateWindow.from(startDate));
+            } else if (hasEnd) {
+                where.within(dateColumn, DateWindow.until(endDate));
             }
 
             // Check if we have any conditions
-            if (whereClause.length() == 0) {
+            if (where.isEmpty()) {
                 logger.warn("No valid parameters or date range provided");
                 return false;
             }
 
             // Build the complete query
-            String query = "SELECT * FROM sec_orders WHERE " + whereClause.toString() + " ORDER BY TIME_STAMP DESC";
+            String query = "SELECT * FROM sec_orders" + where.toSql() + " ORDER BY TIME_STAMP DESC";
 
             logger.info("Executing dynamic query with date range");
             logger.debug("Query: " + query);
             logger.debug("Parameters: " + validParams + ", startDate: " + startDate + ", endDate: " + endDate);
 
             // Execute the query
-            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, paramValues.toArray());
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, where.getParameters());
 
             if (!results.isEmpty()) {
                 allOrdersData = results;
@@ -431,7 +497,7 @@ public class GetOrdersData {
                 return false;
             }
 
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalArgumentException e) {
             logger.error("Error executing dynamic date range query: " + e.getMessage(), e);
             return false;
         } catch (Exception e) {
@@ -1,6 +1,9 @@
 package com.example.screensData.orders;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.KeysetPage;
+import com.example.utils.db.KeysetPager;
+import com.example.utils.db.KeysetSpec;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +17,8 @@ import java.util.Map;
 public class GetOrdersHistData {
 
     private static final Logger logger = Logger.getLogger(GetOrdersHistData.class);
+    // Latest TIME_STAMP first, ROWID breaks ties between history rows of the same second
+    private static final KeysetSpec LATEST_ORDERS_HIST = KeysetSpec.table("XDP_ORDERS_HIST").key("TIME_STAMP", KeysetSpec.ROWID).descending();
     private OracleDBConnection dbConnection;
 
     // XDP_ORDERS_HIST column fields (same as XDP_ORDERS)
@@ -53,7 +58,7 @@ public class GetOrdersHistData {
         try {
             logger.info("Fetching all orders history data from XDP_ORDERS_HIST");
             String query = "SELECT * FROM XDP_ORDERS_HIST";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allOrdersHistData = results;
@@ -69,11 +74,11 @@ public class GetOrdersHistData {
         }
     }
 
-    public boolean fetchOrdersHistByCondition(String whereClause) {
+    public boolean fetchOrdersHistByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching orders history data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_ORDERS_HIST WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allOrdersHistData = results;
@@ -92,8 +97,10 @@ public class GetOrdersHistData {
     public boolean fetchOrdersHistByLimit(int limit) {
         try {
             logger.info("Fetching last " + limit + " orders history records");
-            String query = "SELECT * FROM XDP_ORDERS_HIST ORDER BY ROWNUM DESC FETCH FIRST " + limit + " ROWS ONLY";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            // A limit below 1 finds nothing, as FETCH FIRST 0 ROWS did; KeysetSpec rejects such page sizes
+            List<Map<String, Object>> results = limit > 0
+                    ? new KeysetPager(dbConnection, LATEST_ORDERS_HIST.pageSize(limit)).fetch(null).getRows()
+                    : new ArrayList<>();
 
             if (!results.isEmpty()) {
                 allOrdersHistData = results;
@@ -109,6 +116,42 @@ public class GetOrdersHistData {
         }
     }
 
+    /**
+     * Fetch one page of XDP_ORDERS_HIST, latest first
+     * Rows are stored as the current records; pass the returned page's continuation token to get the next page
+     * @param continuationToken Token of the previous page, null for the first page
+     * @param pageSize Number of rows per page
+     * @return Page with rows and the next token, or null if the query failed
+     */
+    public KeysetPage fetchOrdersHistPage(String continuationToken, int pageSize) {
+        try {
+            KeysetPage page = new KeysetPager(dbConnection, LATEST_ORDERS_HIST.pageSize(pageSize)).fetch(continuationToken);
+            allOrdersHistData = page.getRows();
+            logger.info("XDP_ORDERS_HIST page fetched: " + page.size() + " record(s)" + (page.hasMore() ? "" : ", last page"));
+            return page;
+        } catch (SQLException e) {
+            logger.error("Error fetching XDP_ORDERS_HIST page: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Walk XDP_ORDERS_HIST page by page, latest first, without keeping earlier pages in memory
+     * Save each page's continuation token to restart a failed job from the last completed page.
+     * @param continuationToken Where to start, null for the beginning
+     * @param pageSize Number of rows per page
+     * @param handler Callback invoked once per page, returns false to stop
+     * @return Number of rows processed, or -1 if a query failed
+     */
+    public long walkOrdersHist(String continuationToken, int pageSize, KeysetPager.PageHandler handler) {
+        try {
+            return new KeysetPager(dbConnection, LATEST_ORDERS_HIST.pageSize(pageSize)).forEachPage(continuationToken, handler);
+        } catch (SQLException e) {
+            logger.error("Error walking XDP_ORDERS_HIST: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
     public List<Map<String, Object>> getAllOrdersHistRecords() {
         return allOrdersHistData;
     }
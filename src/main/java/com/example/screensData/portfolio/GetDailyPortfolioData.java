@@ -1,6 +1,7 @@
 package com.example.screensData.portfolio;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.MultiKeyQuery;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -15,6 +16,8 @@ import java.util.Map;
 public class GetDailyPortfolioData {
 
     private static final Logger logger = Logger.getLogger(GetDailyPortfolioData.class);
+    private static final MultiKeyQuery DAILY_PORTFOLIO_BY_NIN =
+            MultiKeyQuery.of("SELECT * FROM SEC_EQU_DAILY_PORTFOLIO WHERE NIN IN (" + MultiKeyQuery.KEYS + ")");
     private OracleDBConnection dbConnection;
 
     // Daily Portfolio data fields - All 18 columns from SEC_EQU_DAILY_PORTFOLIO table
@@ -60,8 +63,8 @@ public class GetDailyPortfolioData {
         try {
             logger.info("Fetching daily portfolio data for NIN: " + nin);
 
-            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO WHERE NIN = '" + nin + "'";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO WHERE NIN = ?";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, nin);
 
             if (!results.isEmpty()) {
                 allDailyPortfolioData = results;
@@ -88,16 +91,7 @@ public class GetDailyPortfolioData {
         try {
             logger.info("Fetching daily portfolio data for multiple NINs");
 
-            StringBuilder ninClause = new StringBuilder();
-            for (int i = 0; i < nins.size(); i++) {
-                ninClause.append("'").append(nins.get(i)).append("'");
-                if (i < nins.size() - 1) {
-                    ninClause.append(", ");
-                }
-            }
-
-            String query = "SELECT * FROM SEC_EQU_DAILY_PORTFOLIO WHERE NIN IN (" + ninClause.toString() + ")";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = DAILY_PORTFOLIO_BY_NIN.execute(dbConnection, nins);
 
             if (!results.isEmpty()) {
                 allDailyPortfolioData = results;
@@ -1,6 +1,11 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.WatermarkReader;
+import com.example.utils.db.WatermarkRun;
+import com.example.utils.db.WatermarkSpec;
+import com.example.verification.market.OrderBookReport;
+import com.example.verification.market.OrderBookVerifier;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +19,8 @@ import java.util.Map;
 public class GetAllMbpData {
 
     private static final Logger logger = Logger.getLogger(GetAllMbpData.class);
+    // Inserts stamp CREATION_DATE, updates TIME_STAMP
+    private static final WatermarkSpec MBP_WATERMARK = WatermarkSpec.table("XDP_ALL_MBP").columns("CREATION_DATE", "TIME_STAMP");
     private OracleDBConnection dbConnection;
 
     // XDP_ALL_MBP column fields
@@ -43,7 +50,7 @@ public class GetAllMbpData {
         try {
             logger.info("Fetching all MBP data from XDP_ALL_MBP");
             String query = "SELECT * FROM XDP_ALL_MBP";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allMbpData = results;
@@ -59,11 +66,44 @@ public class GetAllMbpData {
         }
     }
 
-    public boolean fetchAllMbpByCondition(String whereClause) {
+    /**
+     * Fetch the MBP rows added or updated since the last committed incremental run
+     * The first run fetches every row. Commit the returned run once the rows are validated so the
+     * next run starts after them; a run that is not committed is fetched again next time.
+     * @return Run holding the changed rows (also stored as the current records), or null if the query failed
+     */
+    public WatermarkRun fetchMbpChangedSinceLastRun() {
+        try {
+            WatermarkRun run = new WatermarkReader(dbConnection, MBP_WATERMARK).fetch();
+            allMbpData = run.getRows();
+            logger.info("XDP_ALL_MBP incremental fetch: " + run);
+            return run;
+        } catch (SQLException e) {
+            logger.error("Error fetching changed XDP_ALL_MBP rows: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Rebuild the book of every instrument from its latest MBP messages and check it for crossed
+     * prices, bad levels and disagreement with XDP_QUOTES and XDP_INST_LIVEQUOTE (see OrderBookVerifier)
+     * @return Report with every book and the issues found, or null if the tables cannot be read
+     */
+    public OrderBookReport verifyOrderBooks() {
+        try {
+            logger.info("Rebuilding and checking order books from XDP_ALL_MBP");
+            return new OrderBookVerifier(dbConnection).verify();
+        } catch (SQLException | IllegalStateException e) {
+            logger.error("Error checking order books: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    public boolean fetchAllMbpByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching MBP data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_ALL_MBP WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allMbpData = results;
@@ -1,6 +1,9 @@
 package com.example.screensData.xdp;
 
+import com.example.records.IndexRecord;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.index.IndexRecomputeEngine;
+import com.example.verification.index.IndexRecomputeReport;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -78,11 +81,11 @@ public class GetIndicesData {
         }
     }
 
-    public boolean fetchIndicesByCondition(String whereClause) {
+    public boolean fetchIndicesByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching indices data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_INDICES WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allIndicesData = results;
@@ -98,6 +101,43 @@ public class GetIndicesData {
         }
     }
 
+    /**
+     * Fetch all indices as typed records, read by column position without per-row maps
+     * @return Index records, empty if none were found or the query failed
+     */
+    public List<IndexRecord> fetchAllIndexRecords() {
+        try {
+            logger.info("Fetching all index records from XDP_INDICES");
+            List<IndexRecord> indexRecords = dbConnection.queryForList(IndexRecord.SELECT, IndexRecord.MAPPER);
+
+            if (!indexRecords.isEmpty()) {
+                logger.info("Index records fetched successfully. Found " + indexRecords.size() + " record(s)");
+            } else {
+                logger.warn("No indices data found");
+            }
+            return indexRecords;
+        } catch (SQLException e) {
+            logger.error("Error fetching index records: " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Recompute every index from XDP_INDEX_COMPOSITION and the latest live prices and compare the level and
+     * variation with XDP_INDICES (see IndexRecomputeEngine)
+     * @return Report with every recomputed index and the deviations found, or null if the tables cannot be read
+     */
+    public IndexRecomputeReport recomputeIndices() {
+        logger.info("Recomputing indices from XDP_INDEX_COMPOSITION");
+        try (IndexRecomputeEngine engine = new IndexRecomputeEngine(dbConnection)) {
+            return engine.recomputeAll();
+        } catch (SQLException e) {
+            logger.error("Error recomputing indices: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+
     public List<Map<String, Object>> getAllIndicesRecords() {
         return allIndicesData;
     }
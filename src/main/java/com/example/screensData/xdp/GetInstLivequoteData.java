@@ -53,11 +53,11 @@ public class GetInstLivequoteData {
         }
     }
 
-    public boolean fetchInstLivequoteByCondition(String whereClause) {
+    public boolean fetchInstLivequoteByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching instrument live quote data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_INST_LIVEQUOTE WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allInstLivequoteData = results;
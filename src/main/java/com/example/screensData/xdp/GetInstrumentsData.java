@@ -90,14 +90,14 @@ public class GetInstrumentsData {
 
             String query = "SELECT XD.INST_CODE, XD.GROUP_CODE, XD.MNEMO, XD.NAME, XD.SHOW_ORDER, XD.TRADE_CODE " +
                           "FROM XDP_INSTRUMENTS XD " +
-                          "WHERE XD.INST_CODE = '" + instCode + "' " +
+                          "WHERE XD.INST_CODE = ? " +
                           "AND XD.GROUP_CODE IN ('RM', 'BM', 'IP', 'RR', 'OE', 'VM') " +
                           "AND XD.INST_TYPE IN (041, 273) " +
                           "AND XD.NAME NOT LIKE '%Bond%' " +
                           "AND XD.NAME NOT LIKE '%Tbill%' " +
                           "AND XD.APPEAR_IN_DAILY_BOOK = 'Y'";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, instCode);
 
             if (!results.isEmpty()) {
                 allInstrumentsData = results;
@@ -128,14 +128,14 @@ public class GetInstrumentsData {
 
             String query = "SELECT XD.INST_CODE, XD.GROUP_CODE, XD.MNEMO, XD.NAME, XD.SHOW_ORDER, XD.TRADE_CODE " +
                           "FROM XDP_INSTRUMENTS XD " +
-                          "WHERE XD.GROUP_CODE = '" + groupCode + "' " +
+                          "WHERE XD.GROUP_CODE = ? " +
                           "AND XD.INST_TYPE IN (041, 273) " +
                           "AND XD.NAME NOT LIKE '%Bond%' " +
                           "AND XD.NAME NOT LIKE '%Tbill%' " +
                           "AND XD.APPEAR_IN_DAILY_BOOK = 'Y' " +
                           "ORDER BY XD.SHOW_ORDER ASC";
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, groupCode);
 
             if (!results.isEmpty()) {
                 allInstrumentsData = results;
@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupCategoryData {
 
     private static final Logger logger = Logger.getLogger(GetLkupCategoryData.class);
+    private static final String TABLE = "XDP_LKUP_CATEGORY";
     private OracleDBConnection dbConnection;
 
     // Lookup Category data fields - All 2 columns from XDP_LKUP_CATEGORY table
@@ -32,7 +34,7 @@ public class GetLkupCategoryData {
         try {
             logger.info("Fetching all lookup category data from XDP_LKUP_CATEGORY");
             String query = "SELECT * FROM XDP_LKUP_CATEGORY";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupCategoryData = results;
@@ -51,11 +53,11 @@ public class GetLkupCategoryData {
         }
     }
 
-    public boolean fetchLkupCategoryByCondition(String whereClause) {
+    public boolean fetchLkupCategoryByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup category data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_CATEGORY WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupCategoryData = results;
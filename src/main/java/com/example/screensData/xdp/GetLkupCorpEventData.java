@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupCorpEventData {
 
     private static final Logger logger = Logger.getLogger(GetLkupCorpEventData.class);
+    private static final String TABLE = "XDP_LKUP_CORP_EVENT";
     private OracleDBConnection dbConnection;
 
     // Lookup Corporate Event data fields - All 2 columns from XDP_LKUP_CORP_EVENT table
@@ -32,7 +34,7 @@ public class GetLkupCorpEventData {
         try {
             logger.info("Fetching all lookup corporate event data from XDP_LKUP_CORP_EVENT");
             String query = "SELECT * FROM XDP_LKUP_CORP_EVENT";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupCorpEventData = results;
@@ -51,11 +53,11 @@ public class GetLkupCorpEventData {
         }
     }
 
-    public boolean fetchLkupCorpEventByCondition(String whereClause) {
+    public boolean fetchLkupCorpEventByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup corporate event data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_CORP_EVENT WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupCorpEventData = results;
@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupCurrencyData {
 
     private static final Logger logger = Logger.getLogger(GetLkupCurrencyData.class);
+    private static final String TABLE = "XDP_LKUP_CURRENCY";
     private OracleDBConnection dbConnection;
 
     // Lookup Currency data fields - All 4 columns from XDP_LKUP_CURRENCY table
@@ -34,7 +36,7 @@ public class GetLkupCurrencyData {
         try {
             logger.info("Fetching all lookup currency data from XDP_LKUP_CURRENCY");
             String query = "SELECT * FROM XDP_LKUP_CURRENCY";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupCurrencyData = results;
@@ -53,11 +55,11 @@ public class GetLkupCurrencyData {
         }
     }
 
-    public boolean fetchLkupCurrencyByCondition(String whereClause) {
+    public boolean fetchLkupCurrencyByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup currency data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_CURRENCY WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupCurrencyData = results;
@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupGroupStateData {
 
     private static final Logger logger = Logger.getLogger(GetLkupGroupStateData.class);
+    private static final String TABLE = "XDP_LKUP_GROUP_STATE";
     private OracleDBConnection dbConnection;
 
     // Lookup Group State data fields - All 2 columns from XDP_LKUP_GROUP_STATE table
@@ -32,7 +34,7 @@ public class GetLkupGroupStateData {
         try {
             logger.info("Fetching all lookup group state data from XDP_LKUP_GROUP_STATE");
             String query = "SELECT * FROM XDP_LKUP_GROUP_STATE";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupGroupStateData = results;
@@ -51,11 +53,11 @@ public class GetLkupGroupStateData {
         }
     }
 
-    public boolean fetchLkupGroupStateByCondition(String whereClause) {
+    public boolean fetchLkupGroupStateByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup group state data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_GROUP_STATE WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupGroupStateData = results;
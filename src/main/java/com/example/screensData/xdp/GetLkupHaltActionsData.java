@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupHaltActionsData {
 
     private static final Logger logger = Logger.getLogger(GetLkupHaltActionsData.class);
+    private static final String TABLE = "XDP_LKUP_HALT_ACTIONS";
     private OracleDBConnection dbConnection;
 
     // Lookup Halt Actions data fields - All 2 columns from XDP_LKUP_HALT_ACTIONS table
@@ -32,7 +34,7 @@ public class GetLkupHaltActionsData {
         try {
             logger.info("Fetching all lookup halt actions data from XDP_LKUP_HALT_ACTIONS");
             String query = "SELECT * FROM XDP_LKUP_HALT_ACTIONS";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupHaltActionsData = results;
@@ -51,11 +53,11 @@ public class GetLkupHaltActionsData {
         }
     }
 
-    public boolean fetchLkupHaltActionsByCondition(String whereClause) {
+    public boolean fetchLkupHaltActionsByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup halt actions data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_HALT_ACTIONS WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupHaltActionsData = results;
@@ -1,6 +1,7 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ReferenceDataCache;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class GetLkupInstCntryData {
 
     private static final Logger logger = Logger.getLogger(GetLkupInstCntryData.class);
+    private static final String TABLE = "XDP_LKUP_INST_CNTRY";
     private OracleDBConnection dbConnection;
 
     // Lookup Instrument Country data fields - All 4 columns from XDP_LKUP_INST_CNTRY table
@@ -34,7 +36,7 @@ public class GetLkupInstCntryData {
         try {
             logger.info("Fetching all lookup instrument country data from XDP_LKUP_INST_CNTRY");
             String query = "SELECT * FROM XDP_LKUP_INST_CNTRY";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query);
 
             if (!results.isEmpty()) {
                 allLkupInstCntryData = results;
@@ -53,11 +55,11 @@ public class GetLkupInstCntryData {
         }
     }
 
-    public boolean fetchLkupInstCntryByCondition(String whereClause) {
+    public boolean fetchLkupInstCntryByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching lookup instrument country data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_LKUP_INST_CNTRY WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = ReferenceDataCache.getShared().query(dbConnection, TABLE, query, parameters);
 
             if (!results.isEmpty()) {
                 allLkupInstCntryData = results;
@@ -70,13 +70,13 @@ public class GetMarketSummaryData {
      * @param whereClause WHERE clause for filtering (e.g., "GROUP_CODE = 'RM'")
      * @return true if data found, false otherwise
      */
-    public boolean fetchMarketSummaryByCondition(String whereClause) {
+    public boolean fetchMarketSummaryByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching market summary data with condition: " + whereClause);
 
             String query = "SELECT * FROM XDP_MARKET_SUMMARY WHERE " + whereClause;
 
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allMarketSummaryData = results;
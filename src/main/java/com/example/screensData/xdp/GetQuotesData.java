@@ -1,6 +1,9 @@
 package com.example.screensData.xdp;
 
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.WatermarkReader;
+import com.example.utils.db.WatermarkRun;
+import com.example.utils.db.WatermarkSpec;
 import org.apache.log4j.Logger;
 
 import java.sql.SQLException;
@@ -14,6 +17,8 @@ import java.util.Map;
 public class GetQuotesData {
 
     private static final Logger logger = Logger.getLogger(GetQuotesData.class);
+    // Quotes are inserted, never updated, so the quote time marks new rows
+    private static final WatermarkSpec QUOTES_WATERMARK = WatermarkSpec.table("XDP_QUOTES").columns("QUOTE_DATE");
     private OracleDBConnection dbConnection;
 
     // XDP_QUOTES column fields
@@ -43,7 +48,7 @@ public class GetQuotesData {
         try {
             logger.info("Fetching all quotes data from XDP_QUOTES");
             String query = "SELECT * FROM XDP_QUOTES";
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryColumnar(query);
 
             if (!results.isEmpty()) {
                 allQuotesData = results;
@@ -59,11 +64,29 @@ public class GetQuotesData {
         }
     }
 
-    public boolean fetchQuotesByCondition(String whereClause) {
+    /**
+     * Fetch the quotes added since the last committed incremental run
+     * The first run fetches every row. Commit the returned run once the rows are validated so the
+     * next run starts after them; a run that is not committed is fetched again next time.
+     * @return Run holding the changed rows (also stored as the current records), or null if the query failed
+     */
+    public WatermarkRun fetchQuotesChangedSinceLastRun() {
+        try {
+            WatermarkRun run = new WatermarkReader(dbConnection, QUOTES_WATERMARK).fetch();
+            allQuotesData = run.getRows();
+            logger.info("XDP_QUOTES incremental fetch: " + run);
+            return run;
+        } catch (SQLException e) {
+            logger.error("Error fetching changed XDP_QUOTES rows: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    public boolean fetchQuotesByCondition(String whereClause, Object... parameters) {
         try {
             logger.info("Fetching quotes data with condition: " + whereClause);
             String query = "SELECT * FROM XDP_QUOTES WHERE " + whereClause;
-            List<Map<String, Object>> results = dbConnection.executeQuery(query);
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, parameters);
 
             if (!results.isEmpty()) {
                 allQuotesData = results;
@@ -267,6 +267,28 @@ public class APIConfigManager {
         }
     }
 
+    /**
+     * Get API connect timeout, defaults to api.timeout
+     * @return Connect timeout in milliseconds
+     */
+    public static int getConnectTimeout() {
+        String timeout = getProperty("api.connectTimeout", String.valueOf(getTimeout()));
+        try {
+            return Integer.parseInt(timeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid connect timeout value, using api.timeout");
+            return getTimeout();
+        }
+    }
+
+    /**
+     * Check if HTTP/2 should be negotiated (falls back to HTTP/1.1 when the server does not offer it)
+     * @return true unless api.http2 is set to false
+     */
+    public static boolean isHttp2Enabled() {
+        return Boolean.parseBoolean(getProperty("api.http2", "true"));
+    }
+
     /**
      * Get retry attempts
      * @return Number of retry attempts
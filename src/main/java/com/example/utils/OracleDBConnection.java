@@ -1,5 +1,16 @@
 package com.example.utils;
 
+import com.example.utils.db.ColumnIndex;
+import com.example.utils.db.ColumnarResult;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.OracleConnectionPool;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import com.example.utils.db.RowHandler;
+import com.example.utils.db.RowMapper;
+import com.example.utils.db.SnapshotStore;
+import com.example.utils.db.StatementStats;
+import com.example.utils.db.StatementTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,17 +19,30 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 /**
  * Utility class for Oracle Database connection using TNS
+ * Connections are borrowed from a suite-wide OracleConnectionPool for each statement,
+ * so a single instance can be shared safely between test threads. borrowConnection() hands out a pooled
+ * connection for the caller to close; getConnection() keeps returning the handle's own connection.
+ * All SQL is sent as prepared statements and served from the pool's per-connection statement
+ * cache; pass values as bind parameters rather than concatenating them into the SQL text.
+ * Every statement is timed into StatementStats (per SQL fingerprint, see db.stats.enabled), and
+ * with db.replay.mode results are recorded to, or replayed without a database from, the SnapshotStore.
  */
 public class OracleDBConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(OracleDBConnection.class);
-    private Connection connection;
-    private String tnsEntry;
-    private String username;
-    private String password;
+    private static final Object[] NO_PARAMETERS = new Object[0];
+    private final String tnsEntry;
+    private final String username;
+    private final String password;
+    private final SnapshotStore snapshots = SnapshotStore.getShared();
+    private volatile OracleConnectionPool pool;
+    private volatile boolean replayConnected;
+    private Connection ownConnection;
 
     /**
      * Constructor with TNS entry
@@ -33,34 +57,80 @@ public class OracleDBConnection {
     }
 
     /**
-     * Establishes connection to Oracle database using TNS
-     * @return Connection object
-     * @throws SQLException if connection fails
+     * Attaches to the shared connection pool for this TNS entry, creating it on first use
+     * @throws SQLException if the pool cannot be started or the database is unreachable
      */
-    public Connection connect() throws SQLException {
-        try {
-            // Load Oracle JDBC driver
-            Class.forName("oracle.jdbc.driver.OracleDriver");
+    public void connect() throws SQLException {
+        if (snapshots.isReplaying()) {
+            replayConnected = true;
+            logger.info("Replaying recorded results for TNS: {}, no database connection is made", tnsEntry);
+            return;
+        }
+        logger.info("Connecting to Oracle database using TNS: {}", tnsEntry);
+        OracleConnectionPool sharedPool = OracleConnectionPool.getPool(tnsEntry, username, password);
+
+        // Borrow once so an unreachable database fails here, as before, and not in the first query
+        Connection probe = sharedPool.borrow();
+        probe.close();
+        pool = sharedPool;
+        logger.info("Successfully connected to Oracle database");
+    }
 
-            // Build connection URL with TNS
-            String url = "jdbc:oracle:thin:@" + tnsEntry;
+    /**
+     * Get the user and TNS entry this connection logs on with, e.g. for keying cached results
+     * @return username@tnsEntry
+     */
+    public String getDataSourceKey() {
+        return username + "@" + tnsEntry;
+    }
 
-            logger.info("Connecting to Oracle database using TNS: {}", tnsEntry);
-            connection = DriverManager.getConnection(url, username, password);
-            logger.info("Successfully connected to Oracle database");
+    /**
+     * Get this handle's own connection, borrowed from the shared pool on first use and kept until closeConnection()
+     * Do not close it; the query methods borrow their own connections and do not use it.
+     * @return Connection, or null if connect() was not called, results are replayed or no connection is available
+     */
+    public synchronized Connection getConnection() {
+        if (snapshots.isReplaying()) {
+            return null;
+        }
+        OracleConnectionPool currentPool = pool;
+        if (currentPool == null || currentPool.isClosed()) {
+            return null;
+        }
+        try {
+            if (ownConnection == null || ownConnection.isClosed()) {
+                ownConnection = currentPool.borrow();
+            }
+            return ownConnection;
+        } catch (SQLException e) {
+            logger.error("Error getting database connection", e);
+            return null;
+        }
+    }
 
-            return connection;
-        } catch (ClassNotFoundException e) {
-            logger.error("Oracle JDBC Driver not found", e);
-            throw new SQLException("Oracle JDBC Driver not found", e);
+    /**
+     * Borrow a connection from the shared pool for one unit of work
+     * The caller must close the connection to return it to the pool
+     * @return Pooled connection
+     * @throws SQLException if connect() was not called or no connection is available
+     */
+    public Connection borrowConnection() throws SQLException {
+        if (snapshots.isReplaying()) {
+            throw new SQLException("No database connection in replay mode (db.replay.mode=replay)");
         }
+        OracleConnectionPool currentPool = pool;
+        if (currentPool == null || currentPool.isClosed()) {
+            throw new SQLException("Connection is not established. Please call connect() first.");
+        }
+        return currentPool.borrow();
     }
 
     /**
-     * Get the current connection
-     * @return Connection object
+     * Borrow a connection for a timed statement, marking the end of the connection wait
      */
-    public Connection getConnection() {
+    private Connection borrowConnection(StatementTimer timer) throws SQLException {
+        Connection connection = borrowConnection();
+        timer.connected();
         return connection;
     }
 
@@ -71,35 +141,14 @@ public class OracleDBConnection {
      * @throws SQLException if query execution fails
      */
     public List<Map<String, Object>> executeQuery(String query) throws SQLException {
-        List<Map<String, Object>> results = new ArrayList<>();
-
-        if (connection == null || connection.isClosed()) {
-            throw new SQLException("Connection is not established. Please call connect() first.");
-        }
-
-        try (Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(query)) {
-
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
-
-            while (resultSet.next()) {
-                Map<String, Object> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object value = resultSet.getObject(i);
-                    row.put(columnName, value);
-                }
-                results.add(row);
-            }
-
+        try {
+            List<Map<String, Object>> results = query(query, NO_PARAMETERS, OracleDBConnection::readRows, List::size);
             logger.info("Query executed successfully. Retrieved {} rows", results.size());
+            return results;
         } catch (SQLException e) {
             logger.error("Error executing query: {}", query, e);
             throw e;
         }
-
-        return results;
     }
 
     /**
@@ -110,40 +159,220 @@ public class OracleDBConnection {
      * @throws SQLException if query execution fails
      */
     public List<Map<String, Object>> executeQueryWithParams(String query, Object... parameters) throws SQLException {
-        List<Map<String, Object>> results = new ArrayList<>();
+        try {
+            List<Map<String, Object>> results = query(query, parameters, OracleDBConnection::readRows, List::size);
+            logger.info("Parameterized query executed successfully. Retrieved {} rows", results.size());
+            return results;
+        } catch (SQLException e) {
+            logger.error("Error executing parameterized query: {}", query, e);
+            throw e;
+        }
+    }
 
-        if (connection == null || connection.isClosed()) {
-            throw new SQLException("Connection is not established. Please call connect() first.");
+    /**
+     * Execute a SELECT query and return a compact, column-oriented result
+     * Column names are stored once and values are kept in per-column arrays; the result is still
+     * a List of (read-only) maps, so it can replace executeQuery results for large fetches.
+     * @param query SQL SELECT query with ? placeholders
+     * @param parameters Parameters to bind to the query
+     * @return Columnar result
+     * @throws SQLException if query execution fails
+     */
+    public ColumnarResult executeQueryColumnar(String query, Object... parameters) throws SQLException {
+        try {
+            ColumnarResult results = query(query, parameters, (resultSet, timer) -> ColumnarResult.from(resultSet),
+                    ColumnarResult::size);
+            logger.info("Columnar query executed successfully. Retrieved {} rows", results.size());
+            return results;
+        } catch (SQLException e) {
+            logger.error("Error executing columnar query: {}", query, e);
+            throw e;
         }
+    }
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+    /**
+     * Open a forward-only cursor over a SELECT query
+     * The cursor holds a pooled connection until it is closed, so use try-with-resources.
+     * @param query SQL SELECT query with ? placeholders
+     * @param parameters Parameters to bind to the query
+     * @return Cursor positioned before the first row
+     * @throws SQLException if query execution fails
+     */
+    public RowCursor openCursor(String query, Object... parameters) throws SQLException {
+        return openCursor(DBConfig.getFetchSize(), query, parameters);
+    }
 
-            // Set parameters
-            for (int i = 0; i < parameters.length; i++) {
-                preparedStatement.setObject(i + 1, parameters[i]);
+    /**
+     * Open a forward-only cursor over a SELECT query with an explicit fetch size
+     * When recording, the whole result is read and saved before the cursor is returned.
+     * @param fetchSize Rows fetched per round trip
+     * @param query SQL SELECT query with ? placeholders
+     * @param parameters Parameters to bind to the query
+     * @return Cursor positioned before the first row
+     * @throws SQLException if query execution fails
+     */
+    public RowCursor openCursor(int fetchSize, String query, Object... parameters) throws SQLException {
+        StatementTimer timer = StatementStats.start(query);
+        if (snapshots.isReplaying()) {
+            try {
+                ResultSet resultSet = snapshots.replay(getDataSourceKey(), query, parameters);
+                timer.firstRow();
+                return new RowCursor(null, null, resultSet, timer);
+            } catch (SQLException e) {
+                timer.fail();
+                logger.error("Error opening cursor for query: {}", query, e);
+                throw e;
+            }
+        }
+
+        Connection connection = borrowConnection(timer);
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setQueryTimeout(DBConfig.getQueryTimeout());
+            preparedStatement.setFetchSize(fetchSize);
+            bind(preparedStatement, parameters);
+
+            logger.info("Opening cursor with fetch size {}", fetchSize);
+            ResultSet resultSet = snapshots.record(getDataSourceKey(), query, parameters, preparedStatement.executeQuery());
+            timer.firstRow();
+            return new RowCursor(connection, preparedStatement, resultSet, timer);
+        } catch (SQLException e) {
+            timer.fail();
+            logger.error("Error opening cursor for query: {}", query, e);
+            if (preparedStatement != null) {
+                preparedStatement.close();
             }
+            connection.close();
+            throw e;
+        }
+    }
 
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                ResultSetMetaData metaData = resultSet.getMetaData();
-                int columnCount = metaData.getColumnCount();
+    /**
+     * Stream the rows of a SELECT query
+     * The returned stream must be closed (try-with-resources) to release the connection.
+     * Each element is the same reused Row; call Row.toMap() to keep a copy.
+     * @param query SQL SELECT query with ? placeholders
+     * @param parameters Parameters to bind to the query
+     * @return Stream of rows
+     * @throws SQLException if query execution fails
+     */
+    public Stream<Row> streamQuery(String query, Object... parameters) throws SQLException {
+        return openCursor(query, parameters).stream();
+    }
 
+    /**
+     * Execute a SELECT query and map each row to a typed object
+     * Values are read by column position, so no per-row maps or column name lookups are created.
+     * @param query SQL SELECT query with ? placeholders, columns in the order the mapper reads them
+     * @param mapper Row mapper, e.g. a generated record's MAPPER
+     * @param parameters Parameters to bind to the query
+     * @return Mapped rows in result order
+     * @throws SQLException if query execution or mapping fails
+     */
+    public <T> List<T> queryForList(String query, RowMapper<T> mapper, Object... parameters) throws SQLException {
+        try {
+            List<T> results = query(query, parameters, (resultSet, timer) -> {
+                List<T> mapped = new ArrayList<>();
                 while (resultSet.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    for (int i = 1; i <= columnCount; i++) {
-                        String columnName = metaData.getColumnName(i);
-                        Object value = resultSet.getObject(i);
-                        row.put(columnName, value);
-                    }
-                    results.add(row);
+                    mapped.add(mapper.map(resultSet));
                 }
+                return mapped;
+            }, List::size);
+            logger.info("Typed query executed successfully. Retrieved {} rows", results.size());
+            return results;
+        } catch (SQLException e) {
+            logger.error("Error executing typed query: {}", query, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Run a SELECT query and pass each row to a handler without materialising the result
+     * @param query SQL SELECT query with ? placeholders
+     * @param handler Callback invoked once per row
+     * @param parameters Parameters to bind to the query
+     * @return Number of rows processed
+     * @throws SQLException if query execution or the handler fails
+     */
+    public long forEachRow(String query, RowHandler handler, Object... parameters) throws SQLException {
+        try (RowCursor cursor = openCursor(query, parameters)) {
+            while (cursor.next()) {
+                handler.handle(cursor.row());
             }
+            logger.info("Streamed query executed successfully. Processed {} rows", cursor.getRowCount());
+            return cursor.getRowCount();
+        }
+    }
 
-            logger.info("Parameterized query executed successfully. Retrieved {} rows", results.size());
+    /**
+     * Reads a whole result into the form a query method returns
+     */
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        T read(ResultSet resultSet, StatementTimer timer) throws SQLException;
+    }
+
+    /**
+     * Run a SELECT query and read its result, timing it and recording or replaying it when configured
+     */
+    private <T> T query(String query, Object[] parameters, ResultReader<T> reader, ToIntFunction<T> rowCount)
+            throws SQLException {
+        StatementTimer timer = StatementStats.start(query);
+        try {
+            T results;
+            if (snapshots.isReplaying()) {
+                try (ResultSet resultSet = snapshots.replay(getDataSourceKey(), query, parameters)) {
+                    timer.firstRow();
+                    results = reader.read(resultSet, timer);
+                }
+            } else {
+                // Prepared (not plain) statement so the text is served from the per-connection statement cache
+                try (Connection connection = borrowConnection(timer);
+                     PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                    preparedStatement.setQueryTimeout(DBConfig.getQueryTimeout());
+                    preparedStatement.setFetchSize(DBConfig.getFetchSize());
+                    bind(preparedStatement, parameters);
+
+                    try (ResultSet resultSet = snapshots.record(getDataSourceKey(), query, parameters,
+                            preparedStatement.executeQuery())) {
+                        timer.firstRow();
+                        results = reader.read(resultSet, timer);
+                    }
+                }
+            }
+            timer.finish(rowCount.applyAsInt(results));
+            return results;
         } catch (SQLException e) {
-            logger.error("Error executing parameterized query: {}", query, e);
+            timer.fail();
             throw e;
         }
+    }
+
+    private static void bind(PreparedStatement preparedStatement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            preparedStatement.setObject(i + 1, parameters[i]);
+        }
+    }
 
+    /**
+     * Read all rows of a result set into maps, resolving column names once
+     */
+    private static List<Map<String, Object>> readRows(ResultSet resultSet, StatementTimer timer) throws SQLException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        ColumnIndex columns = ColumnIndex.from(resultSet.getMetaData());
+        int columnCount = columns.size();
+
+        while (resultSet.next()) {
+            Map<String, Object> row = new HashMap<>(columnCount * 2);
+            for (int i = 0; i < columnCount; i++) {
+                Object value = resultSet.getObject(i + 1);
+                timer.addValue(value);
+                row.put(columns.getName(i), value);
+            }
+            results.add(row);
+        }
         return results;
     }
 
@@ -154,12 +383,8 @@ public class OracleDBConnection {
      * @throws SQLException if execution fails
      */
     public int executeUpdate(String query) throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            throw new SQLException("Connection is not established. Please call connect() first.");
-        }
-
-        try (Statement statement = connection.createStatement()) {
-            int rowsAffected = statement.executeUpdate(query);
+        try {
+            int rowsAffected = update(query, NO_PARAMETERS);
             logger.info("Update executed successfully. {} rows affected", rowsAffected);
             return rowsAffected;
         } catch (SQLException e) {
@@ -176,40 +401,62 @@ public class OracleDBConnection {
      * @throws SQLException if execution fails
      */
     public int executeUpdateWithParams(String query, Object... parameters) throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            throw new SQLException("Connection is not established. Please call connect() first.");
+        try {
+            int rowsAffected = update(query, parameters);
+            logger.info("Parameterized update executed successfully. {} rows affected", rowsAffected);
+            return rowsAffected;
+        } catch (SQLException e) {
+            logger.error("Error executing parameterized update: {}", query, e);
+            throw e;
         }
+    }
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-            // Set parameters
-            for (int i = 0; i < parameters.length; i++) {
-                preparedStatement.setObject(i + 1, parameters[i]);
+    /**
+     * Run a DML statement, timing it and recording or replaying its update count when configured
+     */
+    private int update(String query, Object[] parameters) throws SQLException {
+        StatementTimer timer = StatementStats.start(query);
+        try {
+            int rowsAffected;
+            if (snapshots.isReplaying()) {
+                rowsAffected = snapshots.replayUpdate(getDataSourceKey(), query, parameters);
+            } else {
+                try (Connection connection = borrowConnection(timer);
+                     PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    preparedStatement.setQueryTimeout(DBConfig.getQueryTimeout());
+                    bind(preparedStatement, parameters);
+                    rowsAffected = snapshots.recordUpdate(getDataSourceKey(), query, parameters,
+                            preparedStatement.executeUpdate());
+                }
             }
-
-            int rowsAffected = preparedStatement.executeUpdate();
-            logger.info("Parameterized update executed successfully. {} rows affected", rowsAffected);
+            timer.finish(rowsAffected);
             return rowsAffected;
         } catch (SQLException e) {
-            logger.error("Error executing parameterized update: {}", query, e);
+            timer.fail();
             throw e;
         }
     }
 
     /**
-     * Close the database connection
+     * Release this handle's own connection and its hold on the shared pool
+     * The pool itself stays open for other test classes and is shut down at suite end
      */
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                if (!connection.isClosed()) {
-                    connection.close();
-                    logger.info("Database connection closed successfully");
+        replayConnected = false;
+        synchronized (this) {
+            if (ownConnection != null) {
+                try {
+                    ownConnection.close();
+                } catch (SQLException e) {
+                    logger.error("Error closing database connection", e);
                 }
-            } catch (SQLException e) {
-                logger.error("Error closing database connection", e);
+                ownConnection = null;
             }
         }
+        if (pool != null) {
+            pool = null;
+            logger.info("Database connection closed successfully");
+        }
     }
 
     /**
@@ -217,11 +464,10 @@ public class OracleDBConnection {
      * @return true if connection is active, false otherwise
      */
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            logger.error("Error checking connection status", e);
-            return false;
+        if (replayConnected) {
+            return true;
         }
+        OracleConnectionPool currentPool = pool;
+        return currentPool != null && !currentPool.isClosed();
     }
 }
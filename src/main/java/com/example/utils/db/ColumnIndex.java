@@ -0,0 +1,115 @@
+package com.example.utils.db;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column dictionary for one result set
+ * Column names are resolved from the metadata once and shared by every row of the result.
+ * Lookups are case-insensitive, matching how Oracle reports unquoted identifiers.
+ */
+public final class ColumnIndex {
+
+    private final String[] names;
+    private final int[] sqlTypes;
+    private final Map<String, Integer> positions;
+
+    public ColumnIndex(String[] names, int[] sqlTypes) {
+        this.names = names;
+        this.sqlTypes = sqlTypes;
+        this.positions = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            positions.putIfAbsent(names[i].toUpperCase(), i);
+        }
+    }
+
+    /**
+     * Build the dictionary from result set metadata
+     * @param metaData Result set metadata
+     * @return Column index
+     * @throws SQLException if metadata cannot be read
+     */
+    public static ColumnIndex from(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] names = new String[columnCount];
+        int[] sqlTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = metaData.getColumnName(i + 1);
+            sqlTypes[i] = sqlType(metaData, i + 1);
+        }
+        return new ColumnIndex(names, sqlTypes);
+    }
+
+    /**
+     * Get the java.sql.Types code of a column, Types.DATE for an Oracle DATE
+     * The driver reports DATE columns as TIMESTAMP, but binds against them must stay DATE (see DateWindow).
+     * @param column One-based column number
+     */
+    static int sqlType(ResultSetMetaData metaData, int column) throws SQLException {
+        int sqlType = metaData.getColumnType(column);
+        if (sqlType == Types.TIMESTAMP && "DATE".equalsIgnoreCase(metaData.getColumnTypeName(column))) {
+            return Types.DATE;
+        }
+        return sqlType;
+    }
+
+    /**
+     * Get number of columns
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Get column name by zero-based position
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Get java.sql.Types code by zero-based position
+     */
+    public int getSqlType(int index) {
+        return sqlTypes[index];
+    }
+
+    /**
+     * Get zero-based position of a column
+     * @param columnName Column name (case-insensitive)
+     * @return Position or -1 if the column does not exist
+     */
+    public int indexOf(String columnName) {
+        Integer position = positions.get(columnName);
+        if (position == null) {
+            position = positions.get(columnName.toUpperCase());
+        }
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Get zero-based position of a column, failing if it does not exist
+     * @param columnName Column name (case-insensitive)
+     * @return Position
+     */
+    public int requireIndex(String columnName) {
+        int index = indexOf(columnName);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown column: " + columnName + " (available: " + Arrays.toString(names) + ")");
+        }
+        return index;
+    }
+
+    /**
+     * Get all column names in select order
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+}
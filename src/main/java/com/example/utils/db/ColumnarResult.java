@@ -0,0 +1,599 @@
+package com.example.utils.db;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact, column-oriented query result
+ * All rows share one ColumnIndex, and values are kept per column in primitive arrays where the
+ * JDBC type allows it:
+ * - NUMBER       -> unscaled long + scale (exact, BigDecimal is rebuilt on access)
+ * - BINARY_DOUBLE -> double
+ * - DATE/TIMESTAMP returned as java.sql.Timestamp -> epoch millis (+ nanos when present)
+ * - CHAR/VARCHAR -> String with repeated values shared
+ * Values that do not fit (e.g. NUMBER wider than 64 bits) switch that column to plain objects.
+ *
+ * The class is also a read-only List of Map views, so it can be assigned to the existing
+ * List&lt;Map&lt;String, Object&gt;&gt; fields of the Get*Data classes without other changes.
+ */
+public final class ColumnarResult extends AbstractList<Map<String, Object>> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ColumnIndex columns;
+    private final Column[] data;
+    private int rowCount;
+
+    /**
+     * Create an empty result for the given columns
+     * @param columns Column dictionary
+     */
+    public ColumnarResult(ColumnIndex columns) {
+        this.columns = columns;
+        this.data = new Column[columns.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Column.forSqlType(columns.getSqlType(i));
+        }
+    }
+
+    /**
+     * Read all remaining rows of a result set
+     * @param resultSet Open result set
+     * @return Columnar result
+     * @throws SQLException if reading fails
+     */
+    public static ColumnarResult from(ResultSet resultSet) throws SQLException {
+        ColumnarResult result = new ColumnarResult(ColumnIndex.from(resultSet.getMetaData()));
+        Object[] values = new Object[result.columns.size()];
+        while (resultSet.next()) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resultSet.getObject(i + 1);
+            }
+            result.appendRow(values);
+        }
+        result.trimToSize();
+        return result;
+    }
+
+    /**
+     * Append one row
+     * @param values Values in column order
+     */
+    public void appendRow(Object... values) {
+        if (values.length != data.length) {
+            throw new IllegalArgumentException("Expected " + data.length + " values but got " + values.length);
+        }
+        for (int i = 0; i < data.length; i++) {
+            data[i] = data[i].append(rowCount, values[i]);
+        }
+        rowCount++;
+    }
+
+    /**
+     * Release unused array capacity after the last row was appended
+     */
+    public void trimToSize() {
+        for (Column column : data) {
+            column.trim(rowCount);
+        }
+    }
+
+    /**
+     * Get the shared column dictionary
+     */
+    public ColumnIndex getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Get a read-only map view of a row
+     * @param index Row index
+     * @return Map of column name to value
+     */
+    @Override
+    public Map<String, Object> get(int index) {
+        checkRow(index);
+        return new RowMap(index);
+    }
+
+    /**
+     * Get value by row and column, rebuilt with the same type the driver returned
+     */
+    public Object getObject(int row, String columnName) {
+        checkRow(row);
+        return data[columns.requireIndex(columnName)].get(row);
+    }
+
+    /**
+     * Check whether a value is NULL
+     */
+    public boolean isNull(int row, String columnName) {
+        checkRow(row);
+        return data[columns.requireIndex(columnName)].isNull(row);
+    }
+
+    /**
+     * Get value as String, empty string for NULL
+     */
+    public String getString(int row, String columnName) {
+        Object value = getObject(row, columnName);
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Get numeric value as long without boxing, 0 for NULL
+     */
+    public long getLong(int row, String columnName) {
+        checkRow(row);
+        return data[columns.requireIndex(columnName)].getLong(row);
+    }
+
+    /**
+     * Get numeric value as double without boxing, 0 for NULL
+     */
+    public double getDouble(int row, String columnName) {
+        checkRow(row);
+        return data[columns.requireIndex(columnName)].getDouble(row);
+    }
+
+    /**
+     * Get numeric value as BigDecimal, null for NULL
+     */
+    public BigDecimal getBigDecimal(int row, String columnName) {
+        Object value = getObject(row, columnName);
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Get DATE/TIMESTAMP value as epoch milliseconds, 0 for NULL
+     */
+    public long getEpochMillis(int row, String columnName) {
+        checkRow(row);
+        return data[columns.requireIndex(columnName)].getLong(row);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range, size " + rowCount);
+        }
+    }
+
+    /**
+     * Read-only map view of one row, backed by the column arrays
+     */
+    private final class RowMap extends AbstractMap<String, Object> {
+
+        private final int row;
+
+        RowMap(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            int column = columns.indexOf((String) key);
+            return column >= 0 ? data[column].get(row) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && columns.indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < data.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = column++;
+                            return new SimpleImmutableEntry<>(columns.getName(current), data[current].get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return data.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * Storage for one column
+     * append() returns the column to keep using, which is a generic column if the value did not fit.
+     */
+    private abstract static class Column {
+
+        static Column forSqlType(int sqlType) {
+            switch (sqlType) {
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                    return new DecimalColumn();
+                case Types.DOUBLE:
+                case Types.REAL:
+                case 100: // Oracle BINARY_FLOAT
+                case 101: // Oracle BINARY_DOUBLE
+                    return new DoubleColumn();
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                    return new TimestampColumn();
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                case Types.LONGVARCHAR:
+                    return new StringColumn();
+                default:
+                    return new ObjectColumn();
+            }
+        }
+
+        abstract Column append(int row, Object value);
+
+        abstract Object get(int row);
+
+        abstract boolean isNull(int row);
+
+        abstract void trim(int size);
+
+        long getLong(int row) {
+            Object value = get(row);
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            if (value instanceof java.util.Date) {
+                return ((java.util.Date) value).getTime();
+            }
+            return 0;
+        }
+
+        double getDouble(int row) {
+            Object value = get(row);
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
+
+        /**
+         * Copy the first rows of this column into a generic column
+         */
+        ObjectColumn promote(int size) {
+            ObjectColumn column = new ObjectColumn();
+            for (int i = 0; i < size; i++) {
+                column.append(i, get(i));
+            }
+            return column;
+        }
+
+        static int grow(int current, int required) {
+            return Math.max(required, Math.max(INITIAL_CAPACITY, current + (current >> 1)));
+        }
+    }
+
+    /**
+     * Null flags shared by the primitive columns
+     */
+    private abstract static class PrimitiveColumn extends Column {
+
+        boolean[] nulls = new boolean[0];
+
+        void ensureNulls(int row) {
+            if (row >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, grow(nulls.length, row + 1));
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return nulls[row];
+        }
+    }
+
+    /**
+     * NUMBER values kept as unscaled long + scale
+     */
+    private static final class DecimalColumn extends PrimitiveColumn {
+
+        private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+        private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+        private long[] unscaled = new long[0];
+        private byte[] scales = new byte[0];
+
+        @Override
+        Column append(int row, Object value) {
+            if (value != null && !(value instanceof BigDecimal)) {
+                return promote(row).append(row, value);
+            }
+            BigDecimal decimal = (BigDecimal) value;
+            if (decimal != null) {
+                BigInteger unscaledValue = decimal.unscaledValue();
+                if (unscaledValue.compareTo(LONG_MIN) < 0 || unscaledValue.compareTo(LONG_MAX) > 0
+                        || decimal.scale() < Byte.MIN_VALUE || decimal.scale() > Byte.MAX_VALUE) {
+                    return promote(row).append(row, value);
+                }
+            }
+            if (row >= unscaled.length) {
+                int capacity = grow(unscaled.length, row + 1);
+                unscaled = Arrays.copyOf(unscaled, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+            }
+            ensureNulls(row);
+            if (decimal == null) {
+                nulls[row] = true;
+            } else {
+                unscaled[row] = decimal.unscaledValue().longValue();
+                scales[row] = (byte) decimal.scale();
+            }
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls[row] ? null : BigDecimal.valueOf(unscaled[row], scales[row]);
+        }
+
+        @Override
+        long getLong(int row) {
+            if (nulls[row]) {
+                return 0;
+            }
+            return scales[row] == 0 ? unscaled[row] : BigDecimal.valueOf(unscaled[row], scales[row]).longValue();
+        }
+
+        @Override
+        double getDouble(int row) {
+            if (nulls[row]) {
+                return 0;
+            }
+            return scales[row] == 0 ? unscaled[row] : BigDecimal.valueOf(unscaled[row], scales[row]).doubleValue();
+        }
+
+        @Override
+        void trim(int size) {
+            unscaled = Arrays.copyOf(unscaled, size);
+            scales = Arrays.copyOf(scales, size);
+            nulls = Arrays.copyOf(nulls, size);
+        }
+    }
+
+    /**
+     * BINARY_DOUBLE values kept as double
+     */
+    private static final class DoubleColumn extends PrimitiveColumn {
+
+        private double[] values = new double[0];
+
+        @Override
+        Column append(int row, Object value) {
+            if (value != null && !(value instanceof Double)) {
+                return promote(row).append(row, value);
+            }
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            ensureNulls(row);
+            if (value == null) {
+                nulls[row] = true;
+            } else {
+                values[row] = (Double) value;
+            }
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls[row] ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return nulls[row] ? 0 : (long) values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return nulls[row] ? 0 : values[row];
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+            nulls = Arrays.copyOf(nulls, size);
+        }
+    }
+
+    /**
+     * DATE/TIMESTAMP values kept as epoch millis; sub-millisecond nanos only stored when present
+     */
+    private static final class TimestampColumn extends PrimitiveColumn {
+
+        private long[] millis = new long[0];
+        private int[] nanos;
+
+        @Override
+        Column append(int row, Object value) {
+            if (value != null && value.getClass() != Timestamp.class) {
+                return promote(row).append(row, value);
+            }
+            if (row >= millis.length) {
+                int capacity = grow(millis.length, row + 1);
+                millis = Arrays.copyOf(millis, capacity);
+                if (nanos != null) {
+                    nanos = Arrays.copyOf(nanos, capacity);
+                }
+            }
+            ensureNulls(row);
+            if (value == null) {
+                nulls[row] = true;
+                return this;
+            }
+            Timestamp timestamp = (Timestamp) value;
+            millis[row] = timestamp.getTime();
+            if (timestamp.getNanos() % 1_000_000 != 0) {
+                if (nanos == null) {
+                    nanos = new int[millis.length];
+                }
+                nanos[row] = timestamp.getNanos();
+            }
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls[row]) {
+                return null;
+            }
+            Timestamp timestamp = new Timestamp(millis[row]);
+            if (nanos != null && nanos[row] != 0) {
+                timestamp.setNanos(nanos[row]);
+            }
+            return timestamp;
+        }
+
+        @Override
+        long getLong(int row) {
+            return nulls[row] ? 0 : millis[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return getLong(row);
+        }
+
+        @Override
+        void trim(int size) {
+            millis = Arrays.copyOf(millis, size);
+            nulls = Arrays.copyOf(nulls, size);
+            if (nanos != null) {
+                nanos = Arrays.copyOf(nanos, size);
+            }
+        }
+    }
+
+    /**
+     * Character values; repeated values (status codes, flags, symbols) share one String instance
+     */
+    private static final class StringColumn extends Column {
+
+        private static final int MAX_SHARED_VALUES = 4096;
+
+        private String[] values = new String[0];
+        private Map<String, String> shared = new HashMap<>();
+
+        @Override
+        Column append(int row, Object value) {
+            if (value != null && !(value instanceof String)) {
+                return promote(row).append(row, value);
+            }
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            String text = (String) value;
+            if (text != null && shared != null) {
+                String existing = shared.putIfAbsent(text, text);
+                if (existing != null) {
+                    text = existing;
+                } else if (shared.size() > MAX_SHARED_VALUES) {
+                    // High-cardinality column (ids, names): sharing no longer pays off
+                    shared = null;
+                }
+            }
+            values[row] = text;
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return values[row] == null;
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+            shared = null;
+        }
+    }
+
+    /**
+     * Fallback storage for any other type
+     */
+    private static final class ObjectColumn extends Column {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        Column append(int row, Object value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            values[row] = value;
+            return this;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return values[row] == null;
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
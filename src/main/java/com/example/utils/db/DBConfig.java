@@ -0,0 +1,296 @@
+package com.example.utils.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Database Configuration
+ * Reads database settings from database.properties (project root first, then classpath)
+ * Any key can be overridden with a JVM system property, e.g. -Ddb.pool.maxSize=30
+ */
+public final class DBConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DBConfig.class);
+    private static final String CONFIG_FILE = "database.properties";
+    private static final Properties properties = new Properties();
+
+    static {
+        loadProperties();
+    }
+
+    private DBConfig() {
+    }
+
+    /**
+     * Load properties from database.properties file
+     */
+    private static void loadProperties() {
+        File configFile = new File(CONFIG_FILE);
+        if (configFile.exists()) {
+            try (InputStream input = new FileInputStream(configFile)) {
+                properties.load(input);
+                logger.info("Database configuration loaded from: {}", configFile.getAbsolutePath());
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to load {}: {}", configFile.getAbsolutePath(), e.getMessage());
+            }
+        }
+
+        try (InputStream input = DBConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (input != null) {
+                properties.load(input);
+                logger.info("Database configuration loaded from classpath");
+            } else {
+                logger.info("No {} found, using default database settings", CONFIG_FILE);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to load {} from classpath: {}", CONFIG_FILE, e.getMessage());
+        }
+    }
+
+    /**
+     * Get property value, system properties take precedence over the file
+     * @param key Property key
+     * @param defaultValue Default value if property not found
+     * @return Property value or default value
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = properties.getProperty(key);
+        }
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get integer property value
+     * @param key Property key
+     * @param defaultValue Default value if property not found or invalid
+     * @return Property value or default value
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using default: {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get long property value
+     * @param key Property key
+     * @param defaultValue Default value if property not found or invalid
+     * @return Property value or default value
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using default: {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get boolean property value
+     * @param key Property key
+     * @param defaultValue Default value if property not found
+     * @return Property value or default value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    // Connection Pool Settings
+    public static int getPoolMinSize() {
+        return getInt("db.pool.minSize", 2);
+    }
+
+    public static int getPoolMaxSize() {
+        return getInt("db.pool.maxSize", 10);
+    }
+
+    /**
+     * Maximum time to wait for a free connection, in milliseconds
+     */
+    public static long getPoolTimeout() {
+        return getLong("db.pool.timeout", 30000);
+    }
+
+    /**
+     * Maximum time a connection may stay idle above the minimum size, in milliseconds
+     */
+    public static long getPoolIdleTimeout() {
+        return getLong("db.pool.idleTimeout", 300000);
+    }
+
+    /**
+     * Maximum lifetime of a pooled connection, in milliseconds
+     */
+    public static long getPoolMaxLifetime() {
+        return getLong("db.pool.maxLifetime", 1800000);
+    }
+
+    /**
+     * Maximum time allowed for validating a connection on borrow, in milliseconds
+     */
+    public static long getPoolValidationTimeout() {
+        return getLong("db.pool.validationTimeout", 5000);
+    }
+
+    /**
+     * Time a connection may be held before it is reported as a possible leak, in milliseconds (0 disables)
+     */
+    public static long getPoolLeakDetectionThreshold() {
+        return getLong("db.pool.leakDetectionThreshold", 60000);
+    }
+
+    /**
+     * Number of prepared statements cached per pooled connection (LRU, 0 disables)
+     */
+    public static int getStatementCacheSize() {
+        return getInt("db.statementCache.size", 50);
+    }
+
+    /**
+     * Query timeout in seconds (0 means no timeout)
+     */
+    public static int getQueryTimeout() {
+        return getInt("db.query.timeout", 60);
+    }
+
+    /**
+     * Number of rows fetched per round trip (Oracle's driver default is only 10)
+     */
+    public static int getFetchSize() {
+        return getInt("db.query.fetchSize", 500);
+    }
+
+    /**
+     * Number of keys bound per IN list in batched fetches (Oracle allows at most 1000)
+     */
+    public static int getBatchInListSize() {
+        return Math.max(1, Math.min(1000, getInt("db.batch.inListSize", 500)));
+    }
+
+    /**
+     * Whether multi-key fetches bind the whole key set as one collection parameter (TABLE(?))
+     */
+    public static boolean isMultiKeyArrayBindEnabled() {
+        return getBoolean("db.multiKey.arrayBind", true);
+    }
+
+    /**
+     * Number of IN-list chunks a multi-key fetch runs at once when it cannot bind a collection
+     */
+    public static int getMultiKeyParallelism() {
+        return Math.max(1, Math.min(getPoolMaxSize(), getInt("db.multiKey.parallelism", 4)));
+    }
+
+    /**
+     * Number of tables a table sweep reads at once (bounded by the pool size)
+     */
+    public static int getSweepParallelism() {
+        return Math.max(1, Math.min(getPoolMaxSize(), getInt("db.sweep.parallelism", getPoolMaxSize())));
+    }
+
+    /**
+     * Maximum rows a table sweep reads per table (0 reads the whole table)
+     */
+    public static int getSweepRowCap() {
+        return Math.max(0, getInt("db.sweep.rowCap", 1000));
+    }
+
+    /**
+     * Whether lookup and master tables are served from the reference data cache
+     */
+    public static boolean isRefCacheEnabled() {
+        return getBoolean("db.refCache.enabled", true);
+    }
+
+    /**
+     * Seconds a cached reference data result is served before it is reloaded
+     */
+    public static long getRefCacheTtlSeconds() {
+        return Math.max(0, getLong("db.refCache.ttlSeconds", 3600));
+    }
+
+    /**
+     * Maximum number of cached reference data results (least recently used are evicted)
+     */
+    public static int getRefCacheMaxEntries() {
+        return Math.max(1, getInt("db.refCache.maxEntries", 500));
+    }
+
+    /**
+     * Whether per-statement timings are collected (StatementStats)
+     */
+    public static boolean isStatsEnabled() {
+        return getBoolean("db.stats.enabled", true);
+    }
+
+    /**
+     * Directory the statement statistics files are written to at suite end
+     */
+    public static String getStatsOutputDir() {
+        return getProperty("db.stats.outputDir", "target/db-stats");
+    }
+
+    /**
+     * Whether results are recorded to or replayed from local snapshots (off, record or replay)
+     */
+    public static SnapshotStore.Mode getReplayMode() {
+        String mode = getProperty("db.replay.mode", "off");
+        try {
+            return SnapshotStore.Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid db.replay.mode '{}', using off", mode);
+            return SnapshotStore.Mode.OFF;
+        }
+    }
+
+    /**
+     * Directory holding recorded result snapshots
+     */
+    public static String getReplayDir() {
+        return getProperty("db.replay.dir", "db-snapshots");
+    }
+
+    /**
+     * Hours after which a replayed snapshot is reported as stale
+     */
+    public static long getReplayMaxAgeHours() {
+        return Math.max(1, getLong("db.replay.maxAgeHours", 168));
+    }
+
+    /**
+     * File holding the per-table high-watermarks of incremental validations
+     */
+    public static String getWatermarkFile() {
+        return getProperty("db.watermark.file", "db-watermarks.properties");
+    }
+
+    /**
+     * Seconds an incremental read goes back before the stored watermark, for rows committed late
+     */
+    public static long getWatermarkOverlapSeconds() {
+        return Math.max(0, getLong("db.watermark.overlapSeconds", 300));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.utils.db;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Half-open date range [start, endExclusive) used to filter DATE and TIMESTAMP columns
+ * The predicate is always written against the bare column, e.g. TRADE_DATE >= ? AND TRADE_DATE < ?,
+ * so the optimizer can use an index on the column; TRUNC(TRADE_DATE) = ? would force a full scan.
+ * A day window covers the whole day including its time parts, the same rows TRUNC(col) = day matched.
+ *
+ * Bounds are bound as java.sql.Date (Oracle DATE). A java.sql.Timestamp bind against a DATE column
+ * makes Oracle convert the column to TIMESTAMP, which defeats the index again; use dateTimeParameter()
+ * for a point in time compared with a DATE column.
+ */
+public final class DateWindow {
+
+    private static final DateTimeFormatter[] FORMATS = {
+            DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT),
+            DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT),
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd-MMM-uuuu")
+                    .toFormatter(Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
+            // Oracle 'DD-MON-YY': two-digit years are in the current century
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd-MMM-")
+                    .appendValueReduced(ChronoField.YEAR, 2, 2, 2000).toFormatter(Locale.ENGLISH)
+    };
+
+    private final LocalDate start;
+    private final LocalDate endExclusive;
+    private final boolean databaseToday;
+
+    private DateWindow(LocalDate start, LocalDate endExclusive, boolean databaseToday) {
+        if (start != null && endExclusive != null && !start.isBefore(endExclusive)) {
+            throw new IllegalArgumentException("Empty date window: [" + start + ", " + endExclusive + ")");
+        }
+        this.start = start;
+        this.endExclusive = endExclusive;
+        this.databaseToday = databaseToday;
+    }
+
+    /**
+     * One calendar day
+     */
+    public static DateWindow day(LocalDate date) {
+        return new DateWindow(date, date.plusDays(1), false);
+    }
+
+    /**
+     * One calendar day given as text in any format accepted by parseDate
+     */
+    public static DateWindow day(String date) {
+        return day(parseDate(date));
+    }
+
+    /**
+     * Days from start to end, both included (what BETWEEN did on TRUNC(col))
+     */
+    public static DateWindow between(LocalDate start, LocalDate endInclusive) {
+        return new DateWindow(start, endInclusive.plusDays(1), false);
+    }
+
+    public static DateWindow between(String start, String endInclusive) {
+        return between(parseDate(start), parseDate(endInclusive));
+    }
+
+    /**
+     * From a day onwards, no upper bound
+     */
+    public static DateWindow from(LocalDate start) {
+        return new DateWindow(start, null, false);
+    }
+
+    public static DateWindow from(String start) {
+        return from(parseDate(start));
+    }
+
+    /**
+     * Up to and including a day, no lower bound
+     */
+    public static DateWindow until(LocalDate endInclusive) {
+        return new DateWindow(null, endInclusive.plusDays(1), false);
+    }
+
+    public static DateWindow until(String endInclusive) {
+        return until(parseDate(endInclusive));
+    }
+
+    /**
+     * Today by the database clock: col >= TRUNC(SYSDATE) AND col < TRUNC(SYSDATE) + 1
+     * Use instead of a LocalDate when the test JVM and the database may be in different time zones.
+     */
+    public static DateWindow databaseToday() {
+        return new DateWindow(null, null, true);
+    }
+
+    /**
+     * Parse a date in any of the formats the data classes accept:
+     * YYYY-MM-DD, DD-MM-YYYY, DD/MM/YYYY, DD-Mon-YYYY and DD-MON-YY (month names case-insensitive)
+     * @throws IllegalArgumentException if the text matches none of them
+     */
+    public static LocalDate parseDate(String date) {
+        if (date == null || date.trim().isEmpty()) {
+            throw new IllegalArgumentException("Date is empty");
+        }
+        String text = date.trim();
+        for (DateTimeFormatter format : FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unsupported date format: " + date);
+    }
+
+    /**
+     * Bind value comparing a DATE column with a point in time, floored to the second
+     * oracle.sql.DATE binds as DATE and keeps the time of day (java.sql.Date does not), so the column is
+     * compared as is and an index on it stays usable.
+     */
+    public static Object dateTimeParameter(Timestamp value) {
+        return new oracle.sql.DATE(new Timestamp(Math.floorDiv(value.getTime(), 1000L) * 1000L));
+    }
+
+    /**
+     * Build the predicate for a column
+     * @param column Column or alias.column, inserted into the SQL as is (validate it first)
+     * @return Predicate with ? placeholders matching getParameters()
+     */
+    public String predicate(String column) {
+        if (databaseToday) {
+            return column + " >= TRUNC(SYSDATE) AND " + column + " < TRUNC(SYSDATE) + 1";
+        }
+        List<String> parts = new ArrayList<>(2);
+        if (start != null) {
+            parts.add(column + " >= ?");
+        }
+        if (endExclusive != null) {
+            parts.add(column + " < ?");
+        }
+        return String.join(" AND ", parts);
+    }
+
+    /**
+     * Get the bind values of predicate(), in order
+     */
+    public List<Object> getParameters() {
+        if (databaseToday) {
+            return Collections.emptyList();
+        }
+        List<Object> parameters = new ArrayList<>(2);
+        if (start != null) {
+            parameters.add(Date.valueOf(start));
+        }
+        if (endExclusive != null) {
+            parameters.add(Date.valueOf(endExclusive));
+        }
+        return parameters;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public LocalDate getEndExclusive() {
+        return endExclusive;
+    }
+
+    /**
+     * Check if a day falls inside the window (the database-today window compares against the JVM date)
+     */
+    public boolean contains(LocalDate date) {
+        if (databaseToday) {
+            return date.equals(LocalDate.now());
+        }
+        return (start == null || !date.isBefore(start)) && (endExclusive == null || date.isBefore(endExclusive));
+    }
+
+    @Override
+    public String toString() {
+        if (databaseToday) {
+            return "[TRUNC(SYSDATE), TRUNC(SYSDATE) + 1)";
+        }
+        return "[" + (start != null ? start : "-inf") + ", " + (endExclusive != null ? endExclusive : "+inf") + ")";
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.utils.db;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset walk
+ * The continuation token resumes the walk right after this page; it is null on the last page.
+ */
+public final class KeysetPage {
+
+    private final List<Map<String, Object>> rows;
+    private final String continuationToken;
+    private final long elapsedMillis;
+
+    KeysetPage(List<Map<String, Object>> rows, String continuationToken, long elapsedMillis) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.continuationToken = continuationToken;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Get the rows of this page, in key order (same shape as executeQuery rows)
+     */
+    public List<Map<String, Object>> getRows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Get the token to pass to KeysetPager.fetch for the next page, null when there are no more rows
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
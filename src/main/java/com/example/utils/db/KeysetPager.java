@@ -0,0 +1,231 @@
+package com.example.utils.db;
+
+import com.example.utils.OracleDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a table page by page in key order with opaque continuation tokens
+ * Each page is one bounded query that starts right after the previous page's last key, so the
+ * database work per page stays the same at row 100 and at row 10,000,000, and a job can restart
+ * from the last token it saved instead of from the beginning. DATE keys are read and re-bound as
+ * DATE and TIMESTAMP keys as TIMESTAMP, and the token records which, so the key index stays usable.
+ *
+ * Example:
+ * KeysetPager pager = new KeysetPager(db, KeysetSpec.table("XDP_TRADES").key("SEQ").descending().pageSize(1000));
+ * pager.forEachPage(savedToken, page -> { process(page.getRows()); save(page.getContinuationToken()); return true; });
+ */
+public class KeysetPager {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeysetPager.class);
+    private static final String TOKEN_VERSION = "k1";
+
+    private final OracleDBConnection dbConnection;
+    private final KeysetSpec spec;
+
+    /**
+     * Receives each page of a walk
+     */
+    @FunctionalInterface
+    public interface PageHandler {
+        /**
+         * @param page Current page, not empty
+         * @return true to continue with the next page, false to stop
+         */
+        boolean onPage(KeysetPage page) throws SQLException;
+    }
+
+    /**
+     * Constructor
+     * @param dbConnection Database connection instance
+     * @param spec Table, key and page size to walk
+     */
+    public KeysetPager(OracleDBConnection dbConnection, KeysetSpec spec) {
+        this.dbConnection = dbConnection;
+        this.spec = spec;
+    }
+
+    /**
+     * Fetch one page
+     * @param continuationToken Token of the previous page, null for the first page
+     * @return Page with its rows and the token for the next page
+     * @throws SQLException if the query fails
+     * @throws IllegalArgumentException if the token is malformed or belongs to another walk
+     */
+    public KeysetPage fetch(String continuationToken) throws SQLException {
+        Object[] lastKey = continuationToken == null ? null : decodeToken(spec, continuationToken);
+        String sql = spec.toSql(lastKey != null);
+        Object[] parameters = spec.bindParameters(lastKey).toArray();
+
+        long started = System.nanoTime();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Object[] pageLastKey = null;
+        try (RowCursor cursor = dbConnection.openCursor(Math.min(spec.getPageSize(), DBConfig.getFetchSize()), sql, parameters)) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                rows.add(row.toMap());
+                if (rows.size() == spec.getPageSize()) {
+                    pageLastKey = readKey(row);
+                }
+            }
+        }
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+        // A short page is the last one; a full page may be followed by an empty one
+        String nextToken = pageLastKey != null ? encodeToken(spec, pageLastKey) : null;
+        logger.debug("Fetched {} rows from {} in {} ms", rows.size(), spec, elapsed);
+        return new KeysetPage(rows, nextToken, elapsed);
+    }
+
+    /**
+     * Walk pages until the end of the table or until the handler stops
+     * @param continuationToken Where to start, null for the beginning
+     * @param handler Called once per non-empty page
+     * @return Number of rows handed to the handler
+     * @throws SQLException if a query or the handler fails
+     */
+    public long forEachPage(String continuationToken, PageHandler handler) throws SQLException {
+        long rows = 0;
+        int pages = 0;
+        long started = System.currentTimeMillis();
+        String token = continuationToken;
+        do {
+            KeysetPage page = fetch(token);
+            if (page.isEmpty()) {
+                break;
+            }
+            rows += page.size();
+            pages++;
+            token = page.getContinuationToken();
+            if (!handler.onPage(page)) {
+                break;
+            }
+        } while (token != null);
+        logger.info("Walked {} rows in {} pages of {} ({} ms)", rows, pages, spec, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    public KeysetSpec getSpec() {
+        return spec;
+    }
+
+    private Object[] readKey(Row row) throws SQLException {
+        List<String> keyColumns = spec.getKeyColumns();
+        Object[] key = new Object[keyColumns.size()];
+        for (int i = 0; i < key.length; i++) {
+            String column = spec.getResultColumn(i);
+            switch (row.getColumns().getSqlType(row.getColumns().requireIndex(column))) {
+                case Types.DATE:
+                    Timestamp date = row.getTimestamp(column);
+                    key[i] = date == null ? null : DateWindow.dateTimeParameter(date);
+                    break;
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    key[i] = row.getTimestamp(column);
+                    break;
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.SMALLINT:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                case Types.REAL:
+                    key[i] = row.getBigDecimal(column);
+                    break;
+                default:
+                    key[i] = row.getObject(column) == null ? null : row.getString(column);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Encode the last key of a page; the token also carries a checksum of the walk it belongs to
+     */
+    public static String encodeToken(KeysetSpec spec, Object[] lastKey) {
+        StringBuilder token = new StringBuilder(TOKEN_VERSION).append('|').append(checksum(spec.fingerprint()));
+        for (Object value : lastKey) {
+            token.append('|');
+            if (value == null) {
+                throw new IllegalArgumentException("Key columns of " + spec.getTableName() + " must not be NULL");
+            } else if (value instanceof oracle.sql.DATE) {
+                token.append('D').append(((oracle.sql.DATE) value).timestampValue().toLocalDateTime());
+            } else if (value instanceof Timestamp) {
+                token.append('T').append(((Timestamp) value).toLocalDateTime());
+            } else if (value instanceof Number) {
+                token.append('N').append(new BigDecimal(value.toString()).toPlainString());
+            } else {
+                token.append('S').append(Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token back into key values bound to the next page's query
+     * @throws IllegalArgumentException if the token is malformed or belongs to another walk
+     */
+    public static Object[] decodeToken(KeysetSpec spec, String continuationToken) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+        if (parts.length != spec.getKeyColumns().size() + 2 || !TOKEN_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed continuation token for " + spec);
+        }
+        if (!parts[1].equals(checksum(spec.fingerprint()))) {
+            throw new IllegalArgumentException("Continuation token belongs to a different walk than " + spec);
+        }
+        Object[] key = new Object[parts.length - 2];
+        for (int i = 0; i < key.length; i++) {
+            String part = parts[i + 2];
+            if (part.isEmpty()) {
+                throw new IllegalArgumentException("Malformed continuation token for " + spec);
+            }
+            String value = part.substring(1);
+            try {
+                switch (part.charAt(0)) {
+                    case 'D':
+                        key[i] = DateWindow.dateTimeParameter(Timestamp.valueOf(LocalDateTime.parse(value)));
+                        break;
+                    case 'T':
+                        key[i] = Timestamp.valueOf(LocalDateTime.parse(value));
+                        break;
+                    case 'N':
+                        key[i] = new BigDecimal(value);
+                        break;
+                    case 'S':
+                        key[i] = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Malformed continuation token for " + spec);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed continuation token for " + spec, e);
+            }
+        }
+        return key;
+    }
+
+    private static String checksum(String fingerprint) {
+        CRC32 crc = new CRC32();
+        crc.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.utils.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What a keyset-paginated reader walks: table, ordering key, direction, optional filter and page size
+ * Pages are ordered by the key columns and each page continues strictly after the last key of the
+ * previous one, so Oracle only reads about one page of the key index per call however deep the walk is.
+ *
+ * The key must be unique (add ROWID as the last column when it is not) and its columns NOT NULL:
+ * rows with a NULL key column are never visited. ROWID keys are read as KEYSET_ROWID in every row.
+ */
+public final class KeysetSpec {
+
+    /** Pseudo column usable as the last key column to break ties on a non-unique key */
+    public static final String ROWID = "ROWID";
+    /** Column alias the ROWID key is returned under */
+    public static final String ROWID_ALIAS = "KEYSET_ROWID";
+
+    private final String tableName;
+    private final List<String> keyColumns;
+    private final boolean descending;
+    private final String filter;
+    private final List<Object> filterParameters;
+    private final int pageSize;
+
+    private KeysetSpec(String tableName, List<String> keyColumns, boolean descending, String filter,
+                       List<Object> filterParameters, int pageSize) {
+        if (tableName == null || !tableName.matches("[A-Za-z][A-Za-z0-9_$#.]*")) {
+            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        }
+        for (String column : keyColumns) {
+            if (!column.matches("[A-Za-z][A-Za-z0-9_$#]*")) {
+                throw new IllegalArgumentException("Invalid key column: " + column);
+            }
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        this.tableName = tableName.toUpperCase(Locale.ROOT);
+        this.keyColumns = Collections.unmodifiableList(new ArrayList<>(keyColumns));
+        this.descending = descending;
+        this.filter = filter;
+        this.filterParameters = Collections.unmodifiableList(new ArrayList<>(filterParameters));
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Walk a table in ascending ROWID order, 500 rows per page; set the real key with key()
+     */
+    public static KeysetSpec table(String tableName) {
+        return new KeysetSpec(tableName, Collections.singletonList(ROWID), false, null, Collections.emptyList(), 500);
+    }
+
+    /**
+     * Order by these columns, most significant first
+     */
+    public KeysetSpec key(String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        List<String> normalized = new ArrayList<>();
+        for (String column : columns) {
+            normalized.add(column.trim().toUpperCase(Locale.ROOT));
+        }
+        if (normalized.indexOf(ROWID) >= 0 && normalized.indexOf(ROWID) != normalized.size() - 1) {
+            throw new IllegalArgumentException("ROWID can only be the last key column");
+        }
+        return new KeysetSpec(tableName, normalized, descending, filter, filterParameters, pageSize);
+    }
+
+    /**
+     * Walk from the highest key down (latest first for sequence and timestamp keys)
+     */
+    public KeysetSpec descending() {
+        return new KeysetSpec(tableName, keyColumns, true, filter, filterParameters, pageSize);
+    }
+
+    /**
+     * Only visit rows matching a condition, e.g. where("INST_SEQ = ?", "QNBK")
+     * The condition is part of the walk: a continuation token only resumes a walk with the same condition.
+     */
+    public KeysetSpec where(String condition, Object... parameters) {
+        return new KeysetSpec(tableName, keyColumns, descending, condition, Arrays.asList(parameters), pageSize);
+    }
+
+    public KeysetSpec pageSize(int pageSize) {
+        return new KeysetSpec(tableName, keyColumns, descending, filter, filterParameters, pageSize);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Get the column a key value is read from in a result row
+     */
+    public String getResultColumn(int keyIndex) {
+        String column = keyColumns.get(keyIndex);
+        return ROWID.equals(column) ? ROWID_ALIAS : column;
+    }
+
+    /**
+     * Build the SELECT for the first page (afterKey false) or a following page (afterKey true)
+     * Parameters: filter parameters, then the previous key values (see bindParameters), then the page size.
+     */
+    public String toSql(boolean afterKey) {
+        StringBuilder sql = new StringBuilder("SELECT t.*");
+        if (keyColumns.contains(ROWID)) {
+            sql.append(", ROWIDTOCHAR(t.ROWID) AS ").append(ROWID_ALIAS);
+        }
+        sql.append(" FROM ").append(tableName).append(" t");
+
+        List<String> conditions = new ArrayList<>();
+        if (filter != null && !filter.isEmpty()) {
+            conditions.add("(" + filter + ")");
+        }
+        for (String column : keyColumns) {
+            if (!ROWID.equals(column)) {
+                // Oracle sorts NULLs first in descending order; leave them out so every page has a real key
+                conditions.add("t." + column + " IS NOT NULL");
+            }
+        }
+        if (afterKey) {
+            conditions.add(keyPredicate());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(columnRef(i)).append(descending ? " DESC" : " ASC");
+        }
+        sql.append(" FETCH FIRST ? ROWS ONLY");
+        return sql.toString();
+    }
+
+    /**
+     * Oracle has no row value comparison, so (a, b) > (?, ?) is expanded to
+     * a >= ? AND (a > ? OR (a = ? AND b > ?)); the leading a >= ? keeps the index range scan on a
+     */
+    private String keyPredicate() {
+        String strict = descending ? " < " : " > ";
+        StringBuilder predicate = new StringBuilder("(");
+        if (keyColumns.size() > 1) {
+            predicate.append(columnRef(0)).append(descending ? " <= " : " >= ").append(bind(0)).append(" AND (");
+        }
+        for (int i = 0; i < keyColumns.size(); i++) {
+            predicate.append(i > 0 ? " OR (" : "(");
+            for (int j = 0; j < i; j++) {
+                predicate.append(columnRef(j)).append(" = ").append(bind(j)).append(" AND ");
+            }
+            predicate.append(columnRef(i)).append(strict).append(bind(i)).append(")");
+        }
+        if (keyColumns.size() > 1) {
+            predicate.append(")");
+        }
+        return predicate.append(")").toString();
+    }
+
+    /**
+     * Expand the previous key into bind parameters in the order keyPredicate uses them
+     */
+    public List<Object> bindParameters(Object[] lastKey) {
+        List<Object> parameters = new ArrayList<>(filterParameters);
+        if (lastKey != null) {
+            if (keyColumns.size() > 1) {
+                parameters.add(lastKey[0]);
+            }
+            for (int i = 0; i < keyColumns.size(); i++) {
+                for (int j = 0; j < i; j++) {
+                    parameters.add(lastKey[j]);
+                }
+                parameters.add(lastKey[i]);
+            }
+        }
+        parameters.add(pageSize);
+        return parameters;
+    }
+
+    private String columnRef(int keyIndex) {
+        return "t." + keyColumns.get(keyIndex);
+    }
+
+    private String bind(int keyIndex) {
+        return ROWID.equals(keyColumns.get(keyIndex)) ? "CHARTOROWID(?)" : "?";
+    }
+
+    /**
+     * Identifies the walk (table, key, direction, filter) so a token cannot resume a different one
+     * Page size is not part of it: a walk may be resumed with another page size.
+     */
+    String fingerprint() {
+        return tableName + "|" + String.join(",", keyColumns) + "|" + (descending ? "D" : "A") + "|"
+                + (filter == null ? "" : filter) + "|" + filterParameters;
+    }
+
+    @Override
+    public String toString() {
+        return tableName + " by " + keyColumns + (descending ? " desc" : " asc")
+                + (filter != null ? " where " + filter : "") + ", " + pageSize + " per page";
+    }
+}
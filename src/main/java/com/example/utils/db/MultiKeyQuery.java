@@ -0,0 +1,331 @@
+package com.example.utils.db;
+
+import com.example.utils.OracleDBConnection;
+import oracle.jdbc.OracleConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SELECT over a set of keys with a SQL text that does not depend on the number of keys
+ * The query is written with a {keys} marker where the key list goes:
+ *   MultiKeyQuery.of("SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN ({keys})")
+ *
+ * Array bind (default): {keys} becomes SELECT COLUMN_VALUE FROM TABLE(?) and the whole key set is bound
+ * as one SYS.ODCIVARCHAR2LIST (SYS.ODCINUMBERLIST when every key is a number). One statement, one round
+ * trip per 32767 keys, and no 1000-element IN-list limit.
+ *
+ * Chunked fallback (db.multiKey.arrayBind=false, or the collection type is not available): {keys} becomes
+ * db.batch.inListSize placeholders, the last chunk padded with its final key so every chunk shares the
+ * same cached statement. Chunks run db.multiKey.parallelism at a time on pooled connections and are merged
+ * in chunk order, so an ORDER BY only holds within a chunk. A collection that fails to build for another
+ * reason (closed connection, network) only sends that query to chunks; the next one tries the collection again.
+ *
+ * Chunks are also used whenever results are recorded or replayed (db.replay.mode).
+ *
+ * Duplicate keys are dropped. Parameters are bound around the keys in the order of their placeholders.
+ */
+public final class MultiKeyQuery {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiKeyQuery.class);
+
+    public static final String KEYS = "{keys}";
+
+    // Capacity of the SYS.ODCI*LIST varrays
+    private static final int MAX_ARRAY_SIZE = 32767;
+    private static final String VARCHAR_LIST = "SYS.ODCIVARCHAR2LIST";
+    private static final String NUMBER_LIST = "SYS.ODCINUMBERLIST";
+
+    private static volatile boolean arrayBindAvailable = true;
+    private static volatile ExecutorService chunkExecutor;
+
+    private final String template;
+    private final int parametersBeforeKeys;
+
+    private MultiKeyQuery(String template) {
+        int marker = template.indexOf(KEYS);
+        if (marker < 0 || template.indexOf(KEYS, marker + 1) >= 0) {
+            throw new IllegalArgumentException("Query must contain " + KEYS + " exactly once: " + template);
+        }
+        this.template = template;
+        this.parametersBeforeKeys = countPlaceholders(template.substring(0, marker));
+    }
+
+    public static MultiKeyQuery of(String template) {
+        return new MultiKeyQuery(template);
+    }
+
+    /**
+     * Get the SQL used with a collection bind
+     */
+    public String toArraySql() {
+        return template.replace(KEYS, "SELECT COLUMN_VALUE FROM TABLE(?)");
+    }
+
+    /**
+     * Get the SQL used for chunks of a fixed size
+     */
+    public String toChunkSql(int chunkSize) {
+        return template.replace(KEYS, String.join(", ", Collections.nCopies(chunkSize, "?")));
+    }
+
+    /**
+     * Split distinct keys into bind lists of chunkSize keys each, surrounded by the other parameters
+     * @param keys Distinct keys
+     * @param chunkSize Keys per chunk; the last chunk is padded with its final key
+     * @param parameters Other parameters in placeholder order
+     * @return One complete bind list per chunk
+     */
+    public List<Object[]> chunkParameters(List<?> keys, int chunkSize, Object... parameters) {
+        List<Object[]> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<?> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            Object[] bind = new Object[parameters.length + chunkSize];
+            System.arraycopy(parameters, 0, bind, 0, parametersBeforeKeys);
+            for (int i = 0; i < chunkSize; i++) {
+                bind[parametersBeforeKeys + i] = chunk.get(Math.min(i, chunk.size() - 1));
+            }
+            System.arraycopy(parameters, parametersBeforeKeys, bind, parametersBeforeKeys + chunkSize,
+                    parameters.length - parametersBeforeKeys);
+            chunks.add(bind);
+        }
+        return chunks;
+    }
+
+    /**
+     * Run the query for a set of keys
+     * @param dbConnection Database connection instance
+     * @param keys Keys to look up (null or empty returns no rows without querying)
+     * @param parameters Other parameters in placeholder order
+     * @return Rows of all keys
+     * @throws SQLException if a query fails
+     */
+    public List<Map<String, Object>> execute(OracleDBConnection dbConnection, Collection<?> keys, Object... parameters)
+            throws SQLException {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        long started = System.nanoTime();
+
+        // Recorded and replayed results are keyed by bind values, which a collection bind does not expose
+        if (DBConfig.isMultiKeyArrayBindEnabled() && arrayBindAvailable && !SnapshotStore.getShared().isActive()) {
+            List<Map<String, Object>> results = new ArrayList<>();
+            int roundTrips = 0;
+            boolean complete = true;
+            for (int from = 0; from < distinct.size() && complete; from += MAX_ARRAY_SIZE) {
+                List<Map<String, Object>> part = executeArray(dbConnection,
+                        distinct.subList(from, Math.min(from + MAX_ARRAY_SIZE, distinct.size())), parameters);
+                complete = part != null;
+                if (complete) {
+                    results.addAll(part);
+                    roundTrips++;
+                }
+            }
+            if (complete) {
+                logger.info("Multi-key query for {} keys: {} rows in {} array-bound round trip(s), {} ms",
+                        distinct.size(), results.size(), roundTrips, (System.nanoTime() - started) / 1_000_000);
+                return results;
+            }
+        }
+
+        List<Map<String, Object>> results = executeChunked(dbConnection, distinct, parameters);
+        logger.info("Multi-key query for {} keys: {} rows in {} chunk(s) of {}, {} ms", distinct.size(), results.size(),
+                (distinct.size() + DBConfig.getBatchInListSize() - 1) / DBConfig.getBatchInListSize(),
+                DBConfig.getBatchInListSize(), (System.nanoTime() - started) / 1_000_000);
+        return results;
+    }
+
+    /**
+     * Run one collection-bound statement, or return null (and fall back to chunks) if the collection cannot be built
+     */
+    private List<Map<String, Object>> executeArray(OracleDBConnection dbConnection, List<Object> keys, Object... parameters)
+            throws SQLException {
+        String sql = toArraySql();
+        StatementTimer timer = StatementStats.start(sql);
+        Connection connection = dbConnection.borrowConnection();
+        timer.connected();
+        PreparedStatement statement = null;
+        try {
+            Array array;
+            try {
+                array = createArray(connection, keys);
+            } catch (SQLException | RuntimeException e) {
+                timer.fail();
+                if (isUnsupported(connection, e)) {
+                    arrayBindAvailable = false;
+                    logger.warn("Collection bind unavailable ({}), multi-key queries fall back to IN-list chunks",
+                            e.getMessage());
+                } else {
+                    logger.warn("Could not build the key collection ({}), this query falls back to IN-list chunks",
+                            e.getMessage());
+                }
+                return null;
+            }
+
+            statement = connection.prepareStatement(sql);
+            statement.setQueryTimeout(DBConfig.getQueryTimeout());
+            statement.setFetchSize(DBConfig.getFetchSize());
+            int index = 1;
+            for (int i = 0; i < parametersBeforeKeys; i++) {
+                statement.setObject(index++, parameters[i]);
+            }
+            statement.setArray(index++, array);
+            for (int i = parametersBeforeKeys; i < parameters.length; i++) {
+                statement.setObject(index++, parameters[i]);
+            }
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            // The cursor owns the connection and statement from here on
+            ResultSet resultSet = statement.executeQuery();
+            timer.firstRow();
+            try (RowCursor cursor = new RowCursor(connection, statement, resultSet, timer)) {
+                connection = null;
+                while (cursor.next()) {
+                    results.add(cursor.row().toMap());
+                }
+            }
+            return results;
+        } catch (SQLException e) {
+            timer.fail();
+            logger.error("Error executing multi-key query: {}", sql, e);
+            throw e;
+        } finally {
+            if (connection != null) {
+                if (statement != null) {
+                    statement.close();
+                }
+                connection.close();
+            }
+        }
+    }
+
+    private static Array createArray(Connection connection, List<Object> keys) throws SQLException {
+        boolean numeric = true;
+        for (Object key : keys) {
+            numeric &= key instanceof Number;
+        }
+        Object[] elements = numeric ? keys.toArray() : keys.stream().map(String::valueOf).toArray();
+        return connection.unwrap(OracleConnection.class).createOracleArray(numeric ? NUMBER_LIST : VARCHAR_LIST, elements);
+    }
+
+    /**
+     * Whether a failure to build the collection means this database or driver cannot bind one at all,
+     * rather than a failure of this attempt only (closed connection, network, ...)
+     */
+    private static boolean isUnsupported(Connection connection, Exception e) {
+        if (e instanceof SQLFeatureNotSupportedException) {
+            return true;
+        }
+        try {
+            if (!connection.isWrapperFor(OracleConnection.class)) {
+                return true;
+            }
+        } catch (SQLException | RuntimeException ignored) {
+            return false;
+        }
+        if (e instanceof SQLException) {
+            // ORA-00902 invalid datatype, ORA-04043 object does not exist,
+            // ORA-17060 fail to construct descriptor, ORA-17074 invalid name pattern
+            switch (((SQLException) e).getErrorCode()) {
+                case 902:
+                case 4043:
+                case 17060:
+                case 17074:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    private List<Map<String, Object>> executeChunked(OracleDBConnection dbConnection, List<Object> keys, Object... parameters)
+            throws SQLException {
+        int chunkSize = Math.min(DBConfig.getBatchInListSize(), keys.size());
+        String sql = toChunkSql(chunkSize);
+        List<Object[]> chunks = chunkParameters(keys, chunkSize, parameters);
+
+        if (chunks.size() == 1) {
+            return dbConnection.executeQueryWithParams(sql, chunks.get(0));
+        }
+
+        List<Future<List<Map<String, Object>>>> futures = new ArrayList<>();
+        for (Object[] bind : chunks) {
+            futures.add(getChunkExecutor().submit(() -> dbConnection.executeQueryWithParams(sql, bind)));
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        try {
+            for (Future<List<Map<String, Object>>> future : futures) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while fetching key chunks", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Error fetching key chunk: " + e.getCause(), e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Shared daemon pool for chunked fallbacks, sized by db.multiKey.parallelism
+     */
+    private static ExecutorService getChunkExecutor() {
+        ExecutorService executor = chunkExecutor;
+        if (executor == null) {
+            synchronized (MultiKeyQuery.class) {
+                executor = chunkExecutor;
+                if (executor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(DBConfig.getMultiKeyParallelism(), runnable -> {
+                        Thread thread = new Thread(runnable, "multi-key-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    chunkExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static int countPlaceholders(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.utils.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Oracle connection pool
+ * One pool is created per TNS entry and username and reused by every OracleDBConnection
+ * in the JVM, so the TNS logon is paid once per suite instead of once per test class.
+ *
+ * Pool behaviour (see DBConfig for the property names):
+ * - min/max size
+ * - validation on borrow (Connection.isValid with db.pool.validationTimeout)
+ * - idle eviction above the minimum size
+ * - leak detection for connections held longer than db.pool.leakDetectionThreshold
+ * - implicit statement cache per connection (LRU, db.statementCache.size), so repeated
+ *   prepared SQL skips the parse on both the driver and the server side
+ */
+public final class OracleConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(OracleConnectionPool.class);
+    private static final String DRIVER_CLASS = "oracle.jdbc.OracleDriver";
+    private static final Map<String, OracleConnectionPool> pools = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(OracleConnectionPool::shutdownAll, "oracle-pool-shutdown"));
+    }
+
+    private final String key;
+    private final HikariDataSource dataSource;
+
+    private OracleConnectionPool(String key, String tnsEntry, String username, String password) {
+        this.key = key;
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("oracle-" + username + "@" + tnsEntry);
+        config.setDriverClassName(DRIVER_CLASS);
+        config.setJdbcUrl("jdbc:oracle:thin:@" + tnsEntry);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMinimumIdle(DBConfig.getPoolMinSize());
+        config.setMaximumPoolSize(Math.max(DBConfig.getPoolMinSize(), DBConfig.getPoolMaxSize()));
+        config.setConnectionTimeout(DBConfig.getPoolTimeout());
+        config.setIdleTimeout(DBConfig.getPoolIdleTimeout());
+        config.setMaxLifetime(DBConfig.getPoolMaxLifetime());
+        config.setValidationTimeout(DBConfig.getPoolValidationTimeout());
+        config.setLeakDetectionThreshold(DBConfig.getPoolLeakDetectionThreshold());
+        if (DBConfig.getStatementCacheSize() > 0) {
+            config.addDataSourceProperty("oracle.jdbc.implicitStatementCacheSize",
+                    String.valueOf(DBConfig.getStatementCacheSize()));
+        }
+        // Fail fast on bad credentials / unreachable listener instead of retrying in the background
+        config.setInitializationFailTimeout(1);
+
+        logger.info("Creating connection pool for TNS: {} (min={}, max={})",
+                tnsEntry, config.getMinimumIdle(), config.getMaximumPoolSize());
+        this.dataSource = new HikariDataSource(config);
+        logger.info("Connection pool {} started", config.getPoolName());
+    }
+
+    /**
+     * Get the shared pool for a TNS entry and username, creating it on first use
+     * @param tnsEntry TNS name or full TNS connection string
+     * @param username Database username
+     * @param password Database password
+     * @return Shared pool instance
+     * @throws SQLException if the pool cannot be started
+     */
+    public static OracleConnectionPool getPool(String tnsEntry, String username, String password) throws SQLException {
+        String key = username + "@" + tnsEntry;
+        OracleConnectionPool pool = pools.get(key);
+        if (pool != null && !pool.isClosed()) {
+            return pool;
+        }
+
+        synchronized (pools) {
+            pool = pools.get(key);
+            if (pool == null || pool.isClosed()) {
+                try {
+                    pool = new OracleConnectionPool(key, tnsEntry, username, password);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to start connection pool for TNS: {}", tnsEntry, e);
+                    throw new SQLException("Failed to start connection pool for TNS: " + tnsEntry, e);
+                }
+                pools.put(key, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Borrow a validated connection from the pool
+     * The caller must close the connection to return it to the pool
+     * @return Pooled connection
+     * @throws SQLException if no connection is available within db.pool.timeout
+     */
+    public Connection borrow() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Check if the pool has been shut down
+     * @return true if closed, false otherwise
+     */
+    public boolean isClosed() {
+        return dataSource.isClosed();
+    }
+
+    /**
+     * Get number of connections currently in use
+     */
+    public int getActiveConnections() {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        return bean != null ? bean.getActiveConnections() : 0;
+    }
+
+    /**
+     * Get number of idle connections in the pool
+     */
+    public int getIdleConnections() {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        return bean != null ? bean.getIdleConnections() : 0;
+    }
+
+    /**
+     * Get number of threads waiting for a connection
+     */
+    public int getThreadsAwaitingConnection() {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        return bean != null ? bean.getThreadsAwaitingConnection() : 0;
+    }
+
+    /**
+     * Shut down this pool and close all of its connections
+     */
+    public void shutdown() {
+        if (!dataSource.isClosed()) {
+            logger.info("Shutting down connection pool {} (active={}, idle={})",
+                    dataSource.getPoolName(), getActiveConnections(), getIdleConnections());
+            dataSource.close();
+        }
+        pools.remove(key, this);
+    }
+
+    /**
+     * Shut down every pool created in this JVM
+     * Called at the end of the TestNG suite and from a JVM shutdown hook
+     */
+    public static void shutdownAll() {
+        for (OracleConnectionPool pool : pools.values()) {
+            pool.shutdown();
+        }
+    }
+}
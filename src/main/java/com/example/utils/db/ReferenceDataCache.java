@@ -0,0 +1,395 @@
+package com.example.utils.db;
+
+import com.example.utils.OracleDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite-wide read-through cache for reference data (lookup tables, alert masters, markets)
+ * Results are keyed by data source, table, SQL text and bind parameters, so the same lookup
+ * reaches Oracle once per TTL no matter how many tests or data classes ask for it.
+ *
+ * - TTL: entries older than db.refCache.ttlSeconds are reloaded on the next request
+ * - size bound: above db.refCache.maxEntries the least recently used entries are evicted
+ * - single flight: concurrent requests for a missing key wait for one load instead of all querying
+ * - statistics: hits, misses, loads, failures, evictions and time spent loading
+ *
+ * Cached rows are read-only; a failed load is not cached. Only use it for tables that change
+ * rarely during a run, and call invalidate(table) after a test writes to one of them.
+ */
+public final class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private static volatile ReferenceDataCache shared;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * Loads the rows for a cache miss
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<Map<String, Object>> load() throws SQLException;
+    }
+
+    /**
+     * Constructor
+     * @param ttl How long a loaded result is served before it is reloaded
+     * @param maxEntries Maximum number of cached results
+     */
+    public ReferenceDataCache(Duration ttl, int maxEntries) {
+        this(true, ttl, maxEntries);
+    }
+
+    private ReferenceDataCache(boolean enabled, Duration ttl, int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Get the JVM-wide cache configured from database.properties
+     */
+    public static ReferenceDataCache getShared() {
+        ReferenceDataCache cache = shared;
+        if (cache == null) {
+            synchronized (ReferenceDataCache.class) {
+                cache = shared;
+                if (cache == null) {
+                    cache = new ReferenceDataCache(DBConfig.isRefCacheEnabled(),
+                            Duration.ofSeconds(DBConfig.getRefCacheTtlSeconds()), DBConfig.getRefCacheMaxEntries());
+                    shared = cache;
+                    ReferenceDataCache created = cache;
+                    Runtime.getRuntime().addShutdownHook(new Thread(
+                            () -> logger.info("Reference data cache: {}", created.getStats()), "ref-cache-stats"));
+                    logger.info("Reference data cache created (enabled={}, ttl={} s, maxEntries={})",
+                            cache.enabled, DBConfig.getRefCacheTtlSeconds(), cache.maxEntries);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Run a query through the cache
+     * @param dbConnection Database connection used on a miss
+     * @param table Table the query reads, used for invalidation and statistics
+     * @param query SQL SELECT query with ? placeholders
+     * @param parameters Parameters to bind to the query
+     * @return Read-only rows
+     * @throws SQLException if the query fails
+     */
+    public List<Map<String, Object>> query(OracleDBConnection dbConnection, String table, String query,
+                                           Object... parameters) throws SQLException {
+        return get(dbConnection.getDataSourceKey(), table, query, parameters,
+                () -> parameters.length == 0
+                        ? dbConnection.executeQuery(query)
+                        : dbConnection.executeQueryWithParams(query, parameters));
+    }
+
+    /**
+     * Get cached rows, loading them on a miss
+     * @param source Data source the rows come from (e.g. user@tns)
+     * @param table Table the rows come from
+     * @param query SQL text (part of the key)
+     * @param parameters Bind parameters (part of the key)
+     * @param loader Called once per miss, concurrent callers for the same key wait for it
+     * @return Read-only rows
+     * @throws SQLException if the load fails
+     */
+    public List<Map<String, Object>> get(String source, String table, String query, Object[] parameters,
+                                         Loader loader) throws SQLException {
+        if (!enabled) {
+            misses.increment();
+            return loader.load();
+        }
+
+        Key key = new Key(source, table, query, parameters);
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                Entry fresh = new Entry();
+                if (entries.putIfAbsent(key, fresh) == null) {
+                    misses.increment();
+                    return load(key, fresh, loader);
+                }
+                continue;
+            }
+            if (entry.isExpired(System.nanoTime(), ttlNanos)) {
+                if (entries.remove(key, entry)) {
+                    expirations.increment();
+                }
+                continue;
+            }
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return await(entry);
+        }
+    }
+
+    private List<Map<String, Object>> load(Key key, Entry entry, Loader loader) throws SQLException {
+        long started = System.nanoTime();
+        try {
+            List<Map<String, Object>> rows = readOnly(loader.load());
+            long now = System.nanoTime();
+            loadNanos.add(now - started);
+            entry.loadedAt = now;
+            entry.lastAccess = now;
+            entry.rows.complete(rows);
+            logger.debug("Loaded {} rows for {} in {} ms", rows.size(), key.table, (now - started) / 1_000_000);
+            evictIfFull();
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            loadNanos.add(System.nanoTime() - started);
+            loadFailures.increment();
+            entries.remove(key, entry);
+            entry.rows.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static List<Map<String, Object>> await(Entry entry) throws SQLException {
+        try {
+            return entry.rows.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for reference data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException("Reference data load failed", cause);
+        }
+    }
+
+    private static List<Map<String, Object>> readOnly(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> copy = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            copy.add(Collections.unmodifiableMap(row));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Drop least recently used loaded entries until the cache is back within its size
+     */
+    private void evictIfFull() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        // Sort on a copy of lastAccess: hits keep updating it, and a comparator whose keys move mid-sort
+        // breaks the sort contract
+        List<Candidate> loaded = new ArrayList<>();
+        for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+            if (candidate.getValue().rows.isDone()) {
+                loaded.add(new Candidate(candidate.getKey(), candidate.getValue()));
+            }
+        }
+        loaded.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+        for (int i = 0; i < excess && i < loaded.size(); i++) {
+            if (entries.remove(loaded.get(i).key, loaded.get(i).entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop every cached result of a table
+     * @param table Table name (case-insensitive)
+     * @return Number of results dropped
+     */
+    public int invalidate(String table) {
+        String normalized = Key.normalize(table);
+        int removed = 0;
+        for (Key key : entries.keySet()) {
+            if (key.table.equals(normalized) && entries.remove(key) != null) {
+                removed++;
+            }
+        }
+        logger.info("Invalidated {} cached results of {}", removed, normalized);
+        return removed;
+    }
+
+    /**
+     * Drop everything, statistics are kept
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), loadFailures.sum(), evictions.sum(), expirations.sum(),
+                loadNanos.sum(), entries.size());
+    }
+
+    /**
+     * Snapshot of the cache counters
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long loadFailures;
+        private final long evictions;
+        private final long expirations;
+        private final long loadNanos;
+        private final int size;
+
+        private Stats(long hits, long misses, long loadFailures, long evictions, long expirations, long loadNanos, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loadFailures = loadFailures;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.loadNanos = loadNanos;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Get the number of requests that queried the database (every miss is one load)
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getLoadFailures() {
+            return loadFailures;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public long getTotalLoadMillis() {
+            return loadNanos / 1_000_000;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d (hit ratio %.1f%%) loadFailures=%d evictions=%d expirations=%d "
+                            + "loadTime=%d ms size=%d", hits, misses, getHitRatio() * 100, loadFailures, evictions,
+                    expirations, getTotalLoadMillis(), size);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<List<Map<String, Object>>> rows = new CompletableFuture<>();
+        private volatile long loadedAt;
+        private volatile long lastAccess;
+
+        /**
+         * Entries still loading never expire, their waiters get the result being loaded
+         */
+        private boolean isExpired(long now, long ttlNanos) {
+            return rows.isDone() && !rows.isCompletedExceptionally() && now - loadedAt >= ttlNanos;
+        }
+    }
+
+    /**
+     * Eviction candidate with the last access time it had when it was listed
+     */
+    private static final class Candidate {
+        private final Key key;
+        private final Entry entry;
+        private final long lastAccess;
+
+        private Candidate(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+
+    private static final class Key {
+        private final String source;
+        private final String table;
+        private final String query;
+        private final List<Object> parameters;
+        private final int hash;
+
+        private Key(String source, String table, String query, Object[] parameters) {
+            this.source = source;
+            this.table = normalize(table);
+            this.query = query;
+            this.parameters = Arrays.asList(parameters.clone());
+            this.hash = Objects.hash(source, this.table, query, this.parameters);
+        }
+
+        private static String normalize(String table) {
+            return table.trim().toUpperCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return source.equals(key.source) && table.equals(key.table) && query.equals(key.query)
+                    && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.example.utils.db;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Recorded result of one statement: column names and types plus all rows, or an update count
+ * Snapshots are written in a compact tagged binary form (see write/read) and replayed through a
+ * read-only, forward-only ResultSet, so readRows, ColumnarResult, RowCursor and generated record
+ * mappers read a replayed result exactly like a live one.
+ *
+ * CLOB and BLOB values are recorded as String and byte[]; other non-standard driver types are kept
+ * with Java serialization.
+ */
+public final class ResultSnapshot {
+
+    private static final int MAGIC = 0x44425331; // "DBS1"
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte DECIMAL = 2;
+    private static final byte TIMESTAMP = 3;
+    private static final byte DATE = 4;
+    private static final byte LONG = 5;
+    private static final byte INTEGER = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte FLOAT = 8;
+    private static final byte BOOLEAN = 9;
+    private static final byte BYTES = 10;
+    private static final byte SERIALIZED = 11;
+
+    private final long recordedAt;
+    private final String sql;
+    private final String parameters;
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final List<Object[]> rows;
+    private final int updateCount;
+
+    private ResultSnapshot(long recordedAt, String sql, String parameters, String[] columnNames, int[] columnTypes,
+                           List<Object[]> rows, int updateCount) {
+        this.recordedAt = recordedAt;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.rows = rows;
+        this.updateCount = updateCount;
+    }
+
+    /**
+     * Read all remaining rows of a result set into a snapshot and close it
+     * @param sql SQL text the result belongs to
+     * @param parameters Readable form of the bind parameters
+     * @param resultSet Open result set
+     * @return Snapshot of the result
+     * @throws SQLException if reading fails
+     */
+    public static ResultSnapshot of(String sql, String parameters, ResultSet resultSet) throws SQLException {
+        try (ResultSet source = resultSet) {
+            ResultSetMetaData metaData = source.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            String[] names = new String[columnCount];
+            int[] types = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                names[i] = metaData.getColumnName(i + 1);
+                types[i] = ColumnIndex.sqlType(metaData, i + 1);
+            }
+            List<Object[]> rows = new ArrayList<>();
+            while (source.next()) {
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = detach(source.getObject(i + 1));
+                }
+                rows.add(row);
+            }
+            return new ResultSnapshot(System.currentTimeMillis(), sql, parameters, names, types, rows, -1);
+        }
+    }
+
+    /**
+     * Create a snapshot of a DML statement
+     * @param sql SQL text
+     * @param parameters Readable form of the bind parameters
+     * @param updateCount Rows affected
+     * @return Snapshot holding the update count
+     */
+    public static ResultSnapshot ofUpdateCount(String sql, String parameters, int updateCount) {
+        return new ResultSnapshot(System.currentTimeMillis(), sql, parameters, new String[0], new int[0],
+                Collections.emptyList(), updateCount);
+    }
+
+    /**
+     * Copy LOB contents out of the connection, since the locators die with it
+     */
+    private static Object detach(Object value) throws SQLException {
+        if (value instanceof Clob) {
+            Clob clob = (Clob) value;
+            return clob.getSubString(1, (int) clob.length());
+        }
+        if (value instanceof Blob) {
+            Blob blob = (Blob) value;
+            return blob.getBytes(1, (int) blob.length());
+        }
+        return value;
+    }
+
+    /**
+     * Get the epoch millis the snapshot was recorded at
+     */
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Get the recorded update count, or -1 for a query result
+     */
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Write the snapshot
+     * @param out Target stream
+     * @throws IOException if writing fails or a value cannot be encoded
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(recordedAt);
+        writeString(out, sql);
+        writeString(out, parameters);
+        out.writeInt(updateCount);
+        out.writeInt(columnNames.length);
+        for (int i = 0; i < columnNames.length; i++) {
+            writeString(out, columnNames[i]);
+            out.writeInt(columnTypes[i]);
+        }
+        out.writeInt(rows.size());
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                writeValue(out, value);
+            }
+        }
+    }
+
+    /**
+     * Read a snapshot written by write()
+     * @param in Source stream
+     * @return Snapshot
+     * @throws IOException if the stream is not a snapshot or is truncated
+     */
+    public static ResultSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a result snapshot");
+        }
+        long recordedAt = in.readLong();
+        String sql = readString(in);
+        String parameters = readString(in);
+        int updateCount = in.readInt();
+        int columnCount = in.readInt();
+        String[] names = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = readString(in);
+            types[i] = in.readInt();
+        }
+        int rowCount = in.readInt();
+        List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = readValue(in);
+            }
+            rows.add(row);
+        }
+        return new ResultSnapshot(recordedAt, sql, parameters, names, types, rows, updateCount);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write one column value in the snapshot encoding (also used by other spill files)
+     * @throws IOException if writing fails or the value cannot be encoded
+     */
+    public static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            out.writeByte(DECIMAL);
+            out.writeInt(decimal.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IOException("Cannot record value of type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Read one column value written by writeValue()
+     * @throws IOException if the stream is truncated or holds an unknown value
+     */
+    public static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case DECIMAL: {
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readUnsignedShort()];
+                in.readFully(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            }
+            case DATE:
+                return new java.sql.Date(in.readLong());
+            case LONG:
+                return in.readLong();
+            case INTEGER:
+                return in.readInt();
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case BOOLEAN:
+                return in.readBoolean();
+            case BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case SERIALIZED: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Cannot restore recorded value: " + e.getMessage(), e);
+                }
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Open a read-only, forward-only ResultSet over the recorded rows
+     * Supports next, getMetaData, findColumn, wasNull, close and the getObject/getString/getBigDecimal/
+     * getLong/getInt/getDouble/getTimestamp/getDate getters by index or column name.
+     */
+    public ResultSet toResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new Cursor()::invoke);
+    }
+
+    private ResultSetMetaData metaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columnNames.length;
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return columnNames[(Integer) args[0] - 1];
+                        case "getColumnType":
+                            return columnTypes[(Integer) args[0] - 1];
+                        case "getColumnTypeName":
+                            return typeName(columnTypes[(Integer) args[0] - 1]);
+                        default:
+                            throw new SQLFeatureNotSupportedException("Replayed metadata does not support " + method.getName());
+                    }
+                });
+    }
+
+    private static String typeName(int sqlType) {
+        if (sqlType == Types.DATE) {
+            return "DATE";
+        }
+        try {
+            return JDBCType.valueOf(sqlType).getName();
+        } catch (IllegalArgumentException e) {
+            return String.valueOf(sqlType);
+        }
+    }
+
+    /**
+     * Position and state of one replayed ResultSet
+     */
+    private final class Cursor {
+        private int position = -1;
+        private boolean lastWasNull;
+        private boolean closed;
+
+        private Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            switch (name) {
+                case "next":
+                    checkOpen();
+                    return ++position < rows.size();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getMetaData":
+                    return metaData();
+                case "findColumn":
+                    return findColumn((String) args[0]);
+                case "wasNull":
+                    return lastWasNull;
+                case "setFetchSize":
+                case "clearWarnings":
+                    return null;
+                case "getFetchSize":
+                    return 0;
+                case "getWarnings":
+                    return null;
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "getConcurrency":
+                    return ResultSet.CONCUR_READ_ONLY;
+                case "unwrap":
+                case "isWrapperFor":
+                    throw new SQLFeatureNotSupportedException("Replayed result sets do not wrap a driver result set");
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "ReplayedResultSet[" + sql + "]";
+                default:
+                    if (name.startsWith("get") && args != null && args.length == 1) {
+                        return convert(name, value(args[0]));
+                    }
+                    throw new SQLFeatureNotSupportedException("Replayed result sets do not support " + name);
+            }
+        }
+
+        private void checkOpen() throws SQLException {
+            if (closed) {
+                throw new SQLException("Result set is closed");
+            }
+        }
+
+        private int findColumn(String columnName) throws SQLException {
+            for (int i = 0; i < columnNames.length; i++) {
+                if (columnNames[i].equalsIgnoreCase(columnName)) {
+                    return i + 1;
+                }
+            }
+            throw new SQLException("Invalid column name: " + columnName);
+        }
+
+        private Object value(Object column) throws SQLException {
+            checkOpen();
+            if (position < 0 || position >= rows.size()) {
+                throw new SQLException("No current row");
+            }
+            int index = column instanceof Integer ? (Integer) column : findColumn((String) column);
+            if (index < 1 || index > columnNames.length) {
+                throw new SQLException("Invalid column index: " + index);
+            }
+            Object value = rows.get(position)[index - 1];
+            lastWasNull = value == null;
+            return value;
+        }
+    }
+
+    /**
+     * Convert a recorded value the way the Oracle driver's typed getters do
+     */
+    private static Object convert(String getter, Object value) throws SQLException {
+        switch (getter) {
+            case "getObject":
+                return value;
+            case "getString":
+                if (value == null) {
+                    return null;
+                }
+                return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+            case "getBigDecimal":
+                if (value == null || value instanceof BigDecimal) {
+                    return value;
+                }
+                return new BigDecimal(value.toString().trim());
+            case "getLong":
+                return value == null ? 0L : toNumber(value).longValue();
+            case "getInt":
+                return value == null ? 0 : toNumber(value).intValue();
+            case "getDouble":
+                return value == null ? 0.0 : toNumber(value).doubleValue();
+            case "getTimestamp":
+                if (value == null || value instanceof Timestamp) {
+                    return value;
+                }
+                if (value instanceof java.util.Date) {
+                    return new Timestamp(((java.util.Date) value).getTime());
+                }
+                return Timestamp.valueOf(value.toString().trim());
+            case "getDate":
+                if (value == null || value instanceof java.sql.Date) {
+                    return value;
+                }
+                if (value instanceof java.util.Date) {
+                    return new java.sql.Date(((java.util.Date) value).getTime());
+                }
+                return java.sql.Date.valueOf(value.toString().trim());
+            default:
+                throw new SQLFeatureNotSupportedException("Replayed result sets do not support " + getter);
+        }
+    }
+
+    private static Number toNumber(Object value) throws SQLException {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Cannot convert " + value + " to a number", e);
+        }
+    }
+}
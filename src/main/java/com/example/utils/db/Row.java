@@ -0,0 +1,108 @@
+package com.example.utils.db;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of the current row of a RowCursor
+ * The same instance is reused for every row, so values must be copied (e.g. with toMap())
+ * if they are needed after the cursor has moved on.
+ */
+public final class Row {
+
+    private final ResultSet resultSet;
+    private final ColumnIndex columns;
+
+    Row(ResultSet resultSet, ColumnIndex columns) {
+        this.resultSet = resultSet;
+        this.columns = columns;
+    }
+
+    /**
+     * Get the shared column dictionary of this result
+     */
+    public ColumnIndex getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get column names in select order
+     */
+    public List<String> getColumnNames() {
+        return columns.getNames();
+    }
+
+    /**
+     * Get value by zero-based column position
+     */
+    public Object getObject(int index) throws SQLException {
+        return resultSet.getObject(index + 1);
+    }
+
+    /**
+     * Get value by column name
+     */
+    public Object getObject(String columnName) throws SQLException {
+        return resultSet.getObject(columns.requireIndex(columnName) + 1);
+    }
+
+    /**
+     * Get value as String, empty string for NULL (same convention as the parseXxxData methods)
+     */
+    public String getString(String columnName) throws SQLException {
+        Object value = getObject(columnName);
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Get NUMBER value as BigDecimal, null for NULL
+     */
+    public BigDecimal getBigDecimal(String columnName) throws SQLException {
+        return resultSet.getBigDecimal(columns.requireIndex(columnName) + 1);
+    }
+
+    /**
+     * Get NUMBER value as long, 0 for NULL
+     */
+    public long getLong(String columnName) throws SQLException {
+        return resultSet.getLong(columns.requireIndex(columnName) + 1);
+    }
+
+    /**
+     * Get NUMBER value as double, 0 for NULL
+     */
+    public double getDouble(String columnName) throws SQLException {
+        return resultSet.getDouble(columns.requireIndex(columnName) + 1);
+    }
+
+    /**
+     * Get DATE/TIMESTAMP value, null for NULL
+     */
+    public Timestamp getTimestamp(String columnName) throws SQLException {
+        return resultSet.getTimestamp(columns.requireIndex(columnName) + 1);
+    }
+
+    /**
+     * Check whether the column value is NULL
+     */
+    public boolean isNull(String columnName) throws SQLException {
+        return getObject(columnName) == null;
+    }
+
+    /**
+     * Copy the current row into a new map (same shape as executeQuery rows)
+     * @return Map of column name to value
+     */
+    public Map<String, Object> toMap() throws SQLException {
+        Map<String, Object> map = new HashMap<>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            map.put(columns.getName(i), resultSet.getObject(i + 1));
+        }
+        return map;
+    }
+}
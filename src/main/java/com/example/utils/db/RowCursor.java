@@ -0,0 +1,145 @@
+package com.example.utils.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Forward-only cursor over a query result
+ * Holds a pooled connection until closed; always use it in try-with-resources.
+ * Rows are fetched from Oracle in batches of the configured fetch size and exposed
+ * through a single reused Row, so memory use does not grow with the table size.
+ * A cursor opened with a StatementTimer records the statement when it is closed.
+ */
+public final class RowCursor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowCursor.class);
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final ColumnIndex columns;
+    private final Row row;
+    private final StatementTimer timer;
+    private long rowCount;
+    private boolean closed;
+
+    public RowCursor(Connection connection, Statement statement, ResultSet resultSet) throws SQLException {
+        this(connection, statement, resultSet, StatementTimer.DISABLED);
+    }
+
+    /**
+     * Constructor for a timed cursor
+     * Connection and statement may be null for results that hold neither, e.g. replayed snapshots.
+     */
+    public RowCursor(Connection connection, Statement statement, ResultSet resultSet, StatementTimer timer)
+            throws SQLException {
+        this.timer = timer;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.columns = ColumnIndex.from(resultSet.getMetaData());
+        this.row = new Row(resultSet, columns);
+    }
+
+    /**
+     * Move to the next row
+     * @return true if a row is available, false at the end of the result
+     * @throws SQLException if fetching fails
+     */
+    public boolean next() throws SQLException {
+        if (closed) {
+            return false;
+        }
+        if (resultSet.next()) {
+            rowCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the reused view of the current row
+     */
+    public Row row() {
+        return row;
+    }
+
+    /**
+     * Get the column dictionary of this result
+     */
+    public ColumnIndex getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get number of rows read so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Expose the remaining rows as a sequential Stream
+     * Closing the stream closes the cursor; each element is the same reused Row.
+     * @return Stream of rows
+     */
+    public Stream<Row> stream() {
+        Spliterator<Row> spliterator = new Spliterators.AbstractSpliterator<Row>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Row> action) {
+                try {
+                    if (!next()) {
+                        return false;
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Error reading next row: " + e.getMessage(), e);
+                }
+                action.accept(row);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Close the result set and statement and return the connection to the pool
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            resultSet.close();
+        } catch (SQLException e) {
+            logger.warn("Error closing result set: {}", e.getMessage());
+        }
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            logger.warn("Error closing statement: {}", e.getMessage());
+        }
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.warn("Error returning connection to pool: {}", e.getMessage());
+        }
+        timer.finish(rowCount);
+        logger.info("Cursor closed after {} rows", rowCount);
+    }
+}
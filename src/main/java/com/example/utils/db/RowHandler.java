@@ -0,0 +1,17 @@
+package com.example.utils.db;
+
+import java.sql.SQLException;
+
+/**
+ * Callback invoked once per row by OracleDBConnection.forEachRow
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * Handle the current row
+     * @param row Reused row view, valid only during this call
+     * @throws SQLException if a value cannot be read
+     */
+    void handle(Row row) throws SQLException;
+}
@@ -0,0 +1,39 @@
+package com.example.utils.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps the current ResultSet row to a typed object by column position
+ * Used by OracleDBConnection.queryForList; the mappers generated into com.example.records read
+ * their columns in the fixed order of the record's SELECT, so no column names are looked up per row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Map the current row
+     * @param resultSet Result set positioned on a row; do not call next() here
+     * @return Mapped object
+     * @throws SQLException if a value cannot be read
+     */
+    T map(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Get a NUMBER column as Long, null for NULL
+     */
+    static Long getLong(ResultSet resultSet, int column) throws SQLException {
+        long value = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Get a DATE/TIMESTAMP column as LocalDateTime, null for NULL
+     */
+    static LocalDateTime getLocalDateTime(ResultSet resultSet, int column) throws SQLException {
+        Timestamp value = resultSet.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.utils.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local store of recorded statement results for offline test runs (db.replay.mode)
+ *
+ * - off (default): statements go to the database, nothing is stored
+ * - record: statements go to the database and each result is saved as a ResultSnapshot
+ * - replay: no database connection is made; results are served from the saved snapshots
+ *
+ * Snapshots are keyed by data source (user@tns), SQL text with whitespace collapsed and the bind values,
+ * and stored gzip-compressed as one file per key under db.replay.dir. Literals are part of the key, so
+ * queries that differ only in a literal are recorded separately. A statement that runs more than once in a
+ * run keeps its last result, so tests that read, write and read again need a live database.
+ *
+ * Replay reports missing snapshots (the statement fails with an SQLException naming the key) and stale
+ * ones, recorded more than db.replay.maxAgeHours ago (served, but listed in the report at suite end).
+ */
+public final class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_REPORTED_KEYS = 50;
+    private static final String EXTENSION = ".snap";
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private static volatile SnapshotStore shared;
+
+    private final Mode mode;
+    private final Path directory;
+    private final long maxAgeMillis;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final Map<String, String> missingKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> staleKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param mode Record, replay or off
+     * @param directory Directory holding the snapshot files
+     * @param maxAge Age above which a replayed snapshot is reported as stale
+     */
+    public SnapshotStore(Mode mode, Path directory, Duration maxAge) {
+        this.mode = mode;
+        this.directory = directory;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Get the JVM-wide store configured from database.properties
+     */
+    public static SnapshotStore getShared() {
+        SnapshotStore store = shared;
+        if (store == null) {
+            synchronized (SnapshotStore.class) {
+                store = shared;
+                if (store == null) {
+                    store = new SnapshotStore(DBConfig.getReplayMode(), Paths.get(DBConfig.getReplayDir()),
+                            Duration.ofHours(DBConfig.getReplayMaxAgeHours()));
+                    shared = store;
+                    if (store.mode != Mode.OFF) {
+                        logger.info("Database results are {} {}", store.mode == Mode.RECORD ? "recorded to" : "replayed from",
+                                store.directory.toAbsolutePath());
+                    }
+                }
+            }
+        }
+        return store;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isRecording() {
+        return mode == Mode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY;
+    }
+
+    /**
+     * Whether statements must go through OracleDBConnection's query methods to be recorded or replayed
+     */
+    public boolean isActive() {
+        return mode != Mode.OFF;
+    }
+
+    /**
+     * Record a live query result, if recording
+     * @param source Data source key (user@tns)
+     * @param sql SQL text
+     * @param parameters Bind parameters
+     * @param resultSet Live result set
+     * @return The live result set when not recording, otherwise a replay of the saved snapshot
+     * @throws SQLException if the result cannot be read or saved
+     */
+    public ResultSet record(String source, String sql, Object[] parameters, ResultSet resultSet) throws SQLException {
+        if (mode != Mode.RECORD) {
+            return resultSet;
+        }
+        ResultSnapshot snapshot = ResultSnapshot.of(sql, describe(parameters), resultSet);
+        save(key(source, sql, parameters), snapshot);
+        return snapshot.toResultSet();
+    }
+
+    /**
+     * Record the update count of a live DML statement, if recording
+     * @return The update count
+     */
+    public int recordUpdate(String source, String sql, Object[] parameters, int updateCount) throws SQLException {
+        if (mode == Mode.RECORD) {
+            save(key(source, sql, parameters), ResultSnapshot.ofUpdateCount(sql, describe(parameters), updateCount));
+        }
+        return updateCount;
+    }
+
+    /**
+     * Serve a recorded query result
+     * @param source Data source key (user@tns)
+     * @param sql SQL text
+     * @param parameters Bind parameters
+     * @return Read-only result set over the recorded rows
+     * @throws SQLException if no snapshot was recorded for the statement
+     */
+    public ResultSet replay(String source, String sql, Object... parameters) throws SQLException {
+        return load(source, sql, parameters).toResultSet();
+    }
+
+    /**
+     * Serve the recorded update count of a DML statement
+     * @throws SQLException if no snapshot was recorded for the statement
+     */
+    public int replayUpdate(String source, String sql, Object... parameters) throws SQLException {
+        ResultSnapshot snapshot = load(source, sql, parameters);
+        if (snapshot.getUpdateCount() < 0) {
+            throw new SQLException("Snapshot of " + sql + " holds rows, not an update count");
+        }
+        return snapshot.getUpdateCount();
+    }
+
+    /**
+     * Load a snapshot by statement
+     * @throws SQLException if it is missing or unreadable
+     */
+    public ResultSnapshot load(String source, String sql, Object... parameters) throws SQLException {
+        String key = key(source, sql, parameters);
+        ResultSnapshot snapshot;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(pathOf(key)))))) {
+            snapshot = ResultSnapshot.read(in);
+        } catch (NoSuchFileException e) {
+            missing.increment();
+            if (missingKeys.size() < MAX_REPORTED_KEYS) {
+                missingKeys.put(key, describeStatement(sql, parameters));
+            }
+            throw new SQLException("No recorded result for " + describeStatement(sql, parameters) + " (snapshot "
+                    + key + "), run with db.replay.mode=record against a database first");
+        } catch (IOException e) {
+            throw new SQLException("Cannot read snapshot " + key + ": " + e.getMessage(), e);
+        }
+
+        served.increment();
+        if (System.currentTimeMillis() - snapshot.getRecordedAt() > maxAgeMillis) {
+            stale.increment();
+            if (staleKeys.size() < MAX_REPORTED_KEYS) {
+                staleKeys.put(key, "recorded " + Instant.ofEpochMilli(snapshot.getRecordedAt()) + ": "
+                        + describeStatement(sql, parameters));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Save a snapshot, replacing any earlier one for the same statement
+     */
+    void save(String key, ResultSnapshot snapshot) throws SQLException {
+        Path target = pathOf(key);
+        try {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so parallel recorders and replayers never see a partial snapshot
+            Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                snapshot.write(out);
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recorded.increment();
+        } catch (IOException e) {
+            throw new SQLException("Cannot record snapshot of " + snapshot.getSql() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + EXTENSION);
+    }
+
+    /**
+     * Compute the snapshot key of a statement
+     * @return SHA-256 hex of data source, normalised SQL and bind values
+     */
+    public static String key(String source, String sql, Object[] parameters) {
+        String text = source + '\n' + WHITESPACE.matcher(sql).replaceAll(" ").trim() + '\n' + describe(parameters);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Describe bind values with their types, so 1 and "1" are different keys
+     */
+    static String describe(Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return "[]";
+        }
+        List<String> values = new ArrayList<>(parameters.length);
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                values.add("null");
+            } else if (parameter instanceof Object[]) {
+                values.add(parameter.getClass().getSimpleName() + ":" + Arrays.deepToString((Object[]) parameter));
+            } else {
+                values.add(parameter.getClass().getSimpleName() + ":" + parameter);
+            }
+        }
+        return values.toString();
+    }
+
+    private static String describeStatement(String sql, Object[] parameters) {
+        String text = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        if (text.length() > 200) {
+            text = text.substring(0, 200) + "...";
+        }
+        return text + " " + describe(parameters);
+    }
+
+    /**
+     * Get the counts and the missing and stale statements of this run
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "mode=%s recorded=%d served=%d missing=%d stale=%d",
+                mode.name().toLowerCase(Locale.ROOT), recorded.sum(), served.sum(), missing.sum(), stale.sum()));
+        for (String statement : missingKeys.values()) {
+            report.append("\n  missing: ").append(statement);
+        }
+        for (String statement : staleKeys.values()) {
+            report.append("\n  stale: ").append(statement);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Log the report, as a warning when snapshots were missing or stale
+     */
+    public void logReport() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        if (missing.sum() > 0 || stale.sum() > 0) {
+            logger.warn("Result snapshots: {}", getReport());
+        } else {
+            logger.info("Result snapshots: {}", getReport());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.utils.db;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builder for parameterized WHERE clauses
+ * Values are always bound, never concatenated; column names are checked against an identifier
+ * pattern (optionally alias-qualified) because they are written into the SQL text.
+ * Date filters go through DateWindow, so every date condition is an index-friendly half-open range.
+ *
+ * Example:
+ * SqlWhere where = SqlWhere.create().eq("NIN", nin).within("TIME_STAMP", DateWindow.day(date));
+ * dbConnection.executeQueryWithParams("SELECT * FROM SEC_EQ_SHARES" + where.toSql(), where.getParameters());
+ */
+public final class SqlWhere {
+
+    private static final String COLUMN_PATTERN = "^([A-Za-z_][A-Za-z0-9_$#]{0,127}\\.)?[A-Za-z_][A-Za-z0-9_$#]{0,127}$";
+
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> parameters = new ArrayList<>();
+
+    private SqlWhere() {
+    }
+
+    public static SqlWhere create() {
+        return new SqlWhere();
+    }
+
+    /**
+     * Check if a name can be used as a column (letters, digits, _, $, #, optionally prefixed by an alias)
+     */
+    public static boolean isValidColumnName(String column) {
+        return column != null && column.matches(COLUMN_PATTERN);
+    }
+
+    private static String column(String column) {
+        if (!isValidColumnName(column)) {
+            throw new IllegalArgumentException("Invalid column name: " + column);
+        }
+        return column;
+    }
+
+    /**
+     * column = value
+     */
+    public SqlWhere eq(String column, Object value) {
+        conditions.add(column(column) + " = ?");
+        parameters.add(value);
+        return this;
+    }
+
+    /**
+     * column = value, skipped when the value is null or a blank string
+     */
+    public SqlWhere eqIfPresent(String column, Object value) {
+        if (value == null || (value instanceof String && ((String) value).trim().isEmpty())) {
+            return this;
+        }
+        return eq(column, value);
+    }
+
+    /**
+     * One equality per entry, skipping null and blank values
+     */
+    public SqlWhere eqAll(Map<String, ?> values) {
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            eqIfPresent(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * column IN (?, ?, ...); an empty collection matches nothing
+     */
+    public SqlWhere in(String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            conditions.add("1 = 0");
+            return this;
+        }
+        conditions.add(column(column) + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")");
+        parameters.addAll(values);
+        return this;
+    }
+
+    /**
+     * column inside a date window: column >= ? AND column < ?
+     */
+    public SqlWhere within(String column, DateWindow window) {
+        String predicate = window.predicate(column(column));
+        if (!predicate.isEmpty()) {
+            conditions.add(predicate);
+            parameters.addAll(window.getParameters());
+        }
+        return this;
+    }
+
+    /**
+     * Any other condition, with its own placeholders, e.g. raw("SHARES_COUNT != ?", 0)
+     * The condition text must not contain user input.
+     */
+    public SqlWhere raw(String condition, Object... values) {
+        conditions.add(condition);
+        Collections.addAll(parameters, values);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Get the clause with a leading " WHERE ", or an empty string when there are no conditions
+     */
+    public String toSql() {
+        return conditions.isEmpty() ? "" : " WHERE " + getConditions();
+    }
+
+    /**
+     * Get the conditions joined by AND, without the WHERE keyword
+     */
+    public String getConditions() {
+        return String.join(" AND ", conditions);
+    }
+
+    /**
+     * Get the bind values in placeholder order
+     */
+    public Object[] getParameters() {
+        return parameters.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return toSql() + " " + parameters;
+    }
+}
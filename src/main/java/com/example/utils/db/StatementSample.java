@@ -0,0 +1,67 @@
+package com.example.utils.db;
+
+/**
+ * Measurements of one executed statement
+ * Times are in microseconds; firstRowMicros is -1 when no row was read (DML, empty results).
+ */
+public final class StatementSample {
+
+    private final String fingerprint;
+    private final String caller;
+    private final long wallMicros;
+    private final long firstRowMicros;
+    private final long connectionWaitMicros;
+    private final long rows;
+    private final long bytes;
+    private final boolean error;
+
+    StatementSample(String fingerprint, String caller, long wallMicros, long firstRowMicros,
+                    long connectionWaitMicros, long rows, long bytes, boolean error) {
+        this.fingerprint = fingerprint;
+        this.caller = caller;
+        this.wallMicros = wallMicros;
+        this.firstRowMicros = firstRowMicros;
+        this.connectionWaitMicros = connectionWaitMicros;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.error = error;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Get the data-class method that ran the statement, e.g. GetTradesData.fetchLastNTrades
+     */
+    public String getCaller() {
+        return caller;
+    }
+
+    public long getWallMicros() {
+        return wallMicros;
+    }
+
+    public long getFirstRowMicros() {
+        return firstRowMicros;
+    }
+
+    public long getConnectionWaitMicros() {
+        return connectionWaitMicros;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the approximate size of the values read (0 for cursors, whose rows are not inspected)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+}
@@ -0,0 +1,466 @@
+package com.example.utils.db;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Suite-wide per-statement timings, aggregated by SQL fingerprint
+ * OracleDBConnection starts a StatementTimer for every statement; each finished statement records
+ *
+ * - wall time, from asking for a connection until the result is read or the update count returned
+ * - time to first row (executeQuery returning, which includes Oracle's first fetch)
+ * - connection wait, the time spent borrowing from the pool
+ * - rows read or affected, and the approximate size of values read into maps
+ *
+ * into HdrHistograms (microseconds) of its fingerprint: the SQL with literals replaced by ?, IN lists of
+ * placeholders collapsed and whitespace normalised, so the chunked and literal variants of one query
+ * share one entry. The calling data-class method (e.g. GetTradesData.fetchLastNTrades) is kept per entry.
+ *
+ * A thread can capture the samples it records (beginCapture/endCapture), which DBStatsListener uses
+ * to attach the statements of each test to its Allure result. Disabled with db.stats.enabled=false.
+ */
+public final class StatementStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementStats.class);
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$#.:])-?\\d+(?:\\.\\d+)?(?![\\w$#])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static volatile StatementStats shared;
+
+    private final boolean enabled;
+    private final Map<String, FingerprintStats> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<StatementSample>> capture = new ThreadLocal<>();
+
+    /**
+     * Constructor
+     * @param enabled When false, start() returns a timer that records nothing
+     */
+    public StatementStats(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the JVM-wide statistics configured from database.properties
+     */
+    public static StatementStats getShared() {
+        StatementStats stats = shared;
+        if (stats == null) {
+            synchronized (StatementStats.class) {
+                stats = shared;
+                if (stats == null) {
+                    stats = new StatementStats(DBConfig.isStatsEnabled());
+                    shared = stats;
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Start timing a statement with the shared statistics
+     * @param sql SQL text as sent to the database
+     * @return Timer to mark and finish
+     */
+    public static StatementTimer start(String sql) {
+        return getShared().startTimer(sql);
+    }
+
+    /**
+     * Start timing a statement
+     * @param sql SQL text as sent to the database
+     * @return Timer to mark and finish
+     */
+    public StatementTimer startTimer(String sql) {
+        if (!enabled) {
+            return StatementTimer.DISABLED;
+        }
+        return new StatementTimer(this, sql, findCaller());
+    }
+
+    void record(String sql, String caller, long wallMicros, long firstRowMicros, long connectionWaitMicros,
+                long rows, long bytes, boolean error) {
+        String fingerprint = fingerprintOf(sql);
+        entries.computeIfAbsent(fingerprint, FingerprintStats::new)
+                .add(caller, wallMicros, firstRowMicros, connectionWaitMicros, rows, bytes, error);
+
+        List<StatementSample> captured = capture.get();
+        if (captured != null) {
+            captured.add(new StatementSample(fingerprint, caller, wallMicros, firstRowMicros, connectionWaitMicros,
+                    rows, bytes, error));
+        }
+    }
+
+    private String fingerprintOf(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            if (fingerprints.size() >= MAX_CACHED_FINGERPRINTS) {
+                fingerprints.clear();
+            }
+            fingerprint = fingerprint(sql);
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Normalise SQL text so statements that differ only in literals, IN-list length or layout match
+     * @param sql SQL text
+     * @return Upper-case fingerprint, e.g. SELECT * FROM T WHERE A = ? AND B IN (?, ...)
+     */
+    public static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("?, ...");
+        return normalized.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Find the first application frame outside the connection utilities, e.g. GetTradesData.fetchLastNTrades
+     */
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.example.")
+                        && !frame.getClassName().startsWith("com.example.utils."))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * Start keeping the samples this thread records, replacing any capture in progress
+     */
+    public void beginCapture() {
+        capture.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop keeping this thread's samples
+     * @return Samples recorded since beginCapture(), empty if no capture was started
+     */
+    public List<StatementSample> endCapture() {
+        List<StatementSample> captured = capture.get();
+        capture.remove();
+        return captured != null ? captured : new ArrayList<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the entries ordered by total wall time, largest first
+     */
+    public List<FingerprintStats> getEntries() {
+        List<FingerprintStats> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong(FingerprintStats::getTotalWallMicros).reversed());
+        return sorted;
+    }
+
+    /**
+     * Drop all entries
+     */
+    public void reset() {
+        entries.clear();
+    }
+
+    /**
+     * Write the entries as JSON
+     * @param file Target file, parent directories are created
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        List<Map<String, Object>> statements = new ArrayList<>();
+        for (FingerprintStats entry : getEntries()) {
+            Map<String, Object> statement = new LinkedHashMap<>();
+            statement.put("id", entry.getId());
+            statement.put("fingerprint", entry.getFingerprint());
+            statement.put("callers", entry.getCallers());
+            statement.put("count", entry.getCount());
+            statement.put("errors", entry.getErrors());
+            statement.put("rows", entry.getRows());
+            statement.put("bytes", entry.getBytes());
+            statement.put("wallMs", summary(entry.getWallTime()));
+            statement.put("firstRowMs", summary(entry.getFirstRowTime()));
+            statement.put("connectionWaitMs", summary(entry.getConnectionWait()));
+            statements.add(statement);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("statements", statements);
+
+        createParent(file);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() > 0) {
+            summary.put("mean", round(histogram.getMean() / 1000.0));
+            summary.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+            summary.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+            summary.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+            summary.put("max", histogram.getMaxValue() / 1000.0);
+        }
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Write the entries in the Prometheus text exposition format
+     * Each fingerprint is labelled with a short id; db_statement_info maps the id to its SQL and callers.
+     * @param file Target file, parent directories are created
+     * @throws IOException if the file cannot be written
+     */
+    public void writePrometheus(Path file) throws IOException {
+        List<FingerprintStats> sorted = getEntries();
+        StringBuilder out = new StringBuilder();
+
+        out.append("# HELP db_statement_info SQL fingerprint and calling methods of a statement id\n");
+        out.append("# TYPE db_statement_info gauge\n");
+        for (FingerprintStats entry : sorted) {
+            out.append("db_statement_info{id=\"").append(entry.getId())
+                    .append("\",fingerprint=\"").append(escapeLabel(entry.getFingerprint()))
+                    .append("\",callers=\"").append(escapeLabel(String.join(",", entry.getCallers())))
+                    .append("\"} 1\n");
+        }
+
+        appendSummary(out, "db_statement_duration_seconds", "Statement wall time including connection wait",
+                sorted, FingerprintStats::getWallTime);
+        appendSummary(out, "db_statement_first_row_seconds", "Time until the first rows were returned",
+                sorted, FingerprintStats::getFirstRowTime);
+        appendSummary(out, "db_statement_connection_wait_seconds", "Time spent borrowing a pooled connection",
+                sorted, FingerprintStats::getConnectionWait);
+
+        appendCounter(out, "db_statement_rows_total", "Rows read or affected", sorted, FingerprintStats::getRows);
+        appendCounter(out, "db_statement_bytes_total", "Approximate size of values read", sorted,
+                FingerprintStats::getBytes);
+        appendCounter(out, "db_statement_errors_total", "Statements that failed", sorted, FingerprintStats::getErrors);
+
+        createParent(file);
+        Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendSummary(StringBuilder out, String name, String help, List<FingerprintStats> sorted,
+                                      Function<FingerprintStats, Histogram> histogramOf) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (FingerprintStats entry : sorted) {
+            Histogram histogram = histogramOf.apply(entry);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            for (double quantile : QUANTILES) {
+                out.append(name).append("{id=\"").append(entry.getId()).append("\",quantile=\"").append(quantile)
+                        .append("\"} ").append(histogram.getValueAtPercentile(quantile * 100) / 1_000_000.0).append('\n');
+            }
+            double sumSeconds = histogram.getMean() * histogram.getTotalCount() / 1_000_000.0;
+            out.append(name).append("_sum{id=\"").append(entry.getId()).append("\"} ").append(sumSeconds).append('\n');
+            out.append(name).append("_count{id=\"").append(entry.getId()).append("\"} ")
+                    .append(histogram.getTotalCount()).append('\n');
+        }
+    }
+
+    private static void appendCounter(StringBuilder out, String name, String help, List<FingerprintStats> sorted,
+                                      ToLongFunction<FingerprintStats> valueOf) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (FingerprintStats entry : sorted) {
+            out.append(name).append("{id=\"").append(entry.getId()).append("\"} ")
+                    .append(valueOf.applyAsLong(entry)).append('\n');
+        }
+    }
+
+    static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void createParent(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    /**
+     * Format a per-test list of samples as a fixed-width table, slowest first
+     * @param samples Captured samples
+     * @return Text table
+     */
+    public static String formatSamples(List<StatementSample> samples) {
+        List<StatementSample> sorted = new ArrayList<>(samples);
+        sorted.sort(Comparator.comparingLong(StatementSample::getWallMicros).reversed());
+        long totalMicros = 0;
+        for (StatementSample sample : sorted) {
+            totalMicros += sample.getWallMicros();
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%d statements, %.1f ms total%n%n", sorted.size(), totalMicros / 1000.0));
+        out.append(String.format("%10s %10s %10s %8s %10s  %-45s %s%n",
+                "wall ms", "1st row ms", "conn ms", "rows", "bytes", "caller", "fingerprint"));
+        for (StatementSample sample : sorted) {
+            out.append(String.format("%10.1f %10s %10.1f %8d %10d  %-45s %s%s%n",
+                    sample.getWallMicros() / 1000.0,
+                    sample.getFirstRowMicros() < 0 ? "-" : String.format("%.1f", sample.getFirstRowMicros() / 1000.0),
+                    sample.getConnectionWaitMicros() / 1000.0, sample.getRows(), sample.getBytes(),
+                    sample.getCaller(), sample.isError() ? "[FAILED] " : "", sample.getFingerprint()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Log the slowest fingerprints
+     * @param limit Number of entries to log
+     */
+    public void logSummary(int limit) {
+        List<FingerprintStats> sorted = getEntries();
+        logger.info("Statement statistics: {} fingerprints", sorted.size());
+        for (int i = 0; i < Math.min(limit, sorted.size()); i++) {
+            logger.info("  {}", sorted.get(i));
+        }
+    }
+
+    /**
+     * Aggregated timings of one SQL fingerprint
+     */
+    public static final class FingerprintStats {
+        private final String fingerprint;
+        private final String id;
+        private final ConcurrentHistogram wallTime = new ConcurrentHistogram(3);
+        private final ConcurrentHistogram firstRowTime = new ConcurrentHistogram(3);
+        private final ConcurrentHistogram connectionWait = new ConcurrentHistogram(3);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalWallMicros = new LongAdder();
+        private final Set<String> callers = ConcurrentHashMap.newKeySet();
+
+        private FingerprintStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+            this.id = String.format("%08x", fingerprint.hashCode());
+        }
+
+        private void add(String caller, long wallMicros, long firstRowMicros, long connectionWaitMicros,
+                         long rowCount, long byteCount, boolean error) {
+            // Record at least 1 us so fast statements stay within the histogram's range
+            wallTime.recordValue(Math.max(1, wallMicros));
+            if (firstRowMicros >= 0) {
+                firstRowTime.recordValue(Math.max(1, firstRowMicros));
+            }
+            connectionWait.recordValue(Math.max(1, connectionWaitMicros));
+            totalWallMicros.add(wallMicros);
+            rows.add(rowCount);
+            bytes.add(byteCount);
+            if (error) {
+                errors.increment();
+            }
+            callers.add(caller);
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Get the short id labelling this fingerprint in the Prometheus file
+         */
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getCallers() {
+            return new ArrayList<>(new TreeSet<>(callers));
+        }
+
+        public long getCount() {
+            return wallTime.getTotalCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getTotalWallMicros() {
+            return totalWallMicros.sum();
+        }
+
+        /**
+         * Get a copy of the wall time histogram (microseconds)
+         */
+        public Histogram getWallTime() {
+            return copy(wallTime);
+        }
+
+        /**
+         * Get a copy of the time-to-first-row histogram (microseconds)
+         */
+        public Histogram getFirstRowTime() {
+            return copy(firstRowTime);
+        }
+
+        /**
+         * Get a copy of the connection wait histogram (microseconds)
+         */
+        public Histogram getConnectionWait() {
+            return copy(connectionWait);
+        }
+
+        private static Histogram copy(ConcurrentHistogram source) {
+            Histogram histogram = new Histogram(3);
+            histogram.add(source);
+            return histogram;
+        }
+
+        @Override
+        public String toString() {
+            Histogram wall = getWallTime();
+            return String.format("%s count=%d p50=%.1f ms p99=%.1f ms total=%.1f ms rows=%d errors=%d callers=%s %s",
+                    id, getCount(), wall.getValueAtPercentile(50) / 1000.0, wall.getValueAtPercentile(99) / 1000.0,
+                    getTotalWallMicros() / 1000.0, getRows(), getErrors(), getCallers(), fingerprint);
+        }
+    }
+}
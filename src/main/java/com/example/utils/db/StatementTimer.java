@@ -0,0 +1,106 @@
+package com.example.utils.db;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Measures one statement from the moment it asks for a connection until its result is read
+ * Obtained from StatementStats.start(sql) and used by a single thread; finish() or fail() records it.
+ */
+public final class StatementTimer {
+
+    static final StatementTimer DISABLED = new StatementTimer(null, null, null);
+
+    private final StatementStats stats;
+    private final String sql;
+    private final String caller;
+    private final long started;
+    private long connectedAt;
+    private long firstRowAt;
+    private long bytes;
+    private boolean done;
+
+    StatementTimer(StatementStats stats, String sql, String caller) {
+        this.stats = stats;
+        this.sql = sql;
+        this.caller = caller;
+        this.started = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of the connection wait
+     */
+    public void connected() {
+        if (stats != null && connectedAt == 0) {
+            connectedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the first row as available; later calls are ignored
+     * Called when executeQuery returns, which with Oracle includes the first fetch of rows.
+     */
+    public void firstRow() {
+        if (stats != null && firstRowAt == 0) {
+            firstRowAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Add the approximate size of a value read from the result
+     */
+    public void addValue(Object value) {
+        if (stats != null) {
+            bytes += sizeOf(value);
+        }
+    }
+
+    /**
+     * Record a successful statement
+     * @param rows Rows read or affected
+     */
+    public void finish(long rows) {
+        record(rows, false);
+    }
+
+    /**
+     * Record a failed statement
+     */
+    public void fail() {
+        record(0, true);
+    }
+
+    private void record(long rows, boolean error) {
+        if (stats == null || done) {
+            return;
+        }
+        done = true;
+        long now = System.nanoTime();
+        long connected = connectedAt != 0 ? connectedAt : started;
+        stats.record(sql, caller, (now - started) / 1_000,
+                firstRowAt != 0 ? (firstRowAt - started) / 1_000 : -1,
+                (connected - started) / 1_000, rows, bytes, error);
+    }
+
+    /**
+     * Approximate size of a column value, without converting it or reading LOB contents
+     */
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return ((String) value).length();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).precision() / 2 + 2;
+        }
+        if (value instanceof Date) {
+            return 11;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return 8;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.utils.db;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One incremental read of a table: the rows changed since the committed watermarks, and the watermarks
+ * the next run should start from
+ * Nothing is stored until commit(); call it once the rows have been validated, so a failed or aborted
+ * validation is repeated on the next run instead of being skipped.
+ *
+ * The next watermark of a column is the latest value read, but never later than the database clock at
+ * the start of the read: rows stamped in the future are re-read until that time has passed.
+ */
+public final class WatermarkRun {
+
+    private final WatermarkSpec spec;
+    private final String source;
+    private final Map<String, Timestamp> previous;
+    private final Timestamp readStart;
+    private final WatermarkStore store;
+    private final Map<String, Timestamp> latest = new LinkedHashMap<>();
+    private List<Map<String, Object>> rows;
+    private long rowCount;
+    private long elapsedMillis;
+    private boolean committed;
+
+    /**
+     * Constructor
+     * @param spec Table and watermark columns
+     * @param source Data source the watermarks belong to (e.g. user@tns)
+     * @param previous Committed watermarks the read started from
+     * @param readStart Database time when the read started
+     * @param store Store commit() writes to
+     */
+    public WatermarkRun(WatermarkSpec spec, String source, Map<String, Timestamp> previous, Timestamp readStart,
+                        WatermarkStore store) {
+        this.spec = spec;
+        this.source = source;
+        this.previous = Collections.unmodifiableMap(new LinkedHashMap<>(previous));
+        this.readStart = readStart;
+        this.store = store;
+    }
+
+    /**
+     * Track the watermark column values of a row read by this run
+     */
+    public void observe(Row row) throws SQLException {
+        rowCount++;
+        for (String column : spec.getColumns()) {
+            Timestamp value = row.getTimestamp(column);
+            if (value != null) {
+                latest.merge(column, value, (a, b) -> a.after(b) ? a : b);
+            }
+        }
+    }
+
+    void finish(List<Map<String, Object>> rows, long elapsedMillis) {
+        this.rows = rows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Store the next watermarks; later runs read only rows changed after them
+     * @throws IllegalStateException if the run was already committed
+     */
+    public void commit() {
+        if (committed) {
+            throw new IllegalStateException("Watermarks of " + spec + " already committed");
+        }
+        store.put(source, spec.getTableName(), getNextWatermarks());
+        committed = true;
+    }
+
+    /**
+     * Get the watermarks commit() stores
+     * A column that has no value in any row read keeps its previous watermark; after a full scan it
+     * starts at the read start, so the next run does not scan the whole table again.
+     */
+    public Map<String, Timestamp> getNextWatermarks() {
+        Map<String, Timestamp> next = new LinkedHashMap<>();
+        for (String column : spec.getColumns()) {
+            Timestamp mark = previous.get(column);
+            Timestamp seen = latest.get(column);
+            if (seen != null && seen.after(readStart)) {
+                seen = readStart;
+            }
+            if (seen != null && (mark == null || seen.after(mark))) {
+                mark = seen;
+            }
+            if (mark == null && isFullScan()) {
+                mark = readStart;
+            }
+            if (mark != null) {
+                next.put(column, mark);
+            }
+        }
+        return next;
+    }
+
+    public WatermarkSpec getSpec() {
+        return spec;
+    }
+
+    public Map<String, Timestamp> getPreviousWatermarks() {
+        return previous;
+    }
+
+    /**
+     * Whether this run read the whole table (no committed watermark yet)
+     */
+    public boolean isFullScan() {
+        return spec.isFullScan(previous);
+    }
+
+    /**
+     * Get the rows read, or null when the run streamed them to a handler
+     */
+    public List<Map<String, Object>> getRows() {
+        return rows;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public String toString() {
+        return spec.getTableName() + ": " + rowCount + " row(s) " + (isFullScan() ? "in full scan" : "changed since " + previous)
+                + " in " + elapsedMillis + " ms";
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.utils.db;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What an incremental read tracks: table, the change timestamp columns and how far to look back
+ * A row counts as changed when any watermark column is later than that column's stored watermark, so
+ * inserts (CREATION_DATE), updates (DATEOFLASTUPDATE) and audit stamps (TIME_STAMP) are all picked up.
+ * Each run re-reads an overlap before the watermark: a transaction that stamped its rows before the
+ * previous run but committed after it is still seen, at the cost of re-checking a few rows.
+ *
+ * Each column should be indexed, otherwise every run is still a full scan of the table. Watermarks are
+ * bound by column type so the column is never converted: DATE columns get a DATE bind (to the second,
+ * see DateWindow.dateTimeParameter), columns declared with timestampColumns() a TIMESTAMP bind.
+ */
+public final class WatermarkSpec {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final Set<String> timestampColumns;
+    private final Duration overlap;
+
+    private WatermarkSpec(String tableName, List<String> columns, Set<String> timestampColumns, Duration overlap) {
+        if (tableName == null || !tableName.matches("[A-Za-z][A-Za-z0-9_$#.]*")) {
+            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        }
+        for (String column : columns) {
+            if (!column.matches("[A-Za-z][A-Za-z0-9_$#]*")) {
+                throw new IllegalArgumentException("Invalid watermark column: " + column);
+            }
+        }
+        if (overlap.isNegative()) {
+            throw new IllegalArgumentException("Overlap cannot be negative: " + overlap);
+        }
+        this.tableName = tableName.toUpperCase(Locale.ROOT);
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.timestampColumns = Collections.unmodifiableSet(new LinkedHashSet<>(timestampColumns));
+        this.overlap = overlap;
+    }
+
+    /**
+     * Track a table; set its change timestamp columns with columns()
+     * The overlap defaults to db.watermark.overlapSeconds.
+     */
+    public static WatermarkSpec table(String tableName) {
+        return new WatermarkSpec(tableName, Collections.emptyList(), Collections.emptySet(),
+                Duration.ofSeconds(DBConfig.getWatermarkOverlapSeconds()));
+    }
+
+    /**
+     * Columns whose values mark a row as changed (DATE unless also listed in timestampColumns)
+     */
+    public WatermarkSpec columns(String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one watermark column is required");
+        }
+        return new WatermarkSpec(tableName, normalize(columns), timestampColumns, overlap);
+    }
+
+    /**
+     * Watermark columns of type TIMESTAMP, bound with their fractional seconds
+     */
+    public WatermarkSpec timestampColumns(String... timestampColumns) {
+        List<String> normalized = normalize(timestampColumns);
+        for (String column : normalized) {
+            if (!columns.contains(column)) {
+                throw new IllegalArgumentException("Not a watermark column: " + column);
+            }
+        }
+        return new WatermarkSpec(tableName, columns, new LinkedHashSet<>(normalized), overlap);
+    }
+
+    /**
+     * How far before the stored watermark each run starts reading
+     */
+    public WatermarkSpec overlap(Duration overlap) {
+        return new WatermarkSpec(tableName, columns, timestampColumns, overlap);
+    }
+
+    private static List<String> normalize(String[] columns) {
+        List<String> normalized = new ArrayList<>();
+        for (String column : columns) {
+            normalized.add(column.trim().toUpperCase(Locale.ROOT));
+        }
+        return normalized;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Check whether a watermark column is a TIMESTAMP (otherwise it is bound as a DATE)
+     */
+    public boolean isTimestampColumn(String column) {
+        return timestampColumns.contains(column);
+    }
+
+    public Duration getOverlap() {
+        return overlap;
+    }
+
+    /**
+     * Whether a run with these watermarks has to read the whole table (first run, or a column never seen)
+     */
+    public boolean isFullScan(Map<String, Timestamp> watermarks) {
+        for (String column : columns) {
+            if (watermarks.get(column) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the SELECT of the rows changed since the watermarks
+     * One OR branch per column, so Oracle can range scan each column's index; bind with bindParameters.
+     */
+    public String toSql(Map<String, Timestamp> watermarks) {
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("No watermark columns set for " + tableName);
+        }
+        String sql = "SELECT t.* FROM " + tableName + " t";
+        if (isFullScan(watermarks)) {
+            return sql;
+        }
+        List<String> conditions = new ArrayList<>();
+        for (String column : columns) {
+            conditions.add("t." + column + " > ?");
+        }
+        return sql + " WHERE " + String.join(" OR ", conditions);
+    }
+
+    /**
+     * Watermarks moved back by the overlap, in the order toSql uses them (empty for a full scan)
+     * DATE columns are bound as DATE floored to the second, which only widens the read by under a second.
+     */
+    public List<Object> bindParameters(Map<String, Timestamp> watermarks) {
+        List<Object> parameters = new ArrayList<>();
+        if (!isFullScan(watermarks)) {
+            for (String column : columns) {
+                Timestamp since = new Timestamp(watermarks.get(column).getTime() - overlap.toMillis());
+                parameters.add(isTimestampColumn(column) ? since : DateWindow.dateTimeParameter(since));
+            }
+        }
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return tableName + " since " + columns;
+    }
+}
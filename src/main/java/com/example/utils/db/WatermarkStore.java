@@ -0,0 +1,136 @@
+package com.example.utils.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Local file of the high-watermarks incremental validations have committed, per data source and table
+ * Entries are "user@tns|TABLE|COLUMN=yyyy-mm-dd hh:mm:ss.fffffffff". The file is rewritten atomically on
+ * every commit, so a run that dies halfway leaves the previous watermarks in place. Delete the file, or
+ * call reset(), to make the next run a full validation again.
+ */
+public final class WatermarkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatermarkStore.class);
+    private static final String SEPARATOR = "|";
+
+    private static volatile WatermarkStore shared;
+
+    private final Path file;
+
+    /**
+     * Constructor
+     * @param file Properties file the watermarks are kept in (created on the first commit)
+     */
+    public WatermarkStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the JVM-wide store at db.watermark.file
+     */
+    public static WatermarkStore getShared() {
+        WatermarkStore store = shared;
+        if (store == null) {
+            synchronized (WatermarkStore.class) {
+                store = shared;
+                if (store == null) {
+                    store = new WatermarkStore(Paths.get(DBConfig.getWatermarkFile()));
+                    shared = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Get the committed watermarks of a table
+     * @param source Data source (e.g. user@tns)
+     * @param table Table name
+     * @return Column -> watermark, empty if the table was never committed
+     */
+    public synchronized Map<String, Timestamp> get(String source, String table) {
+        String prefix = prefix(source, table);
+        Map<String, Timestamp> watermarks = new LinkedHashMap<>();
+        Properties properties = load();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                try {
+                    watermarks.put(name.substring(prefix.length()), Timestamp.valueOf(properties.getProperty(name)));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignoring unreadable watermark {}={} in {}", name, properties.getProperty(name), file);
+                }
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * Replace the committed watermarks of a table
+     */
+    public synchronized void put(String source, String table, Map<String, Timestamp> watermarks) {
+        String prefix = prefix(source, table);
+        Properties properties = load();
+        properties.stringPropertyNames().stream().filter(name -> name.startsWith(prefix)).forEach(properties::remove);
+        for (Map.Entry<String, Timestamp> entry : watermarks.entrySet()) {
+            properties.setProperty(prefix + entry.getKey(), entry.getValue().toString());
+        }
+        save(properties);
+        logger.info("Committed watermarks of {} on {}: {}", table, source, watermarks);
+    }
+
+    /**
+     * Forget the watermarks of a table so its next run validates every row
+     */
+    public synchronized void reset(String source, String table) {
+        put(source, table, new LinkedHashMap<>());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private static String prefix(String source, String table) {
+        return source + SEPARATOR + table.toUpperCase(Locale.ROOT) + SEPARATOR;
+    }
+
+    private Properties load() {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read watermarks from " + file, e);
+            }
+        }
+        return properties;
+    }
+
+    private void save(Properties properties) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Incremental validation watermarks");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write watermarks to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.utils.db.codegen;
+
+import com.example.utils.OracleDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates immutable typed records with positional row mappers from table schema snapshots
+ *
+ * Each snapshot (src/main/schema/&lt;RecordName&gt;.columns) names the table and lists its columns in
+ * ALL_TAB_COLUMNS order:
+ *   table XDP_TRADES
+ *   SEQ          NUMBER(18,0)  N
+ *   TRADE_DATE   DATE          Y
+ * Types map to long/Long (NUMBER with scale 0 and precision up to 18, primitive when NOT NULL),
+ * BigDecimal (other NUMBER), LocalDateTime (DATE, TIMESTAMP) and String (character types).
+ * The checked-in snapshots come from the column types documented on the data classes, which carry no
+ * precision, so their NUMBER columns are BigDecimal until the snapshots are refreshed with --dump.
+ *
+ * Usage:
+ *   generate: RecordGenerator &lt;schemaDir&gt; &lt;outputSourceDir&gt; &lt;package&gt;
+ *             (or mvn -Pgenerate-records process-classes)
+ *   refresh:  RecordGenerator --dump &lt;schemaDir&gt; &lt;tns&gt; &lt;user&gt; &lt;password&gt;
+ *             re-reads every snapshot's columns from ALL_TAB_COLUMNS; run generate afterwards
+ */
+public final class RecordGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordGenerator.class);
+
+    private static final String EXTENSION = ".columns";
+    private static final Pattern NUMBER_TYPE = Pattern.compile("NUMBER(?:\\((\\d+)(?:,(-?\\d+))?\\))?");
+    private static final Set<String> JAVA_KEYWORDS = new HashSet<>(Arrays.asList(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+            "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+            "throw", "throws", "transient", "try", "void", "volatile", "while", "record", "var", "yield"));
+
+    private RecordGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 5 && "--dump".equals(args[0])) {
+            OracleDBConnection dbConnection = new OracleDBConnection(args[2], args[3], args[4]);
+            dbConnection.connect();
+            for (Path snapshot : snapshots(Paths.get(args[1]))) {
+                dump(dbConnection, snapshot);
+            }
+        } else if (args.length == 3) {
+            for (Path snapshot : snapshots(Paths.get(args[0]))) {
+                write(parse(snapshot), Paths.get(args[1]), args[2]);
+            }
+        } else {
+            throw new IllegalArgumentException("Usage: RecordGenerator <schemaDir> <outputSourceDir> <package> "
+                    + "| --dump <schemaDir> <tns> <user> <password>");
+        }
+    }
+
+    /**
+     * One column of a snapshot
+     */
+    static final class Column {
+        final String name;
+        final String type;
+        final boolean nullable;
+
+        Column(String name, String type, boolean nullable) {
+            this.name = name;
+            this.type = type;
+            this.nullable = nullable;
+        }
+    }
+
+    /**
+     * Parsed snapshot: record name, table and columns in select order
+     */
+    static final class TableSchema {
+        final String recordName;
+        final String table;
+        final List<Column> columns;
+
+        TableSchema(String recordName, String table, List<Column> columns) {
+            this.recordName = recordName;
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+
+    private static List<Path> snapshots(Path schemaDir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(schemaDir, "*" + EXTENSION)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    static TableSchema parse(Path snapshot) throws IOException {
+        String fileName = snapshot.getFileName().toString();
+        return parse(fileName.substring(0, fileName.length() - EXTENSION.length()),
+                Files.readAllLines(snapshot, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse snapshot lines; '#' starts a comment
+     */
+    static TableSchema parse(String recordName, List<String> lines) {
+        String table = null;
+        List<Column> columns = new ArrayList<>();
+        for (String line : lines) {
+            String text = line.replaceAll("#.*", "").trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            String[] parts = text.split("\\s+");
+            if ("table".equals(parts[0]) && parts.length == 2) {
+                table = parts[1];
+            } else if (parts.length == 3 && ("Y".equals(parts[2]) || "N".equals(parts[2]))) {
+                columns.add(new Column(parts[0].toUpperCase(Locale.ROOT), parts[1].toUpperCase(Locale.ROOT), "Y".equals(parts[2])));
+            } else {
+                throw new IllegalArgumentException(recordName + ": cannot parse '" + line + "'");
+            }
+        }
+        if (table == null || columns.isEmpty()) {
+            throw new IllegalArgumentException(recordName + ": snapshot needs a 'table' line and at least one column");
+        }
+        return new TableSchema(recordName, table, columns);
+    }
+
+    /**
+     * Get the Java type of a column
+     */
+    static String javaType(Column column) {
+        Matcher number = NUMBER_TYPE.matcher(column.type);
+        if (number.matches()) {
+            int precision = number.group(1) != null ? Integer.parseInt(number.group(1)) : 0;
+            int scale = number.group(2) != null ? Integer.parseInt(number.group(2)) : 0;
+            boolean integral = number.group(1) != null && scale == 0 && precision <= 18;
+            if (integral) {
+                return column.nullable ? "Long" : "long";
+            }
+            return "BigDecimal";
+        }
+        if (column.type.startsWith("FLOAT") || column.type.equals("BINARY_DOUBLE") || column.type.equals("BINARY_FLOAT")) {
+            return "BigDecimal";
+        }
+        if (column.type.equals("DATE") || column.type.startsWith("TIMESTAMP")) {
+            return "LocalDateTime";
+        }
+        if (column.type.startsWith("VARCHAR") || column.type.startsWith("NVARCHAR") || column.type.startsWith("CHAR")
+                || column.type.startsWith("NCHAR") || column.type.endsWith("CLOB")) {
+            return "String";
+        }
+        throw new IllegalArgumentException("Unsupported column type " + column.type + " for " + column.name);
+    }
+
+    private static String readExpression(Column column, int position) {
+        switch (javaType(column)) {
+            case "long":
+                return "resultSet.getLong(" + position + ")";
+            case "Long":
+                return "RowMapper.getLong(resultSet, " + position + ")";
+            case "BigDecimal":
+                return "resultSet.getBigDecimal(" + position + ")";
+            case "LocalDateTime":
+                return "RowMapper.getLocalDateTime(resultSet, " + position + ")";
+            default:
+                return "resultSet.getString(" + position + ")";
+        }
+    }
+
+    /**
+     * Convert a column name to a record component name, e.g. INST_SEQ to instSeq
+     */
+    static String fieldName(String column) {
+        StringBuilder name = new StringBuilder();
+        boolean upper = false;
+        for (char c : column.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '_' || c == '$' || c == '#') {
+                upper = name.length() > 0;
+            } else {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return JAVA_KEYWORDS.contains(name.toString()) ? name + "Value" : name.toString();
+    }
+
+    /**
+     * Render the record source
+     */
+    static String render(TableSchema schema, String packageName) {
+        Set<String> types = new HashSet<>();
+        for (Column column : schema.columns) {
+            types.add(javaType(column));
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("import com.example.utils.db.RowMapper;\n\n");
+        if (types.contains("BigDecimal")) {
+            out.append("import java.math.BigDecimal;\n");
+        }
+        if (types.contains("LocalDateTime")) {
+            out.append("import java.time.LocalDateTime;\n");
+        }
+        if (types.contains("BigDecimal") || types.contains("LocalDateTime")) {
+            out.append("\n");
+        }
+        out.append("/**\n");
+        out.append(" * Typed ").append(schema.table).append(" row\n");
+        out.append(" * Generated by RecordGenerator from src/main/schema/").append(schema.recordName)
+                .append(EXTENSION).append(", do not edit by hand.\n");
+        out.append(" */\n");
+        out.append("public record ").append(schema.recordName).append("(\n");
+        for (int i = 0; i < schema.columns.size(); i++) {
+            Column column = schema.columns.get(i);
+            out.append("        ").append(javaType(column)).append(' ').append(fieldName(column.name))
+                    .append(i < schema.columns.size() - 1 ? ",\n" : ") {\n\n");
+        }
+
+        out.append("    public static final String TABLE = \"").append(schema.table).append("\";\n\n");
+        out.append("    /**\n");
+        out.append("     * Column list in MAPPER order; select exactly these columns, e.g. through SELECT\n");
+        out.append("     */\n");
+        out.append("    public static final String COLUMNS = \"");
+        int lineLength = 0;
+        for (int i = 0; i < schema.columns.size(); i++) {
+            String name = schema.columns.get(i).name + (i < schema.columns.size() - 1 ? ", " : "");
+            if (lineLength > 0 && lineLength + name.length() > 90) {
+                out.append("\" +\n            \"");
+                lineLength = 0;
+            }
+            out.append(name);
+            lineLength += name.length();
+        }
+        out.append("\";\n\n");
+        out.append("    public static final String SELECT = \"SELECT \" + COLUMNS + \" FROM \" + TABLE;\n\n");
+
+        out.append("    /**\n");
+        out.append("     * Reads the columns of SELECT by position\n");
+        out.append("     */\n");
+        out.append("    public static final RowMapper<").append(schema.recordName).append("> MAPPER = resultSet -> new ")
+                .append(schema.recordName).append("(\n");
+        for (int i = 0; i < schema.columns.size(); i++) {
+            out.append("            ").append(readExpression(schema.columns.get(i), i + 1))
+                    .append(i < schema.columns.size() - 1 ? ",\n" : ");\n");
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static void write(TableSchema schema, Path sourceDir, String packageName) throws IOException {
+        Path target = sourceDir.resolve(packageName.replace('.', '/')).resolve(schema.recordName + ".java");
+        Files.createDirectories(target.getParent());
+        String source = render(schema, packageName);
+        if (Files.exists(target) && new String(Files.readAllBytes(target), StandardCharsets.UTF_8).equals(source)) {
+            logger.info("{} is up to date", target);
+            return;
+        }
+        Files.write(target, source.getBytes(StandardCharsets.UTF_8));
+        logger.info("Generated {} ({} columns of {})", target, schema.columns.size(), schema.table);
+    }
+
+    /**
+     * Rewrite a snapshot's columns from ALL_TAB_COLUMNS, keeping its table line
+     */
+    private static void dump(OracleDBConnection dbConnection, Path snapshot) throws IOException, SQLException {
+        TableSchema current = parse(snapshot);
+        String query = "SELECT OWNER, COLUMN_NAME, DATA_TYPE, DATA_PRECISION, DATA_SCALE, NULLABLE FROM ALL_TAB_COLUMNS " +
+                       "WHERE TABLE_NAME = ? ORDER BY OWNER, COLUMN_ID";
+        List<Map<String, Object>> rows = dbConnection.executeQueryWithParams(query, current.table.toUpperCase(Locale.ROOT));
+        if (rows.isEmpty()) {
+            throw new SQLException("Table not visible: " + current.table);
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# " + current.table + " columns, dumped from ALL_TAB_COLUMNS (owner " + rows.get(0).get("OWNER") + ")");
+        lines.add("table " + current.table);
+        for (Map<String, Object> row : rows) {
+            if (!row.get("OWNER").equals(rows.get(0).get("OWNER"))) {
+                break;
+            }
+            String type = row.get("DATA_TYPE").toString();
+            if ("NUMBER".equals(type) && row.get("DATA_PRECISION") != null) {
+                type += "(" + row.get("DATA_PRECISION") + "," + (row.get("DATA_SCALE") != null ? row.get("DATA_SCALE") : 0) + ")";
+            }
+            lines.add(String.format("%-32s %-16s %s", row.get("COLUMN_NAME"), type.replace(' ', '_'), row.get("NULLABLE")));
+        }
+        Files.write(snapshot, lines, StandardCharsets.UTF_8);
+        logger.info("Dumped {} columns of {} to {}", lines.size() - 2, current.table, snapshot);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.verification.holdings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One stored share count that differs from the count rebuilt from the client's movements
+ */
+public class HoldingMismatch {
+
+    /**
+     * What was found wrong
+     */
+    public enum Kind {
+        SNAPSHOT,           // SEC_EQU_DAILY_PORTFOLIO SHARES_COUNT differs on a portfolio date
+        CURRENT,            // SEC_EQ_SHARES SHARES_COUNT differs after the last movement
+        NEGATIVE_POSITION   // more shares delivered than held, usually a movement missing from the history
+    }
+
+    private final Kind kind;
+    private final String nin;
+    private final String companyCode;
+    private final LocalDate date;
+    private final BigDecimal expected;
+    private final BigDecimal actual;
+
+    public HoldingMismatch(Kind kind, String nin, String companyCode, LocalDate date, BigDecimal expected, BigDecimal actual) {
+        this.kind = kind;
+        this.nin = nin;
+        this.companyCode = companyCode;
+        this.date = date;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getNin() {
+        return nin;
+    }
+
+    public String getCompanyCode() {
+        return companyCode;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Get the rebuilt share count
+     */
+    public BigDecimal getExpected() {
+        return expected;
+    }
+
+    /**
+     * Get the stored share count, null if the company has no row on that date
+     */
+    public BigDecimal getActual() {
+        return actual;
+    }
+
+    public BigDecimal getDifference() {
+        BigDecimal stored = actual != null ? actual : BigDecimal.ZERO;
+        return stored.subtract(expected);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + nin + " " + companyCode + " " + date + ": expected=" + expected.toPlainString()
+                + ", actual=" + (actual != null ? actual.toPlainString() : "missing");
+    }
+}
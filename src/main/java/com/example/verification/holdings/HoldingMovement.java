@@ -0,0 +1,57 @@
+package com.example.verification.holdings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One change to a client's share count in a company on a given day
+ * The quantity is signed: positive for shares received (buy, deposit), negative for shares delivered.
+ */
+public final class HoldingMovement {
+
+    /**
+     * Table a movement was read from
+     */
+    public enum Source {
+        TRADE,              // SEC_ORDERS EXECUTED_SHARES
+        VIRTUAL_TRADE,      // sec_virtual_trade VOLUME
+        STOCK_TRANSFER,     // SEC_EQ_STOCKTRANFER deposits
+        REGISTRY_TRANSFER   // GRP_REGISTERY_TRANSFER withdrawals
+    }
+
+    private final Source source;
+    private final String companyCode;
+    private final LocalDate date;
+    private final BigDecimal quantity;
+
+    public HoldingMovement(Source source, String companyCode, LocalDate date, BigDecimal quantity) {
+        this.source = source;
+        this.companyCode = companyCode;
+        this.date = date;
+        this.quantity = quantity;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public String getCompanyCode() {
+        return companyCode;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Get the signed share quantity
+     */
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public String toString() {
+        return date + " " + source + " " + companyCode + " " + quantity.toPlainString();
+    }
+}
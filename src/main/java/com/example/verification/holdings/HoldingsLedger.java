@@ -0,0 +1,180 @@
+package com.example.verification.holdings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Share movements and stored share counts of one client, replayed in date order
+ * A portfolio snapshot on date d holds the shares at the end of d, i.e. after every movement dated on or
+ * before d. The replay starts from the client's last snapshot before the window start (companies missing
+ * from it hold nothing); a client without one starts empty on the window start. Each snapshot in the window
+ * is then compared company by company, and SEC_EQ_SHARES, when loaded, against the count after the last movement.
+ *
+ * Not thread safe: the engine fills a ledger while fetching and replays it on one worker thread.
+ */
+public class HoldingsLedger {
+
+    private final String nin;
+    private final NavigableMap<LocalDate, Map<String, BigDecimal>> snapshots = new TreeMap<>();
+    private final List<HoldingMovement> movements = new ArrayList<>();
+    private final Map<HoldingMovement.Source, Integer> movementCounts = new EnumMap<>(HoldingMovement.Source.class);
+    private Map<String, BigDecimal> current;
+    private int comparedCount;
+
+    public HoldingsLedger(String nin) {
+        this.nin = nin;
+    }
+
+    /**
+     * Add a SEC_EQU_DAILY_PORTFOLIO row
+     */
+    public void putSnapshot(LocalDate date, String companyCode, BigDecimal shares) {
+        snapshots.computeIfAbsent(date, k -> new HashMap<>()).put(companyCode, shares != null ? shares : BigDecimal.ZERO);
+    }
+
+    public void addMovement(HoldingMovement movement) {
+        movements.add(movement);
+        movementCounts.merge(movement.getSource(), 1, Integer::sum);
+    }
+
+    /**
+     * Add a SEC_EQ_SHARES row; only ledgers with current rows (or marked with expectCurrent) are checked against them
+     */
+    public void putCurrent(String companyCode, BigDecimal shares) {
+        expectCurrent();
+        current.put(companyCode, shares != null ? shares : BigDecimal.ZERO);
+    }
+
+    /**
+     * Check the count after the last movement against SEC_EQ_SHARES even if the client has no row there
+     */
+    public void expectCurrent() {
+        if (current == null) {
+            current = new HashMap<>();
+        }
+    }
+
+    public String getNin() {
+        return nin;
+    }
+
+    /**
+     * Get the last portfolio date before the window start, the replay's opening position
+     * @return Portfolio date, null if the client has no snapshot before the start
+     */
+    public LocalDate getOpeningDate(LocalDate startDate) {
+        return snapshots.lowerKey(startDate);
+    }
+
+    /**
+     * Get the number of snapshot dates loaded, including the opening one
+     */
+    public int getSnapshotCount() {
+        return snapshots.size();
+    }
+
+    public Map<HoldingMovement.Source, Integer> getMovementCounts() {
+        return Collections.unmodifiableMap(movementCounts);
+    }
+
+    /**
+     * Get the number of share counts compared by the last replay
+     */
+    public int getComparedCount() {
+        return comparedCount;
+    }
+
+    /**
+     * Replay the movements and compare every stored count from the window start on
+     * @param startDate Window start; the last snapshot before it is the opening position
+     * @param endDate Window end, the date reported for SEC_EQ_SHARES differences
+     * @param tolerance Absolute share difference allowed
+     * @return Mismatches in date order
+     */
+    public List<HoldingMismatch> replay(LocalDate startDate, LocalDate endDate, BigDecimal tolerance) {
+        comparedCount = 0;
+        List<HoldingMismatch> mismatches = new ArrayList<>();
+        Map<String, BigDecimal> holdings = new HashMap<>();
+        LocalDate opening = getOpeningDate(startDate);
+        if (opening != null) {
+            holdings.putAll(snapshots.get(opening));
+        }
+        LocalDate after = opening != null ? opening : startDate.minusDays(1);
+
+        List<HoldingMovement> ordered = new ArrayList<>(movements);
+        ordered.sort(Comparator.comparing(HoldingMovement::getDate));
+        Set<String> negative = new HashSet<>();
+        int next = 0;
+        while (next < ordered.size() && !ordered.get(next).getDate().isAfter(after)) {
+            next++;
+        }
+
+        for (Map.Entry<LocalDate, Map<String, BigDecimal>> snapshot : snapshots.tailMap(startDate, true).entrySet()) {
+            next = apply(ordered, next, snapshot.getKey(), holdings, negative, tolerance, mismatches);
+            compare(HoldingMismatch.Kind.SNAPSHOT, snapshot.getKey(), holdings, snapshot.getValue(), tolerance, mismatches);
+        }
+        apply(ordered, next, null, holdings, negative, tolerance, mismatches);
+        if (current != null) {
+            compare(HoldingMismatch.Kind.CURRENT, endDate, holdings, current, tolerance, mismatches);
+        }
+        return mismatches;
+    }
+
+    /**
+     * Apply movements up to and including a date (all remaining ones for null), one day at a time
+     * @return Index of the first movement not applied
+     */
+    private int apply(List<HoldingMovement> ordered, int from, LocalDate upTo, Map<String, BigDecimal> holdings,
+                      Set<String> negative, BigDecimal tolerance, List<HoldingMismatch> mismatches) {
+        int next = from;
+        while (next < ordered.size() && (upTo == null || !ordered.get(next).getDate().isAfter(upTo))) {
+            LocalDate day = ordered.get(next).getDate();
+            Set<String> touched = new TreeSet<>();
+            for (; next < ordered.size() && ordered.get(next).getDate().equals(day); next++) {
+                HoldingMovement movement = ordered.get(next);
+                holdings.merge(movement.getCompanyCode(), movement.getQuantity(), BigDecimal::add);
+                touched.add(movement.getCompanyCode());
+            }
+            // Checked at the end of the day: the order of a same-day sell and buy is not known
+            for (String companyCode : touched) {
+                BigDecimal shares = holdings.get(companyCode);
+                if (shares.compareTo(tolerance.negate()) < 0 && negative.add(companyCode)) {
+                    mismatches.add(new HoldingMismatch(HoldingMismatch.Kind.NEGATIVE_POSITION, nin, companyCode,
+                            day, shares, null));
+                }
+            }
+        }
+        return next;
+    }
+
+    private void compare(HoldingMismatch.Kind kind, LocalDate date, Map<String, BigDecimal> holdings,
+                         Map<String, BigDecimal> stored, BigDecimal tolerance, List<HoldingMismatch> mismatches) {
+        Set<String> companies = new TreeSet<>(stored.keySet());
+        for (Map.Entry<String, BigDecimal> entry : holdings.entrySet()) {
+            if (entry.getValue().signum() != 0) {
+                companies.add(entry.getKey());
+            }
+        }
+        for (String companyCode : companies) {
+            comparedCount++;
+            BigDecimal expected = holdings.getOrDefault(companyCode, BigDecimal.ZERO);
+            BigDecimal actual = stored.get(companyCode);
+            BigDecimal shares = actual != null ? actual : BigDecimal.ZERO;
+            if (shares.subtract(expected).abs().compareTo(tolerance) > 0) {
+                mismatches.add(new HoldingMismatch(kind, nin, companyCode, date, expected, actual));
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.verification.holdings;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.Row;
+import com.example.verification.mcalc.McalcBatchFetcher;
+import com.example.verification.orders.OrderEvent;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds per-NIN, per-company share counts from the movement history and diffs them against
+ * SEC_EQU_DAILY_PORTFOLIO (every portfolio date in the window) and SEC_EQ_SHARES (when the window reaches today)
+ *
+ * Movements, summed per company and day in the database:
+ * - SEC_ORDERS            EXECUTED_SHARES by ORDER_TYPE side, dated by TIME_STAMP (SEC_ACC_TRNXS has amounts only)
+ * - sec_virtual_trade     VOLUME by TRNX_TYPE side, dated by TRADE_DATE
+ * - SEC_EQ_STOCKTRANFER   successful deposits, VOLUME in, dated by EXECUTION_TIME
+ * - GRP_REGISTERY_TRANSFER successful withdrawals, quantity column out, dated by CREATION_TIME
+ *
+ * NINs are processed in slices: each slice loads its snapshots and movements with one IN-list query per
+ * table and NIN chunk (see McalcBatchFetcher), then every client is replayed and diffed in parallel on a
+ * ForkJoin pool. A client is only ever handled by one worker, so the replay needs no locking, and only one
+ * slice is held in memory at a time, so the whole client base can run nightly.
+ *
+ * Settings (database.properties or -D):
+ * - holdings.rebuild.parallelism          worker threads (default: available processors)
+ * - holdings.rebuild.sliceSize            NINs loaded per slice (default 2000)
+ * - holdings.rebuild.tolerance            absolute share difference allowed (default 0)
+ * - holdings.rebuild.maxStoredMismatches  mismatch details kept in the report (default 1000)
+ * - mcalc.registryWithdraw.quantityColumn GRP_REGISTERY_TRANSFER quantity column (default VOLUME)
+ */
+public class HoldingsRebuildEngine {
+
+    private static final Logger logger = Logger.getLogger(HoldingsRebuildEngine.class);
+
+    private final OracleDBConnection dbConnection;
+    private final int parallelism;
+    private final int sliceSize;
+    private final int chunkSize;
+    private final BigDecimal tolerance;
+    private final int maxStoredMismatches;
+    private final String withdrawQuantityColumn;
+
+    /**
+     * Constructor
+     * @param dbConnection Database connection instance
+     */
+    public HoldingsRebuildEngine(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.parallelism = Math.max(1, DBConfig.getInt("holdings.rebuild.parallelism",
+                Runtime.getRuntime().availableProcessors()));
+        this.sliceSize = Math.max(1, DBConfig.getInt("holdings.rebuild.sliceSize", 2000));
+        this.chunkSize = DBConfig.getBatchInListSize();
+        this.tolerance = new BigDecimal(DBConfig.getProperty("holdings.rebuild.tolerance", "0"));
+        this.maxStoredMismatches = DBConfig.getInt("holdings.rebuild.maxStoredMismatches", 1000);
+        this.withdrawQuantityColumn = DBConfig.getProperty("mcalc.registryWithdraw.quantityColumn", "VOLUME");
+    }
+
+    /**
+     * Rebuild every client with portfolio snapshots in a date window
+     * @param startDate Window start (inclusive, PORTFOLIO_DATE)
+     * @param endDate Window end (inclusive, PORTFOLIO_DATE)
+     * @return Rebuild report
+     * @throws SQLException if any query fails
+     */
+    public HoldingsRebuildReport rebuildAll(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<String> nins = new ArrayList<>();
+        dbConnection.forEachRow("SELECT DISTINCT NIN FROM SEC_EQU_DAILY_PORTFOLIO WHERE PORTFOLIO_DATE >= ? AND PORTFOLIO_DATE < ?",
+                row -> nins.add(row.getString("NIN")),
+                Date.valueOf(startDate), Date.valueOf(endDate.plusDays(1)));
+        logger.info("Found " + nins.size() + " clients with portfolio snapshots between " + startDate + " and " + endDate);
+        return rebuild(nins, startDate, endDate);
+    }
+
+    /**
+     * Rebuild the holdings of the given clients in a date window
+     * @param nins Client NINs
+     * @param startDate Window start (inclusive, PORTFOLIO_DATE)
+     * @param endDate Window end (inclusive, PORTFOLIO_DATE)
+     * @return Rebuild report
+     * @throws SQLException if any query fails
+     */
+    public HoldingsRebuildReport rebuild(List<String> nins, LocalDate startDate, LocalDate endDate) throws SQLException {
+        HoldingsRebuildReport report = new HoldingsRebuildReport(maxStoredMismatches);
+        long started = System.currentTimeMillis();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(nins));
+        boolean checkCurrent = !endDate.isBefore(LocalDate.now());
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int from = 0; from < distinct.size(); from += sliceSize) {
+                List<String> slice = distinct.subList(from, Math.min(from + sliceSize, distinct.size()));
+                rebuildSlice(pool, slice, startDate, endDate, checkCurrent, report);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Holdings rebuild finished\n" + report.getSummary());
+        return report;
+    }
+
+    private void rebuildSlice(ForkJoinPool pool, List<String> slice, LocalDate startDate, LocalDate endDate,
+                              boolean checkCurrent, HoldingsRebuildReport report) throws SQLException {
+        long fetchStarted = System.currentTimeMillis();
+        Map<String, HoldingsLedger> ledgers = new LinkedHashMap<>();
+        for (String nin : slice) {
+            HoldingsLedger ledger = new HoldingsLedger(nin);
+            if (checkCurrent) {
+                ledger.expectCurrent();
+            }
+            ledgers.put(nin, ledger);
+        }
+        for (int from = 0; from < slice.size(); from += chunkSize) {
+            fetchSnapshots(ledgers, slice.subList(from, Math.min(from + chunkSize, slice.size())), startDate, endDate);
+        }
+
+        // Movements must reach back to the earliest opening snapshot of the slice
+        LocalDate movementStart = startDate;
+        for (HoldingsLedger ledger : ledgers.values()) {
+            LocalDate opening = ledger.getOpeningDate(startDate);
+            if (opening != null && opening.plusDays(1).isBefore(movementStart)) {
+                movementStart = opening.plusDays(1);
+            }
+        }
+        AtomicLong skipped = new AtomicLong();
+        for (int from = 0; from < slice.size(); from += chunkSize) {
+            List<String> chunk = slice.subList(from, Math.min(from + chunkSize, slice.size()));
+            fetchMovements(ledgers, chunk, movementStart, endDate, skipped);
+            if (checkCurrent) {
+                fetchCurrent(ledgers, chunk);
+            }
+        }
+        report.addSkippedRows(skipped.get());
+        report.addFetchMillis(System.currentTimeMillis() - fetchStarted);
+
+        try {
+            pool.submit(() -> slice.parallelStream().forEach(nin -> {
+                long started = System.nanoTime();
+                HoldingsLedger ledger = ledgers.get(nin);
+                List<HoldingMismatch> mismatches = ledger.replay(startDate, endDate, tolerance);
+                report.addClient(System.nanoTime() - started, ledger, mismatches);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Holdings rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Holdings rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * SEC_EQU_DAILY_PORTFOLIO rows in the window plus the client's last portfolio date before the start
+     */
+    private void fetchSnapshots(Map<String, HoldingsLedger> ledgers, List<String> chunk, LocalDate startDate,
+                                LocalDate endDate) throws SQLException {
+        Date start = Date.valueOf(startDate);
+        dbConnection.forEachRow("SELECT p.NIN, p.COMPANY_CODE, p.PORTFOLIO_DATE, p.SHARES_COUNT FROM SEC_EQU_DAILY_PORTFOLIO p " +
+                        "WHERE p.NIN IN (" + McalcBatchFetcher.placeholders(chunkSize) + ") AND p.PORTFOLIO_DATE < ? " +
+                        "AND p.PORTFOLIO_DATE >= NVL((SELECT MAX(q.PORTFOLIO_DATE) FROM SEC_EQU_DAILY_PORTFOLIO q " +
+                        "WHERE q.NIN = p.NIN AND q.PORTFOLIO_DATE < ?), ?)",
+                row -> ledgerFor(ledgers, row).putSnapshot(McalcBatchFetcher.toLocalDate(row, "PORTFOLIO_DATE"),
+                        row.getString("COMPANY_CODE"), row.getBigDecimal("SHARES_COUNT")),
+                McalcBatchFetcher.concat(McalcBatchFetcher.padded(chunk, chunkSize),
+                        Date.valueOf(endDate.plusDays(1)), start, start));
+    }
+
+    private void fetchMovements(Map<String, HoldingsLedger> ledgers, List<String> chunk, LocalDate startDate,
+                                LocalDate endDate, AtomicLong skipped) throws SQLException {
+        String in = McalcBatchFetcher.placeholders(chunkSize);
+        Object[] window = McalcBatchFetcher.concat(McalcBatchFetcher.padded(chunk, chunkSize),
+                Date.valueOf(startDate), Date.valueOf(endDate.plusDays(1)));
+
+        dbConnection.forEachRow("SELECT NIN_NUMBER AS NIN, COMPANY_CODE, ORDER_TYPE AS SIDE, TRUNC(TIME_STAMP) AS MOVE_DAY, " +
+                        "SUM(EXECUTED_SHARES) AS SHARES FROM SEC_ORDERS " +
+                        "WHERE NIN_NUMBER IN (" + in + ") AND TIME_STAMP >= ? AND TIME_STAMP < ? AND EXECUTED_SHARES > 0 " +
+                        "GROUP BY NIN_NUMBER, COMPANY_CODE, ORDER_TYPE, TRUNC(TIME_STAMP)",
+                row -> addTrade(ledgers, row, HoldingMovement.Source.TRADE, skipped),
+                window);
+
+        dbConnection.forEachRow("SELECT NIN, COMPANY_CODE, TRNX_TYPE AS SIDE, TRUNC(TRADE_DATE) AS MOVE_DAY, " +
+                        "SUM(VOLUME) AS SHARES FROM sec_virtual_trade " +
+                        "WHERE NIN IN (" + in + ") AND TRADE_DATE >= ? AND TRADE_DATE < ? " +
+                        "GROUP BY NIN, COMPANY_CODE, TRNX_TYPE, TRUNC(TRADE_DATE)",
+                row -> addTrade(ledgers, row, HoldingMovement.Source.VIRTUAL_TRADE, skipped),
+                window);
+
+        dbConnection.forEachRow("SELECT NIN, SYMBOL, TRUNC(EXECUTION_TIME) AS MOVE_DAY, SUM(VOLUME) AS SHARES " +
+                        "FROM SEC_EQ_STOCKTRANFER WHERE NIN IN (" + in + ") AND OPERATION_STATUS = 'Success' " +
+                        "AND VOLUME > 0 AND EXECUTION_TIME >= ? AND EXECUTION_TIME < ? " +
+                        "GROUP BY NIN, SYMBOL, TRUNC(EXECUTION_TIME)",
+                row -> addMovement(ledgers, row, HoldingMovement.Source.STOCK_TRANSFER, row.getString("SYMBOL"),
+                        McalcBatchFetcher.toLocalDate(row, "MOVE_DAY"), row.getBigDecimal("SHARES"), skipped),
+                window);
+
+        // The quantity column is configurable, so withdrawals are read whole like GetTotalRegistryTransferWithdrawData
+        dbConnection.forEachRow("SELECT * FROM GRP_REGISTERY_TRANSFER WHERE NIN IN (" + in + ") AND Status = 'Success' " +
+                        "AND CREATION_Time >= ? AND CREATION_Time < ?",
+                row -> {
+                    BigDecimal quantity = row.getBigDecimal(withdrawQuantityColumn);
+                    addMovement(ledgers, row, HoldingMovement.Source.REGISTRY_TRANSFER, row.getString("SYMBOL"),
+                            McalcBatchFetcher.toLocalDate(row, "CREATION_TIME"),
+                            quantity != null ? quantity.negate() : null, skipped);
+                },
+                window);
+    }
+
+    /**
+     * SEC_EQ_SHARES rows; when a company has several, the latest TIME_STAMP wins
+     */
+    private void fetchCurrent(Map<String, HoldingsLedger> ledgers, List<String> chunk) throws SQLException {
+        dbConnection.forEachRow("SELECT NIN, COMPANY_CODE, SHARES_COUNT FROM SEC_EQ_SHARES " +
+                        "WHERE NIN IN (" + McalcBatchFetcher.placeholders(chunkSize) + ") ORDER BY NIN, COMPANY_CODE, TIME_STAMP",
+                row -> ledgerFor(ledgers, row).putCurrent(row.getString("COMPANY_CODE"), row.getBigDecimal("SHARES_COUNT")),
+                McalcBatchFetcher.padded(chunk, chunkSize));
+    }
+
+    private void addTrade(Map<String, HoldingsLedger> ledgers, Row row, HoldingMovement.Source source,
+                          AtomicLong skipped) throws SQLException {
+        char side = OrderEvent.parseSide(row.getString("SIDE"));
+        BigDecimal shares = row.getBigDecimal("SHARES");
+        BigDecimal quantity = side == OrderEvent.UNKNOWN_SIDE || shares == null ? null
+                : side == OrderEvent.BUY ? shares : shares.negate();
+        addMovement(ledgers, row, source, row.getString("COMPANY_CODE"), McalcBatchFetcher.toLocalDate(row, "MOVE_DAY"),
+                quantity, skipped);
+    }
+
+    private void addMovement(Map<String, HoldingsLedger> ledgers, Row row, HoldingMovement.Source source,
+                             String companyCode, LocalDate date, BigDecimal quantity, AtomicLong skipped) throws SQLException {
+        HoldingsLedger ledger = ledgerFor(ledgers, row);
+        if (companyCode.trim().isEmpty() || date == null || quantity == null) {
+            skipped.incrementAndGet();
+            return;
+        }
+        ledger.addMovement(new HoldingMovement(source, companyCode.trim(), date, quantity));
+    }
+
+    private static HoldingsLedger ledgerFor(Map<String, HoldingsLedger> ledgers, Row row) throws SQLException {
+        String nin = row.getString("NIN");
+        HoldingsLedger ledger = ledgers.get(nin);
+        if (ledger == null) {
+            throw new SQLException("Unexpected NIN in batch result: " + nin);
+        }
+        return ledger;
+    }
+}
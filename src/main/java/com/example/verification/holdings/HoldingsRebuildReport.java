@@ -0,0 +1,174 @@
+package com.example.verification.holdings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a holdings rebuild run
+ * Keeps every count but only the first maxStoredMismatches mismatch details.
+ */
+public class HoldingsRebuildReport {
+
+    private final int maxStoredMismatches;
+    private final List<HoldingMismatch> mismatches = new ArrayList<>();
+    private final Map<HoldingMismatch.Kind, Long> mismatchesByKind = new EnumMap<>(HoldingMismatch.Kind.class);
+    private final Map<HoldingMovement.Source, Long> movementsBySource = new EnumMap<>(HoldingMovement.Source.class);
+    private long[] clientLatenciesNanos = new long[0];
+    private int clientCount;
+    private int clientsWithMismatches;
+    private long snapshotCount;
+    private long comparedCount;
+    private long mismatchCount;
+    private long skippedRows;
+    private long fetchMillis;
+    private long totalMillis;
+
+    public HoldingsRebuildReport(int maxStoredMismatches) {
+        this.maxStoredMismatches = maxStoredMismatches;
+    }
+
+    /**
+     * Add the outcome of one replayed client
+     */
+    synchronized void addClient(long latencyNanos, HoldingsLedger ledger, List<HoldingMismatch> clientMismatches) {
+        if (clientCount == clientLatenciesNanos.length) {
+            clientLatenciesNanos = Arrays.copyOf(clientLatenciesNanos, Math.max(16, clientCount * 2));
+        }
+        clientLatenciesNanos[clientCount++] = latencyNanos;
+        snapshotCount += ledger.getSnapshotCount();
+        comparedCount += ledger.getComparedCount();
+        ledger.getMovementCounts().forEach((source, count) -> movementsBySource.merge(source, (long) count, Long::sum));
+        if (!clientMismatches.isEmpty()) {
+            clientsWithMismatches++;
+        }
+        for (HoldingMismatch mismatch : clientMismatches) {
+            mismatchCount++;
+            mismatchesByKind.merge(mismatch.getKind(), 1L, Long::sum);
+            if (mismatches.size() < maxStoredMismatches) {
+                mismatches.add(mismatch);
+            }
+        }
+    }
+
+    synchronized void addSkippedRows(long rows) {
+        skippedRows += rows;
+    }
+
+    void addFetchMillis(long millis) {
+        fetchMillis += millis;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public int getClientsWithMismatches() {
+        return clientsWithMismatches;
+    }
+
+    /**
+     * Get the number of portfolio dates loaded, opening snapshots included
+     */
+    public long getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    /**
+     * Get the number of per-company share counts compared
+     */
+    public long getComparedCount() {
+        return comparedCount;
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+
+    /**
+     * Get the number of movement rows left out because their side, company, date or quantity could not be read
+     */
+    public long getSkippedRows() {
+        return skippedRows;
+    }
+
+    public boolean isClean() {
+        return mismatchCount == 0;
+    }
+
+    /**
+     * Get the first mismatches found, up to the configured limit
+     */
+    public List<HoldingMismatch> getMismatches() {
+        return Collections.unmodifiableList(mismatches);
+    }
+
+    public Map<HoldingMismatch.Kind, Long> getMismatchesByKind() {
+        return Collections.unmodifiableMap(mismatchesByKind);
+    }
+
+    public Map<HoldingMovement.Source, Long> getMovementsBySource() {
+        return Collections.unmodifiableMap(movementsBySource);
+    }
+
+    /**
+     * Get time spent loading snapshots and movements, in milliseconds
+     */
+    public long getFetchMillis() {
+        return fetchMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get rebuilt clients per second over the whole run
+     */
+    public double getClientsPerSecond() {
+        return totalMillis > 0 ? clientCount * 1000.0 / totalMillis : 0.0;
+    }
+
+    /**
+     * Get per-client replay and diff latency at a percentile, in milliseconds
+     * @param percentile Percentile between 0 and 100, e.g. 99
+     */
+    public synchronized double getLatencyPercentileMillis(double percentile) {
+        if (clientCount == 0) {
+            return 0.0;
+        }
+        long[] sorted = Arrays.copyOf(clientLatenciesNanos, clientCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Get a printable summary of the run
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Clients: %d (%d with mismatches), Portfolio dates: %d, Compared: %d, Mismatches: %d%n",
+                clientCount, clientsWithMismatches, snapshotCount, comparedCount, mismatchCount));
+        summary.append(String.format("Time: %d ms (fetch %d ms), Throughput: %.1f clients/s%n",
+                totalMillis, fetchMillis, getClientsPerSecond()));
+        summary.append(String.format("Per-client latency: p50=%.3f ms, p99=%.3f ms, max=%.3f ms%n",
+                getLatencyPercentileMillis(50), getLatencyPercentileMillis(99), getLatencyPercentileMillis(100)));
+        summary.append("Movements:");
+        for (HoldingMovement.Source source : HoldingMovement.Source.values()) {
+            summary.append(' ').append(source).append('=').append(movementsBySource.getOrDefault(source, 0L));
+        }
+        summary.append(String.format(", skipped=%d%n", skippedRows));
+        for (Map.Entry<HoldingMismatch.Kind, Long> entry : mismatchesByKind.entrySet()) {
+            summary.append(String.format("  %-18s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
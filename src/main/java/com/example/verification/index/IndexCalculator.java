@@ -0,0 +1,67 @@
+package com.example.verification.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recomputes an index from its constituents and compares it with its XDP_INDICES row
+ * Stateless apart from the tolerances, so one calculator serves every worker thread.
+ */
+public class IndexCalculator {
+
+    private final double levelTolerance;
+    private final double percentTolerance;
+
+    /**
+     * Constructor
+     * @param levelTolerance Absolute level difference still counted as equal, in index points
+     * @param percentTolerance Absolute percent variation difference still counted as equal, in percentage points
+     */
+    public IndexCalculator(double levelTolerance, double percentTolerance) {
+        this.levelTolerance = levelTolerance;
+        this.percentTolerance = percentTolerance;
+    }
+
+    /**
+     * Recompute one index
+     * @param composition Constituents of every index
+     * @param index Index number
+     * @param prices Current price per constituent number
+     * @param reported XDP_INDICES row of the index, null if it has none
+     * @return Recomputed level
+     */
+    public IndexLevel recompute(IndexComposition composition, int index, double[] prices, ReportedIndex reported) {
+        int[] unpriced = new int[1];
+        double ratio = composition.ratio(index, prices, unpriced);
+        return new IndexLevel(composition.getIndex(index), composition.getMemberCount(index), unpriced[0], ratio, reported);
+    }
+
+    /**
+     * Compare a recomputed index with its XDP_INDICES row
+     * @param level Recomputed level
+     * @return Deviations beyond tolerance, empty if the row agrees
+     */
+    public List<IndexDeviation> check(IndexLevel level) {
+        List<IndexDeviation> deviations = new ArrayList<>(0);
+        ReportedIndex reported = level.getReported();
+        if (Double.isNaN(level.getRatio())) {
+            deviations.add(new IndexDeviation(IndexDeviation.Kind.NO_BASE, level.getIndex(), Double.NaN,
+                    reported != null ? reported.getLevel() : Double.NaN));
+            return deviations;
+        }
+        if (reported == null) {
+            deviations.add(new IndexDeviation(IndexDeviation.Kind.NO_INDEX_ROW, level.getIndex(), level.getLevel(), Double.NaN));
+            return deviations;
+        }
+        if (!Double.isNaN(reported.getPreviousClose()) && !(Math.abs(level.getLevel() - reported.getLevel()) <= levelTolerance)) {
+            deviations.add(new IndexDeviation(IndexDeviation.Kind.LEVEL_MISMATCH, level.getIndex(),
+                    level.getLevel(), reported.getLevel()));
+        }
+        if (!Double.isNaN(reported.getPercentVariation())
+                && !(Math.abs(level.getPercentVariation() - reported.getPercentVariation()) <= percentTolerance)) {
+            deviations.add(new IndexDeviation(IndexDeviation.Kind.PERCENT_MISMATCH, level.getIndex(),
+                    level.getPercentVariation(), reported.getPercentVariation()));
+        }
+        return deviations;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.verification.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constituents of every index, loaded once from XDP_INDEX_COMPOSITION
+ * Indices and constituents are numbered; the members of index i are positions memberStart[i] to
+ * memberStart[i + 1] of parallel primitive arrays (constituent, weight x factor, previous close), and the
+ * reverse lists give the indices each constituent belongs to. Recomputing an index walks its slice of the
+ * arrays with the current prices, so no per-member object is touched.
+ *
+ * Immutable once built; prices are passed in, so one composition serves any number of threads.
+ */
+public final class IndexComposition {
+
+    private final String[] indices;
+    private final Map<String, Integer> indexSlots;
+    private final String[] constituents;
+    private final Map<String, Integer> constituentSlots;
+    private final int[] memberStart;
+    private final int[] memberConstituent;
+    private final double[] memberWeight;
+    private final double[] memberPreviousClose;
+    private final int[] constituentStart;
+    private final int[] constituentIndices;
+
+    private IndexComposition(Builder builder) {
+        indices = builder.indices.toArray(new String[0]);
+        indexSlots = builder.indexSlots;
+        constituents = builder.constituents.toArray(new String[0]);
+        constituentSlots = builder.constituentSlots;
+
+        int members = builder.memberIndex.size();
+        memberStart = new int[indices.length + 1];
+        for (int member = 0; member < members; member++) {
+            memberStart[builder.memberIndex.get(member) + 1]++;
+        }
+        for (int index = 0; index < indices.length; index++) {
+            memberStart[index + 1] += memberStart[index];
+        }
+        memberConstituent = new int[members];
+        memberWeight = new double[members];
+        memberPreviousClose = new double[members];
+        int[] next = Arrays.copyOf(memberStart, indices.length);
+        for (int member = 0; member < members; member++) {
+            int position = next[builder.memberIndex.get(member)]++;
+            memberConstituent[position] = builder.memberConstituent.get(member);
+            memberWeight[position] = builder.memberWeight.get(member);
+            memberPreviousClose[position] = builder.memberPreviousClose.get(member);
+        }
+
+        constituentStart = new int[constituents.length + 1];
+        for (int position = 0; position < members; position++) {
+            constituentStart[memberConstituent[position] + 1]++;
+        }
+        for (int constituent = 0; constituent < constituents.length; constituent++) {
+            constituentStart[constituent + 1] += constituentStart[constituent];
+        }
+        constituentIndices = new int[members];
+        int[] nextIndex = Arrays.copyOf(constituentStart, constituents.length);
+        for (int index = 0; index < indices.length; index++) {
+            for (int position = memberStart[index]; position < memberStart[index + 1]; position++) {
+                constituentIndices[nextIndex[memberConstituent[position]]++] = index;
+            }
+        }
+    }
+
+    /**
+     * Start an empty composition
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getIndexCount() {
+        return indices.length;
+    }
+
+    public int getConstituentCount() {
+        return constituents.length;
+    }
+
+    public String getIndex(int index) {
+        return indices[index];
+    }
+
+    public String getConstituent(int constituent) {
+        return constituents[constituent];
+    }
+
+    /**
+     * Get the number of an index, -1 if it has no constituents
+     */
+    public int indexSlot(String index) {
+        Integer slot = indexSlots.get(index);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Get the number of a constituent, -1 if it belongs to no index
+     */
+    public int constituentSlot(String constituent) {
+        Integer slot = constituentSlots.get(constituent);
+        return slot != null ? slot : -1;
+    }
+
+    public int getMemberCount(int index) {
+        return memberStart[index + 1] - memberStart[index];
+    }
+
+    /**
+     * Get every index code, in number order
+     */
+    public List<String> getIndices() {
+        return Collections.unmodifiableList(Arrays.asList(indices));
+    }
+
+    /**
+     * Mark the indices a constituent belongs to
+     * @param constituent Constituent number
+     * @param marks One flag per index, set for each index of the constituent
+     */
+    public void markIndices(int constituent, boolean[] marks) {
+        for (int position = constituentStart[constituent]; position < constituentStart[constituent + 1]; position++) {
+            marks[constituentIndices[position]] = true;
+        }
+    }
+
+    /**
+     * Recompute how far an index has moved since the previous close
+     * Each member counts weight x factor x price; a member without a current price (NaN or not positive)
+     * counts at its previous close, so it leaves the index unchanged. Members without a previous close
+     * are left out of both sums.
+     * @param index Index number
+     * @param prices Current price per constituent number
+     * @param unpriced Receives the number of members counted at their previous close, may be null
+     * @return Current value over previous-close value of the members, NaN if no member has a previous close
+     */
+    public double ratio(int index, double[] prices, int[] unpriced) {
+        double current = 0;
+        double previous = 0;
+        int missing = 0;
+        for (int position = memberStart[index]; position < memberStart[index + 1]; position++) {
+            double previousClose = memberPreviousClose[position];
+            if (!(previousClose > 0)) {
+                missing++;
+                continue;
+            }
+            double price = prices[memberConstituent[position]];
+            if (!(price > 0)) {
+                price = previousClose;
+                missing++;
+            }
+            double weight = memberWeight[position];
+            current += weight * price;
+            previous += weight * previousClose;
+        }
+        if (unpriced != null) {
+            unpriced[0] = missing;
+        }
+        return previous > 0 ? current / previous : Double.NaN;
+    }
+
+    /**
+     * Collects XDP_INDEX_COMPOSITION rows
+     */
+    public static final class Builder {
+        private final List<String> indices = new ArrayList<>();
+        private final Map<String, Integer> indexSlots = new HashMap<>();
+        private final List<String> constituents = new ArrayList<>();
+        private final Map<String, Integer> constituentSlots = new HashMap<>();
+        private final List<Integer> memberIndex = new ArrayList<>();
+        private final List<Integer> memberConstituent = new ArrayList<>();
+        private final List<Double> memberWeight = new ArrayList<>();
+        private final List<Double> memberPreviousClose = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add one constituent of an index
+         * @param index Index code (INST_CODE)
+         * @param constituent Constituent code (INSTRUMENTIDOFCOMPONENT)
+         * @param weight INSTRUMENTWEIGHT, NaN if empty (counts as 1)
+         * @param factor INSTRUMENTFACTOR, NaN if empty (counts as 1)
+         * @param previousClose PREVIOUSCLOSE of the constituent, NaN if empty
+         * @return This builder
+         */
+        public Builder add(String index, String constituent, double weight, double factor, double previousClose) {
+            memberIndex.add(slot(index, indices, indexSlots));
+            memberConstituent.add(slot(constituent, constituents, constituentSlots));
+            memberWeight.add((Double.isNaN(weight) ? 1 : weight) * (Double.isNaN(factor) ? 1 : factor));
+            memberPreviousClose.add(previousClose);
+            return this;
+        }
+
+        private static int slot(String code, List<String> codes, Map<String, Integer> slots) {
+            Integer slot = slots.get(code);
+            if (slot == null) {
+                slot = codes.size();
+                codes.add(code);
+                slots.put(code, slot);
+            }
+            return slot;
+        }
+
+        public IndexComposition build() {
+            return new IndexComposition(this);
+        }
+    }
+}
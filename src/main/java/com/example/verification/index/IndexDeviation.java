@@ -0,0 +1,55 @@
+package com.example.verification.index;
+
+/**
+ * One difference between a recomputed index and XDP_INDICES
+ * - LEVEL_MISMATCH: INDEXLEVEL differs from the recomputed level. The previous close comes from the same
+ *   row, so VARIATIONFROMPREVIOUSDAY is off by the same amount; one issue covers both
+ * - PERCENT_MISMATCH: PERCENTVARIATIONPREVCLOS differs from the recomputed percent variation
+ * - NO_INDEX_ROW: the index has constituents but no XDP_INDICES row
+ * - NO_BASE: no constituent has a previous close, so the index cannot be recomputed
+ */
+public class IndexDeviation {
+
+    public enum Kind {
+        LEVEL_MISMATCH, PERCENT_MISMATCH, NO_INDEX_ROW, NO_BASE
+    }
+
+    private final Kind kind;
+    private final String index;
+    private final double expected;
+    private final double actual;
+
+    IndexDeviation(Kind kind, String index, double expected, double actual) {
+        this.kind = kind;
+        this.index = index;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the recomputed value, NaN for missing rows
+     */
+    public double getExpected() {
+        return expected;
+    }
+
+    /**
+     * Get the XDP_INDICES value, NaN for missing rows
+     */
+    public double getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + index + ": recomputed " + expected + ", reported " + actual;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.verification.index;
+
+/**
+ * Recomputed level of one index next to what XDP_INDICES reports for it
+ * The move since the previous close comes from the constituents alone (see IndexComposition.ratio).
+ * The previous close level comes from the index row (INDEXLEVEL - VARIATIONFROMPREVIOUSDAY), so level
+ * and variation are NaN when the row lacks them; the percent variation never needs the row.
+ */
+public final class IndexLevel {
+
+    private final String index;
+    private final int members;
+    private final int unpriced;
+    private final double ratio;
+    private final ReportedIndex reported;
+
+    IndexLevel(String index, int members, int unpriced, double ratio, ReportedIndex reported) {
+        this.index = index;
+        this.members = members;
+        this.unpriced = unpriced;
+        this.ratio = ratio;
+        this.reported = reported;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public int getMembers() {
+        return members;
+    }
+
+    /**
+     * Get the number of members without a current price, counted at their previous close
+     */
+    public int getUnpriced() {
+        return unpriced;
+    }
+
+    /**
+     * Get the members' current value over their previous-close value
+     */
+    public double getRatio() {
+        return ratio;
+    }
+
+    /**
+     * Get the XDP_INDICES row, null if the index has none
+     */
+    public ReportedIndex getReported() {
+        return reported;
+    }
+
+    public double getPercentVariation() {
+        return (ratio - 1) * 100;
+    }
+
+    public double getLevel() {
+        return reported != null ? reported.getPreviousClose() * ratio : Double.NaN;
+    }
+
+    public double getVariation() {
+        return reported != null ? getLevel() - reported.getPreviousClose() : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return index + " level " + getLevel() + " variation " + getVariation() + " (" + getPercentVariation() + "%), "
+                + members + " member(s), " + unpriced + " unpriced" + (reported != null ? "; reported " + reported : "");
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.verification.index;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.MultiKeyQuery;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Recomputes every index from XDP_INDEX_COMPOSITION and the latest XDP_INST_LIVEQUOTE prices and
+ * reconciles the result with XDP_INDICES
+ * The composition is loaded once into an IndexComposition and the prices into one array per constituent.
+ * A full pass recomputes every index in parallel on the engine's ForkJoin pool, created once and kept across
+ * passes; close the engine to stop its workers. A continuous pass only reads the live
+ * quotes updated since the latest UPDATE_DATE already seen, and recomputes the indices of the constituents
+ * whose price differs from the previous pass; their XDP_INDICES rows are re-read in one multi-key query.
+ * The mark is bound with the type UPDATE_DATE is reported with (DATE or TIMESTAMP), so its index stays usable.
+ *
+ * An index moves from its previous close by the ratio of its members' current to previous-close value
+ * (weight x factor x price, see IndexComposition.ratio), so no index divisor is needed. A constituent
+ * without a live price counts at its PREVIOUSCLOSE. Reload the composition with recomputeAll() after a
+ * rebalance.
+ *
+ * Settings (database.properties or -D):
+ * - index.recompute.parallelism          worker threads (default: available processors)
+ * - index.recompute.levelTolerance       absolute level difference allowed, in index points (default 0.01)
+ * - index.recompute.percentTolerance     absolute percent variation difference allowed (default 0.01)
+ * - index.recompute.maxStoredDeviations  deviation details kept per report (default 1000)
+ * - index.recompute.pollSeconds          pause between continuous passes (default 5)
+ */
+public class IndexRecomputeEngine implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(IndexRecomputeEngine.class);
+
+    private static final String COMPOSITION_QUERY = "SELECT INST_CODE, INSTRUMENTIDOFCOMPONENT, INSTRUMENTWEIGHT, " +
+            "INSTRUMENTFACTOR, PREVIOUSCLOSE FROM XDP_INDEX_COMPOSITION";
+    // Ascending, undated rows first, so the latest row of an instrument is applied last
+    private static final String PRICES_QUERY = "SELECT INST_CODE, LASTPRICE, UPDATE_DATE FROM XDP_INST_LIVEQUOTE " +
+            "ORDER BY UPDATE_DATE NULLS FIRST";
+    // >= rather than >: rows stamped in the same second as the mark may have been written after it was read;
+    // re-read rows leave their price as it was, so they do not count as changed
+    private static final String PRICES_SINCE_QUERY = "SELECT INST_CODE, LASTPRICE, UPDATE_DATE FROM XDP_INST_LIVEQUOTE " +
+            "WHERE UPDATE_DATE >= ? ORDER BY UPDATE_DATE";
+    private static final MultiKeyQuery INDICES_BY_CODE = MultiKeyQuery.of("SELECT INST_CODE, INDEXLEVEL, " +
+            "VARIATIONFROMPREVIOUSDAY, PERCENTVARIATIONPREVCLOS, DATEOFLASTUPDATE FROM XDP_INDICES " +
+            "WHERE INST_CODE IN (" + MultiKeyQuery.KEYS + ")");
+
+    private final OracleDBConnection dbConnection;
+    private final ForkJoinPool pool;
+    private final int maxStoredDeviations;
+    private final long pollMillis;
+    private final IndexCalculator calculator;
+
+    private IndexComposition composition;
+    private double[] prices;
+    private Timestamp priceMark;
+    private boolean dateMark;
+    private int passes;
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public IndexRecomputeEngine(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.pool = new ForkJoinPool(Math.max(1, DBConfig.getInt("index.recompute.parallelism",
+                Runtime.getRuntime().availableProcessors())));
+        this.maxStoredDeviations = Math.max(0, DBConfig.getInt("index.recompute.maxStoredDeviations", 1000));
+        this.pollMillis = Math.max(0, DBConfig.getLong("index.recompute.pollSeconds", 5)) * 1000;
+        this.calculator = new IndexCalculator(
+                Double.parseDouble(DBConfig.getProperty("index.recompute.levelTolerance", "0.01")),
+                Double.parseDouble(DBConfig.getProperty("index.recompute.percentTolerance", "0.01")));
+    }
+
+    /**
+     * Reload the composition and every price, then recompute every index
+     * @return Report of the pass
+     * @throws SQLException if a table cannot be read
+     */
+    public synchronized IndexRecomputeReport recomputeAll() throws SQLException {
+        long started = System.currentTimeMillis();
+        composition = loadComposition();
+        prices = new double[composition.getConstituentCount()];
+        Arrays.fill(prices, Double.NaN);
+        priceMark = null;
+        boolean[] touched = new boolean[composition.getIndexCount()];
+        int priced = applyPrices(PRICES_QUERY, touched);
+        logger.info("Loaded " + composition.getIndexCount() + " index(es) with " + composition.getConstituentCount()
+                + " constituent(s), " + priced + " priced");
+
+        Arrays.fill(touched, true);
+        return recompute(touched, true, priced, started);
+    }
+
+    /**
+     * Recompute only the indices whose constituents ticked since the previous pass
+     * The first call runs a full pass.
+     * @return Report of the pass, with no index if nothing ticked
+     * @throws SQLException if a table cannot be read
+     */
+    public synchronized IndexRecomputeReport recomputeChanged() throws SQLException {
+        if (composition == null) {
+            return recomputeAll();
+        }
+        long started = System.currentTimeMillis();
+        boolean[] touched = new boolean[composition.getIndexCount()];
+        int changed = priceMark != null ? applyPrices(PRICES_SINCE_QUERY, touched, markParameter())
+                : applyPrices(PRICES_QUERY, touched);
+        return recompute(touched, false, changed, started);
+    }
+
+    /**
+     * Recompute every index, then keep recomputing the ticked ones every index.recompute.pollSeconds
+     * @param maxPasses Passes to run, the first one full; 0 for no limit
+     * @param handler Callback invoked after each pass, returns false to stop
+     * @return Number of passes run
+     * @throws SQLException if a table cannot be read
+     */
+    public int runContinuously(int maxPasses, PassHandler handler) throws SQLException {
+        int run = 0;
+        IndexRecomputeReport report = recomputeAll();
+        while (true) {
+            run++;
+            if (!handler.onPass(report) || (maxPasses > 0 && run >= maxPasses)) {
+                return run;
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Continuous index recomputation interrupted after " + run + " pass(es)");
+                return run;
+            }
+            report = recomputeChanged();
+        }
+    }
+
+    /**
+     * Get the loaded composition, null before the first pass
+     */
+    public synchronized IndexComposition getComposition() {
+        return composition;
+    }
+
+    /**
+     * Stop the worker threads; the engine cannot recompute afterwards
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private IndexRecomputeReport recompute(boolean[] touched, boolean full, int changedConstituents, long started)
+            throws SQLException {
+        IndexRecomputeReport report = new IndexRecomputeReport(++passes, full, maxStoredDeviations);
+        report.setChangedConstituents(changedConstituents);
+        List<Integer> slots = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (int index = 0; index < touched.length; index++) {
+            if (touched[index]) {
+                slots.add(index);
+                codes.add(composition.getIndex(index));
+            }
+        }
+        if (!slots.isEmpty()) {
+            Map<String, ReportedIndex> reported = loadReported(codes);
+            IndexComposition members = composition;
+            double[] current = prices;
+            try {
+                pool.submit(() -> slots.parallelStream().forEach(index -> {
+                    IndexLevel level = calculator.recompute(members, index, current,
+                            reported.get(members.getIndex(index)));
+                    report.addLevel(level, calculator.check(level));
+                })).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Index recomputation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new SQLException("Index recomputation failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Index recomputation finished\n" + report.getSummary());
+        return report;
+    }
+
+    private IndexComposition loadComposition() throws SQLException {
+        IndexComposition.Builder builder = IndexComposition.builder();
+        try (RowCursor cursor = dbConnection.openCursor(COMPOSITION_QUERY)) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                String index = row.getString("INST_CODE");
+                String constituent = row.getString("INSTRUMENTIDOFCOMPONENT");
+                if (index.isEmpty() || constituent.isEmpty()) {
+                    continue;
+                }
+                builder.add(index, constituent, number(row.getBigDecimal("INSTRUMENTWEIGHT")),
+                        number(row.getBigDecimal("INSTRUMENTFACTOR")), number(row.getBigDecimal("PREVIOUSCLOSE")));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Bind value of the price mark, typed like UPDATE_DATE so the column is compared as is
+     */
+    private Object markParameter() {
+        return dateMark ? DateWindow.dateTimeParameter(priceMark) : priceMark;
+    }
+
+    /**
+     * Read live prices into the price array, marking the indices of every constituent whose price changed
+     * A constituent counts once, and only if its last price read differs from its price before the read.
+     * @return Number of constituents whose price changed
+     */
+    private int applyPrices(String query, boolean[] touched, Object... parameters) throws SQLException {
+        double[] before = prices.clone();
+        boolean[] read = new boolean[prices.length];
+        try (RowCursor cursor = dbConnection.openCursor(query, parameters)) {
+            dateMark = cursor.getColumns().getSqlType(cursor.getColumns().requireIndex("UPDATE_DATE")) == Types.DATE;
+            while (cursor.next()) {
+                Row row = cursor.row();
+                Timestamp updated = row.getTimestamp("UPDATE_DATE");
+                if (updated != null && (priceMark == null || updated.after(priceMark))) {
+                    priceMark = updated;
+                }
+                int constituent = composition.constituentSlot(row.getString("INST_CODE"));
+                if (constituent < 0) {
+                    continue;
+                }
+                prices[constituent] = number(row.getBigDecimal("LASTPRICE"));
+                read[constituent] = true;
+            }
+        }
+        int count = 0;
+        for (int constituent = 0; constituent < prices.length; constituent++) {
+            if (read[constituent] && Double.compare(prices[constituent], before[constituent]) != 0) {
+                count++;
+                composition.markIndices(constituent, touched);
+            }
+        }
+        return count;
+    }
+
+    private Map<String, ReportedIndex> loadReported(List<String> codes) throws SQLException {
+        Map<String, ReportedIndex> reported = new HashMap<>();
+        for (Map<String, Object> row : INDICES_BY_CODE.execute(dbConnection, codes)) {
+            Object code = row.get("INST_CODE");
+            if (code == null) {
+                continue;
+            }
+            Object updated = row.get("DATEOFLASTUPDATE");
+            ReportedIndex index = new ReportedIndex(code.toString(), number(row.get("INDEXLEVEL")),
+                    number(row.get("VARIATIONFROMPREVIOUSDAY")), number(row.get("PERCENTVARIATIONPREVCLOS")),
+                    updated instanceof java.util.Date ? ((java.util.Date) updated).getTime() : 0);
+            // Keep the latest row when an index has several
+            reported.merge(index.getIndex(), index,
+                    (kept, other) -> other.getTimeMillis() > kept.getTimeMillis() ? other : kept);
+        }
+        return reported;
+    }
+
+    private static double number(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value == null || value.toString().trim().isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static double number(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Receives the report of each continuous pass
+     */
+    @FunctionalInterface
+    public interface PassHandler {
+        /**
+         * @param report Report of the pass just finished
+         * @return true to run another pass, false to stop
+         */
+        boolean onPass(IndexRecomputeReport report) throws SQLException;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.verification.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one recomputation pass
+ * A full pass holds every index; a continuous pass only the indices whose constituents ticked since the
+ * pass before. Holds every deviation count but only the first maxStoredDeviations deviation details.
+ * Worker threads fill the report concurrently, so its methods are synchronized.
+ */
+public class IndexRecomputeReport {
+
+    private final int pass;
+    private final boolean full;
+    private final int maxStoredDeviations;
+    private final Map<String, IndexLevel> levels = new TreeMap<>();
+    private final Map<IndexDeviation.Kind, Long> deviationCounts = new EnumMap<>(IndexDeviation.Kind.class);
+    private final List<IndexDeviation> deviations = new ArrayList<>();
+    private int changedConstituents;
+    private long totalMillis;
+
+    IndexRecomputeReport(int pass, boolean full, int maxStoredDeviations) {
+        this.pass = pass;
+        this.full = full;
+        this.maxStoredDeviations = maxStoredDeviations;
+    }
+
+    synchronized void addLevel(IndexLevel level, List<IndexDeviation> found) {
+        levels.put(level.getIndex(), level);
+        for (IndexDeviation deviation : found) {
+            deviationCounts.merge(deviation.getKind(), 1L, Long::sum);
+            if (deviations.size() < maxStoredDeviations) {
+                deviations.add(deviation);
+            }
+        }
+    }
+
+    void setChangedConstituents(int changedConstituents) {
+        this.changedConstituents = changedConstituents;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Get the pass number, 1 for the first pass of an engine
+     */
+    public int getPass() {
+        return pass;
+    }
+
+    /**
+     * Whether every index was recomputed, rather than only those whose constituents ticked
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Get the number of constituents whose price changed since the previous pass (every priced one on a full pass)
+     */
+    public int getChangedConstituents() {
+        return changedConstituents;
+    }
+
+    public synchronized int getIndexCount() {
+        return levels.size();
+    }
+
+    /**
+     * Get the recomputed level of an index, null if this pass did not recompute it
+     */
+    public synchronized IndexLevel getLevel(String index) {
+        return levels.get(index);
+    }
+
+    /**
+     * Get every recomputed level by index code
+     */
+    public synchronized Map<String, IndexLevel> getLevels() {
+        return Collections.unmodifiableMap(new TreeMap<>(levels));
+    }
+
+    public synchronized long getDeviationCount(IndexDeviation.Kind kind) {
+        return deviationCounts.getOrDefault(kind, 0L);
+    }
+
+    public synchronized long getDeviationCount() {
+        long total = 0;
+        for (long count : deviationCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Get the first deviations found, up to the configured limit
+     */
+    public synchronized List<IndexDeviation> getDeviations() {
+        return Collections.unmodifiableList(new ArrayList<>(deviations));
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Whether every recomputed index agrees with XDP_INDICES
+     */
+    public synchronized boolean isClean() {
+        return deviationCounts.isEmpty();
+    }
+
+    /**
+     * Get a printable summary of the pass
+     */
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Pass %d (%s): %d index(es), %d changed constituent(s)%n",
+                pass, full ? "full" : "changed only", levels.size(), changedConstituents));
+        summary.append(String.format("Time: %d ms%n", totalMillis));
+        for (Map.Entry<IndexDeviation.Kind, Long> entry : deviationCounts.entrySet()) {
+            summary.append(String.format("  %-16s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
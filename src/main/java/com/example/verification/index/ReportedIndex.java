@@ -0,0 +1,62 @@
+package com.example.verification.index;
+
+/**
+ * Level of one index as XDP_INDICES reports it
+ * Values are NaN when the row has no value for them.
+ */
+public final class ReportedIndex {
+
+    private final String index;
+    private final double level;
+    private final double variation;
+    private final double percentVariation;
+    private final long timeMillis;
+
+    /**
+     * Constructor
+     * @param index Index code (INST_CODE)
+     * @param level INDEXLEVEL
+     * @param variation VARIATIONFROMPREVIOUSDAY, in index points
+     * @param percentVariation PERCENTVARIATIONPREVCLOS, in percent
+     * @param timeMillis DATEOFLASTUPDATE (epoch millis, 0 if unknown)
+     */
+    public ReportedIndex(String index, double level, double variation, double percentVariation, long timeMillis) {
+        this.index = index;
+        this.level = level;
+        this.variation = variation;
+        this.percentVariation = percentVariation;
+        this.timeMillis = timeMillis;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public double getLevel() {
+        return level;
+    }
+
+    public double getVariation() {
+        return variation;
+    }
+
+    public double getPercentVariation() {
+        return percentVariation;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Get the previous close the row implies, INDEXLEVEL - VARIATIONFROMPREVIOUSDAY; NaN if either is empty
+     */
+    public double getPreviousClose() {
+        return level - variation;
+    }
+
+    @Override
+    public String toString() {
+        return index + " level " + level + " variation " + variation + " (" + percentVariation + "%)";
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.verification.latency;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency distribution of one hop over many traced orders
+ * Latencies are recorded in microseconds with 3 significant digits. Orders that never reached the hop are
+ * counted as missing, not recorded. A latency below zero (clock offset error) is recorded as zero.
+ */
+public final class HopStats {
+
+    private final String name;
+    private final long slaMillis;
+    private final Histogram histogram = new Histogram(3);
+    private long missing;
+    private long breaches;
+
+    HopStats(String name, long slaMillis) {
+        this.name = name;
+        this.slaMillis = slaMillis;
+    }
+
+    void record(long latencyMillis) {
+        histogram.recordValue(Math.max(1, latencyMillis * 1_000));
+        if (slaMillis > 0 && latencyMillis > slaMillis) {
+            breaches++;
+        }
+    }
+
+    void recordMissing() {
+        missing++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of orders that reached the hop
+     */
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * Get the number of orders that did not reach the hop
+     */
+    public long getMissing() {
+        return missing;
+    }
+
+    /**
+     * Get the latency target, 0 if none is configured
+     */
+    public long getSlaMillis() {
+        return slaMillis;
+    }
+
+    /**
+     * Get the number of orders slower than the latency target
+     */
+    public long getBreaches() {
+        return breaches;
+    }
+
+    /**
+     * Get a latency percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds, 0 if nothing was recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public double getMaxMillis() {
+        return histogram.getMaxValue() / 1_000.0;
+    }
+
+    public double getMeanMillis() {
+        return histogram.getMean() / 1_000.0;
+    }
+
+    /**
+     * Get a copy of the underlying histogram (values in microseconds), e.g. to export it
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s count=%d missing=%d p50=%.0fms p90=%.0fms p99=%.0fms max=%.0fms%s",
+                name, getCount(), missing, getPercentileMillis(50), getPercentileMillis(90),
+                getPercentileMillis(99), getMaxMillis(),
+                slaMillis > 0 ? String.format(" sla=%dms breaches=%d", slaMillis, breaches) : "");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.verification.latency;
+
+/**
+ * Downstream steps an order goes through after the UI confirm click, in order
+ * - PERSISTED: the SEC_ORDERS row is written (TIME_STAMP)
+ * - FIX_SENT: the order is sent to the exchange (SEC_FIX_SEND_QUEY_TAGS TAG_52_SENDING_TIME)
+ * - TRADED: the first XDP_TRADES print of the order's instrument at its price, at or after the FIX send
+ */
+public enum OrderHop {
+    PERSISTED, FIX_SENT, TRADED
+}
@@ -0,0 +1,116 @@
+package com.example.verification.latency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-hop latency distributions of a batch of traced orders
+ * For each hop, one distribution from the confirm click (checked against the hop's latency target) and one
+ * from the previous hop, so a slow order path shows which step the time is spent in.
+ */
+public final class OrderLatencyReport {
+
+    private final List<OrderTrace> traces;
+    private final Map<OrderHop, HopStats> fromSubmit = new EnumMap<>(OrderHop.class);
+    private final Map<OrderHop, HopStats> steps = new EnumMap<>(OrderHop.class);
+    private long complete;
+    private long timedOut;
+
+    /**
+     * Constructor
+     * @param traces Traced orders
+     * @param slaMillis Latency target from the confirm click per hop; hops without one are not checked
+     */
+    public OrderLatencyReport(List<OrderTrace> traces, Map<OrderHop, Long> slaMillis) {
+        this.traces = Collections.unmodifiableList(new ArrayList<>(traces));
+        OrderHop previous = null;
+        for (OrderHop hop : OrderHop.values()) {
+            fromSubmit.put(hop, new HopStats("SUBMIT -> " + hop, slaMillis.getOrDefault(hop, 0L)));
+            steps.put(hop, new HopStats((previous == null ? "SUBMIT" : previous.name()) + " -> " + hop, 0));
+            previous = hop;
+        }
+        for (OrderTrace trace : traces) {
+            boolean previousReached = true;
+            for (OrderHop hop : OrderHop.values()) {
+                boolean reached = trace.hasHop(hop);
+                record(fromSubmit.get(hop), reached, trace.getLatencyMillis(hop));
+                record(steps.get(hop), reached && previousReached, trace.getStepMillis(hop));
+                previousReached = reached;
+            }
+            if (trace.isComplete()) {
+                complete++;
+            }
+            if (trace.isTimedOut()) {
+                timedOut++;
+            }
+        }
+    }
+
+    private static void record(HopStats stats, boolean reached, long latencyMillis) {
+        if (reached) {
+            stats.record(latencyMillis);
+        } else {
+            stats.recordMissing();
+        }
+    }
+
+    public List<OrderTrace> getTraces() {
+        return traces;
+    }
+
+    /**
+     * Get the distribution from the confirm click to a hop
+     */
+    public HopStats getLatency(OrderHop hop) {
+        return fromSubmit.get(hop);
+    }
+
+    /**
+     * Get the distribution from the previous hop to a hop
+     */
+    public HopStats getStep(OrderHop hop) {
+        return steps.get(hop);
+    }
+
+    /**
+     * Get the number of orders that reached every hop
+     */
+    public long getComplete() {
+        return complete;
+    }
+
+    /**
+     * Get the number of orders the tracer stopped waiting for
+     */
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Whether every order that reached a hop did so within the hop's latency target
+     */
+    public boolean isWithinSla() {
+        for (HopStats stats : fromSubmit.values()) {
+            if (stats.getBreaches() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Order latency: %d order(s), %d complete, %d timed out%n",
+                traces.size(), complete, timedOut));
+        for (HopStats stats : fromSubmit.values()) {
+            summary.append("  ").append(stats).append('\n');
+        }
+        for (HopStats stats : steps.values()) {
+            summary.append("  ").append(stats).append('\n');
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.verification.latency;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.MultiKeyQuery;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures how long orders placed in the UI take to reach each downstream hop (see OrderHop)
+ * submit() reads the client's highest SL_NO, places the order through the caller's UI action and keeps the
+ * local time of the confirm click. collect() then polls every pending order at once, one query per hop per
+ * round: new SEC_ORDERS rows of each client above its mark (claimed in submission order), the FIX messages
+ * of the found SL_NOs in one multi-key query, and the XDP_TRADES prints of the sent orders' companies since
+ * the earliest send in another, from which each order takes its first matching print.
+ * Orders still missing a hop after the timeout are reported as timed out.
+ *
+ * Database times are moved to the local clock with the offset measured on the round trip of the quickest
+ * mark query (SYSTIMESTAMP against the local midpoint), so click and database times can be subtracted.
+ * TAG_52_SENDING_TIME is a FIX UTC timestamp and is taken as is; SF.TIME_STAMP is used when it is empty.
+ * XDP_TRADES has no order id, so the trade hop is the first print of the order's COMPANY_CODE at its
+ * ACTUAL_PRICE (any price for market orders) traded at or after the FIX send, to the second; TRADE_DATE is a
+ * DATE, so the lower bound is bound as a DATE too. XDP_TRADES has no INST_CODE column: prints are matched on
+ * INST_SEQ, which holds the instrument code. SL_NO is taken to be numeric and increasing.
+ * Not thread-safe: one tracer per test thread.
+ *
+ * Settings (database.properties or -D):
+ * - latency.trace.pollMillis          pause between polling rounds (default 250)
+ * - latency.trace.timeoutSeconds      time from the confirm click after which an order stops being polled (default 120)
+ * - latency.trace.sla.persistedMillis latency target from the click to SEC_ORDERS (default 0, none)
+ * - latency.trace.sla.fixSentMillis   latency target from the click to the FIX send (default 0, none)
+ * - latency.trace.sla.tradedMillis    latency target from the click to the first trade (default 0, none)
+ */
+public class OrderLatencyTracer {
+
+    private static final Logger logger = Logger.getLogger(OrderLatencyTracer.class);
+
+    private static final String MARK_QUERY = "SELECT NVL(MAX(o.SL_NO), 0) AS MARK, CAST(SYSTIMESTAMP AS TIMESTAMP) " +
+            "AS DB_NOW FROM SEC_ORDERS o WHERE o.CL_ID = ?";
+    private static final String NEW_ORDERS_QUERY = "SELECT o.SL_NO, o.TIME_STAMP, o.COMPANY_CODE, o.ACTUAL_PRICE " +
+            "FROM SEC_ORDERS o WHERE o.CL_ID = ? AND o.SL_NO > ? ORDER BY o.SL_NO";
+    private static final MultiKeyQuery FIX_BY_SL_NO = MultiKeyQuery.of("SELECT SF.SL_NO, SF.TAG_52_SENDING_TIME, " +
+            "SF.TIME_STAMP FROM SEC_FIX_SEND_QUEY_TAGS SF WHERE SF.SL_NO IN (" + MultiKeyQuery.KEYS + ")");
+    private static final MultiKeyQuery TRADES_BY_INST_SEQ = MultiKeyQuery.of("SELECT DISTINCT t.INST_SEQ, t.PRICE, " +
+            "t.TRADE_DATE FROM XDP_TRADES t WHERE t.INST_SEQ IN (" + MultiKeyQuery.KEYS + ") AND t.TRADE_DATE >= ?");
+    private static final DateTimeFormatter FIX_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("yyyyMMdd-HH:mm:ss")
+            .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd()
+            .toFormatter();
+
+    private final OracleDBConnection dbConnection;
+    private final long pollMillis;
+    private final long timeoutMillis;
+    private final Map<OrderHop, Long> slaMillis = new EnumMap<>(OrderHop.class);
+    private final List<OrderTrace> pending = new ArrayList<>();
+    private final List<OrderTrace> finished = new ArrayList<>();
+    private final Set<String> claimed = new HashSet<>();
+    private long clockOffsetMillis;
+    private long bestRoundTripMillis = Long.MAX_VALUE;
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public OrderLatencyTracer(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.pollMillis = Math.max(10, DBConfig.getLong("latency.trace.pollMillis", 250));
+        this.timeoutMillis = Math.max(1, DBConfig.getLong("latency.trace.timeoutSeconds", 120)) * 1000;
+        slaMillis.put(OrderHop.PERSISTED, DBConfig.getLong("latency.trace.sla.persistedMillis", 0));
+        slaMillis.put(OrderHop.FIX_SENT, DBConfig.getLong("latency.trace.sla.fixSentMillis", 0));
+        slaMillis.put(OrderHop.TRADED, DBConfig.getLong("latency.trace.sla.tradedMillis", 0));
+    }
+
+    /**
+     * Place one order and start tracing it
+     * @param clientId CL_ID the UI session places orders for
+     * @param submission UI action placing the order
+     * @return Trace of the order, filled in by collect()
+     * @throws SQLException if the client's SL_NO mark cannot be read
+     */
+    public OrderTrace submit(String clientId, OrderSubmission submission) throws SQLException {
+        long mark = readMark(clientId);
+        OrderTrace trace = new OrderTrace(clientId, mark, submission.submit());
+        pending.add(trace);
+        return trace;
+    }
+
+    /**
+     * Poll until every submitted order reached every hop or timed out
+     * @return Latency report of the orders submitted since the previous collect()
+     * @throws SQLException if a table cannot be read
+     */
+    public OrderLatencyReport collect() throws SQLException {
+        long started = System.currentTimeMillis();
+        int rounds = 0;
+        while (!pending.isEmpty()) {
+            rounds++;
+            poll();
+            if (pending.isEmpty()) {
+                break;
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Order latency tracing interrupted with " + pending.size() + " order(s) pending", e);
+            }
+        }
+        OrderLatencyReport report = new OrderLatencyReport(finished, slaMillis);
+        finished.clear();
+        logger.info("Order latency traced in " + rounds + " polling round(s), " + (System.currentTimeMillis() - started)
+                + " ms, clock offset " + clockOffsetMillis + " ms\n" + report.getSummary());
+        return report;
+    }
+
+    /**
+     * Get the database clock minus the local clock, as last measured
+     */
+    public long getClockOffsetMillis() {
+        return clockOffsetMillis;
+    }
+
+    /**
+     * Run one polling round over every pending order
+     */
+    void poll() throws SQLException {
+        findOrders();
+        findFixMessages();
+        findTrades();
+        long now = System.currentTimeMillis();
+        for (Iterator<OrderTrace> it = pending.iterator(); it.hasNext(); ) {
+            OrderTrace trace = it.next();
+            if (trace.isComplete()) {
+                it.remove();
+                finished.add(trace);
+            } else if (now - trace.getSubmittedMillis() > timeoutMillis) {
+                trace.setTimedOut();
+                logger.warn("Order latency trace timed out: " + trace);
+                it.remove();
+                finished.add(trace);
+            }
+        }
+    }
+
+    private long readMark(String clientId) throws SQLException {
+        long before = System.currentTimeMillis();
+        try (RowCursor cursor = dbConnection.openCursor(MARK_QUERY, clientId)) {
+            if (!cursor.next()) {
+                return 0;
+            }
+            Row row = cursor.row();
+            long after = System.currentTimeMillis();
+            Timestamp dbNow = row.getTimestamp("DB_NOW");
+            if (dbNow != null && after - before <= bestRoundTripMillis) {
+                bestRoundTripMillis = after - before;
+                clockOffsetMillis = dbNow.getTime() - (before + after) / 2;
+            }
+            return row.getLong("MARK");
+        }
+    }
+
+    private void findOrders() throws SQLException {
+        Map<String, List<OrderTrace>> waiting = new LinkedHashMap<>();
+        for (OrderTrace trace : pending) {
+            if (trace.getSlNo().isEmpty()) {
+                waiting.computeIfAbsent(trace.getClientId(), k -> new ArrayList<>()).add(trace);
+            }
+        }
+        for (Map.Entry<String, List<OrderTrace>> entry : waiting.entrySet()) {
+            List<OrderTrace> traces = entry.getValue();
+            long lowestMark = Long.MAX_VALUE;
+            for (OrderTrace trace : traces) {
+                lowestMark = Math.min(lowestMark, trace.getMark());
+            }
+            try (RowCursor cursor = dbConnection.openCursor(NEW_ORDERS_QUERY, entry.getKey(), lowestMark)) {
+                while (cursor.next()) {
+                    Row row = cursor.row();
+                    String slNo = row.getString("SL_NO").trim();
+                    if (claimed.contains(slNo)) {
+                        continue;
+                    }
+                    long number = row.getLong("SL_NO");
+                    for (OrderTrace trace : traces) {
+                        if (trace.getSlNo().isEmpty() && number > trace.getMark()) {
+                            claimed.add(slNo);
+                            trace.setOrder(slNo, row.getString("COMPANY_CODE").trim(), row.getBigDecimal("ACTUAL_PRICE"));
+                            trace.recordHop(OrderHop.PERSISTED, toLocal(row.getTimestamp("TIME_STAMP"), trace));
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void findFixMessages() throws SQLException {
+        Map<String, OrderTrace> waiting = new HashMap<>();
+        for (OrderTrace trace : pending) {
+            if (!trace.getSlNo().isEmpty() && !trace.hasHop(OrderHop.FIX_SENT)) {
+                waiting.put(trace.getSlNo(), trace);
+            }
+        }
+        if (waiting.isEmpty()) {
+            return;
+        }
+        Map<String, Long> firstSent = new HashMap<>();
+        for (Map<String, Object> row : FIX_BY_SL_NO.execute(dbConnection, new ArrayList<>(waiting.keySet()))) {
+            Object slNo = row.get("SL_NO");
+            OrderTrace trace = slNo != null ? waiting.get(slNo.toString().trim()) : null;
+            if (trace == null) {
+                continue;
+            }
+            long sent = sendingTime(row.get("TAG_52_SENDING_TIME"), row.get("TIME_STAMP"), trace);
+            firstSent.merge(trace.getSlNo(), sent, Math::min);
+        }
+        for (Map.Entry<String, Long> entry : firstSent.entrySet()) {
+            waiting.get(entry.getKey()).recordHop(OrderHop.FIX_SENT, entry.getValue());
+        }
+    }
+
+    private void findTrades() throws SQLException {
+        List<OrderTrace> waiting = new ArrayList<>();
+        Set<String> instruments = new LinkedHashSet<>();
+        long earliest = Long.MAX_VALUE;
+        for (OrderTrace trace : pending) {
+            if (trace.hasHop(OrderHop.FIX_SENT) && !trace.hasHop(OrderHop.TRADED) && !trace.getInstrument().isEmpty()) {
+                waiting.add(trace);
+                instruments.add(trace.getInstrument());
+                earliest = Math.min(earliest, sentSecond(trace));
+            }
+        }
+        if (waiting.isEmpty()) {
+            return;
+        }
+        Map<String, List<Map<String, Object>>> prints = new HashMap<>();
+        for (Map<String, Object> row : TRADES_BY_INST_SEQ.execute(dbConnection, instruments,
+                DateWindow.dateTimeParameter(new Timestamp(earliest)))) {
+            Object instrument = row.get("INST_SEQ");
+            if (instrument != null && row.get("TRADE_DATE") instanceof java.util.Date) {
+                prints.computeIfAbsent(instrument.toString().trim(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        for (OrderTrace trace : waiting) {
+            long from = sentSecond(trace);
+            BigDecimal price = trace.getPrice();
+            boolean priced = price != null && price.signum() > 0;
+            long first = Long.MAX_VALUE;
+            for (Map<String, Object> row : prints.getOrDefault(trace.getInstrument(), Collections.emptyList())) {
+                long traded = ((java.util.Date) row.get("TRADE_DATE")).getTime();
+                Object printPrice = row.get("PRICE");
+                if (traded >= from && (!priced || printPrice != null
+                        && new BigDecimal(printPrice.toString()).compareTo(price) == 0)) {
+                    first = Math.min(first, traded);
+                }
+            }
+            if (first != Long.MAX_VALUE) {
+                trace.recordHop(OrderHop.TRADED, toLocal(new Timestamp(first), trace));
+            }
+        }
+    }
+
+    /**
+     * Get the start of the second of an order's FIX send on the database clock; TRADE_DATE only holds seconds
+     */
+    private long sentSecond(OrderTrace trace) {
+        long sentOnDbClock = trace.getHopMillis(OrderHop.FIX_SENT) + clockOffsetMillis;
+        return sentOnDbClock - Math.floorMod(sentOnDbClock, 1000L);
+    }
+
+    /**
+     * Get the local time of a FIX send from TAG_52_SENDING_TIME, or the row's TIME_STAMP when it is unusable
+     */
+    private long sendingTime(Object tag52, Object rowTime, OrderTrace trace) {
+        if (tag52 instanceof java.util.Date) {
+            return toLocal(new Timestamp(((java.util.Date) tag52).getTime()), trace);
+        }
+        long utc = tag52 != null ? parseFixTimestamp(tag52.toString()) : -1;
+        if (utc >= 0) {
+            return utc;
+        }
+        return rowTime instanceof java.util.Date ? toLocal(new Timestamp(((java.util.Date) rowTime).getTime()), trace)
+                : System.currentTimeMillis();
+    }
+
+    /**
+     * Move a database time to the local clock; an unknown time counts as now
+     */
+    private long toLocal(Timestamp time, OrderTrace trace) {
+        if (time == null) {
+            logger.warn("No database time for " + trace + ", using the polling time");
+            return System.currentTimeMillis();
+        }
+        return time.getTime() - clockOffsetMillis;
+    }
+
+    /**
+     * Parse a FIX UTCTimestamp (yyyyMMdd-HH:mm:ss with up to 9 fraction digits)
+     * @return Epoch milliseconds, -1 if the text is not a FIX timestamp
+     */
+    public static long parseFixTimestamp(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return -1;
+        }
+        try {
+            return LocalDateTime.parse(text.trim(), FIX_TIMESTAMP).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Places one order in the UI
+     */
+    @FunctionalInterface
+    public interface OrderSubmission {
+        /**
+         * @return Local epoch milliseconds of the confirm click (e.g. OrdersPage.getLastConfirmMillis())
+         */
+        long submit();
+    }
+}
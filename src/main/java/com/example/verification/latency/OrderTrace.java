@@ -0,0 +1,151 @@
+package com.example.verification.latency;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Timeline of one traced order: the local time of the UI confirm click and of each hop the order reached
+ * Hop times are on the local clock; the tracer shifts database times by the measured clock offset.
+ * The tracer fills the trace from its polling loop, so callers should read it once collect() returned.
+ */
+public class OrderTrace {
+
+    private static final OrderHop[] HOPS = OrderHop.values();
+
+    private final String clientId;
+    private final long mark;
+    private final long submittedMillis;
+    private final long[] hopMillis = new long[HOPS.length];
+    private String slNo = "";
+    private String instrument = "";
+    private BigDecimal price;
+    private boolean timedOut;
+
+    /**
+     * Constructor
+     * @param clientId CL_ID the order is placed for
+     * @param mark Highest SL_NO of the client before the order was placed; the order gets a higher one
+     * @param submittedMillis Local time of the UI confirm click
+     */
+    public OrderTrace(String clientId, long mark, long submittedMillis) {
+        this.clientId = clientId;
+        this.mark = mark;
+        this.submittedMillis = submittedMillis;
+        Arrays.fill(hopMillis, -1);
+    }
+
+    /**
+     * Record the local time the order reached a hop; the first time recorded wins
+     */
+    public void recordHop(OrderHop hop, long localMillis) {
+        if (hopMillis[hop.ordinal()] < 0) {
+            hopMillis[hop.ordinal()] = localMillis;
+        }
+    }
+
+    void setOrder(String slNo, String instrument, BigDecimal price) {
+        this.slNo = slNo;
+        this.instrument = instrument;
+        this.price = price;
+    }
+
+    void setTimedOut() {
+        this.timedOut = true;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    long getMark() {
+        return mark;
+    }
+
+    public long getSubmittedMillis() {
+        return submittedMillis;
+    }
+
+    /**
+     * Get the SL_NO of the order, empty until its SEC_ORDERS row is found
+     */
+    public String getSlNo() {
+        return slNo;
+    }
+
+    /**
+     * Get the COMPANY_CODE of the order, empty until its SEC_ORDERS row is found
+     */
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /**
+     * Get the ACTUAL_PRICE of the order, null until its SEC_ORDERS row is found or for market orders
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * Whether the order reached a hop
+     */
+    public boolean hasHop(OrderHop hop) {
+        return hopMillis[hop.ordinal()] >= 0;
+    }
+
+    /**
+     * Get the local time the order reached a hop, -1 if it did not
+     */
+    public long getHopMillis(OrderHop hop) {
+        return hopMillis[hop.ordinal()];
+    }
+
+    /**
+     * Get the time from the confirm click to a hop
+     * @return Milliseconds, -1 if the order did not reach the hop
+     */
+    public long getLatencyMillis(OrderHop hop) {
+        long reached = hopMillis[hop.ordinal()];
+        return reached < 0 ? -1 : reached - submittedMillis;
+    }
+
+    /**
+     * Get the time from the previous hop (the confirm click for the first) to a hop
+     * @return Milliseconds, -1 if the order did not reach the hop or the previous one
+     */
+    public long getStepMillis(OrderHop hop) {
+        long reached = hopMillis[hop.ordinal()];
+        long previous = hop.ordinal() == 0 ? submittedMillis : hopMillis[hop.ordinal() - 1];
+        return reached < 0 || previous < 0 ? -1 : reached - previous;
+    }
+
+    /**
+     * Whether the order reached every hop
+     */
+    public boolean isComplete() {
+        for (long reached : hopMillis) {
+            if (reached < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the tracer stopped waiting before the order reached every hop
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Order ").append(slNo.isEmpty() ? "?" : slNo)
+                .append(" (").append(clientId).append(')');
+        for (OrderHop hop : HOPS) {
+            long latency = getLatencyMillis(hop);
+            text.append(' ').append(hop).append('=').append(latency < 0 ? "-" : latency + "ms");
+        }
+        return timedOut ? text.append(" timed out").toString() : text.toString();
+    }
+}
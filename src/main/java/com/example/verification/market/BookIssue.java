@@ -0,0 +1,64 @@
+package com.example.verification.market;
+
+/**
+ * One problem found in a rebuilt order book
+ * - CROSSED: best bid at or above best ask
+ * - INVALID_LEVELS: a level with a non-positive price or quantity, or levels out of price order or repeated
+ * - PRICE_MISMATCH: best price differs from the reference table
+ * - DEPTH_MISMATCH: best price agrees but the quantity or order count at it does not
+ * - STALE_LEVELS: the book side is older than the reference by more than the stale threshold
+ * - NO_BOOK: the reference table quotes the instrument but XDP_ALL_MBP has no levels for it
+ * - UNREADABLE: a DATA_XML message could not be read
+ */
+public class BookIssue {
+
+    public enum Kind {
+        CROSSED, INVALID_LEVELS, PRICE_MISMATCH, DEPTH_MISMATCH, STALE_LEVELS, NO_BOOK, UNREADABLE
+    }
+
+    private final Kind kind;
+    private final String instrument;
+    private final String side;
+    private final String source;
+    private final String detail;
+
+    BookIssue(Kind kind, String instrument, String side, String source, String detail) {
+        this.kind = kind;
+        this.instrument = instrument;
+        this.side = side;
+        this.source = source;
+        this.detail = detail;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /**
+     * Get BID or ASK, null for issues of the whole book
+     */
+    public String getSide() {
+        return side;
+    }
+
+    /**
+     * Get the reference table the book was compared with, null for checks of the book itself
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + instrument + (side != null ? " " + side : "") + (source != null ? " vs " + source : "")
+                + ": " + detail;
+    }
+}
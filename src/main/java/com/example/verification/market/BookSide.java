@@ -0,0 +1,161 @@
+package com.example.verification.market;
+
+import java.util.Arrays;
+
+/**
+ * Price levels of one side of an order book, in the order the feed sent them
+ * Levels are held in parallel primitive arrays (price, quantity, number of orders) that grow as needed,
+ * so a book of any depth costs three arrays rather than one object per level.
+ */
+public final class BookSide {
+
+    private double[] prices;
+    private long[] quantities;
+    private int[] orders;
+    private int size;
+    private long timeMillis;
+
+    public BookSide() {
+        this(8);
+    }
+
+    BookSide(int capacity) {
+        prices = new double[Math.max(1, capacity)];
+        quantities = new long[prices.length];
+        orders = new int[prices.length];
+    }
+
+    /**
+     * Append a level
+     * @param price Level price
+     * @param quantity Total quantity at the level
+     * @param orderCount Number of orders at the level, -1 if the feed does not send it
+     */
+    public void add(double price, long quantity, int orderCount) {
+        if (size == prices.length) {
+            int capacity = size * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+        }
+        prices[size] = price;
+        quantities[size] = quantity;
+        orders[size] = orderCount;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+        timeMillis = 0;
+    }
+
+    /**
+     * Replace the levels with a copy of another side's, sized to fit
+     */
+    void copyFrom(BookSide other) {
+        prices = Arrays.copyOf(other.prices, Math.max(1, other.size));
+        quantities = Arrays.copyOf(other.quantities, prices.length);
+        orders = Arrays.copyOf(other.orders, prices.length);
+        size = other.size;
+        timeMillis = other.timeMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getPrice(int level) {
+        checkLevel(level);
+        return prices[level];
+    }
+
+    public long getQuantity(int level) {
+        checkLevel(level);
+        return quantities[level];
+    }
+
+    public int getOrders(int level) {
+        checkLevel(level);
+        return orders[level];
+    }
+
+    /**
+     * Get the time of the message the levels came from (epoch millis, 0 if unknown)
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public void setTimeMillis(long timeMillis) {
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Get the level with the best price: the highest for bids, the lowest for asks
+     * @return Level index, -1 if the side is empty
+     */
+    public int bestLevel(boolean bid) {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (best < 0 || (bid ? prices[i] > prices[best] : prices[i] < prices[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the best price, NaN if the side is empty
+     */
+    public double bestPrice(boolean bid) {
+        int best = bestLevel(bid);
+        return best < 0 ? Double.NaN : prices[best];
+    }
+
+    /**
+     * Whether every level has a positive price and quantity
+     */
+    public boolean hasValidLevels() {
+        for (int i = 0; i < size; i++) {
+            if (!(prices[i] > 0) || quantities[i] <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether prices strictly improve towards the first level: descending for bids, ascending for asks
+     * A repeated price is a level sent twice and fails the check too.
+     */
+    public boolean isSorted(boolean bid) {
+        for (int i = 1; i < size; i++) {
+            if (bid ? prices[i] >= prices[i - 1] : prices[i] <= prices[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkLevel(int level) {
+        if (level < 0 || level >= size) {
+            throw new IndexOutOfBoundsException("Level " + level + " of " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            text.append(i > 0 ? ", " : "").append(quantities[i]).append('@').append(prices[i]);
+            if (orders[i] >= 0) {
+                text.append('(').append(orders[i]).append(')');
+            }
+        }
+        return text.append(']').toString();
+    }
+}
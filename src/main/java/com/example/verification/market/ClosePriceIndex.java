@@ -0,0 +1,310 @@
+package com.example.verification.market;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of MDF_TIME_SERIES closes
+ * Each company holds a sorted int array of epoch days and a parallel array of closes, kept as the BigDecimal
+ * the driver returns so valuations are not rounded through double, so "last close on or before D" is a
+ * binary search instead of an Oracle round trip.
+ *
+ * The index is loaded once and then refreshed incrementally: refresh() only reads trade dates from
+ * the newest loaded day onwards (that day is re-read so an updated close for today replaces the old one).
+ * Corrections to older trade dates need a full reload().
+ *
+ * Series are immutable and swapped as a whole, so lookups never block and are safe during a refresh.
+ *
+ * The index does not hold a connection: reload() and refresh() read through the handle passed to them, and
+ * getShared loads and refreshes through its caller's handle only. Test classes close their handles in
+ * @AfterClass, and concurrent callers of the JVM-wide index each refresh it through their own handle.
+ *
+ * Settings (database.properties or -D):
+ * - market.closeIndex.maxAgeSeconds  getShared refreshes the index when its last load is older (default 300, 0 = never)
+ */
+public class ClosePriceIndex implements ClosePriceLookup {
+
+    private static final Logger logger = Logger.getLogger(ClosePriceIndex.class);
+    private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+    private static final String QUERY = "SELECT COMPANY_CODE, TRADE_DATE, CLOSE FROM MDF_TIME_SERIES " +
+            "WHERE TRADE_DATE >= ? AND CLOSE IS NOT NULL ORDER BY COMPANY_CODE, TRADE_DATE";
+
+    private static final DateTimeFormatter TRADE_DATE_FORMAT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive().appendPattern("dd-MMM-yyyy").toFormatter(Locale.ENGLISH);
+
+    private static volatile ClosePriceIndex shared;
+
+    private volatile Map<String, Series> series = Collections.emptyMap();
+    private volatile int lastEpochDay = Integer.MIN_VALUE;
+    private volatile long loadedAt;
+
+    /**
+     * Constructor, the index is empty until reload() or refresh() is called
+     */
+    public ClosePriceIndex() {
+    }
+
+    /**
+     * Get the JVM-wide index, loading it on first use and refreshing it once older than market.closeIndex.maxAgeSeconds
+     * @param dbConnection Database connection of the caller, used for this call's load or refresh only
+     * @return Loaded index
+     * @throws SQLException if the first load or a refresh fails
+     */
+    public static ClosePriceIndex getShared(OracleDBConnection dbConnection) throws SQLException {
+        ClosePriceIndex index = shared;
+        if (index == null) {
+            synchronized (ClosePriceIndex.class) {
+                index = shared;
+                if (index == null) {
+                    index = new ClosePriceIndex();
+                    index.reload(dbConnection);
+                    shared = index;
+                    return index;
+                }
+            }
+        }
+        long maxAgeMillis = DBConfig.getLong("market.closeIndex.maxAgeSeconds", 300) * 1000;
+        if (maxAgeMillis > 0 && System.currentTimeMillis() - index.loadedAt > maxAgeMillis) {
+            index.refresh(dbConnection);
+        }
+        return index;
+    }
+
+    /**
+     * Load the whole price history, replacing the current contents
+     * @param dbConnection Open connection to read with
+     * @throws SQLException if the query fails
+     */
+    public synchronized void reload(OracleDBConnection dbConnection) throws SQLException {
+        long started = System.currentTimeMillis();
+        Map<String, Series> loaded = new HashMap<>();
+        int newest = load(dbConnection, FIRST_DAY, loaded);
+        series = loaded;
+        lastEpochDay = newest;
+        loadedAt = System.currentTimeMillis();
+        logger.info("Close price index loaded: " + loaded.size() + " companies, " + getPriceCount()
+                + " closes up to " + getLastTradeDate() + " (" + (loadedAt - started) + " ms)");
+    }
+
+    /**
+     * Load trade dates from the newest loaded day onwards, or everything if nothing is loaded yet
+     * @param dbConnection Open connection to read with
+     * @return Number of closes read
+     * @throws SQLException if the query fails
+     */
+    public synchronized int refresh(OracleDBConnection dbConnection) throws SQLException {
+        if (lastEpochDay == Integer.MIN_VALUE) {
+            reload(dbConnection);
+            return getPriceCount();
+        }
+
+        Map<String, Series> updates = new HashMap<>();
+        int newest = load(dbConnection, LocalDate.ofEpochDay(lastEpochDay), updates);
+        int read = 0;
+        Map<String, Series> merged = new HashMap<>(series);
+        for (Map.Entry<String, Series> entry : updates.entrySet()) {
+            Series current = merged.get(entry.getKey());
+            merged.put(entry.getKey(), current != null ? current.merge(entry.getValue()) : entry.getValue());
+            read += entry.getValue().size;
+        }
+        series = merged;
+        lastEpochDay = Math.max(lastEpochDay, newest);
+        loadedAt = System.currentTimeMillis();
+        logger.info("Close price index refreshed: " + read + " closes read, last trade date " + getLastTradeDate());
+        return read;
+    }
+
+    private int load(OracleDBConnection dbConnection, LocalDate fromDay, Map<String, Series> target) throws SQLException {
+        SeriesBuilder[] current = new SeriesBuilder[1];
+        int[] newest = {Integer.MIN_VALUE};
+        dbConnection.forEachRow(QUERY, row -> {
+            String company = row.getString("COMPANY_CODE");
+            Timestamp tradeDate = row.getTimestamp("TRADE_DATE");
+            if (tradeDate == null) {
+                return;
+            }
+            if (current[0] == null || !current[0].company.equals(company)) {
+                if (current[0] != null) {
+                    target.put(current[0].company, current[0].build());
+                }
+                current[0] = new SeriesBuilder(company);
+            }
+            int day = (int) tradeDate.toLocalDateTime().toLocalDate().toEpochDay();
+            current[0].add(day, row.getBigDecimal("CLOSE"));
+            newest[0] = Math.max(newest[0], day);
+        }, Date.valueOf(fromDay));
+        if (current[0] != null) {
+            target.put(current[0].company, current[0].build());
+        }
+        return newest[0];
+    }
+
+    /**
+     * Get the last close on or before a date
+     * @param companyCode Company code
+     * @param date Valuation date
+     * @return Close price, or NaN if the company has no close on or before the date
+     */
+    public double closeOnOrBefore(String companyCode, LocalDate date) {
+        return number(getCloseOnOrBefore(companyCode, date));
+    }
+
+    /**
+     * Get the last close strictly before a date (the open price used by My Calculator)
+     * @param companyCode Company code
+     * @param date Window start
+     * @return Close price, or NaN if the company has no close before the date
+     */
+    public double closeBefore(String companyCode, LocalDate date) {
+        return number(getCloseOnOrBefore(companyCode, date.minusDays(1)));
+    }
+
+    /**
+     * Get the newest close of a company
+     * @return Close price, or NaN if the company is unknown
+     */
+    public double latestClose(String companyCode) {
+        Series s = series.get(companyCode);
+        return s != null ? number(s.closes[s.size - 1]) : Double.NaN;
+    }
+
+    /**
+     * Get the last close on or before a date, exactly as stored in MDF_TIME_SERIES
+     */
+    @Override
+    public BigDecimal getCloseOnOrBefore(String companyCode, LocalDate date) {
+        Series s = series.get(companyCode);
+        return s != null ? s.floor((int) date.toEpochDay()) : null;
+    }
+
+    private static double number(BigDecimal close) {
+        return close != null ? close.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Parse a date in the 'DD-Mon-YYYY' format used by the data classes (e.g. '25-Nov-2025', '01-DEC-2025')
+     */
+    public static LocalDate parseTradeDate(String tradeDate) {
+        return LocalDate.parse(tradeDate.trim(), TRADE_DATE_FORMAT);
+    }
+
+    /**
+     * Check if the index has any close for a company
+     */
+    public boolean contains(String companyCode) {
+        return series.containsKey(companyCode);
+    }
+
+    public Set<String> getCompanyCodes() {
+        return Collections.unmodifiableSet(series.keySet());
+    }
+
+    /**
+     * Get total number of closes held
+     */
+    public int getPriceCount() {
+        int count = 0;
+        for (Series s : series.values()) {
+            count += s.size;
+        }
+        return count;
+    }
+
+    /**
+     * Get the newest trade date loaded, null if the index is empty
+     */
+    public LocalDate getLastTradeDate() {
+        return lastEpochDay == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(lastEpochDay);
+    }
+
+    /**
+     * Get the time of the last load or refresh, in epoch milliseconds (0 if never loaded)
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Immutable close series of one company, days sorted ascending and unique
+     */
+    private static final class Series {
+        private final int[] days;
+        private final BigDecimal[] closes;
+        private final int size;
+
+        private Series(int[] days, BigDecimal[] closes, int size) {
+            this.days = days;
+            this.closes = closes;
+            this.size = size;
+        }
+
+        private BigDecimal floor(int day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 ? closes[index] : null;
+        }
+
+        /**
+         * Append newer closes; days present in both keep the newer value
+         */
+        private Series merge(Series newer) {
+            int keep = size;
+            while (keep > 0 && days[keep - 1] >= newer.days[0]) {
+                keep--;
+            }
+            int total = keep + newer.size;
+            int[] mergedDays = Arrays.copyOf(days, total);
+            BigDecimal[] mergedCloses = Arrays.copyOf(closes, total);
+            System.arraycopy(newer.days, 0, mergedDays, keep, newer.size);
+            System.arraycopy(newer.closes, 0, mergedCloses, keep, newer.size);
+            return new Series(mergedDays, mergedCloses, total);
+        }
+    }
+
+    private static final class SeriesBuilder {
+        private final String company;
+        private int[] days = new int[256];
+        private BigDecimal[] closes = new BigDecimal[256];
+        private int size;
+
+        private SeriesBuilder(String company) {
+            this.company = company;
+        }
+
+        private void add(int day, BigDecimal close) {
+            if (size > 0 && days[size - 1] == day) {
+                // Several rows on one trade day: keep the last one
+                closes[size - 1] = close;
+                return;
+            }
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                closes = Arrays.copyOf(closes, size * 2);
+            }
+            days[size] = day;
+            closes[size] = close;
+            size++;
+        }
+
+        private Series build() {
+            return new Series(Arrays.copyOf(days, size), Arrays.copyOf(closes, size), size);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.verification.market;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Source of MDF_TIME_SERIES closes for valuation checks
+ */
+public interface ClosePriceLookup {
+
+    /**
+     * Get close on or before a date
+     * @param companyCode Company code
+     * @param date Valuation date
+     * @return Close price, or null if no close is known on or before the date
+     */
+    BigDecimal getCloseOnOrBefore(String companyCode, LocalDate date);
+}
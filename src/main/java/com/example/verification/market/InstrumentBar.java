@@ -0,0 +1,93 @@
+package com.example.verification.market;
+
+/**
+ * Day figures of one instrument, or of a whole market, as a table reports them or as the trade tape adds up
+ * Prices are NaN and volume and trade count -1 when the source has no value for them; such fields are
+ * not compared.
+ */
+public final class InstrumentBar {
+
+    private final String instrument;
+    private final String source;
+    private final double open;
+    private final double high;
+    private final double low;
+    private final double last;
+    private final double vwap;
+    private final long volume;
+    private final double value;
+    private final int trades;
+
+    public InstrumentBar(String instrument, String source, double open, double high, double low, double last,
+                         double vwap, long volume, double value, int trades) {
+        this.instrument = instrument;
+        this.source = source;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.last = last;
+        this.vwap = vwap;
+        this.volume = volume;
+        this.value = value;
+        this.trades = trades;
+    }
+
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /**
+     * Get the table the figures come from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getLast() {
+        return last;
+    }
+
+    /**
+     * Get the volume-weighted average price, value / volume
+     */
+    public double getVwap() {
+        return vwap;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int getTrades() {
+        return trades;
+    }
+
+    /**
+     * Whether the source reports any trading for the day
+     */
+    public boolean hasTrades() {
+        return trades > 0 || volume > 0;
+    }
+
+    @Override
+    public String toString() {
+        return instrument + " [" + source + "] O " + open + " H " + high + " L " + low + " C " + last
+                + " VWAP " + vwap + " vol " + volume + " val " + value + " trades " + trades;
+    }
+}
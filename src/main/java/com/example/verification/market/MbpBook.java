@@ -0,0 +1,57 @@
+package com.example.verification.market;
+
+/**
+ * Market-by-price book of one instrument, rebuilt from the latest XDP_ALL_MBP message of each side
+ */
+public final class MbpBook {
+
+    private final String instrument;
+    private final BookSide bids = new BookSide(1);
+    private final BookSide asks = new BookSide(1);
+
+    public MbpBook(String instrument) {
+        this.instrument = instrument;
+    }
+
+    public String getInstrument() {
+        return instrument;
+    }
+
+    public BookSide getBids() {
+        return bids;
+    }
+
+    public BookSide getAsks() {
+        return asks;
+    }
+
+    public BookSide getSide(boolean bid) {
+        return bid ? bids : asks;
+    }
+
+    /**
+     * Get the highest bid, NaN if there are no bids
+     */
+    public double getBestBid() {
+        return bids.bestPrice(true);
+    }
+
+    /**
+     * Get the lowest ask, NaN if there are no asks
+     */
+    public double getBestAsk() {
+        return asks.bestPrice(false);
+    }
+
+    /**
+     * Whether the best bid reaches the best ask (crossed or locked), which a live book never shows
+     */
+    public boolean isCrossed() {
+        return !bids.isEmpty() && !asks.isEmpty() && getBestBid() >= getBestAsk();
+    }
+
+    @Override
+    public String toString() {
+        return instrument + " bids " + bids + " asks " + asks;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.verification.market;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Streaming reader of the price levels in an XDP_ALL_MBP DATA_XML message
+ * The XML is read with StAX, without building a DOM. Any element that carries a price and a quantity,
+ * as attributes or as child elements, is one level, so both of these layouts are read:
+ *
+ *   &lt;Bids&gt;&lt;Level Price="12.35" Qty="1000" Orders="3"/&gt;&lt;/Bids&gt;
+ *   &lt;Entry&gt;&lt;Side&gt;S&lt;/Side&gt;&lt;Px&gt;12.40&lt;/Px&gt;&lt;Size&gt;500&lt;/Size&gt;&lt;/Entry&gt;
+ *
+ * Names are matched case-insensitively, ignoring '_' and '-'. The side of a level comes from its own side
+ * field, else from an enclosing element named like a side (Bids, Asks, Buy, Sell, Offers), else from the
+ * SIDE column of the message. One parser is reused per thread; it is not thread safe.
+ */
+public final class MbpXmlParser {
+
+    public static final int UNKNOWN = 0;
+    public static final int BID = 1;
+    public static final int ASK = 2;
+
+    private static final int NONE = 0;
+    private static final int PRICE = 1;
+    private static final int QUANTITY = 2;
+    private static final int ORDERS = 3;
+    private static final int SIDE = 4;
+
+    private final XMLInputFactory factory;
+    private final StringBuilder text = new StringBuilder();
+
+    // One frame per open element, reused across messages
+    private double[] framePrice = new double[16];
+    private long[] frameQuantity = new long[16];
+    private int[] frameOrders = new int[16];
+    private int[] frameSide = new int[16];
+    private int[] frameField = new int[16];
+    private boolean[] frameHasChild = new boolean[16];
+
+    public MbpXmlParser() {
+        factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Read the levels of one message
+     * @param xml DATA_XML content
+     * @param defaultSide BID or ASK from the message's SIDE column, UNKNOWN when the XML names the sides
+     * @param bids Receives the bid levels
+     * @param asks Receives the ask levels
+     * @return Number of levels skipped because their side could not be told
+     * @throws XMLStreamException if the XML is malformed
+     * @throws NumberFormatException if a price, quantity or order count is not a number
+     */
+    public int parse(Reader xml, int defaultSide, BookSide bids, BookSide asks) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(xml);
+        int depth = 0;
+        int skipped = 0;
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        ensureDepth(depth);
+                        frameHasChild[depth - 1] = true;
+                        startFrame(depth, reader.getLocalName());
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            assign(depth, fieldOf(reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+                        }
+                        text.setLength(0);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (frameField[depth] != NONE && !frameHasChild[depth]) {
+                            text.append(reader.getText());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (!Double.isNaN(framePrice[depth]) && frameQuantity[depth] >= 0) {
+                            int side = resolveSide(depth, defaultSide);
+                            if (side == BID) {
+                                bids.add(framePrice[depth], frameQuantity[depth], frameOrders[depth]);
+                            } else if (side == ASK) {
+                                asks.add(framePrice[depth], frameQuantity[depth], frameOrders[depth]);
+                            } else {
+                                skipped++;
+                            }
+                        } else if (frameField[depth] != NONE && !frameHasChild[depth] && depth > 1) {
+                            assign(depth - 1, frameField[depth], text.toString());
+                        }
+                        text.setLength(0);
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return skipped;
+    }
+
+    /**
+     * Read a side from a SIDE column or field: B, BID, BUY or 1 (FIX) for bids, S, A, ASK, SELL, OFFER or 2 for asks
+     */
+    public static int parseSide(String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "B":
+            case "BID":
+            case "BUY":
+            case "1":
+                return BID;
+            case "S":
+            case "A":
+            case "ASK":
+            case "SELL":
+            case "OFFER":
+            case "2":
+                return ASK;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private void startFrame(int depth, String name) {
+        framePrice[depth] = Double.NaN;
+        frameQuantity[depth] = -1;
+        frameOrders[depth] = -1;
+        frameHasChild[depth] = false;
+        frameField[depth] = fieldOf(name);
+        switch (normalize(name)) {
+            case "bid":
+            case "bids":
+            case "buy":
+            case "buys":
+                frameSide[depth] = BID;
+                break;
+            case "ask":
+            case "asks":
+            case "offer":
+            case "offers":
+            case "sell":
+            case "sells":
+                frameSide[depth] = ASK;
+                break;
+            default:
+                frameSide[depth] = UNKNOWN;
+        }
+    }
+
+    private void assign(int depth, int field, String value) {
+        String trimmed = value.trim();
+        if (field == NONE || trimmed.isEmpty()) {
+            return;
+        }
+        switch (field) {
+            case PRICE:
+                framePrice[depth] = Double.parseDouble(trimmed);
+                break;
+            case QUANTITY:
+                frameQuantity[depth] = (long) Double.parseDouble(trimmed);
+                break;
+            case ORDERS:
+                frameOrders[depth] = (int) Double.parseDouble(trimmed);
+                break;
+            default:
+                int side = parseSide(trimmed);
+                if (side != UNKNOWN) {
+                    frameSide[depth] = side;
+                }
+        }
+    }
+
+    private int resolveSide(int depth, int defaultSide) {
+        for (int d = depth; d > 0; d--) {
+            if (frameSide[d] != UNKNOWN) {
+                return frameSide[d];
+            }
+        }
+        return defaultSide;
+    }
+
+    private static int fieldOf(String name) {
+        switch (normalize(name)) {
+            case "price":
+            case "px":
+            case "prc":
+            case "levelprice":
+                return PRICE;
+            case "quantity":
+            case "qty":
+            case "size":
+            case "volume":
+            case "vol":
+            case "shares":
+            case "totalquantity":
+            case "totalqty":
+            case "aggregatequantity":
+                return QUANTITY;
+            case "orders":
+            case "ordercount":
+            case "nborders":
+            case "numorders":
+            case "numberorders":
+            case "numberoforders":
+            case "nboforders":
+                return ORDERS;
+            case "side":
+                return SIDE;
+            default:
+                return NONE;
+        }
+    }
+
+    private static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-') {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void ensureDepth(int depth) {
+        if (depth < framePrice.length) {
+            return;
+        }
+        int capacity = framePrice.length * 2;
+        framePrice = Arrays.copyOf(framePrice, capacity);
+        frameQuantity = Arrays.copyOf(frameQuantity, capacity);
+        frameOrders = Arrays.copyOf(frameOrders, capacity);
+        frameSide = Arrays.copyOf(frameSide, capacity);
+        frameField = Arrays.copyOf(frameField, capacity);
+        frameHasChild = Arrays.copyOf(frameHasChild, capacity);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.verification.market;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks one rebuilt book on its own and against the top of book other tables report for it
+ * A side that disagrees with a reference updated more than staleMillis after the side's last message is
+ * reported as STALE_LEVELS rather than as a mismatch: the MBP feed has not caught up with it.
+ */
+public class OrderBookChecker {
+
+    private final double priceTolerance;
+    private final long staleMillis;
+
+    /**
+     * Constructor
+     * @param priceTolerance Absolute price difference still counted as equal
+     * @param staleMillis How much newer a reference may be before a differing side counts as stale
+     */
+    public OrderBookChecker(double priceTolerance, long staleMillis) {
+        this.priceTolerance = priceTolerance;
+        this.staleMillis = staleMillis;
+    }
+
+    /**
+     * Check a book
+     * @param book Rebuilt book
+     * @param references Top of book from other tables, null entries are skipped
+     * @return Issues found, empty if the book is consistent
+     */
+    public List<BookIssue> check(MbpBook book, TopOfBook... references) {
+        List<BookIssue> issues = new ArrayList<>(0);
+        String instrument = book.getInstrument();
+        if (book.isCrossed()) {
+            issues.add(new BookIssue(BookIssue.Kind.CROSSED, instrument, null, null,
+                    "best bid " + book.getBestBid() + " >= best ask " + book.getBestAsk()));
+        }
+        for (boolean bid : new boolean[]{true, false}) {
+            BookSide side = book.getSide(bid);
+            if (!side.hasValidLevels() || !side.isSorted(bid)) {
+                issues.add(new BookIssue(BookIssue.Kind.INVALID_LEVELS, instrument, sideName(bid), null, side.toString()));
+            }
+            for (TopOfBook reference : references) {
+                if (reference != null && reference.hasPrice(bid)) {
+                    compare(instrument, bid, side, reference, issues);
+                }
+            }
+        }
+        return issues;
+    }
+
+    private void compare(String instrument, boolean bid, BookSide side, TopOfBook reference, List<BookIssue> issues) {
+        String name = sideName(bid);
+        double expected = reference.getPrice(bid);
+        if (side.isEmpty()) {
+            issues.add(new BookIssue(BookIssue.Kind.PRICE_MISMATCH, instrument, name, reference.getSource(),
+                    "no levels, reference " + expected));
+            return;
+        }
+        int best = side.bestLevel(bid);
+        double price = side.getPrice(best);
+        if (Math.abs(price - expected) > priceTolerance) {
+            if (side.getTimeMillis() > 0 && reference.getTimeMillis() - side.getTimeMillis() > staleMillis) {
+                issues.add(new BookIssue(BookIssue.Kind.STALE_LEVELS, instrument, name, reference.getSource(),
+                        "book " + price + " at " + new Timestamp(side.getTimeMillis()) + ", reference " + expected
+                                + " at " + new Timestamp(reference.getTimeMillis())));
+            } else {
+                issues.add(new BookIssue(BookIssue.Kind.PRICE_MISMATCH, instrument, name, reference.getSource(),
+                        "book " + price + ", reference " + expected));
+            }
+            return;
+        }
+        long size = reference.getSize(bid);
+        int orders = reference.getOrders(bid);
+        boolean sizeDiffers = size >= 0 && side.getQuantity(best) != size;
+        boolean ordersDiffer = orders >= 0 && side.getOrders(best) >= 0 && side.getOrders(best) != orders;
+        if (sizeDiffers || ordersDiffer) {
+            issues.add(new BookIssue(BookIssue.Kind.DEPTH_MISMATCH, instrument, name, reference.getSource(),
+                    "at " + price + " book " + side.getQuantity(best) + " in " + side.getOrders(best)
+                            + " order(s), reference " + size + " in " + orders + " order(s)"));
+        }
+    }
+
+    static String sideName(boolean bid) {
+        return bid ? "BID" : "ASK";
+    }
+}
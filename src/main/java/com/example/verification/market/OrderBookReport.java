@@ -0,0 +1,160 @@
+package com.example.verification.market;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of rebuilding every XDP_ALL_MBP book and checking it
+ * Holds all rebuilt books and every issue count, but only the first maxStoredIssues issue details.
+ * Worker threads fill the report concurrently, so its methods are synchronized.
+ */
+public class OrderBookReport {
+
+    private final int maxStoredIssues;
+    private final Map<String, MbpBook> books = new TreeMap<>();
+    private final Map<BookIssue.Kind, Long> issueCounts = new EnumMap<>(BookIssue.Kind.class);
+    private final List<BookIssue> issues = new ArrayList<>();
+    private long messages;
+    private long levels;
+    private long skippedLevels;
+    private int quoteReferences;
+    private int liveQuoteReferences;
+    private long totalMillis;
+
+    OrderBookReport(int maxStoredIssues) {
+        this.maxStoredIssues = maxStoredIssues;
+    }
+
+    synchronized void addBook(MbpBook book, List<BookIssue> bookIssues) {
+        books.put(book.getInstrument(), book);
+        levels += book.getBids().size() + book.getAsks().size();
+        for (BookIssue issue : bookIssues) {
+            addIssue(issue);
+        }
+    }
+
+    synchronized void addIssue(BookIssue issue) {
+        issueCounts.merge(issue.getKind(), 1L, Long::sum);
+        if (issues.size() < maxStoredIssues) {
+            issues.add(issue);
+        }
+    }
+
+    synchronized void addMessages(long messages, long skippedLevels) {
+        this.messages += messages;
+        this.skippedLevels += skippedLevels;
+    }
+
+    void setReferences(int quoteReferences, int liveQuoteReferences) {
+        this.quoteReferences = quoteReferences;
+        this.liveQuoteReferences = liveQuoteReferences;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    synchronized boolean hasBook(String instrument) {
+        return books.containsKey(instrument);
+    }
+
+    /**
+     * Get the rebuilt book of an instrument, null if XDP_ALL_MBP has no message for it
+     */
+    public synchronized MbpBook getBook(String instrument) {
+        return books.get(instrument);
+    }
+
+    /**
+     * Get every rebuilt book by instrument code
+     */
+    public synchronized Map<String, MbpBook> getBooks() {
+        return Collections.unmodifiableMap(new TreeMap<>(books));
+    }
+
+    public synchronized int getInstrumentCount() {
+        return books.size();
+    }
+
+    public synchronized long getMessageCount() {
+        return messages;
+    }
+
+    public synchronized long getLevelCount() {
+        return levels;
+    }
+
+    /**
+     * Get the number of levels left out because neither the XML nor the SIDE column gave their side
+     */
+    public synchronized long getSkippedLevels() {
+        return skippedLevels;
+    }
+
+    public int getQuoteReferences() {
+        return quoteReferences;
+    }
+
+    public int getLiveQuoteReferences() {
+        return liveQuoteReferences;
+    }
+
+    public synchronized long getIssueCount(BookIssue.Kind kind) {
+        return issueCounts.getOrDefault(kind, 0L);
+    }
+
+    public synchronized long getIssueCount() {
+        long total = 0;
+        for (long count : issueCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Get the first issues found, up to the configured limit
+     */
+    public synchronized List<BookIssue> getIssues() {
+        return Collections.unmodifiableList(new ArrayList<>(issues));
+    }
+
+    public synchronized List<BookIssue> getIssues(BookIssue.Kind kind) {
+        List<BookIssue> matching = new ArrayList<>();
+        for (BookIssue issue : issues) {
+            if (issue.getKind() == kind) {
+                matching.add(issue);
+            }
+        }
+        return matching;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Whether no book has an issue
+     */
+    public synchronized boolean isClean() {
+        return issueCounts.isEmpty();
+    }
+
+    /**
+     * Get a printable summary of the check
+     */
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Books: %d, Messages: %d, Levels: %d (%d without side)%n",
+                books.size(), messages, levels, skippedLevels));
+        summary.append(String.format("References: XDP_QUOTES %d, XDP_INST_LIVEQUOTE %d%n", quoteReferences, liveQuoteReferences));
+        summary.append(String.format("Time: %d ms%n", totalMillis));
+        for (Map.Entry<BookIssue.Kind, Long> entry : issueCounts.entrySet()) {
+            summary.append(String.format("  %-16s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
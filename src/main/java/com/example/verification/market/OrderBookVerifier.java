@@ -0,0 +1,295 @@
+package com.example.verification.market;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds the market-by-price book of every instrument from XDP_ALL_MBP and checks it
+ * Each book side is taken from the latest message of that instrument and side. The messages are read in
+ * one scan ordered by instrument; batches of whole instruments are parsed and checked in parallel while
+ * the scan goes on, each worker reusing one streaming parser and one set of primitive level arrays
+ * (see BookSide). At most two batches per worker wait in memory, so the scan never runs far ahead.
+ *
+ * The best bid and ask and the size at them are compared with the latest XDP_QUOTES row of the instrument,
+ * the best prices with its XDP_INST_LIVEQUOTE row; both are loaded once per run, one row per instrument.
+ * XDP_QUOTES.INST_SEQ holds the instrument code.
+ *
+ * Settings (database.properties or -D):
+ * - mbp.verify.parallelism      worker threads parsing and checking books (default: available processors)
+ * - mbp.verify.batchSize        instruments per worker task (default 50)
+ * - mbp.verify.priceTolerance   absolute price difference counted as equal (default 0.0001)
+ * - mbp.verify.staleSeconds     how much newer a reference may be before a differing side is stale (default 60)
+ * - mbp.verify.maxStoredIssues  issue details kept in the report (default 1000)
+ */
+public class OrderBookVerifier {
+
+    private static final Logger logger = Logger.getLogger(OrderBookVerifier.class);
+
+    private static final String QUOTES = "XDP_QUOTES";
+    private static final String LIVE_QUOTES = "XDP_INST_LIVEQUOTE";
+    private static final String QUOTES_QUERY = "SELECT INST_SEQ, QUOTE_DATE, BIDPRICE, BIDSIZE, NUMBERBIDORDERS, " +
+            "ASKPRICE, ASKSIZE, NUMBERASKORDERS FROM (" +
+            "SELECT q.*, ROW_NUMBER() OVER (PARTITION BY q.INST_SEQ ORDER BY q.QUOTE_DATE DESC, q.SEQID DESC) AS RN " +
+            "FROM XDP_QUOTES q) WHERE RN = 1";
+    private static final String LIVE_QUOTES_QUERY = "SELECT INST_CODE, UPDATE_DATE, BID_PRICE, ASK_PRICE FROM (" +
+            "SELECT l.*, ROW_NUMBER() OVER (PARTITION BY l.INST_CODE ORDER BY l.UPDATE_DATE DESC) AS RN " +
+            "FROM XDP_INST_LIVEQUOTE l) WHERE RN = 1";
+    // Latest message per instrument and side; XDP_MSG_SEQ is text, so shorter sequences sort first
+    private static final String MBP_QUERY = "SELECT INST_CODE, SIDE, ORDER_TIME, DATA_XML FROM (" +
+            "SELECT m.INST_CODE, m.SIDE, m.ORDER_TIME, m.DATA_XML, ROW_NUMBER() OVER (PARTITION BY m.INST_CODE, m.SIDE " +
+            "ORDER BY m.ORDER_TIME DESC, LENGTH(m.XDP_MSG_SEQ) DESC, m.XDP_MSG_SEQ DESC) AS RN " +
+            "FROM XDP_ALL_MBP m) WHERE RN = 1 ORDER BY INST_CODE";
+
+    private final OracleDBConnection dbConnection;
+    private final int parallelism;
+    private final int batchSize;
+    private final int maxStoredIssues;
+    private final OrderBookChecker checker;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public OrderBookVerifier(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.parallelism = Math.max(1, DBConfig.getInt("mbp.verify.parallelism", Runtime.getRuntime().availableProcessors()));
+        this.batchSize = Math.max(1, DBConfig.getInt("mbp.verify.batchSize", 50));
+        this.maxStoredIssues = Math.max(0, DBConfig.getInt("mbp.verify.maxStoredIssues", 1000));
+        this.checker = new OrderBookChecker(Double.parseDouble(DBConfig.getProperty("mbp.verify.priceTolerance", "0.0001")),
+                DBConfig.getLong("mbp.verify.staleSeconds", 60) * 1000);
+    }
+
+    /**
+     * Rebuild and check every book
+     * @return Report with the books and their issues
+     * @throws SQLException if a table cannot be read
+     */
+    public OrderBookReport verify() throws SQLException {
+        long started = System.currentTimeMillis();
+        Map<String, TopOfBook> quotes = loadQuotes();
+        Map<String, TopOfBook> liveQuotes = loadLiveQuotes();
+
+        OrderBookReport report = new OrderBookReport(maxStoredIssues);
+        report.setReferences(quotes.size(), liveQuotes.size());
+        logger.info("Rebuilding MBP books on " + parallelism + " thread(s) against " + quotes.size()
+                + " quote(s) and " + liveQuotes.size() + " live quote(s)");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "mbp-books-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            try (RowCursor cursor = dbConnection.openCursor(MBP_QUERY)) {
+                List<Message> batch = new ArrayList<>();
+                String current = null;
+                int instruments = 0;
+                while (cursor.next()) {
+                    Row row = cursor.row();
+                    String instrument = row.getString("INST_CODE");
+                    if (instrument.isEmpty()) {
+                        continue;
+                    }
+                    if (!instrument.equals(current)) {
+                        if (instruments == batchSize) {
+                            futures.add(submit(executor, inFlight, batch, quotes, liveQuotes, report));
+                            batch = new ArrayList<>();
+                            instruments = 0;
+                        }
+                        current = instrument;
+                        instruments++;
+                    }
+                    Timestamp time = row.getTimestamp("ORDER_TIME");
+                    batch.add(new Message(instrument, row.getString("SIDE"), time != null ? time.getTime() : 0,
+                            text(row.getObject("DATA_XML"))));
+                }
+                if (!batch.isEmpty()) {
+                    futures.add(submit(executor, inFlight, batch, quotes, liveQuotes, report));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while rebuilding MBP books", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error rebuilding MBP books: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        reportMissingBooks(quotes, report);
+        reportMissingBooks(liveQuotes, report);
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("MBP book check finished: " + report.getSummary());
+        return report;
+    }
+
+    private Future<?> submit(ExecutorService executor, Semaphore inFlight, List<Message> batch,
+                             Map<String, TopOfBook> quotes, Map<String, TopOfBook> liveQuotes,
+                             OrderBookReport report) throws InterruptedException {
+        inFlight.acquire();
+        return executor.submit(() -> {
+            try {
+                workers.get().rebuild(batch, quotes, liveQuotes, report);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static void reportMissingBooks(Map<String, TopOfBook> references, OrderBookReport report) {
+        for (Map.Entry<String, TopOfBook> entry : references.entrySet()) {
+            TopOfBook reference = entry.getValue();
+            if ((reference.hasPrice(true) || reference.hasPrice(false)) && !report.hasBook(entry.getKey())) {
+                report.addIssue(new BookIssue(BookIssue.Kind.NO_BOOK, entry.getKey(), null, reference.getSource(),
+                        "bid " + reference.getPrice(true) + ", ask " + reference.getPrice(false)));
+            }
+        }
+    }
+
+    private Map<String, TopOfBook> loadQuotes() throws SQLException {
+        Map<String, TopOfBook> quotes = new HashMap<>();
+        try (RowCursor cursor = dbConnection.openCursor(QUOTES_QUERY)) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                quotes.put(row.getString("INST_SEQ"), new TopOfBook(QUOTES,
+                        price(row, "BIDPRICE"), count(row, "BIDSIZE"), (int) count(row, "NUMBERBIDORDERS"),
+                        price(row, "ASKPRICE"), count(row, "ASKSIZE"), (int) count(row, "NUMBERASKORDERS"),
+                        millis(row, "QUOTE_DATE")));
+            }
+        }
+        return quotes;
+    }
+
+    private Map<String, TopOfBook> loadLiveQuotes() throws SQLException {
+        Map<String, TopOfBook> liveQuotes = new HashMap<>();
+        try (RowCursor cursor = dbConnection.openCursor(LIVE_QUOTES_QUERY)) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                liveQuotes.put(row.getString("INST_CODE"), new TopOfBook(LIVE_QUOTES,
+                        price(row, "BID_PRICE"), -1, -1, price(row, "ASK_PRICE"), -1, -1, millis(row, "UPDATE_DATE")));
+            }
+        }
+        return liveQuotes;
+    }
+
+    /**
+     * Read DATA_XML while the cursor is on the row; a CLOB locator is only valid on the reading connection
+     */
+    private static String text(Object xml) throws SQLException {
+        if (xml instanceof Clob) {
+            Clob clob = (Clob) xml;
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return xml != null ? xml.toString() : null;
+    }
+
+    private static double price(Row row, String column) throws SQLException {
+        BigDecimal value = row.getBigDecimal(column);
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static long count(Row row, String column) throws SQLException {
+        BigDecimal value = row.getBigDecimal(column);
+        return value != null ? value.longValue() : -1;
+    }
+
+    private static long millis(Row row, String column) throws SQLException {
+        Timestamp value = row.getTimestamp(column);
+        return value != null ? value.getTime() : 0;
+    }
+
+    /**
+     * Latest XDP_ALL_MBP message of one instrument and side
+     */
+    private static final class Message {
+        private final String instrument;
+        private final String side;
+        private final long timeMillis;
+        private final String xml;
+
+        private Message(String instrument, String side, long timeMillis, String xml) {
+            this.instrument = instrument;
+            this.side = side;
+            this.timeMillis = timeMillis;
+            this.xml = xml;
+        }
+    }
+
+    /**
+     * Parser and scratch levels of one worker thread
+     */
+    private final class Worker {
+        private final MbpXmlParser parser = new MbpXmlParser();
+        private final BookSide bids = new BookSide(64);
+        private final BookSide asks = new BookSide(64);
+
+        private void rebuild(List<Message> batch, Map<String, TopOfBook> quotes, Map<String, TopOfBook> liveQuotes,
+                             OrderBookReport report) {
+            long skipped = 0;
+            MbpBook book = null;
+            for (Message message : batch) {
+                if (book == null || !book.getInstrument().equals(message.instrument)) {
+                    finish(book, quotes, liveQuotes, report);
+                    book = new MbpBook(message.instrument);
+                }
+                int side = MbpXmlParser.parseSide(message.side);
+                bids.clear();
+                asks.clear();
+                if (message.xml != null) {
+                    try {
+                        skipped += parser.parse(new StringReader(message.xml), side, bids, asks);
+                    } catch (XMLStreamException | NumberFormatException e) {
+                        report.addIssue(new BookIssue(BookIssue.Kind.UNREADABLE, message.instrument, message.side, null,
+                                String.valueOf(e.getMessage())));
+                        continue;
+                    }
+                }
+                if (side == MbpXmlParser.BID || (side == MbpXmlParser.UNKNOWN && !bids.isEmpty())) {
+                    bids.setTimeMillis(message.timeMillis);
+                    book.getBids().copyFrom(bids);
+                }
+                if (side == MbpXmlParser.ASK || (side == MbpXmlParser.UNKNOWN && !asks.isEmpty())) {
+                    asks.setTimeMillis(message.timeMillis);
+                    book.getAsks().copyFrom(asks);
+                }
+            }
+            finish(book, quotes, liveQuotes, report);
+            report.addMessages(batch.size(), skipped);
+        }
+
+        private void finish(MbpBook book, Map<String, TopOfBook> quotes, Map<String, TopOfBook> liveQuotes,
+                            OrderBookReport report) {
+            if (book != null) {
+                report.addBook(book, checker.check(book, quotes.get(book.getInstrument()),
+                        liveQuotes.get(book.getInstrument())));
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.verification.market;
+
+/**
+ * One difference between the trade tape and a table that summarises it
+ * - PRICE_MISMATCH: open, high, low or last price differs
+ * - VWAP_MISMATCH: average price differs by more than the value tolerance
+ * - VOLUME_MISMATCH: traded quantity differs
+ * - VALUE_MISMATCH: traded value differs by more than the value tolerance
+ * - TRADE_COUNT_MISMATCH: number of trades differs
+ * - NO_SUMMARY: the tape has trades for the instrument but the table has no row for it
+ * - NO_TRADES: the table reports trading but the tape has no trade for the instrument
+ */
+public class TapeIssue {
+
+    public enum Kind {
+        PRICE_MISMATCH, VWAP_MISMATCH, VOLUME_MISMATCH, VALUE_MISMATCH, TRADE_COUNT_MISMATCH, NO_SUMMARY, NO_TRADES
+    }
+
+    private final Kind kind;
+    private final String instrument;
+    private final String field;
+    private final String source;
+    private final String detail;
+
+    TapeIssue(Kind kind, String instrument, String field, String source, String detail) {
+        this.kind = kind;
+        this.instrument = instrument;
+        this.field = field;
+        this.source = source;
+        this.detail = detail;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /**
+     * Get the compared figure (OPEN, HIGH, LOW, LAST, VWAP, VOLUME, VALUE, TRADES), null for missing rows
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Get the table the tape was compared with
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + instrument + (field != null ? " " + field : "") + " vs " + source + ": " + detail;
+    }
+}
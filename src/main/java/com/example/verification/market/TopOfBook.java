@@ -0,0 +1,63 @@
+package com.example.verification.market;
+
+/**
+ * Best bid and ask of one instrument as another table reports them (XDP_QUOTES or XDP_INST_LIVEQUOTE)
+ * Prices are NaN and sizes and order counts -1 when the table has no value for them.
+ */
+public final class TopOfBook {
+
+    private final String source;
+    private final double bidPrice;
+    private final long bidSize;
+    private final int bidOrders;
+    private final double askPrice;
+    private final long askSize;
+    private final int askOrders;
+    private final long timeMillis;
+
+    public TopOfBook(String source, double bidPrice, long bidSize, int bidOrders,
+                     double askPrice, long askSize, int askOrders, long timeMillis) {
+        this.source = source;
+        this.bidPrice = bidPrice;
+        this.bidSize = bidSize;
+        this.bidOrders = bidOrders;
+        this.askPrice = askPrice;
+        this.askSize = askSize;
+        this.askOrders = askOrders;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Get the table the values come from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public double getPrice(boolean bid) {
+        return bid ? bidPrice : askPrice;
+    }
+
+    public long getSize(boolean bid) {
+        return bid ? bidSize : askSize;
+    }
+
+    public int getOrders(boolean bid) {
+        return bid ? bidOrders : askOrders;
+    }
+
+    /**
+     * Get when the values were last updated (epoch millis, 0 if unknown)
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Whether the table reports a price for the side (zero means no orders on that side)
+     */
+    public boolean hasPrice(boolean bid) {
+        double price = getPrice(bid);
+        return !Double.isNaN(price) && price > 0;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.verification.market;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running open/high/low/last, volume, value and trade count of every instrument on one trade tape
+ * Each instrument gets a slot in parallel primitive arrays that grow as new instruments appear, so a day
+ * of trades costs one array entry per instrument and field rather than one object per trade.
+ * Trades may arrive in any order: open and last follow the trade time, then the trade sequence.
+ * Cancelled trades are counted but left out of every other figure.
+ *
+ * Not thread-safe; one tape is filled by one reader.
+ */
+public final class TradeTape {
+
+    public static final String SOURCE = "XDP_TRADES";
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] instruments;
+    private double[] open;
+    private long[] openTime;
+    private long[] openSeq;
+    private double[] high;
+    private double[] low;
+    private double[] last;
+    private long[] lastTime;
+    private long[] lastSeq;
+    private long[] volume;
+    private double[] value;
+    private int[] trades;
+    private int[] cancelled;
+    // Running figures the latest trade row itself carries (HIGHESTPRICE, LOWESTPRICE, CUMULATIVEQUANTITY)
+    private double[] reportedHigh;
+    private double[] reportedLow;
+    private long[] reportedVolume;
+    private long[] reportedTime;
+    private long[] reportedSeq;
+    private int size;
+
+    public TradeTape() {
+        this(256);
+    }
+
+    /**
+     * Constructor
+     * @param capacity Expected number of instruments; the arrays grow past it as needed
+     */
+    public TradeTape(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Get the slot of an instrument, adding it on first sight
+     */
+    public int slot(String instrument) {
+        Integer slot = slots.get(instrument);
+        if (slot != null) {
+            return slot;
+        }
+        if (size == instruments.length) {
+            allocate(size * 2);
+        }
+        instruments[size] = instrument;
+        open[size] = Double.NaN;
+        high[size] = Double.NaN;
+        low[size] = Double.NaN;
+        last[size] = Double.NaN;
+        openTime[size] = Long.MAX_VALUE;
+        openSeq[size] = Long.MAX_VALUE;
+        lastTime[size] = Long.MIN_VALUE;
+        lastSeq[size] = Long.MIN_VALUE;
+        reportedHigh[size] = Double.NaN;
+        reportedLow[size] = Double.NaN;
+        reportedVolume[size] = -1;
+        reportedTime[size] = Long.MIN_VALUE;
+        reportedSeq[size] = Long.MIN_VALUE;
+        slots.put(instrument, size);
+        return size++;
+    }
+
+    /**
+     * Add one trade
+     * @param slot Instrument slot from slot()
+     * @param timeMillis Trade time (epoch millis)
+     * @param seq Trade sequence, orders trades with the same time
+     * @param price Trade price
+     * @param quantity Traded quantity
+     * @param isCancelled Whether the trade was cancelled
+     */
+    public void add(int slot, long timeMillis, long seq, double price, long quantity, boolean isCancelled) {
+        if (isCancelled) {
+            cancelled[slot]++;
+            return;
+        }
+        if (trades[slot] == 0 || price > high[slot]) {
+            high[slot] = price;
+        }
+        if (trades[slot] == 0 || price < low[slot]) {
+            low[slot] = price;
+        }
+        if (before(timeMillis, seq, openTime[slot], openSeq[slot])) {
+            open[slot] = price;
+            openTime[slot] = timeMillis;
+            openSeq[slot] = seq;
+        }
+        if (!before(timeMillis, seq, lastTime[slot], lastSeq[slot])) {
+            last[slot] = price;
+            lastTime[slot] = timeMillis;
+            lastSeq[slot] = seq;
+        }
+        volume[slot] += quantity;
+        value[slot] += price * quantity;
+        trades[slot]++;
+    }
+
+    /**
+     * Record the running high, low and cumulative quantity a trade row carries; the latest trade's are kept
+     * @param slot Instrument slot from slot()
+     * @param timeMillis Trade time (epoch millis)
+     * @param seq Trade sequence
+     * @param highestPrice HIGHESTPRICE of the row, NaN if empty
+     * @param lowestPrice LOWESTPRICE of the row, NaN if empty
+     * @param cumulativeQuantity CUMULATIVEQUANTITY of the row, -1 if empty
+     */
+    public void report(int slot, long timeMillis, long seq, double highestPrice, double lowestPrice,
+                       long cumulativeQuantity) {
+        if (!before(timeMillis, seq, reportedTime[slot], reportedSeq[slot])) {
+            reportedHigh[slot] = highestPrice;
+            reportedLow[slot] = lowestPrice;
+            reportedVolume[slot] = cumulativeQuantity;
+            reportedTime[slot] = timeMillis;
+            reportedSeq[slot] = seq;
+        }
+    }
+
+    private static boolean before(long time, long seq, long otherTime, long otherSeq) {
+        return time < otherTime || (time == otherTime && seq < otherSeq);
+    }
+
+    /**
+     * Get the number of instruments seen, cancelled-only ones included
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getInstrument(int slot) {
+        return instruments[slot];
+    }
+
+    public int getCancelled(int slot) {
+        return cancelled[slot];
+    }
+
+    /**
+     * Get the figures of one instrument, null if the tape never saw it
+     */
+    public InstrumentBar getBar(String instrument) {
+        Integer slot = slots.get(instrument);
+        return slot != null ? bar(slot) : null;
+    }
+
+    /**
+     * Get the figures of one slot
+     */
+    public InstrumentBar bar(int slot) {
+        double vwap = volume[slot] > 0 ? value[slot] / volume[slot] : Double.NaN;
+        return new InstrumentBar(instruments[slot], SOURCE, open[slot], high[slot], low[slot], last[slot], vwap,
+                volume[slot], value[slot], trades[slot]);
+    }
+
+    /**
+     * Get the running figures of the latest trade row of one slot, null if no row carried them
+     */
+    public InstrumentBar reportedBar(int slot) {
+        if (reportedTime[slot] == Long.MIN_VALUE) {
+            return null;
+        }
+        return new InstrumentBar(instruments[slot], SOURCE + " latest row", Double.NaN, reportedHigh[slot],
+                reportedLow[slot], Double.NaN, Double.NaN, reportedVolume[slot], Double.NaN, -1);
+    }
+
+    /**
+     * Get every instrument's figures
+     */
+    public List<InstrumentBar> bars() {
+        List<InstrumentBar> bars = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            bars.add(bar(slot));
+        }
+        return bars;
+    }
+
+    /**
+     * Get the figures of the whole tape: volume, value and trade count summed over the instruments
+     */
+    public InstrumentBar totals(String label) {
+        long totalVolume = 0;
+        double totalValue = 0;
+        int totalTrades = 0;
+        for (int slot = 0; slot < size; slot++) {
+            totalVolume += volume[slot];
+            totalValue += value[slot];
+            totalTrades += trades[slot];
+        }
+        double vwap = totalVolume > 0 ? totalValue / totalVolume : Double.NaN;
+        return new InstrumentBar(label, SOURCE, Double.NaN, Double.NaN, Double.NaN, Double.NaN, vwap,
+                totalVolume, totalValue, totalTrades);
+    }
+
+    private void allocate(int capacity) {
+        instruments = instruments == null ? new String[capacity] : Arrays.copyOf(instruments, capacity);
+        open = grow(open, capacity);
+        openTime = grow(openTime, capacity);
+        openSeq = grow(openSeq, capacity);
+        high = grow(high, capacity);
+        low = grow(low, capacity);
+        last = grow(last, capacity);
+        lastTime = grow(lastTime, capacity);
+        lastSeq = grow(lastSeq, capacity);
+        volume = grow(volume, capacity);
+        value = grow(value, capacity);
+        trades = trades == null ? new int[capacity] : Arrays.copyOf(trades, capacity);
+        cancelled = cancelled == null ? new int[capacity] : Arrays.copyOf(cancelled, capacity);
+        reportedHigh = grow(reportedHigh, capacity);
+        reportedLow = grow(reportedLow, capacity);
+        reportedVolume = grow(reportedVolume, capacity);
+        reportedTime = grow(reportedTime, capacity);
+        reportedSeq = grow(reportedSeq, capacity);
+    }
+
+    private static double[] grow(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static long[] grow(long[] array, int capacity) {
+        return array == null ? new long[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.verification.market;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the figures the trade tape adds up with the figures a summary table reports
+ * Only the fields the table has a value for are compared. Prices are equal within an absolute tolerance;
+ * value and VWAP within a relative one, since tables round them; volume and trade count must match exactly.
+ */
+public class TradeTapeChecker {
+
+    private final double priceTolerance;
+    private final double valueTolerance;
+
+    /**
+     * Constructor
+     * @param priceTolerance Absolute price difference still counted as equal
+     * @param valueTolerance Relative value and VWAP difference still counted as equal (0.0001 = 0.01%)
+     */
+    public TradeTapeChecker(double priceTolerance, double valueTolerance) {
+        this.priceTolerance = priceTolerance;
+        this.valueTolerance = valueTolerance;
+    }
+
+    /**
+     * Compare an instrument or market
+     * @param tape Figures added up from the trades, null if the tape has no trade for it
+     * @param reference Figures the table reports, null if the table has no row for it
+     * @return Differences found, empty if the figures agree
+     */
+    public List<TapeIssue> check(InstrumentBar tape, InstrumentBar reference) {
+        List<TapeIssue> issues = new ArrayList<>(0);
+        if (reference == null) {
+            if (tape != null && tape.hasTrades()) {
+                issues.add(new TapeIssue(TapeIssue.Kind.NO_SUMMARY, tape.getInstrument(), null, null,
+                        tape.getTrades() + " trade(s), volume " + tape.getVolume()));
+            }
+            return issues;
+        }
+        if (tape == null || !tape.hasTrades()) {
+            if (reference.hasTrades()) {
+                issues.add(new TapeIssue(TapeIssue.Kind.NO_TRADES, reference.getInstrument(), null,
+                        reference.getSource(), "reported " + reference.getTrades() + " trade(s), volume "
+                        + reference.getVolume()));
+            }
+            return issues;
+        }
+        String instrument = tape.getInstrument();
+        String source = reference.getSource();
+        comparePrice(instrument, "OPEN", tape.getOpen(), reference.getOpen(), source, issues);
+        comparePrice(instrument, "HIGH", tape.getHigh(), reference.getHigh(), source, issues);
+        comparePrice(instrument, "LOW", tape.getLow(), reference.getLow(), source, issues);
+        comparePrice(instrument, "LAST", tape.getLast(), reference.getLast(), source, issues);
+        if (!Double.isNaN(reference.getVwap()) && differs(tape.getVwap(), reference.getVwap())) {
+            issues.add(new TapeIssue(TapeIssue.Kind.VWAP_MISMATCH, instrument, "VWAP", source,
+                    "tape " + tape.getVwap() + ", reported " + reference.getVwap()));
+        }
+        if (reference.getVolume() >= 0 && tape.getVolume() != reference.getVolume()) {
+            issues.add(new TapeIssue(TapeIssue.Kind.VOLUME_MISMATCH, instrument, "VOLUME", source,
+                    "tape " + tape.getVolume() + ", reported " + reference.getVolume()));
+        }
+        if (!Double.isNaN(reference.getValue()) && differs(tape.getValue(), reference.getValue())) {
+            issues.add(new TapeIssue(TapeIssue.Kind.VALUE_MISMATCH, instrument, "VALUE", source,
+                    "tape " + tape.getValue() + ", reported " + reference.getValue()));
+        }
+        if (reference.getTrades() >= 0 && tape.getTrades() != reference.getTrades()) {
+            issues.add(new TapeIssue(TapeIssue.Kind.TRADE_COUNT_MISMATCH, instrument, "TRADES", source,
+                    "tape " + tape.getTrades() + ", reported " + reference.getTrades()));
+        }
+        return issues;
+    }
+
+    private void comparePrice(String instrument, String field, double tape, double reported, String source,
+                              List<TapeIssue> issues) {
+        if (!Double.isNaN(reported) && !(Math.abs(tape - reported) <= priceTolerance)) {
+            issues.add(new TapeIssue(TapeIssue.Kind.PRICE_MISMATCH, instrument, field, source,
+                    "tape " + tape + ", reported " + reported));
+        }
+    }
+
+    private boolean differs(double tape, double reported) {
+        return !(Math.abs(tape - reported) <= valueTolerance * Math.max(Math.abs(tape), Math.abs(reported)));
+    }
+}
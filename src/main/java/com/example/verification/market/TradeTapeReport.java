@@ -0,0 +1,177 @@
+package com.example.verification.market;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of adding up one day's trade tape and comparing it with the summary tables
+ * Holds every issue count but only the first maxStoredIssues issue details.
+ */
+public class TradeTapeReport {
+
+    private final String window;
+    private final int maxStoredIssues;
+    private final Map<TapeIssue.Kind, Long> issueCounts = new EnumMap<>(TapeIssue.Kind.class);
+    private final List<TapeIssue> issues = new ArrayList<>();
+    private TradeTape tape;
+    private InstrumentBar totals;
+    private InstrumentBar marketTotals;
+    private long rows;
+    private long cancelledTrades;
+    private int liveQuoteReferences;
+    private int marketSummaryRows;
+    private long totalMillis;
+
+    TradeTapeReport(String window, int maxStoredIssues) {
+        this.window = window;
+        this.maxStoredIssues = maxStoredIssues;
+    }
+
+    void addIssues(List<TapeIssue> found) {
+        for (TapeIssue issue : found) {
+            issueCounts.merge(issue.getKind(), 1L, Long::sum);
+            if (issues.size() < maxStoredIssues) {
+                issues.add(issue);
+            }
+        }
+    }
+
+    void setTape(TradeTape tape, long rows, long cancelledTrades) {
+        this.tape = tape;
+        this.rows = rows;
+        this.cancelledTrades = cancelledTrades;
+        this.totals = tape.totals("ALL");
+    }
+
+    void setReferences(int liveQuoteReferences, int marketSummaryRows, InstrumentBar marketTotals) {
+        this.liveQuoteReferences = liveQuoteReferences;
+        this.marketSummaryRows = marketSummaryRows;
+        this.marketTotals = marketTotals;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Get the trading day checked, as a date range
+     */
+    public String getWindow() {
+        return window;
+    }
+
+    /**
+     * Get the day figures of an instrument, null if it had no trade
+     */
+    public InstrumentBar getBar(String instrument) {
+        return tape != null ? tape.getBar(instrument) : null;
+    }
+
+    /**
+     * Get every instrument's day figures
+     */
+    public List<InstrumentBar> getBars() {
+        return tape != null ? tape.bars() : Collections.emptyList();
+    }
+
+    /**
+     * Get the volume, value and trade count of the whole tape
+     */
+    public InstrumentBar getTotals() {
+        return totals;
+    }
+
+    /**
+     * Get XDP_MARKET_SUMMARY summed over its rows for the day, null if it has none
+     */
+    public InstrumentBar getMarketTotals() {
+        return marketTotals;
+    }
+
+    public int getInstrumentCount() {
+        return tape != null ? tape.size() : 0;
+    }
+
+    /**
+     * Get the number of XDP_TRADES rows read, cancelled ones included
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    public long getCancelledTrades() {
+        return cancelledTrades;
+    }
+
+    public int getLiveQuoteReferences() {
+        return liveQuoteReferences;
+    }
+
+    public int getMarketSummaryRows() {
+        return marketSummaryRows;
+    }
+
+    public long getIssueCount(TapeIssue.Kind kind) {
+        return issueCounts.getOrDefault(kind, 0L);
+    }
+
+    public long getIssueCount() {
+        long total = 0;
+        for (long count : issueCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Get the first issues found, up to the configured limit
+     */
+    public List<TapeIssue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    public List<TapeIssue> getIssues(TapeIssue.Kind kind) {
+        List<TapeIssue> matching = new ArrayList<>();
+        for (TapeIssue issue : issues) {
+            if (issue.getKind() == kind) {
+                matching.add(issue);
+            }
+        }
+        return matching;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Whether the tape agrees with every summary
+     */
+    public boolean isClean() {
+        return issueCounts.isEmpty();
+    }
+
+    /**
+     * Get a printable summary of the check
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Window: %s%n", window));
+        summary.append(String.format("Trades: %d rows, %d cancelled, %d instrument(s)%n",
+                rows, cancelledTrades, getInstrumentCount()));
+        if (totals != null) {
+            summary.append(String.format("Tape totals: volume %d, value %.2f, trades %d%n",
+                    totals.getVolume(), totals.getValue(), totals.getTrades()));
+        }
+        summary.append(String.format("References: XDP_INST_LIVEQUOTE %d, XDP_MARKET_SUMMARY %d%n",
+                liveQuoteReferences, marketSummaryRows));
+        summary.append(String.format("Time: %d ms%n", totalMillis));
+        for (Map.Entry<TapeIssue.Kind, Long> entry : issueCounts.entrySet()) {
+            summary.append(String.format("  %-20s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
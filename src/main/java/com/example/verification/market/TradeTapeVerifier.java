@@ -0,0 +1,229 @@
+package com.example.verification.market;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.ColumnIndex;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds up one day's XDP_TRADES tape per instrument and checks it against the tables that summarise it
+ * The trades are read in one unordered scan straight into a TradeTape (primitive per-instrument
+ * accumulators), so the database streams the rows and no trade is kept in memory. Cancelled trades
+ * (ISCANCELLED Y/1/TRUE) are counted and left out.
+ *
+ * Each instrument's open, high, low, last, VWAP, volume, value and trade count are compared with its latest
+ * XDP_INST_LIVEQUOTE row of the day (FIRSTPRICE, HIGHESTPRICE, LOWESTPRICE, LASTPRICE, AVG_PRICE,
+ * CUMULATIVEQUANTITY, AMOUNTTRADED, NBTRADES; columns the table lacks are skipped), and its high, low and
+ * volume with the running figures on its own latest trade row. XDP_MARKET_SUMMARY has no instrument column,
+ * so its CURRENT_TRADES, CURRENT_VOLUME and CURRENT_VALUE, summed over the day's rows, are compared with the
+ * totals of the whole tape. XDP_TRADES has no INST_CODE column: its INST_SEQ holds the instrument code,
+ * so trades are keyed by INST_SEQ and matched with the live quotes' INST_CODE.
+ *
+ * Settings (database.properties or -D):
+ * - tape.verify.priceTolerance   absolute price difference counted as equal (default 0.0001)
+ * - tape.verify.valueTolerance   relative value and VWAP difference counted as equal (default 0.0001)
+ * - tape.verify.maxStoredIssues  issue details kept in the report (default 1000)
+ */
+public class TradeTapeVerifier {
+
+    private static final Logger logger = Logger.getLogger(TradeTapeVerifier.class);
+
+    private static final String LIVE_QUOTES = "XDP_INST_LIVEQUOTE";
+    private static final String MARKET_SUMMARY = "XDP_MARKET_SUMMARY";
+    private static final String TRADES_QUERY = "SELECT t.INST_SEQ AS INST, t.TRADE_DATE, t.SEQ, t.PRICE, t.VOLUME, " +
+            "t.ISCANCELLED, t.HIGHESTPRICE, t.LOWESTPRICE, t.CUMULATIVEQUANTITY FROM XDP_TRADES t WHERE ";
+
+    private final OracleDBConnection dbConnection;
+    private final int maxStoredIssues;
+    private final TradeTapeChecker checker;
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public TradeTapeVerifier(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.maxStoredIssues = Math.max(0, DBConfig.getInt("tape.verify.maxStoredIssues", 1000));
+        this.checker = new TradeTapeChecker(
+                Double.parseDouble(DBConfig.getProperty("tape.verify.priceTolerance", "0.0001")),
+                Double.parseDouble(DBConfig.getProperty("tape.verify.valueTolerance", "0.0001")));
+    }
+
+    /**
+     * Check today's tape, by the database clock
+     * @return Report with the day figures and their issues
+     * @throws SQLException if a table cannot be read
+     */
+    public TradeTapeReport verify() throws SQLException {
+        return verify(DateWindow.databaseToday());
+    }
+
+    /**
+     * Check the tape of one trading day
+     * Summary rows last updated on another day are not compared.
+     * @param window Trading day
+     * @return Report with the day figures and their issues
+     * @throws SQLException if a table cannot be read
+     */
+    public TradeTapeReport verify(DateWindow window) throws SQLException {
+        long started = System.currentTimeMillis();
+        TradeTapeReport report = new TradeTapeReport(window.toString(), maxStoredIssues);
+
+        TradeTape tape = new TradeTape();
+        long rows = 0;
+        long cancelledTrades = 0;
+        try (RowCursor cursor = dbConnection.openCursor(TRADES_QUERY + window.predicate("t.TRADE_DATE"),
+                window.getParameters().toArray())) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                rows++;
+                String instrument = row.getString("INST");
+                if (instrument.isEmpty()) {
+                    continue;
+                }
+                int slot = tape.slot(instrument);
+                Timestamp time = row.getTimestamp("TRADE_DATE");
+                long timeMillis = time != null ? time.getTime() : 0;
+                long seq = row.getLong("SEQ");
+                boolean cancelled = isCancelled(row.getString("ISCANCELLED"));
+                if (cancelled) {
+                    cancelledTrades++;
+                }
+                tape.add(slot, timeMillis, seq, row.getDouble("PRICE"), row.getLong("VOLUME"), cancelled);
+                if (!cancelled) {
+                    tape.report(slot, timeMillis, seq, price(row.getBigDecimal("HIGHESTPRICE")),
+                            price(row.getBigDecimal("LOWESTPRICE")), count(row.getBigDecimal("CUMULATIVEQUANTITY")));
+                }
+            }
+        }
+        report.setTape(tape, rows, cancelledTrades);
+        logger.info("Trade tape read: " + rows + " row(s), " + tape.size() + " instrument(s) in "
+                + (System.currentTimeMillis() - started) + " ms");
+
+        Map<String, InstrumentBar> liveQuotes = loadLiveQuotes(window);
+        for (int slot = 0; slot < tape.size(); slot++) {
+            InstrumentBar bar = tape.bar(slot);
+            report.addIssues(checker.check(bar, liveQuotes.get(bar.getInstrument())));
+            InstrumentBar reported = tape.reportedBar(slot);
+            if (reported != null && bar.hasTrades()) {
+                report.addIssues(checker.check(bar, reported));
+            }
+        }
+        for (Map.Entry<String, InstrumentBar> entry : liveQuotes.entrySet()) {
+            if (tape.getBar(entry.getKey()) == null) {
+                report.addIssues(checker.check(null, entry.getValue()));
+            }
+        }
+
+        int[] marketRows = new int[1];
+        InstrumentBar marketTotals = loadMarketTotals(window, marketRows);
+        report.setReferences(liveQuotes.size(), marketRows[0], marketTotals);
+        report.addIssues(checker.check(report.getTotals(), marketTotals));
+
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Trade tape check finished: " + report.getSummary());
+        return report;
+    }
+
+    private Map<String, InstrumentBar> loadLiveQuotes(DateWindow window) throws SQLException {
+        String query = "SELECT * FROM (SELECT l.*, ROW_NUMBER() OVER (PARTITION BY l.INST_CODE " +
+                "ORDER BY l.UPDATE_DATE DESC) AS RN FROM XDP_INST_LIVEQUOTE l WHERE " +
+                window.predicate("l.UPDATE_DATE") + ") WHERE RN = 1";
+        Map<String, InstrumentBar> liveQuotes = new HashMap<>();
+        try (RowCursor cursor = dbConnection.openCursor(query, window.getParameters().toArray())) {
+            ColumnIndex columns = cursor.getColumns();
+            while (cursor.next()) {
+                Row row = cursor.row();
+                String instrument = row.getString("INST_CODE");
+                if (instrument.isEmpty()) {
+                    continue;
+                }
+                double trades = number(row, columns, "NBTRADES");
+                double volume = number(row, columns, "CUMULATIVEQUANTITY");
+                liveQuotes.put(instrument, new InstrumentBar(instrument, LIVE_QUOTES,
+                        number(row, columns, "FIRSTPRICE"), number(row, columns, "HIGHESTPRICE"),
+                        number(row, columns, "LOWESTPRICE"), number(row, columns, "LASTPRICE"),
+                        number(row, columns, "AVG_PRICE"), Double.isNaN(volume) ? -1 : (long) volume,
+                        number(row, columns, "AMOUNTTRADED"), Double.isNaN(trades) ? -1 : (int) trades));
+            }
+        }
+        return liveQuotes;
+    }
+
+    private InstrumentBar loadMarketTotals(DateWindow window, int[] rowCount) throws SQLException {
+        String query = "SELECT * FROM XDP_MARKET_SUMMARY s WHERE " + window.predicate("s.DATEOFLASTUPDATE");
+        long trades = 0;
+        long volume = 0;
+        double value = 0;
+        try (RowCursor cursor = dbConnection.openCursor(query, window.getParameters().toArray())) {
+            ColumnIndex columns = cursor.getColumns();
+            while (cursor.next()) {
+                Row row = cursor.row();
+                rowCount[0]++;
+                trades += zeroIfEmpty(number(row, columns, "CURRENT_TRADES"));
+                volume += zeroIfEmpty(number(row, columns, "CURRENT_VOLUME"));
+                value += zeroIfEmpty(number(row, columns, "CURRENT_VALUE"));
+            }
+        }
+        if (rowCount[0] == 0) {
+            return null;
+        }
+        return new InstrumentBar("ALL", MARKET_SUMMARY, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                volume, value, (int) trades);
+    }
+
+    /**
+     * Whether an ISCANCELLED value marks the trade as cancelled (Y, YES, 1, T, TRUE; case-insensitive)
+     */
+    public static boolean isCancelled(String value) {
+        if (value == null) {
+            return false;
+        }
+        String flag = value.trim();
+        return flag.equalsIgnoreCase("Y") || flag.equalsIgnoreCase("YES") || flag.equals("1")
+                || flag.equalsIgnoreCase("T") || flag.equalsIgnoreCase("TRUE");
+    }
+
+    /**
+     * Read a summary figure, NaN if the column is missing, empty or not a number
+     * The summary tables are selected with *, so a column this class expects may not exist.
+     */
+    private static double number(Row row, ColumnIndex columns, String column) throws SQLException {
+        if (columns.indexOf(column) < 0) {
+            return Double.NaN;
+        }
+        Object value = row.getObject(column);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value == null || value.toString().trim().isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static double zeroIfEmpty(double value) {
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private static double price(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static long count(BigDecimal value) {
+        return value != null ? value.longValue() : -1;
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.verification.mcalc;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowHandler;
+import com.example.verification.market.ClosePriceLookup;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Batched fetch of My Calculator inputs for many NINs
+ * Loads what the per-NIN classes in com.example.screensData.mcalc query one client at a time
+ * (cash, fund summary, portfolio volumes, buy/sell totals, commissions, registry transfers and
+ * MDF_TIME_SERIES closes) with one set-based query per table and NIN chunk, grouped by NIN in the database.
+ *
+ * NINs are bound in IN lists of db.batch.inListSize placeholders. The last chunk is padded with
+ * its final NIN so every chunk uses the same SQL text and hits the statement cache.
+ *
+ * Date windows follow the per-NIN classes: TRUNC(col) BETWEEN start AND end is written as the
+ * equivalent col >= start AND col < end + 1, and SEC_ACC_TRNXS keeps TRNX_DATE BETWEEN start AND end.
+ */
+public class McalcBatchFetcher implements ClosePriceLookup {
+
+    private static final Logger logger = Logger.getLogger(McalcBatchFetcher.class);
+
+    private final OracleDBConnection dbConnection;
+    private final int chunkSize;
+
+    private final Map<String, McalcInputs> inputs = new LinkedHashMap<>();
+    private final Map<String, BigDecimal> openPrices = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, BigDecimal>> closePrices = new HashMap<>();
+    private boolean loadClosePrices = true;
+    private int queryCount;
+    private long elapsedMillis;
+
+    public McalcBatchFetcher(OracleDBConnection dbConnection) {
+        this(dbConnection, DBConfig.getBatchInListSize());
+    }
+
+    public McalcBatchFetcher(OracleDBConnection dbConnection, int chunkSize) {
+        if (chunkSize < 1 || chunkSize > 1000) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and 1000: " + chunkSize);
+        }
+        this.dbConnection = dbConnection;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Turn the MDF_TIME_SERIES query off when prices come from a ClosePriceIndex instead
+     * @param loadClosePrices false to skip loading closes and open prices
+     */
+    public void setLoadClosePrices(boolean loadClosePrices) {
+        this.loadClosePrices = loadClosePrices;
+    }
+
+    /**
+     * Fetch calculator inputs for all NINs within a date window
+     * @param nins Client NINs (duplicates are ignored)
+     * @param startDate Window start (inclusive)
+     * @param endDate Window end (inclusive)
+     * @return true if all queries succeeded, false otherwise
+     */
+    public boolean fetch(List<String> nins, LocalDate startDate, LocalDate endDate) {
+        inputs.clear();
+        openPrices.clear();
+        closePrices.clear();
+        queryCount = 0;
+        long started = System.currentTimeMillis();
+
+        Set<String> distinct = new LinkedHashSet<>(nins);
+        for (String nin : distinct) {
+            inputs.put(nin, new McalcInputs(nin, startDate, endDate));
+        }
+
+        try {
+            List<String> ninList = new ArrayList<>(distinct);
+            for (int from = 0; from < ninList.size(); from += chunkSize) {
+                List<String> chunk = ninList.subList(from, Math.min(from + chunkSize, ninList.size()));
+                fetchChunk(chunk, startDate, endDate);
+            }
+            if (loadClosePrices) {
+                fetchClosePrices(startDate, endDate);
+            }
+
+            elapsedMillis = System.currentTimeMillis() - started;
+            logger.info("Fetched calculator inputs for " + inputs.size() + " NINs in " + queryCount
+                    + " queries (" + elapsedMillis + " ms)");
+            return true;
+        } catch (SQLException e) {
+            elapsedMillis = System.currentTimeMillis() - started;
+            logger.error("Error fetching calculator inputs: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void fetchChunk(List<String> chunk, LocalDate startDate, LocalDate endDate) throws SQLException {
+        String in = placeholders();
+        Object[] keys = padded(chunk);
+        Date start = Date.valueOf(startDate);
+        Date end = Date.valueOf(endDate);
+        Date endExclusive = Date.valueOf(endDate.plusDays(1));
+
+        // GetCashData
+        query("SELECT NIN, BALANCE_DATE, CUR_BAL FROM sec_cltdaily_balances " +
+                        "WHERE NIN IN (" + in + ") AND balance_date >= ? AND balance_date < ?",
+                row -> inputsFor(row).putDailyCashBalance(toLocalDate(row, "BALANCE_DATE"), row.getBigDecimal("CUR_BAL")),
+                concat(keys, start, endExclusive));
+
+        // GetCashTodayData
+        query("SELECT NIN, CUR_BAL FROM Sec_Clients_Balances WHERE NIN IN (" + in + ")",
+                row -> inputsFor(row).setCashToday(row.getBigDecimal("CUR_BAL")),
+                keys);
+
+        // GetDeptData
+        query("SELECT cl_id AS NIN, SUMMARY_DATE, LAST_ACTUAL_FUND, LAST_TOTAL_DELAY_FEES FROM fund_daily_summary " +
+                        "WHERE cl_id IN (" + in + ") AND SUMMARY_DATE >= ? AND SUMMARY_DATE < ?",
+                row -> inputsFor(row).putFundSummary(toLocalDate(row, "SUMMARY_DATE"),
+                        row.getBigDecimal("LAST_ACTUAL_FUND"), row.getBigDecimal("LAST_TOTAL_DELAY_FEES")),
+                concat(keys, start, endExclusive));
+
+        // GetPortfolioVolumData: snapshots in the window plus the last one on or before the start
+        query("SELECT p.NIN, p.COMPANY_CODE, p.PORTFOLIO_DATE, p.SHARES_COUNT FROM SEC_EQU_DAILY_PORTFOLIO p " +
+                        "WHERE p.NIN IN (" + in + ") AND p.PORTFOLIO_DATE < ? " +
+                        "AND p.PORTFOLIO_DATE >= NVL((SELECT MAX(q.PORTFOLIO_DATE) FROM SEC_EQU_DAILY_PORTFOLIO q " +
+                        "WHERE q.NIN = p.NIN AND q.COMPANY_CODE = p.COMPANY_CODE AND q.PORTFOLIO_DATE < ?), ?)",
+                row -> inputsFor(row).putPortfolioVolume(row.getString("COMPANY_CODE"),
+                        toLocalDate(row, "PORTFOLIO_DATE"), row.getBigDecimal("SHARES_COUNT")),
+                concat(keys, endExclusive, Date.valueOf(startDate.plusDays(1)), start));
+
+        // GetTotalBuyInBetweenData / GetTotalSellInBetweenData
+        query("SELECT NIN, COMPANY_CODE, TRNX_TYPE, TRUNC(TRNX_DATE) AS TRNX_DAY, SUM(AMOUNT) AS TOTAL_AMOUNT " +
+                        "FROM SEC_ACC_TRNXS " +
+                        "WHERE NIN IN (" + in + ") AND TRNX_DATE BETWEEN ? AND ? AND TRNX_TYPE IN ('BUY', 'SELL') " +
+                        "GROUP BY NIN, COMPANY_CODE, TRNX_TYPE, TRUNC(TRNX_DATE)",
+                row -> inputsFor(row).addTotal(row.getString("TRNX_TYPE"), row.getString("COMPANY_CODE"),
+                        toLocalDate(row, "TRNX_DAY"), row.getBigDecimal("TOTAL_AMOUNT")),
+                concat(keys, start, end));
+
+        // GetTotalComissionBuy/SellInBetweenData: INT rows sharing an SL_NO with a BUY or SELL row, probed per
+        // INT row of the chunk like the single-NIN queries instead of scanning every BUY and SELL row
+        query("SELECT a.NIN, a.COMPANY_CODE, s.SIDE, TRUNC(a.TRNX_DATE) AS TRNX_DAY, " +
+                        "SUM(a.AMOUNT) AS TOTAL_AMOUNT FROM SEC_ACC_TRNXS a " +
+                        "JOIN (SELECT 'BUY' AS SIDE FROM DUAL UNION ALL SELECT 'SELL' FROM DUAL) s " +
+                        "ON EXISTS (SELECT 1 FROM SEC_ACC_TRNXS b WHERE b.SL_NO = a.SL_NO AND b.TRNX_TYPE = s.SIDE) " +
+                        "WHERE a.NIN IN (" + in + ") AND a.TRNX_DATE BETWEEN ? AND ? AND a.TRNX_TYPE = 'INT' " +
+                        "GROUP BY a.NIN, a.COMPANY_CODE, s.SIDE, TRUNC(a.TRNX_DATE)",
+                row -> inputsFor(row).addCommission(row.getString("SIDE"), row.getString("COMPANY_CODE"),
+                        toLocalDate(row, "TRNX_DAY"), row.getBigDecimal("TOTAL_AMOUNT")),
+                concat(keys, start, end));
+
+        // GetTotalRegistryTransferDepositData
+        query("SELECT * FROM SEC_EQ_STOCKTRANFER WHERE NIN IN (" + in + ") AND OPERATION_STATUS = 'Success' " +
+                        "AND VOLUME > 0 AND EXECUTION_TIME >= ? AND EXECUTION_TIME < ?",
+                row -> inputsFor(row).addRegistryDeposit(row.toMap()),
+                concat(keys, start, endExclusive));
+
+        // GetTotalRegistryTransferWithdrawData
+        query("SELECT * FROM GRP_REGISTERY_TRANSFER WHERE NIN IN (" + in + ") AND Status = 'Success' " +
+                        "AND CREATION_Time >= ? AND CREATION_Time < ?",
+                row -> inputsFor(row).addRegistryWithdrawal(row.toMap()),
+                concat(keys, start, endExclusive));
+    }
+
+    /**
+     * GetOpenPriceData: closes for every company held or traded, from the last close before the
+     * window start up to the window end
+     */
+    private void fetchClosePrices(LocalDate startDate, LocalDate endDate) throws SQLException {
+        Set<String> companies = new TreeSet<>();
+        for (McalcInputs bundle : inputs.values()) {
+            companies.addAll(bundle.getCompanyCodes());
+            for (Map<String, Object> row : bundle.getRegistryDeposits()) {
+                if (row.get("SYMBOL") != null) {
+                    companies.add(row.get("SYMBOL").toString());
+                }
+            }
+            for (Map<String, Object> row : bundle.getRegistryWithdrawals()) {
+                if (row.get("SYMBOL") != null) {
+                    companies.add(row.get("SYMBOL").toString());
+                }
+            }
+        }
+
+        List<String> companyList = new ArrayList<>(companies);
+        String sql = "SELECT t.COMPANY_CODE, t.TRADE_DATE, t.CLOSE FROM MDF_TIME_SERIES t " +
+                "WHERE t.COMPANY_CODE IN (" + placeholders() + ") AND t.TRADE_DATE < ? " +
+                "AND t.TRADE_DATE >= NVL((SELECT MAX(q.TRADE_DATE) FROM MDF_TIME_SERIES q " +
+                "WHERE q.COMPANY_CODE = t.COMPANY_CODE AND q.TRADE_DATE < ?), ?)";
+        Date start = Date.valueOf(startDate);
+        Date endExclusive = Date.valueOf(endDate.plusDays(1));
+        for (int from = 0; from < companyList.size(); from += chunkSize) {
+            List<String> chunk = companyList.subList(from, Math.min(from + chunkSize, companyList.size()));
+            query(sql, row -> closePrices.computeIfAbsent(row.getString("COMPANY_CODE"), k -> new TreeMap<>())
+                            .put(toLocalDate(row, "TRADE_DATE"), row.getBigDecimal("CLOSE")),
+                    concat(padded(chunk), endExclusive, start, start));
+        }
+
+        for (Map.Entry<String, NavigableMap<LocalDate, BigDecimal>> entry : closePrices.entrySet()) {
+            Map.Entry<LocalDate, BigDecimal> open = entry.getValue().lowerEntry(startDate);
+            if (open != null) {
+                openPrices.put(entry.getKey(), open.getValue());
+            }
+        }
+    }
+
+    private void query(String sql, RowHandler handler, Object... parameters) throws SQLException {
+        queryCount++;
+        dbConnection.forEachRow(sql, handler, parameters);
+    }
+
+    private McalcInputs inputsFor(Row row) throws SQLException {
+        String nin = row.getString("NIN");
+        McalcInputs bundle = inputs.get(nin);
+        if (bundle == null) {
+            throw new SQLException("Unexpected NIN in batch result: " + nin);
+        }
+        return bundle;
+    }
+
+    /**
+     * Get a DATE column as a LocalDate, null for NULL
+     */
+    public static LocalDate toLocalDate(Row row, String column) throws SQLException {
+        Timestamp value = row.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toLocalDate() : null;
+    }
+
+    private String placeholders() {
+        return placeholders(chunkSize);
+    }
+
+    private Object[] padded(List<String> chunk) {
+        return padded(chunk, chunkSize);
+    }
+
+    /**
+     * Get an IN list of chunkSize placeholders
+     */
+    public static String placeholders(int chunkSize) {
+        return String.join(", ", Collections.nCopies(chunkSize, "?"));
+    }
+
+    /**
+     * Get the keys of a chunk padded to chunkSize with its final key, so every chunk shares one statement
+     */
+    public static Object[] padded(List<String> chunk, int chunkSize) {
+        Object[] keys = new Object[chunkSize];
+        for (int i = 0; i < chunkSize; i++) {
+            keys[i] = chunk.get(Math.min(i, chunk.size() - 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Get the keys of a chunk followed by the other parameters of the query
+     */
+    public static Object[] concat(Object[] keys, Object... tail) {
+        Object[] all = new Object[keys.length + tail.length];
+        System.arraycopy(keys, 0, all, 0, keys.length);
+        System.arraycopy(tail, 0, all, keys.length, tail.length);
+        return all;
+    }
+
+    /**
+     * Get the inputs for one NIN, null if the NIN was not part of the last fetch
+     */
+    public McalcInputs getInputs(String nin) {
+        return inputs.get(nin);
+    }
+
+    /**
+     * Get the inputs of every NIN in the last fetch, in request order
+     */
+    public Map<String, McalcInputs> getAllInputs() {
+        return Collections.unmodifiableMap(inputs);
+    }
+
+    /**
+     * Get last close before the window start per company
+     */
+    public Map<String, BigDecimal> getOpenPrices() {
+        return Collections.unmodifiableMap(openPrices);
+    }
+
+    /**
+     * Get close on or before a date, null if the company has no close in the loaded range
+     */
+    @Override
+    public BigDecimal getCloseOnOrBefore(String companyCode, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> closes = closePrices.get(companyCode);
+        if (closes == null) {
+            return null;
+        }
+        Map.Entry<LocalDate, BigDecimal> entry = closes.floorEntry(date);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Get number of queries issued by the last fetch
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Get wall time of the last fetch, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
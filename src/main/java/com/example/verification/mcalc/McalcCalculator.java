@@ -0,0 +1,161 @@
+package com.example.verification.mcalc;
+
+import com.example.verification.market.ClosePriceLookup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Recomputes MYCALCULATOR_STUDY fields from the mcalc inputs of one client
+ *
+ * Fields, for a row valued at date d with previous portfolio date p:
+ * - SHARES_VALUE      = sum of shares held on d x MDF_TIME_SERIES close on or before d
+ * - CASH              = sec_cltdaily_balances CUR_BAL on or before d
+ * - FUND_AMOUNT       = fund_daily_summary LAST_ACTUAL_FUND on or before d
+ * - FEES_AMOUNT       = fund_daily_summary LAST_TOTAL_DELAY_FEES on or before d
+ * - REGISTRY_TRANSFER = value of registry deposits minus withdrawals in (p, d], at the close of the transfer day
+ * - PROFIT_LOSS       = SHARES_VALUE(d) - SHARES_VALUE(p) - buys + sells - commissions - REGISTRY_TRANSFER in (p, d]
+ * - CASH_FLOW         = CASH(d) - CASH(p) - sells + buys + commissions in (p, d], checked against the stored
+ *                       DIVIDEND + DEPOSIT - WITHDRAW, since there is no separate input for those three
+ *
+ * A field is left out when its inputs are missing (no balance, no close, or no previous date).
+ * All arithmetic is BigDecimal; nothing is rounded before the comparison.
+ */
+public class McalcCalculator {
+
+    public static final String SHARES_VALUE = "SHARES_VALUE";
+    public static final String CASH = "CASH";
+    public static final String FUND_AMOUNT = "FUND_AMOUNT";
+    public static final String FEES_AMOUNT = "FEES_AMOUNT";
+    public static final String REGISTRY_TRANSFER = "REGISTRY_TRANSFER";
+    public static final String PROFIT_LOSS = "PROFIT_LOSS";
+    public static final String CASH_FLOW = "CASH_FLOW";
+
+    private final ClosePriceLookup prices;
+    private final String withdrawQuantityColumn;
+
+    /**
+     * Constructor
+     * @param prices Close price source
+     * @param withdrawQuantityColumn GRP_REGISTERY_TRANSFER column holding the transferred quantity
+     */
+    public McalcCalculator(ClosePriceLookup prices, String withdrawQuantityColumn) {
+        this.prices = prices;
+        this.withdrawQuantityColumn = withdrawQuantityColumn;
+    }
+
+    /**
+     * Recompute the study fields of one row
+     * @param inputs Client inputs covering the row's previous and current dates
+     * @param row Stored study row
+     * @return field -> recomputed value, only for fields whose inputs are complete
+     */
+    public Map<String, BigDecimal> recompute(McalcInputs inputs, StudyRow row) {
+        Map<String, BigDecimal> fields = new LinkedHashMap<>();
+        LocalDate date = row.getPortfolioDate();
+        LocalDate prev = row.getPrevPortfolioDate();
+        if (date == null) {
+            return fields;
+        }
+
+        BigDecimal sharesValue = sharesValue(inputs, date);
+        putIfPresent(fields, SHARES_VALUE, sharesValue);
+
+        BigDecimal cash = inputs.getCashOnOrBefore(date);
+        putIfPresent(fields, CASH, cash);
+        putIfPresent(fields, FUND_AMOUNT, floorValue(inputs.getActualFund(), date));
+        putIfPresent(fields, FEES_AMOUNT, floorValue(inputs.getDelayFees(), date));
+
+        if (prev == null || !prev.isBefore(date)) {
+            return fields;
+        }
+
+        BigDecimal buys = inputs.getBuyBetween(prev, date);
+        BigDecimal sells = inputs.getSellBetween(prev, date);
+        BigDecimal commissions = inputs.getCommissionBetween(prev, date);
+
+        BigDecimal transfers = registryTransfer(inputs, prev, date);
+        putIfPresent(fields, REGISTRY_TRANSFER, transfers);
+
+        BigDecimal prevSharesValue = sharesValue(inputs, prev);
+        if (sharesValue != null && prevSharesValue != null && transfers != null) {
+            fields.put(PROFIT_LOSS, sharesValue.subtract(prevSharesValue)
+                    .subtract(buys).add(sells).subtract(commissions).subtract(transfers));
+        }
+
+        BigDecimal prevCash = inputs.getCashOnOrBefore(prev);
+        if (cash != null && prevCash != null) {
+            fields.put(CASH_FLOW, cash.subtract(prevCash).subtract(sells).add(buys).add(commissions));
+        }
+        return fields;
+    }
+
+    /**
+     * Get the stored value a recomputed field is compared with
+     */
+    public BigDecimal storedValue(StudyRow row, String field) {
+        if (CASH_FLOW.equals(field)) {
+            return row.getAmountOrZero("DIVIDEND").add(row.getAmountOrZero("DEPOSIT"))
+                    .subtract(row.getAmountOrZero("WITHDRAW"));
+        }
+        return row.getAmount(field);
+    }
+
+    private BigDecimal sharesValue(McalcInputs inputs, LocalDate date) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> holding : inputs.getHoldingsOn(date).entrySet()) {
+            BigDecimal close = prices.getCloseOnOrBefore(holding.getKey(), date);
+            if (close == null) {
+                return null;
+            }
+            total = total.add(holding.getValue().multiply(close));
+        }
+        return total;
+    }
+
+    private BigDecimal registryTransfer(McalcInputs inputs, LocalDate after, LocalDate upTo) {
+        BigDecimal deposits = transferValue(inputs.getRegistryDeposits(), "EXECUTION_TIME", "VOLUME", after, upTo);
+        BigDecimal withdrawals = transferValue(inputs.getRegistryWithdrawals(), "CREATION_TIME", withdrawQuantityColumn, after, upTo);
+        if (deposits == null || withdrawals == null) {
+            return null;
+        }
+        return deposits.subtract(withdrawals);
+    }
+
+    private BigDecimal transferValue(List<Map<String, Object>> rows, String timeColumn, String quantityColumn,
+                                     LocalDate after, LocalDate upTo) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map<String, Object> row : rows) {
+            LocalDate day = StudyRow.toLocalDate(row.get(timeColumn));
+            if (day == null || !day.isAfter(after) || day.isAfter(upTo)) {
+                continue;
+            }
+            Object quantity = row.get(quantityColumn);
+            Object symbol = row.get("SYMBOL");
+            if (quantity == null || symbol == null) {
+                continue;
+            }
+            BigDecimal close = prices.getCloseOnOrBefore(symbol.toString(), day);
+            if (close == null) {
+                return null;
+            }
+            total = total.add(new BigDecimal(quantity.toString()).multiply(close));
+        }
+        return total;
+    }
+
+    private static BigDecimal floorValue(NavigableMap<LocalDate, BigDecimal> values, LocalDate date) {
+        Map.Entry<LocalDate, BigDecimal> entry = values.floorEntry(date);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    private static void putIfPresent(Map<String, BigDecimal> fields, String field, BigDecimal value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.verification.mcalc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * My Calculator inputs for one NIN and one date window
+ * Filled by McalcBatchFetcher; holds the same figures the per-NIN classes in
+ * com.example.screensData.mcalc return, keyed by date and company/symbol.
+ */
+public class McalcInputs {
+
+    private final String nin;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    // GetCashData / GetCashTodayData
+    private final NavigableMap<LocalDate, BigDecimal> dailyCashBalances = new TreeMap<>();
+    private BigDecimal cashToday;
+
+    // GetDeptData (fund_daily_summary)
+    private final NavigableMap<LocalDate, BigDecimal> actualFund = new TreeMap<>();
+    private final NavigableMap<LocalDate, BigDecimal> delayFees = new TreeMap<>();
+
+    // GetPortfolioVolumData: company -> portfolio date -> shares
+    private final Map<String, NavigableMap<LocalDate, BigDecimal>> portfolioVolumes = new HashMap<>();
+
+    // GetTotalBuy/SellInBetweenData and the two commission classes: company -> amount
+    private final Map<String, BigDecimal> totalBuy = new HashMap<>();
+    private final Map<String, BigDecimal> totalSell = new HashMap<>();
+    private final Map<String, BigDecimal> commissionBuy = new HashMap<>();
+    private final Map<String, BigDecimal> commissionSell = new HashMap<>();
+
+    // Same transactions per trade day, all companies: day -> amount
+    private final NavigableMap<LocalDate, BigDecimal> dailyBuy = new TreeMap<>();
+    private final NavigableMap<LocalDate, BigDecimal> dailySell = new TreeMap<>();
+    private final NavigableMap<LocalDate, BigDecimal> dailyCommission = new TreeMap<>();
+
+    // GetTotalRegistryTransferDeposit/WithdrawData: successful transfer rows in the window
+    private final List<Map<String, Object>> registryDeposits = new ArrayList<>();
+    private final List<Map<String, Object>> registryWithdrawals = new ArrayList<>();
+
+    public McalcInputs(String nin, LocalDate startDate, LocalDate endDate) {
+        this.nin = nin;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public void putDailyCashBalance(LocalDate date, BigDecimal balance) {
+        dailyCashBalances.put(date, balance);
+    }
+
+    public void setCashToday(BigDecimal cashToday) {
+        this.cashToday = cashToday;
+    }
+
+    public void putFundSummary(LocalDate date, BigDecimal lastActualFund, BigDecimal lastDelayFees) {
+        actualFund.put(date, lastActualFund);
+        delayFees.put(date, lastDelayFees);
+    }
+
+    public void putPortfolioVolume(String companyCode, LocalDate date, BigDecimal shares) {
+        portfolioVolumes.computeIfAbsent(companyCode, k -> new TreeMap<>()).put(date, shares);
+    }
+
+    public void addTotal(String trnxType, String companyCode, LocalDate day, BigDecimal amount) {
+        boolean buy = "BUY".equals(trnxType);
+        (buy ? totalBuy : totalSell).merge(companyCode, amount, BigDecimal::add);
+        (buy ? dailyBuy : dailySell).merge(day, amount, BigDecimal::add);
+    }
+
+    public void addCommission(String side, String companyCode, LocalDate day, BigDecimal amount) {
+        ("BUY".equals(side) ? commissionBuy : commissionSell).merge(companyCode, amount, BigDecimal::add);
+        dailyCommission.merge(day, amount, BigDecimal::add);
+    }
+
+    public void addRegistryDeposit(Map<String, Object> row) {
+        registryDeposits.add(row);
+    }
+
+    public void addRegistryWithdrawal(Map<String, Object> row) {
+        registryWithdrawals.add(row);
+    }
+
+    public String getNin() {
+        return nin;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Get CUR_BAL per balance date within the window
+     */
+    public NavigableMap<LocalDate, BigDecimal> getDailyCashBalances() {
+        return Collections.unmodifiableNavigableMap(dailyCashBalances);
+    }
+
+    /**
+     * Get cash balance on or before a date, null if none in the window
+     */
+    public BigDecimal getCashOnOrBefore(LocalDate date) {
+        Map.Entry<LocalDate, BigDecimal> entry = dailyCashBalances.floorEntry(date);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Get today's CUR_BAL from Sec_Clients_Balances, null if the client has no row
+     */
+    public BigDecimal getCashToday() {
+        return cashToday;
+    }
+
+    /**
+     * Get LAST_ACTUAL_FUND per summary date within the window
+     */
+    public NavigableMap<LocalDate, BigDecimal> getActualFund() {
+        return Collections.unmodifiableNavigableMap(actualFund);
+    }
+
+    /**
+     * Get LAST_TOTAL_DELAY_FEES per summary date within the window
+     */
+    public NavigableMap<LocalDate, BigDecimal> getDelayFees() {
+        return Collections.unmodifiableNavigableMap(delayFees);
+    }
+
+    /**
+     * Get SHARES_COUNT per company and portfolio date
+     * Includes the last snapshot on or before the window start, so holdings at the start are known.
+     */
+    public Map<String, NavigableMap<LocalDate, BigDecimal>> getPortfolioVolumes() {
+        return Collections.unmodifiableMap(portfolioVolumes);
+    }
+
+    /**
+     * Get holdings from the client's last portfolio snapshot on or before a date
+     * Companies missing from that snapshot are treated as sold out rather than carried forward.
+     * @return company -> shares, empty if there is no snapshot on or before the date
+     */
+    public Map<String, BigDecimal> getHoldingsOn(LocalDate date) {
+        LocalDate snapshot = null;
+        for (NavigableMap<LocalDate, BigDecimal> volumes : portfolioVolumes.values()) {
+            LocalDate candidate = volumes.floorKey(date);
+            if (candidate != null && (snapshot == null || candidate.isAfter(snapshot))) {
+                snapshot = candidate;
+            }
+        }
+        Map<String, BigDecimal> holdings = new HashMap<>();
+        if (snapshot != null) {
+            for (Map.Entry<String, NavigableMap<LocalDate, BigDecimal>> entry : portfolioVolumes.entrySet()) {
+                BigDecimal shares = entry.getValue().get(snapshot);
+                if (shares != null && shares.signum() != 0) {
+                    holdings.put(entry.getKey(), shares);
+                }
+            }
+        }
+        return holdings;
+    }
+
+    /**
+     * Get shares held in a company on or before a date
+     */
+    public BigDecimal getSharesOnOrBefore(String companyCode, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> volumes = portfolioVolumes.get(companyCode);
+        if (volumes == null) {
+            return BigDecimal.ZERO;
+        }
+        Map.Entry<LocalDate, BigDecimal> entry = volumes.floorEntry(date);
+        return entry != null ? entry.getValue() : BigDecimal.ZERO;
+    }
+
+    public Map<String, BigDecimal> getTotalBuy() {
+        return Collections.unmodifiableMap(totalBuy);
+    }
+
+    public Map<String, BigDecimal> getTotalSell() {
+        return Collections.unmodifiableMap(totalSell);
+    }
+
+    public Map<String, BigDecimal> getCommissionBuy() {
+        return Collections.unmodifiableMap(commissionBuy);
+    }
+
+    public Map<String, BigDecimal> getCommissionSell() {
+        return Collections.unmodifiableMap(commissionSell);
+    }
+
+    /**
+     * Sum BUY amounts with a trade day after one date and up to another
+     * @param after Exclusive lower bound
+     * @param upTo Inclusive upper bound
+     */
+    public BigDecimal getBuyBetween(LocalDate after, LocalDate upTo) {
+        return sumDays(dailyBuy, after, upTo);
+    }
+
+    /**
+     * Sum SELL amounts with a trade day after one date and up to another
+     */
+    public BigDecimal getSellBetween(LocalDate after, LocalDate upTo) {
+        return sumDays(dailySell, after, upTo);
+    }
+
+    /**
+     * Sum buy and sell commissions with a trade day after one date and up to another
+     */
+    public BigDecimal getCommissionBetween(LocalDate after, LocalDate upTo) {
+        return sumDays(dailyCommission, after, upTo);
+    }
+
+    private static BigDecimal sumDays(NavigableMap<LocalDate, BigDecimal> days, LocalDate after, LocalDate upTo) {
+        BigDecimal total = BigDecimal.ZERO;
+        if (after.isBefore(upTo)) {
+            for (BigDecimal amount : days.subMap(after, false, upTo, true).values()) {
+                total = total.add(amount);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get successful SEC_EQ_STOCKTRANFER rows with volume > 0 in the window
+     */
+    public List<Map<String, Object>> getRegistryDeposits() {
+        return Collections.unmodifiableList(registryDeposits);
+    }
+
+    /**
+     * Get successful GRP_REGISTERY_TRANSFER rows in the window
+     */
+    public List<Map<String, Object>> getRegistryWithdrawals() {
+        return Collections.unmodifiableList(registryWithdrawals);
+    }
+
+    /**
+     * Sum a numeric column of the registry deposit rows, optionally for one symbol
+     * @param symbol Symbol to filter, or null for all symbols
+     * @param column Column to sum, e.g. VOLUME
+     */
+    public BigDecimal sumRegistryDeposits(String symbol, String column) {
+        return sumRows(registryDeposits, symbol, column);
+    }
+
+    /**
+     * Sum a numeric column of the registry withdrawal rows, optionally for one symbol
+     * @param symbol Symbol to filter, or null for all symbols
+     * @param column Column to sum
+     */
+    public BigDecimal sumRegistryWithdrawals(String symbol, String column) {
+        return sumRows(registryWithdrawals, symbol, column);
+    }
+
+    private static BigDecimal sumRows(List<Map<String, Object>> rows, String symbol, String column) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map<String, Object> row : rows) {
+            if (symbol != null && !symbol.equals(String.valueOf(row.get("SYMBOL")))) {
+                continue;
+            }
+            Object value = row.get(column);
+            if (value != null) {
+                total = total.add(new BigDecimal(value.toString()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get every company the client holds or traded in the window
+     */
+    public List<String> getCompanyCodes() {
+        List<String> companies = new ArrayList<>(portfolioVolumes.keySet());
+        for (String company : totalBuy.keySet()) {
+            if (!companies.contains(company)) {
+                companies.add(company);
+            }
+        }
+        for (String company : totalSell.keySet()) {
+            if (!companies.contains(company)) {
+                companies.add(company);
+            }
+        }
+        Collections.sort(companies);
+        return companies;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.verification.mcalc;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.verification.market.ClosePriceIndex;
+import org.apache.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reconciles MYCALCULATOR_STUDY against a local recomputation
+ * NINs are processed in slices: each slice loads its study rows and mcalc inputs with the batched
+ * queries of McalcBatchFetcher, then recomputes and diffs every client in parallel on the engine's ForkJoin
+ * pool, which is created once and kept across runs. Close the engine to stop its workers.
+ * Closes come from the shared ClosePriceIndex, refreshed once at the start of each run.
+ * Only one slice of inputs is held in memory at a time, so the whole client base can run nightly.
+ *
+ * Settings (database.properties or -D):
+ * - mcalc.recompute.parallelism          worker threads (default: available processors)
+ * - mcalc.recompute.sliceSize            NINs loaded per slice (default 2000)
+ * - mcalc.recompute.tolerance            absolute difference allowed per field (default 0.01)
+ * - mcalc.recompute.fields               comma separated fields to compare (default: all, see McalcCalculator)
+ * - mcalc.recompute.maxStoredMismatches  mismatch details kept in the report (default 1000)
+ * - mcalc.registryWithdraw.quantityColumn GRP_REGISTERY_TRANSFER quantity column (default VOLUME)
+ */
+public class McalcRecomputeEngine implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(McalcRecomputeEngine.class);
+
+    private static final List<String> ALL_FIELDS = Arrays.asList(
+            McalcCalculator.SHARES_VALUE, McalcCalculator.CASH, McalcCalculator.FUND_AMOUNT,
+            McalcCalculator.FEES_AMOUNT, McalcCalculator.REGISTRY_TRANSFER, McalcCalculator.PROFIT_LOSS,
+            McalcCalculator.CASH_FLOW);
+
+    private final OracleDBConnection dbConnection;
+    private final McalcBatchFetcher fetcher;
+    private final ForkJoinPool pool;
+    private final int sliceSize;
+    private final BigDecimal tolerance;
+    private final Set<String> fields;
+    private final int maxStoredMismatches;
+    private final String withdrawQuantityColumn;
+
+    /**
+     * Constructor
+     * @param dbConnection Database connection instance
+     */
+    public McalcRecomputeEngine(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.fetcher = new McalcBatchFetcher(dbConnection);
+        this.fetcher.setLoadClosePrices(false);
+        this.pool = new ForkJoinPool(Math.max(1, DBConfig.getInt("mcalc.recompute.parallelism",
+                Runtime.getRuntime().availableProcessors())));
+        this.sliceSize = Math.max(1, DBConfig.getInt("mcalc.recompute.sliceSize", 2000));
+        this.tolerance = new BigDecimal(DBConfig.getProperty("mcalc.recompute.tolerance", "0.01"));
+        this.fields = new LinkedHashSet<>();
+        for (String field : DBConfig.getProperty("mcalc.recompute.fields", String.join(",", ALL_FIELDS)).split(",")) {
+            if (!field.trim().isEmpty()) {
+                fields.add(field.trim().toUpperCase());
+            }
+        }
+        this.maxStoredMismatches = DBConfig.getInt("mcalc.recompute.maxStoredMismatches", 1000);
+        this.withdrawQuantityColumn = DBConfig.getProperty("mcalc.registryWithdraw.quantityColumn", "VOLUME");
+    }
+
+    /**
+     * Reconcile every client with study rows in a date window
+     * @param startDate Window start (inclusive, TRNX_DATE)
+     * @param endDate Window end (inclusive, TRNX_DATE)
+     * @return Reconciliation report
+     * @throws SQLException if any query fails
+     */
+    public McalcReconciliationReport reconcileAll(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<String> nins = new ArrayList<>();
+        dbConnection.forEachRow("SELECT DISTINCT NIN FROM MYCALCULATOR_STUDY WHERE TRNX_DATE >= ? AND TRNX_DATE < ?",
+                row -> nins.add(row.getString("NIN")),
+                Date.valueOf(startDate), Date.valueOf(endDate.plusDays(1)));
+        logger.info("Found " + nins.size() + " clients with study rows between " + startDate + " and " + endDate);
+        return reconcile(nins, startDate, endDate);
+    }
+
+    /**
+     * Reconcile the study rows of the given clients in a date window
+     * @param nins Client NINs
+     * @param startDate Window start (inclusive, TRNX_DATE)
+     * @param endDate Window end (inclusive, TRNX_DATE)
+     * @return Reconciliation report
+     * @throws SQLException if any query fails
+     */
+    public McalcReconciliationReport reconcile(List<String> nins, LocalDate startDate, LocalDate endDate) throws SQLException {
+        McalcReconciliationReport report = new McalcReconciliationReport(maxStoredMismatches);
+        long started = System.currentTimeMillis();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(nins));
+
+        ClosePriceIndex prices = ClosePriceIndex.getShared(dbConnection);
+        prices.refresh(dbConnection);
+        McalcCalculator calculator = new McalcCalculator(prices, withdrawQuantityColumn);
+
+        for (int from = 0; from < distinct.size(); from += sliceSize) {
+            List<String> slice = distinct.subList(from, Math.min(from + sliceSize, distinct.size()));
+            reconcileSlice(calculator, slice, startDate, endDate, report);
+        }
+
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Calculator reconciliation finished\n" + report.getSummary());
+        return report;
+    }
+
+    private void reconcileSlice(McalcCalculator calculator, List<String> slice, LocalDate startDate,
+                                LocalDate endDate, McalcReconciliationReport report) throws SQLException {
+        long fetchStarted = System.currentTimeMillis();
+        Map<String, List<StudyRow>> studyRows = fetchStudyRows(slice, startDate, endDate);
+
+        // Inputs must reach back to the earliest previous portfolio date of the slice
+        LocalDate inputStart = startDate;
+        for (List<StudyRow> rows : studyRows.values()) {
+            for (StudyRow row : rows) {
+                if (row.getPrevPortfolioDate() != null && row.getPrevPortfolioDate().isBefore(inputStart)) {
+                    inputStart = row.getPrevPortfolioDate();
+                }
+            }
+        }
+        if (!fetcher.fetch(slice, inputStart, endDate)) {
+            throw new SQLException("Failed to fetch calculator inputs for " + slice.size() + " clients");
+        }
+        report.addFetchMillis(System.currentTimeMillis() - fetchStarted);
+
+        try {
+            pool.submit(() -> slice.parallelStream().forEach(nin ->
+                    reconcileClient(calculator, fetcher.getInputs(nin),
+                            studyRows.getOrDefault(nin, Collections.emptyList()), report))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Calculator reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Calculator reconciliation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void reconcileClient(McalcCalculator calculator, McalcInputs inputs, List<StudyRow> rows,
+                                 McalcReconciliationReport report) {
+        long started = System.nanoTime();
+        List<StudyMismatch> mismatches = new ArrayList<>();
+        Map<String, Integer> compared = new HashMap<>();
+
+        for (StudyRow row : rows) {
+            Map<String, BigDecimal> computed = calculator.recompute(inputs, row);
+            for (Map.Entry<String, BigDecimal> entry : computed.entrySet()) {
+                String field = entry.getKey();
+                if (!fields.contains(field)) {
+                    continue;
+                }
+                compared.merge(field, 1, Integer::sum);
+                BigDecimal stored = calculator.storedValue(row, field);
+                BigDecimal actual = stored != null ? stored : BigDecimal.ZERO;
+                if (actual.subtract(entry.getValue()).abs().compareTo(tolerance) > 0) {
+                    mismatches.add(new StudyMismatch(row.getNin(), row.getPortfolioDate(), field, entry.getValue(), stored));
+                }
+            }
+        }
+
+        report.addClient(System.nanoTime() - started, rows.size(), compared, mismatches);
+    }
+
+    private Map<String, List<StudyRow>> fetchStudyRows(List<String> slice, LocalDate startDate, LocalDate endDate)
+            throws SQLException {
+        Map<String, List<StudyRow>> rowsByNin = new HashMap<>();
+        int chunkSize = DBConfig.getBatchInListSize();
+        String sql = "SELECT * FROM MYCALCULATOR_STUDY WHERE NIN IN (" + McalcBatchFetcher.placeholders(chunkSize) + ") " +
+                "AND TRNX_DATE >= ? AND TRNX_DATE < ? ORDER BY NIN, TRNX_DATE";
+        for (int from = 0; from < slice.size(); from += chunkSize) {
+            List<String> chunk = slice.subList(from, Math.min(from + chunkSize, slice.size()));
+            dbConnection.forEachRow(sql, row -> {
+                        StudyRow studyRow = new StudyRow(row.toMap());
+                        rowsByNin.computeIfAbsent(studyRow.getNin(), k -> new ArrayList<>()).add(studyRow);
+                    },
+                    McalcBatchFetcher.concat(McalcBatchFetcher.padded(chunk, chunkSize),
+                            Date.valueOf(startDate), Date.valueOf(endDate.plusDays(1))));
+        }
+        return rowsByNin;
+    }
+
+    /**
+     * Stop the worker threads; the engine cannot reconcile afterwards
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
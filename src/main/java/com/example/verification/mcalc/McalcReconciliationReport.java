@@ -0,0 +1,142 @@
+package com.example.verification.mcalc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of a MYCALCULATOR_STUDY reconciliation run
+ * Keeps every per-field count but only the first maxStoredMismatches mismatch details.
+ */
+public class McalcReconciliationReport {
+
+    private final int maxStoredMismatches;
+    private final List<StudyMismatch> mismatches = new ArrayList<>();
+    private final Map<String, Integer> mismatchesByField = new TreeMap<>();
+    private final Map<String, Integer> comparedByField = new TreeMap<>();
+    private long[] clientLatenciesNanos = new long[0];
+    private int clientCount;
+    private int clientsWithMismatches;
+    private long rowCount;
+    private long mismatchCount;
+    private long fetchMillis;
+    private long totalMillis;
+
+    public McalcReconciliationReport(int maxStoredMismatches) {
+        this.maxStoredMismatches = maxStoredMismatches;
+    }
+
+    /**
+     * Add the outcome of one client
+     */
+    synchronized void addClient(long latencyNanos, int rows, Map<String, Integer> compared, List<StudyMismatch> clientMismatches) {
+        if (clientCount == clientLatenciesNanos.length) {
+            clientLatenciesNanos = Arrays.copyOf(clientLatenciesNanos, Math.max(16, clientCount * 2));
+        }
+        clientLatenciesNanos[clientCount++] = latencyNanos;
+        rowCount += rows;
+        compared.forEach((field, count) -> comparedByField.merge(field, count, Integer::sum));
+        if (!clientMismatches.isEmpty()) {
+            clientsWithMismatches++;
+        }
+        for (StudyMismatch mismatch : clientMismatches) {
+            mismatchCount++;
+            mismatchesByField.merge(mismatch.getField(), 1, Integer::sum);
+            if (mismatches.size() < maxStoredMismatches) {
+                mismatches.add(mismatch);
+            }
+        }
+    }
+
+    void addFetchMillis(long millis) {
+        fetchMillis += millis;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public int getClientsWithMismatches() {
+        return clientsWithMismatches;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+
+    /**
+     * Get the first mismatches found, up to the configured limit
+     */
+    public List<StudyMismatch> getMismatches() {
+        return Collections.unmodifiableList(mismatches);
+    }
+
+    public Map<String, Integer> getMismatchesByField() {
+        return Collections.unmodifiableMap(mismatchesByField);
+    }
+
+    public Map<String, Integer> getComparedByField() {
+        return Collections.unmodifiableMap(comparedByField);
+    }
+
+    /**
+     * Get time spent loading inputs and study rows, in milliseconds
+     */
+    public long getFetchMillis() {
+        return fetchMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get reconciled clients per second over the whole run
+     */
+    public double getClientsPerSecond() {
+        return totalMillis > 0 ? clientCount * 1000.0 / totalMillis : 0.0;
+    }
+
+    /**
+     * Get per-client recompute and diff latency at a percentile, in milliseconds
+     * @param percentile Percentile between 0 and 100, e.g. 99
+     */
+    public synchronized double getLatencyPercentileMillis(double percentile) {
+        if (clientCount == 0) {
+            return 0.0;
+        }
+        long[] sorted = Arrays.copyOf(clientLatenciesNanos, clientCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Get a printable summary of the run
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Clients: %d (%d with mismatches), Rows: %d, Mismatches: %d%n",
+                clientCount, clientsWithMismatches, rowCount, mismatchCount));
+        summary.append(String.format("Time: %d ms (fetch %d ms), Throughput: %.1f clients/s%n",
+                totalMillis, fetchMillis, getClientsPerSecond()));
+        summary.append(String.format("Per-client latency: p50=%.3f ms, p99=%.3f ms, max=%.3f ms%n",
+                getLatencyPercentileMillis(50), getLatencyPercentileMillis(99), getLatencyPercentileMillis(100)));
+        for (Map.Entry<String, Integer> entry : comparedByField.entrySet()) {
+            summary.append(String.format("  %-18s compared=%d mismatched=%d%n", entry.getKey(), entry.getValue(),
+                    mismatchesByField.getOrDefault(entry.getKey(), 0)));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.verification.mcalc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One MYCALCULATOR_STUDY field that differs from the recomputed value
+ */
+public class StudyMismatch {
+
+    private final String nin;
+    private final LocalDate date;
+    private final String field;
+    private final BigDecimal expected;
+    private final BigDecimal actual;
+
+    public StudyMismatch(String nin, LocalDate date, String field, BigDecimal expected, BigDecimal actual) {
+        this.nin = nin;
+        this.date = date;
+        this.field = field;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public String getNin() {
+        return nin;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Get the recomputed value
+     */
+    public BigDecimal getExpected() {
+        return expected;
+    }
+
+    /**
+     * Get the value stored in MYCALCULATOR_STUDY
+     */
+    public BigDecimal getActual() {
+        return actual;
+    }
+
+    public BigDecimal getDifference() {
+        BigDecimal stored = actual != null ? actual : BigDecimal.ZERO;
+        BigDecimal computed = expected != null ? expected : BigDecimal.ZERO;
+        return stored.subtract(computed);
+    }
+
+    @Override
+    public String toString() {
+        return nin + " " + date + " " + field + ": expected=" + expected + ", actual=" + actual;
+    }
+}
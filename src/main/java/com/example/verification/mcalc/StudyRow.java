@@ -0,0 +1,81 @@
+package com.example.verification.mcalc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One server-computed MYCALCULATOR_STUDY row
+ */
+public class StudyRow {
+
+    private final String nin;
+    private final LocalDate trnxDate;
+    private final LocalDate portfolioDate;
+    private final LocalDate prevPortfolioDate;
+    private final Map<String, Object> row;
+
+    public StudyRow(Map<String, Object> row) {
+        this.row = row;
+        this.nin = row.get("NIN") != null ? row.get("NIN").toString() : "";
+        this.trnxDate = toLocalDate(row.get("TRNX_DATE"));
+        LocalDate portfolio = toLocalDate(row.get("PORTFOLIO_DATE"));
+        this.portfolioDate = portfolio != null ? portfolio : trnxDate;
+        this.prevPortfolioDate = toLocalDate(row.get("PREV_PORTFOLIO_DATE"));
+    }
+
+    public String getNin() {
+        return nin;
+    }
+
+    public LocalDate getTrnxDate() {
+        return trnxDate;
+    }
+
+    /**
+     * Get the valuation date, PORTFOLIO_DATE or TRNX_DATE when it is empty
+     */
+    public LocalDate getPortfolioDate() {
+        return portfolioDate;
+    }
+
+    /**
+     * Get PREV_PORTFOLIO_DATE, null for the client's first row
+     */
+    public LocalDate getPrevPortfolioDate() {
+        return prevPortfolioDate;
+    }
+
+    /**
+     * Get a NUMBER column, null if the column is NULL
+     */
+    public BigDecimal getAmount(String column) {
+        Object value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Get a NUMBER column, zero if the column is NULL
+     */
+    public BigDecimal getAmountOrZero(String column) {
+        BigDecimal value = getAmount(column);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime()).toLocalDateTime().toLocalDate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.verification.mirror;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Diff of one hash bucket of a source table and its mirror
+ * All mirror rows of the bucket are added first and kept only as key -> 128-bit digest of the compared
+ * columns; source rows are then streamed past that index. Memory is bounded by the mirror rows of one
+ * bucket, whatever the size of the tables.
+ *
+ * Values are compared by canonical form: numbers by value (12.50 equals 12.5, a BINARY_DOUBLE equals the
+ * NUMBER it was copied from), dates and timestamps by instant, LOBs by content, strings exactly.
+ * Row value arrays hold the key columns first, then the compared columns, as selected by TableDiffSpec.
+ */
+public class BucketDiff {
+
+    private static final byte SEPARATOR = 0x1f;
+    private static final String NULL = "\u0000";
+
+    private final String sourceTable;
+    private final String mirrorTable;
+    private final List<String> columns;
+    private final int keyCount;
+    private final int maxStored;
+    private final MessageDigest md5;
+
+    private final Map<String, MirrorEntry> mirrorRows = new HashMap<>();
+    private final Set<String> sourceKeys = new HashSet<>();
+    private final List<RowDifference> differences = new ArrayList<>();
+
+    private long sourceCount;
+    private long mirrorCount;
+    private long matched;
+    private long missing;
+    private long extra;
+    private long changed;
+    private long duplicateKeys;
+    private boolean finished;
+
+    /**
+     * Constructor
+     * @param sourceTable Source table name, for reporting
+     * @param mirrorTable Mirror table name, for reporting
+     * @param columns Key columns followed by compared columns
+     * @param keyCount Number of key columns at the start of columns
+     * @param maxStored Maximum differences kept with their details (counts are always complete)
+     */
+    public BucketDiff(String sourceTable, String mirrorTable, List<String> columns, int keyCount, int maxStored) {
+        this.sourceTable = sourceTable;
+        this.mirrorTable = mirrorTable;
+        this.columns = columns;
+        this.keyCount = keyCount;
+        this.maxStored = Math.max(0, maxStored);
+        try {
+            this.md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    /**
+     * Add a mirror row; all mirror rows must be added before the first source row
+     */
+    public void addMirrorRow(Object[] values) {
+        if (sourceCount > 0) {
+            throw new IllegalStateException("Mirror rows must be added before source rows");
+        }
+        mirrorCount++;
+        String key = keyOf(values);
+        MirrorEntry previous = mirrorRows.put(key, new MirrorEntry(keyValues(values), digest(values)));
+        if (previous != null) {
+            duplicateKeys++;
+            store(new RowDifference(RowDifference.Kind.DUPLICATE_KEY, mirrorTable, keyMap(values), null));
+        }
+    }
+
+    /**
+     * Compare a source row with the mirror row of the same key
+     */
+    public void addSourceRow(Object[] values) {
+        sourceCount++;
+        String key = keyOf(values);
+        if (!sourceKeys.add(key)) {
+            duplicateKeys++;
+            store(new RowDifference(RowDifference.Kind.DUPLICATE_KEY, sourceTable, keyMap(values), null));
+            return;
+        }
+        MirrorEntry mirror = mirrorRows.remove(key);
+        if (mirror == null) {
+            missing++;
+            store(new RowDifference(RowDifference.Kind.MISSING, sourceTable, keyMap(values),
+                    RowDifference.toMap(columns, values, keyCount, columns.size())));
+        } else if (mirror.matches(digest(values))) {
+            matched++;
+        } else {
+            changed++;
+            store(new RowDifference(RowDifference.Kind.CHANGED, sourceTable, keyMap(values),
+                    RowDifference.toMap(columns, values, keyCount, columns.size())));
+        }
+    }
+
+    /**
+     * Report the mirror rows no source row matched as EXTRA
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        for (MirrorEntry entry : mirrorRows.values()) {
+            extra++;
+            store(new RowDifference(RowDifference.Kind.EXTRA, mirrorTable, keyMap(entry.key), null));
+        }
+        mirrorRows.clear();
+        sourceKeys.clear();
+    }
+
+    private void store(RowDifference difference) {
+        if (differences.size() < maxStored) {
+            differences.add(difference);
+        }
+    }
+
+    private String keyOf(Object[] values) {
+        if (keyCount == 1) {
+            return canonical(values[0]);
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyCount; i++) {
+            key.append(canonical(values[i])).append((char) SEPARATOR);
+        }
+        return key.toString();
+    }
+
+    private Object[] keyValues(Object[] values) {
+        Object[] key = new Object[keyCount];
+        System.arraycopy(values, 0, key, 0, keyCount);
+        return key;
+    }
+
+    private Map<String, Object> keyMap(Object[] values) {
+        return RowDifference.toMap(columns, values, 0, keyCount);
+    }
+
+    private long[] digest(Object[] values) {
+        for (int i = keyCount; i < values.length; i++) {
+            md5.update(canonical(values[i]).getBytes(StandardCharsets.UTF_8));
+            md5.update(SEPARATOR);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(md5.digest());
+        return new long[]{hash.getLong(), hash.getLong()};
+    }
+
+    /**
+     * Canonical text of a column value, equal for values that should compare equal
+     */
+    static String canonical(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Double && !Double.isFinite((Double) value)
+                || value instanceof Float && !Float.isFinite((Float) value)) {
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            return canonical(new BigDecimal(value.toString()));
+        }
+        if (value instanceof Timestamp) {
+            return value.toString();
+        }
+        if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime()).toString();
+        }
+        if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        if (value instanceof Clob) {
+            try {
+                Clob clob = (Clob) value;
+                return clob.getSubString(1, (int) clob.length());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Cannot read CLOB value: " + e.getMessage(), e);
+            }
+        }
+        return value.toString();
+    }
+
+    public long getSourceCount() {
+        return sourceCount;
+    }
+
+    public long getMirrorCount() {
+        return mirrorCount;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public long getMissing() {
+        return missing;
+    }
+
+    public long getExtra() {
+        return extra;
+    }
+
+    public long getChanged() {
+        return changed;
+    }
+
+    public long getDuplicateKeys() {
+        return duplicateKeys;
+    }
+
+    /**
+     * Get the stored differences (at most maxStored), EXTRA rows only after finish()
+     */
+    public List<RowDifference> getDifferences() {
+        return differences;
+    }
+
+    private static final class MirrorEntry {
+        private final Object[] key;
+        private final long high;
+        private final long low;
+
+        private MirrorEntry(Object[] key, long[] digest) {
+            this.key = key;
+            this.high = digest[0];
+            this.low = digest[1];
+        }
+
+        private boolean matches(long[] digest) {
+            return high == digest[0] && low == digest[1];
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.verification.mirror;
+
+import com.example.utils.db.ResultSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Rows of one table routed to hash buckets on their key and spilled to one temporary file per bucket
+ * Lets a table be read with a single scan and diffed bucket by bucket afterwards. The bucket of a row is the
+ * hash of its canonical key (see BucketDiff.canonical), so a NUMBER key and its VARCHAR2 copy land in the
+ * same bucket of either table. Values are written in the ResultSnapshot encoding; LOBs and driver types
+ * without one are written as their canonical text, which is all BucketDiff compares.
+ *
+ * add() is not thread safe: one scan fills a spill. Once finished, buckets may be read concurrently.
+ */
+public class BucketSpill implements Closeable {
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private final Path directory;
+    private final String name;
+    private final int keyCount;
+    private final int columnCount;
+    private final DataOutputStream[] outputs;
+    private final long[] rowCounts;
+    private volatile boolean finished;
+
+    /**
+     * Constructor
+     * @param directory Existing directory the bucket files are written to
+     * @param name File name prefix, e.g. "mirror"
+     * @param buckets Number of buckets
+     * @param keyCount Number of key columns at the start of each row
+     * @param columnCount Number of values in each row
+     */
+    public BucketSpill(Path directory, String name, int buckets, int keyCount, int columnCount) {
+        this.directory = directory;
+        this.name = name;
+        this.keyCount = keyCount;
+        this.columnCount = columnCount;
+        this.outputs = new DataOutputStream[Math.max(1, buckets)];
+        this.rowCounts = new long[outputs.length];
+    }
+
+    /**
+     * Get the bucket of a row from its key columns
+     */
+    public static int bucketOf(Object[] values, int keyCount, int buckets) {
+        int hash = 1;
+        for (int i = 0; i < keyCount; i++) {
+            hash = 31 * hash + BucketDiff.canonical(values[i]).hashCode();
+        }
+        return Math.floorMod(hash, buckets);
+    }
+
+    /**
+     * Write a row to the file of its bucket
+     * @param values Key columns followed by compared columns
+     * @throws IOException if the bucket file cannot be written
+     */
+    public void add(Object[] values) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Rows cannot be added to " + name + " after finish()");
+        }
+        int bucket = bucketOf(values, keyCount, outputs.length);
+        DataOutputStream out = outputs[bucket];
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file(bucket)), BUFFER_BYTES));
+            outputs[bucket] = out;
+        }
+        for (Object value : values) {
+            ResultSnapshot.writeValue(out, spillable(value));
+        }
+        rowCounts[bucket]++;
+    }
+
+    /**
+     * Flush and close the bucket files; buckets can be read from then on
+     * @throws IOException if a bucket file cannot be flushed
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        closeOutputs();
+    }
+
+    /**
+     * Hand every row of a bucket to a consumer, in the order the rows were added
+     * @throws IOException if the bucket file cannot be read
+     */
+    public void forEach(int bucket, Consumer<Object[]> consumer) throws IOException {
+        if (!finished) {
+            throw new IllegalStateException("Buckets of " + name + " can only be read after finish()");
+        }
+        if (rowCounts[bucket] == 0) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file(bucket)), BUFFER_BYTES))) {
+            for (long row = 0; row < rowCounts[bucket]; row++) {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = ResultSnapshot.readValue(in);
+                }
+                consumer.accept(values);
+            }
+        }
+    }
+
+    public int getBuckets() {
+        return outputs.length;
+    }
+
+    /**
+     * Get the number of rows spilled to a bucket
+     */
+    public long getRowCount(int bucket) {
+        return rowCounts[bucket];
+    }
+
+    /**
+     * Get the number of rows spilled to all buckets
+     */
+    public long getRowCount() {
+        long rows = 0;
+        for (long count : rowCounts) {
+            rows += count;
+        }
+        return rows;
+    }
+
+    /**
+     * Close and delete the bucket files
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        try {
+            closeOutputs();
+        } finally {
+            for (int bucket = 0; bucket < outputs.length; bucket++) {
+                Files.deleteIfExists(file(bucket));
+            }
+        }
+    }
+
+    private void closeOutputs() throws IOException {
+        IOException failure = null;
+        for (int bucket = 0; bucket < outputs.length; bucket++) {
+            if (outputs[bucket] == null) {
+                continue;
+            }
+            try {
+                outputs[bucket].close();
+            } catch (IOException e) {
+                failure = failure != null ? failure : e;
+            }
+            outputs[bucket] = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Path file(int bucket) {
+        return directory.resolve(name + "-" + bucket + ".spill");
+    }
+
+    /**
+     * Copy a value out of the connection in a form the snapshot encoding can write
+     */
+    private static Object spillable(Object value) throws IOException {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof java.util.Date
+                || value instanceof byte[] || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Blob) {
+            try {
+                Blob blob = (Blob) value;
+                return blob.getBytes(1, (int) blob.length());
+            } catch (SQLException e) {
+                throw new IOException("Cannot read BLOB value: " + e.getMessage(), e);
+            }
+        }
+        return BucketDiff.canonical(value);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.verification.mirror;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row that differs between a source table and its mirror
+ * - MISSING: in the source, not in the mirror
+ * - EXTRA: in the mirror, not in the source
+ * - CHANGED: in both with different values; getFieldDifferences() lists them once the mirror row is loaded
+ * - DUPLICATE_KEY: the key appears more than once in the named table
+ */
+public class RowDifference {
+
+    public enum Kind {
+        MISSING, EXTRA, CHANGED, DUPLICATE_KEY
+    }
+
+    private final Kind kind;
+    private final String table;
+    private final Map<String, Object> key;
+    private final Map<String, Object> sourceValues;
+    private final List<FieldDifference> fieldDifferences = new ArrayList<>();
+
+    RowDifference(Kind kind, String table, Map<String, Object> key, Map<String, Object> sourceValues) {
+        this.kind = kind;
+        this.table = table;
+        this.key = Collections.unmodifiableMap(key);
+        this.sourceValues = sourceValues;
+    }
+
+    /**
+     * Compare the source values of a CHANGED row with the mirror row loaded for it
+     * @param mirrorValues Mirror column values, null if the row disappeared since the bucket was read
+     */
+    void resolve(Map<String, Object> mirrorValues) {
+        if (sourceValues == null || mirrorValues == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : sourceValues.entrySet()) {
+            Object mirrorValue = mirrorValues.get(entry.getKey());
+            if (!BucketDiff.canonical(entry.getValue()).equals(BucketDiff.canonical(mirrorValue))) {
+                fieldDifferences.add(new FieldDifference(entry.getKey(), entry.getValue(), mirrorValue));
+            }
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the table the row was found in (the source for MISSING and CHANGED)
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Get the key column values of the row
+     */
+    public Map<String, Object> getKey() {
+        return key;
+    }
+
+    /**
+     * Get the compared column values of the source row, null for EXTRA and DUPLICATE_KEY
+     */
+    public Map<String, Object> getSourceValues() {
+        return sourceValues != null ? Collections.unmodifiableMap(sourceValues) : null;
+    }
+
+    /**
+     * Get the differing fields of a CHANGED row (empty until the mirror row has been loaded)
+     */
+    public List<FieldDifference> getFieldDifferences() {
+        return Collections.unmodifiableList(fieldDifferences);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder().append(kind).append(' ').append(key);
+        if (kind == Kind.DUPLICATE_KEY) {
+            text.append(" in ").append(table);
+        }
+        for (FieldDifference field : fieldDifferences) {
+            text.append("\n    ").append(field);
+        }
+        return text.toString();
+    }
+
+    static Map<String, Object> toMap(List<String> columns, Object[] values, int from, int to) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            map.put(columns.get(i), values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * One column of a CHANGED row
+     */
+    public static class FieldDifference {
+        private final String column;
+        private final Object sourceValue;
+        private final Object mirrorValue;
+
+        FieldDifference(String column, Object sourceValue, Object mirrorValue) {
+            this.column = column;
+            this.sourceValue = sourceValue;
+            this.mirrorValue = mirrorValue;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public Object getSourceValue() {
+            return sourceValue;
+        }
+
+        public Object getMirrorValue() {
+            return mirrorValue;
+        }
+
+        @Override
+        public String toString() {
+            return column + ": source=" + sourceValue + " mirror=" + mirrorValue;
+        }
+    }
+}
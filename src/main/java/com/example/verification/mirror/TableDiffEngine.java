@@ -0,0 +1,229 @@
+package com.example.verification.mirror;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffs a source table against its mirror without loading either table
+ * Each table is read with one full scan, both scans at once on pooled connections, and every row is routed
+ * on the client to a hash bucket of its key and spilled to a temporary file (see BucketSpill). The buckets
+ * are then diffed in parallel from those files: the mirror side of a bucket is loaded into a key -> row
+ * digest index, then the source side is streamed past it (see BucketDiff). Only one bucket of mirror
+ * digests per worker is held in memory, so more buckets means less memory per worker; the database work
+ * is two scans whatever the bucket count, at the cost of writing and reading both tables once on local disk.
+ * Field-by-field differences are loaded afterwards, by key, for the CHANGED rows whose details are kept.
+ *
+ * Settings (database.properties or -D):
+ * - mirror.diff.buckets               hash buckets per table (default 64)
+ * - mirror.diff.parallelism           buckets diffed at once (default 4, at most db.pool.maxSize)
+ * - mirror.diff.maxStoredDifferences  row differences kept with details in the report (default 1000)
+ * - mirror.diff.spillDir              directory for the bucket files (default java.io.tmpdir)
+ */
+public class TableDiffEngine {
+
+    private static final Logger logger = Logger.getLogger(TableDiffEngine.class);
+
+    private final OracleDBConnection dbConnection;
+    private final int buckets;
+    private final int parallelism;
+    private final int maxStoredDifferences;
+    private final Path spillDirectory;
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public TableDiffEngine(OracleDBConnection dbConnection) {
+        this(dbConnection, DBConfig.getInt("mirror.diff.buckets", 64),
+                Math.min(DBConfig.getPoolMaxSize(), DBConfig.getInt("mirror.diff.parallelism", 4)),
+                DBConfig.getInt("mirror.diff.maxStoredDifferences", 1000));
+    }
+
+    /**
+     * Constructor
+     * @param dbConnection Database connection instance
+     * @param buckets Hash buckets per table
+     * @param parallelism Buckets diffed at once
+     * @param maxStoredDifferences Row differences kept with details in the report
+     */
+    public TableDiffEngine(OracleDBConnection dbConnection, int buckets, int parallelism, int maxStoredDifferences) {
+        this.dbConnection = dbConnection;
+        this.buckets = Math.max(1, buckets);
+        this.parallelism = Math.max(1, parallelism);
+        this.maxStoredDifferences = Math.max(0, maxStoredDifferences);
+        this.spillDirectory = Paths.get(DBConfig.getProperty("mirror.diff.spillDir", System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Diff a source table against its mirror
+     * @param spec Tables, key and ignored columns
+     * @return Diff report; buckets that fail are listed in it and do not stop the others
+     * @throws SQLException if either table cannot be read or spilled
+     */
+    public TableDiffReport diff(TableDiffSpec spec) throws SQLException {
+        long started = System.currentTimeMillis();
+        List<String> sourceColumns = readColumns(spec.getSourceTable());
+        List<String> mirrorColumns = readColumns(spec.getMirrorTable());
+        for (String key : spec.getKeyColumns()) {
+            if (!sourceColumns.contains(key) || !mirrorColumns.contains(key)) {
+                throw new IllegalArgumentException("Key column " + key + " is not in both " + spec.getSourceTable()
+                        + " and " + spec.getMirrorTable());
+            }
+        }
+
+        List<String> compared = new ArrayList<>();
+        List<String> sourceOnly = new ArrayList<>();
+        for (String column : sourceColumns) {
+            if (spec.getKeyColumns().contains(column) || spec.getIgnoredColumns().contains(column)) {
+                continue;
+            }
+            (mirrorColumns.contains(column) ? compared : sourceOnly).add(column);
+        }
+        List<String> mirrorOnly = new ArrayList<>();
+        for (String column : mirrorColumns) {
+            if (!sourceColumns.contains(column) && !spec.getIgnoredColumns().contains(column)) {
+                mirrorOnly.add(column);
+            }
+        }
+
+        TableDiffReport report = new TableDiffReport(spec, compared, sourceOnly, mirrorOnly, buckets, maxStoredDifferences);
+        int threads = Math.min(parallelism, buckets);
+        logger.info("Diffing " + spec + " on " + compared.size() + " columns in " + buckets + " buckets, "
+                + threads + " at a time");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "table-diff-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger detailBudget = new AtomicInteger(maxStoredDifferences);
+        List<String> columns = new ArrayList<>(spec.getKeyColumns());
+        columns.addAll(compared);
+        int keyCount = spec.getKeyColumns().size();
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory(Files.createDirectories(spillDirectory), "table-diff-");
+            try (BucketSpill mirror = new BucketSpill(directory, "mirror", buckets, keyCount, columns.size());
+                 BucketSpill source = new BucketSpill(directory, "source", buckets, keyCount, columns.size())) {
+                Future<Long> mirrorScan = executor.submit(() -> scan(spec.toScanSql(spec.getMirrorTable(), compared), mirror));
+                Future<Long> sourceScan = executor.submit(() -> scan(spec.toScanSql(spec.getSourceTable(), compared), source));
+                awaitScan(mirrorScan, spec.getMirrorTable());
+                awaitScan(sourceScan, spec.getSourceTable());
+
+                List<Future<BucketDiff>> futures = new ArrayList<>();
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    int number = bucket;
+                    futures.add(executor.submit(() -> diffBucket(spec, compared, columns, mirror, source, number, detailBudget)));
+                }
+                for (int bucket = 0; bucket < futures.size(); bucket++) {
+                    try {
+                        report.addBucket(futures.get(bucket).get());
+                    } catch (ExecutionException e) {
+                        logger.error("Error diffing bucket " + bucket + " of " + spec + ": " + e.getCause());
+                        report.addFailedBucket(bucket, String.valueOf(e.getCause()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Cannot spill " + spec + " to " + spillDirectory + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while diffing " + spec, e);
+        } finally {
+            executor.shutdownNow();
+            if (directory != null) {
+                try {
+                    Files.deleteIfExists(directory);
+                } catch (IOException e) {
+                    logger.warn("Could not delete spill directory " + directory + ": " + e.getMessage());
+                }
+            }
+        }
+
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Table diff finished: " + report.getSummary());
+        return report;
+    }
+
+    private List<String> readColumns(String table) throws SQLException {
+        try (RowCursor cursor = dbConnection.openCursor("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            return new ArrayList<>(cursor.getColumns().getNames());
+        }
+    }
+
+    /**
+     * Read a whole table once, routing its rows to the spill's bucket files
+     * @return Rows read
+     */
+    private long scan(String sql, BucketSpill spill) throws SQLException, IOException {
+        long started = System.currentTimeMillis();
+        try (RowCursor cursor = dbConnection.openCursor(sql)) {
+            int columnCount = cursor.getColumns().size();
+            while (cursor.next()) {
+                spill.add(values(cursor, columnCount));
+            }
+        }
+        spill.finish();
+        logger.info("Spilled " + spill.getRowCount() + " rows in " + (System.currentTimeMillis() - started) + " ms: " + sql);
+        return spill.getRowCount();
+    }
+
+    private static void awaitScan(Future<Long> scan, String table) throws SQLException, IOException, InterruptedException {
+        try {
+            scan.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new SQLException("Error reading " + table + ": " + e.getCause(), e.getCause());
+        }
+    }
+
+    private BucketDiff diffBucket(TableDiffSpec spec, List<String> compared, List<String> columns, BucketSpill mirror,
+                                  BucketSpill source, int bucket, AtomicInteger detailBudget) throws SQLException, IOException {
+        BucketDiff diff = new BucketDiff(spec.getSourceTable(), spec.getMirrorTable(), columns,
+                spec.getKeyColumns().size(), maxStoredDifferences);
+        mirror.forEach(bucket, diff::addMirrorRow);
+        source.forEach(bucket, diff::addSourceRow);
+        diff.finish();
+
+        String keySql = spec.toKeySql(spec.getMirrorTable(), compared);
+        for (RowDifference difference : diff.getDifferences()) {
+            if (difference.getKind() != RowDifference.Kind.CHANGED || detailBudget.getAndDecrement() <= 0) {
+                continue;
+            }
+            List<Map<String, Object>> mirrorRow = dbConnection.executeQueryWithParams(keySql,
+                    difference.getKey().values().toArray());
+            difference.resolve(mirrorRow.isEmpty() ? null : mirrorRow.get(0));
+        }
+        return diff;
+    }
+
+    private static Object[] values(RowCursor cursor, int columnCount) throws SQLException {
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = cursor.row().getObject(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.verification.mirror;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of diffing a source table against its mirror
+ * Keeps every count but only the first maxStoredDifferences row details.
+ * Per-column counts cover the CHANGED rows whose details were stored.
+ */
+public class TableDiffReport {
+
+    private final TableDiffSpec spec;
+    private final List<String> comparedColumns;
+    private final List<String> sourceOnlyColumns;
+    private final List<String> mirrorOnlyColumns;
+    private final int buckets;
+    private final int maxStoredDifferences;
+    private final List<RowDifference> differences = new ArrayList<>();
+    private final Map<String, Integer> changesByColumn = new TreeMap<>();
+    private final Map<Integer, String> failedBuckets = new TreeMap<>();
+    private long sourceRows;
+    private long mirrorRows;
+    private long matchedRows;
+    private long missingRows;
+    private long extraRows;
+    private long changedRows;
+    private long duplicateKeys;
+    private long totalMillis;
+
+    TableDiffReport(TableDiffSpec spec, List<String> comparedColumns, List<String> sourceOnlyColumns,
+                    List<String> mirrorOnlyColumns, int buckets, int maxStoredDifferences) {
+        this.spec = spec;
+        this.comparedColumns = Collections.unmodifiableList(comparedColumns);
+        this.sourceOnlyColumns = Collections.unmodifiableList(sourceOnlyColumns);
+        this.mirrorOnlyColumns = Collections.unmodifiableList(mirrorOnlyColumns);
+        this.buckets = buckets;
+        this.maxStoredDifferences = maxStoredDifferences;
+    }
+
+    /**
+     * Add the outcome of one bucket
+     */
+    void addBucket(BucketDiff bucket) {
+        sourceRows += bucket.getSourceCount();
+        mirrorRows += bucket.getMirrorCount();
+        matchedRows += bucket.getMatched();
+        missingRows += bucket.getMissing();
+        extraRows += bucket.getExtra();
+        changedRows += bucket.getChanged();
+        duplicateKeys += bucket.getDuplicateKeys();
+        for (RowDifference difference : bucket.getDifferences()) {
+            if (differences.size() >= maxStoredDifferences) {
+                break;
+            }
+            differences.add(difference);
+            for (RowDifference.FieldDifference field : difference.getFieldDifferences()) {
+                changesByColumn.merge(field.getColumn(), 1, Integer::sum);
+            }
+        }
+    }
+
+    void addFailedBucket(int bucket, String error) {
+        failedBuckets.put(bucket, error);
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public TableDiffSpec getSpec() {
+        return spec;
+    }
+
+    public List<String> getComparedColumns() {
+        return comparedColumns;
+    }
+
+    /**
+     * Get columns only the source table has, not compared
+     */
+    public List<String> getSourceOnlyColumns() {
+        return sourceOnlyColumns;
+    }
+
+    /**
+     * Get columns only the mirror table has (e.g. MIRROR_DATE), not compared
+     */
+    public List<String> getMirrorOnlyColumns() {
+        return mirrorOnlyColumns;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public long getSourceRows() {
+        return sourceRows;
+    }
+
+    public long getMirrorRows() {
+        return mirrorRows;
+    }
+
+    public long getMatchedRows() {
+        return matchedRows;
+    }
+
+    /**
+     * Get the number of source rows with no mirror row
+     */
+    public long getMissingRows() {
+        return missingRows;
+    }
+
+    /**
+     * Get the number of mirror rows with no source row
+     */
+    public long getExtraRows() {
+        return extraRows;
+    }
+
+    public long getChangedRows() {
+        return changedRows;
+    }
+
+    public long getDuplicateKeys() {
+        return duplicateKeys;
+    }
+
+    /**
+     * Get the first differences found, up to the configured limit
+     */
+    public List<RowDifference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    public List<RowDifference> getDifferences(RowDifference.Kind kind) {
+        List<RowDifference> matching = new ArrayList<>();
+        for (RowDifference difference : differences) {
+            if (difference.getKind() == kind) {
+                matching.add(difference);
+            }
+        }
+        return matching;
+    }
+
+    public Map<String, Integer> getChangesByColumn() {
+        return Collections.unmodifiableMap(changesByColumn);
+    }
+
+    /**
+     * Get the buckets that could not be read, with their error; their rows are not in the counts
+     */
+    public Map<Integer, String> getFailedBuckets() {
+        return Collections.unmodifiableMap(failedBuckets);
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Whether every bucket was read and the mirror matches the source row for row
+     */
+    public boolean isConsistent() {
+        return failedBuckets.isEmpty() && missingRows == 0 && extraRows == 0 && changedRows == 0 && duplicateKeys == 0;
+    }
+
+    /**
+     * Get a printable summary of the diff
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(spec).append(String.format("%n"));
+        summary.append(String.format("Source rows: %d, Mirror rows: %d, Matched: %d%n", sourceRows, mirrorRows, matchedRows));
+        summary.append(String.format("Missing: %d, Extra: %d, Changed: %d, Duplicate keys: %d%n",
+                missingRows, extraRows, changedRows, duplicateKeys));
+        summary.append(String.format("Time: %d ms, Buckets: %d (%d failed)%n", totalMillis, buckets, failedBuckets.size()));
+        if (!sourceOnlyColumns.isEmpty() || !mirrorOnlyColumns.isEmpty()) {
+            summary.append(String.format("Not compared: source only %s, mirror only %s%n", sourceOnlyColumns, mirrorOnlyColumns));
+        }
+        for (Map.Entry<String, Integer> entry : changesByColumn.entrySet()) {
+            summary.append(String.format("  %-24s changed=%d%n", entry.getKey(), entry.getValue()));
+        }
+        for (Map.Entry<Integer, String> entry : failedBuckets.entrySet()) {
+            summary.append(String.format("  bucket %d failed: %s%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.verification.mirror;
+
+import com.example.utils.db.SqlWhere;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Source and mirror table to diff, the key that identifies a row in both, and columns to leave out
+ * Columns present in only one of the tables (e.g. MIRROR_DATE, SYNC_STATUS) are reported but never compared.
+ *
+ *   TableDiffSpec.of("FUND_CLIENTS", "FUND_CLIENTS_MIRROR", "CL_ID", "FUND_CODE").ignore("LAST_UPDATE_DATE")
+ */
+public class TableDiffSpec {
+
+    private static final String TABLE_NAME = "[A-Za-z][A-Za-z0-9_$#.]*";
+
+    private final String sourceTable;
+    private final String mirrorTable;
+    private final List<String> keyColumns;
+    private final Set<String> ignoredColumns;
+
+    private TableDiffSpec(String sourceTable, String mirrorTable, List<String> keyColumns, Set<String> ignoredColumns) {
+        for (String table : Arrays.asList(sourceTable, mirrorTable)) {
+            if (table == null || !table.matches(TABLE_NAME)) {
+                throw new IllegalArgumentException("Invalid table name: " + table);
+            }
+        }
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        for (String column : keyColumns) {
+            if (!SqlWhere.isValidColumnName(column)) {
+                throw new IllegalArgumentException("Invalid key column: " + column);
+            }
+        }
+        this.sourceTable = sourceTable.toUpperCase(Locale.ROOT);
+        this.mirrorTable = mirrorTable.toUpperCase(Locale.ROOT);
+        this.keyColumns = Collections.unmodifiableList(keyColumns);
+        this.ignoredColumns = Collections.unmodifiableSet(ignoredColumns);
+    }
+
+    /**
+     * Diff two tables by a key
+     * @param sourceTable Table holding the expected rows
+     * @param mirrorTable Table that should mirror it
+     * @param keyColumns Columns identifying a row in both tables
+     */
+    public static TableDiffSpec of(String sourceTable, String mirrorTable, String... keyColumns) {
+        List<String> keys = new ArrayList<>();
+        for (String column : keyColumns) {
+            keys.add(column.trim().toUpperCase(Locale.ROOT));
+        }
+        return new TableDiffSpec(sourceTable, mirrorTable, keys, new LinkedHashSet<>());
+    }
+
+    /**
+     * Leave columns out of the comparison, e.g. audit timestamps that legitimately differ
+     */
+    public TableDiffSpec ignore(String... columns) {
+        Set<String> ignored = new LinkedHashSet<>(ignoredColumns);
+        for (String column : columns) {
+            ignored.add(column.trim().toUpperCase(Locale.ROOT));
+        }
+        return new TableDiffSpec(sourceTable, mirrorTable, keyColumns, ignored);
+    }
+
+    public String getSourceTable() {
+        return sourceTable;
+    }
+
+    public String getMirrorTable() {
+        return mirrorTable;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    public Set<String> getIgnoredColumns() {
+        return ignoredColumns;
+    }
+
+    /**
+     * Build the SELECT of a whole table: key columns first, then the compared columns
+     */
+    String toScanSql(String table, List<String> comparedColumns) {
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(comparedColumns);
+        return "SELECT " + String.join(", ", columns) + " FROM " + table;
+    }
+
+    /**
+     * Build the SELECT of one row by key, columns in the same order as toScanSql
+     */
+    String toKeySql(String table, List<String> comparedColumns) {
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(comparedColumns);
+        List<String> conditions = new ArrayList<>();
+        for (String key : keyColumns) {
+            conditions.add(key + " = ?");
+        }
+        return "SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE " + String.join(" AND ", conditions);
+    }
+
+    @Override
+    public String toString() {
+        return sourceTable + " vs " + mirrorTable + " by " + keyColumns
+                + (ignoredColumns.isEmpty() ? "" : " ignoring " + ignoredColumns);
+    }
+}
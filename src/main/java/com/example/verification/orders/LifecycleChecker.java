@@ -0,0 +1,155 @@
+package com.example.verification.orders;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Checks the joined rows of one order lifecycle
+ * Stateless, so one checker serves every group of a reconciliation.
+ */
+public class LifecycleChecker {
+
+    private static final Comparator<OrderEvent> BY_TIME = Comparator.comparingLong(OrderEvent::getTimeMillis)
+            .thenComparingLong(OrderEvent::getSeq);
+
+    /**
+     * Check an order against its FIX messages
+     * @param slNo SL_NO the events were joined on
+     * @param events SEC_ORDERS rows and SEC_FIX_SEND_QUEY_TAGS messages of the SL_NO
+     * @return Issues found, empty if the lifecycle is consistent
+     */
+    public List<LifecycleIssue> checkFix(String slNo, List<OrderEvent> events) {
+        List<LifecycleIssue> issues = new ArrayList<>(0);
+        List<OrderEvent> orders = select(events, OrderEvent.Source.ORDER);
+        List<OrderEvent> messages = select(events, OrderEvent.Source.FIX);
+        if (orders.isEmpty()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.ORPHAN_FIX, slNo, "",
+                    messages.size() + " FIX message(s) without a SEC_ORDERS row, first " + messages.get(0).getStatus()));
+            return issues;
+        }
+        OrderEvent order = orders.get(orders.size() - 1);
+        if (orders.size() > 1) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.DUPLICATE_ORDER, slNo, order.getOrderId(),
+                    orders.size() + " SEC_ORDERS rows share the SL_NO"));
+        }
+        if (order.getFilled() >= 0 && order.getQuantity() >= 0 && order.getFilled() > order.getQuantity()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.BROKEN_TRANSITION, slNo, order.getOrderId(),
+                    "EXECUTED_SHARES " + order.getFilled() + " exceeds VOLUMN_OF_SHARES " + order.getQuantity()));
+        }
+        if (messages.isEmpty()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.MISSING_FIX, slNo, order.getOrderId(),
+                    "order in status " + order.getStatus() + " has no FIX message"));
+            return issues;
+        }
+        // Amendments resend tag 38, so only the latest message has to match the order
+        OrderEvent latest = messages.get(messages.size() - 1);
+        if (latest.getQuantity() >= 0 && order.getQuantity() >= 0 && latest.getQuantity() != order.getQuantity()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.QUANTITY_MISMATCH, slNo, order.getOrderId(),
+                    "TAG_38_ORDER_QTY " + latest.getQuantity() + ", VOLUMN_OF_SHARES " + order.getQuantity()));
+        }
+        checkSideAndSymbol(issues, order, messages, "TAG_54_SIDE", "TAG_55_SYMBOL");
+        return issues;
+    }
+
+    /**
+     * Check an order against its XDP_ORDERS and XDP_ORDERS_HIST rows
+     * @param orderId Exchange order id the events were joined on
+     * @param events SEC_ORDERS rows and market rows of the order id
+     * @return Issues found, empty if the lifecycle is consistent
+     */
+    public List<LifecycleIssue> checkMarket(String orderId, List<OrderEvent> events) {
+        List<LifecycleIssue> issues = new ArrayList<>(0);
+        List<OrderEvent> orders = select(events, OrderEvent.Source.ORDER);
+        if (orders.isEmpty()) {
+            // Market rows of other members' orders carry no lifecycle of ours
+            return issues;
+        }
+        List<OrderEvent> live = select(events, OrderEvent.Source.MARKET);
+        List<OrderEvent> history = select(events, OrderEvent.Source.MARKET_HISTORY);
+        OrderEvent order = orders.get(orders.size() - 1);
+        String slNo = order.getSlNo();
+        // Rows repeating one SL_NO are already reported by checkFix()
+        long slNos = orders.stream().map(OrderEvent::getSlNo).distinct().count();
+        if (slNos > 1) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.DUPLICATE_ORDER, slNo, orderId,
+                    slNos + " SL_NOs share the exchange order id"));
+        }
+        if (live.isEmpty() && history.isEmpty()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.MISSING_ON_MARKET, slNo, orderId,
+                    "order in status " + order.getStatus() + " is in neither XDP_ORDERS nor XDP_ORDERS_HIST"));
+            return issues;
+        }
+
+        List<OrderEvent> market = new ArrayList<>(live.size() + history.size());
+        market.addAll(history);
+        market.addAll(live);
+        checkSideAndSymbol(issues, order, market, "SIDE", "INST");
+        long shown = -1;
+        for (OrderEvent row : market) {
+            shown = Math.max(shown, row.getQuantity());
+        }
+        if (order.getQuantity() >= 0 && shown > order.getQuantity()) {
+            issues.add(new LifecycleIssue(LifecycleIssue.Kind.QUANTITY_MISMATCH, slNo, orderId,
+                    "market VOLUME " + shown + " exceeds VOLUMN_OF_SHARES " + order.getQuantity()));
+        }
+
+        boolean deleted = false;
+        for (OrderEvent row : history) {
+            if (row.isDeleted()) {
+                deleted = true;
+            } else if (deleted) {
+                issues.add(new LifecycleIssue(LifecycleIssue.Kind.BROKEN_TRANSITION, slNo, orderId,
+                        "XDP_ORDERS_HIST action " + row.getStatus() + " after the order was deleted"));
+                break;
+            }
+        }
+        OrderEvent current = live.isEmpty() ? null : live.get(live.size() - 1);
+        if (current != null && !current.isDeleted()) {
+            OrderEvent lastHistory = history.isEmpty() ? null : history.get(history.size() - 1);
+            if (lastHistory != null && lastHistory.isDeleted() && lastHistory.getTimeMillis() >= current.getTimeMillis()) {
+                issues.add(new LifecycleIssue(LifecycleIssue.Kind.BROKEN_TRANSITION, slNo, orderId,
+                        "live in XDP_ORDERS but deleted in XDP_ORDERS_HIST"));
+            } else if (order.getQuantity() > 0 && order.getFilled() >= order.getQuantity() && current.getQuantity() > 0) {
+                issues.add(new LifecycleIssue(LifecycleIssue.Kind.BROKEN_TRANSITION, slNo, orderId,
+                        "fully executed but still live in XDP_ORDERS with VOLUME " + current.getQuantity()));
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Report the first row whose known side, and the first whose symbol, differs from the order's
+     */
+    private static void checkSideAndSymbol(List<LifecycleIssue> issues, OrderEvent order, List<OrderEvent> rows,
+                                           String sideColumn, String symbolColumn) {
+        boolean sideChecked = order.getSide() == OrderEvent.UNKNOWN_SIDE;
+        boolean symbolChecked = order.getSymbol().isEmpty();
+        for (OrderEvent row : rows) {
+            if (!sideChecked && row.getSide() != OrderEvent.UNKNOWN_SIDE && row.getSide() != order.getSide()) {
+                issues.add(new LifecycleIssue(LifecycleIssue.Kind.SIDE_MISMATCH, order.getSlNo(), order.getOrderId(),
+                        row.getSource() + " " + sideColumn + " " + row.getSide() + ", order side " + order.getSide()));
+                sideChecked = true;
+            }
+            if (!symbolChecked && !row.getSymbol().isEmpty() && !row.getSymbol().equalsIgnoreCase(order.getSymbol())) {
+                issues.add(new LifecycleIssue(LifecycleIssue.Kind.SYMBOL_MISMATCH, order.getSlNo(), order.getOrderId(),
+                        row.getSource() + " " + symbolColumn + " " + row.getSymbol() + ", COMPANY_CODE " + order.getSymbol()));
+                symbolChecked = true;
+            }
+        }
+    }
+
+    /**
+     * Get the events of one source, oldest first
+     */
+    private static List<OrderEvent> select(List<OrderEvent> events, OrderEvent.Source source) {
+        List<OrderEvent> selected = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            if (event.getSource() == source) {
+                selected.add(event);
+            }
+        }
+        selected.sort(BY_TIME);
+        return selected;
+    }
+}
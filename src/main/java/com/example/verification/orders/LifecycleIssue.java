@@ -0,0 +1,61 @@
+package com.example.verification.orders;
+
+/**
+ * One broken or orphaned order lifecycle
+ * - ORPHAN_FIX: SEC_FIX_SEND_QUEY_TAGS messages for an SL_NO with no SEC_ORDERS row
+ * - MISSING_FIX: a SEC_ORDERS row with no FIX message
+ * - MISSING_ON_MARKET: a SEC_ORDERS row with an exchange order id found in neither XDP_ORDERS nor XDP_ORDERS_HIST
+ * - DUPLICATE_ORDER: several SEC_ORDERS rows share an SL_NO or an exchange order id
+ * - QUANTITY_MISMATCH: TAG_38_ORDER_QTY differs from VOLUMN_OF_SHARES, or the market shows more than was ordered
+ * - SIDE_MISMATCH: TAG_54_SIDE or the XDP SIDE differs from the order's side
+ * - SYMBOL_MISMATCH: TAG_55_SYMBOL differs from COMPANY_CODE
+ * - BROKEN_TRANSITION: the states do not follow each other, e.g. activity after a delete or a filled order
+ *   still live on the market
+ */
+public class LifecycleIssue {
+
+    public enum Kind {
+        ORPHAN_FIX, MISSING_FIX, MISSING_ON_MARKET, DUPLICATE_ORDER, QUANTITY_MISMATCH, SIDE_MISMATCH,
+        SYMBOL_MISMATCH, BROKEN_TRANSITION
+    }
+
+    private final Kind kind;
+    private final String slNo;
+    private final String orderId;
+    private final String detail;
+
+    LifecycleIssue(Kind kind, String slNo, String orderId, String detail) {
+        this.kind = kind;
+        this.slNo = slNo;
+        this.orderId = orderId;
+        this.detail = detail;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the SL_NO of the order, empty if only the exchange order id is known
+     */
+    public String getSlNo() {
+        return slNo;
+    }
+
+    /**
+     * Get the exchange order id, empty if the order has none
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " SL_NO " + (slNo.isEmpty() ? "-" : slNo) + " order " + (orderId.isEmpty() ? "-" : orderId)
+                + ": " + detail;
+    }
+}
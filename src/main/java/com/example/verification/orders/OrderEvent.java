@@ -0,0 +1,205 @@
+package com.example.verification.orders;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * One row of an order's lifecycle, reduced to the fields the lifecycle checks compare
+ * Each source table contributes one kind of event:
+ * - ORDER: a SEC_ORDERS row (status ORDER_STATUS, side ORDER_TYPE, filled EXECUTED_SHARES)
+ * - FIX: a SEC_FIX_SEND_QUEY_TAGS message (status STATUS, side TAG_54, symbol TAG_55, quantity TAG_38)
+ * - MARKET: the XDP_ORDERS row of the order (status ACTIONTYPE, remaining VOLUME)
+ * - MARKET_HISTORY: an XDP_ORDERS_HIST row of the order
+ * Events are immutable and written to spill files in a compact binary form.
+ */
+public final class OrderEvent {
+
+    public enum Source {
+        ORDER, FIX, MARKET, MARKET_HISTORY
+    }
+
+    public static final char BUY = 'B';
+    public static final char SELL = 'S';
+    public static final char UNKNOWN_SIDE = '?';
+
+    private static final Source[] SOURCES = Source.values();
+
+    private final Source source;
+    private final String slNo;
+    private final String orderId;
+    private final long timeMillis;
+    private final long seq;
+    private final char side;
+    private final String symbol;
+    private final long quantity;
+    private final long filled;
+    private final String status;
+    private final boolean deleted;
+
+    /**
+     * Constructor
+     * @param source Table the row comes from
+     * @param slNo SL_NO of the order, empty for market rows
+     * @param orderId Exchange order id (ORDER_ID_MITCH_278 / MITCH_ORDERID), empty if unknown
+     * @param timeMillis Row TIME_STAMP, 0 if unknown
+     * @param seq Order of the row among rows with the same time (MARKET_SEQ for market rows)
+     * @param side BUY, SELL or UNKNOWN_SIDE
+     * @param symbol Instrument, empty if the row has none
+     * @param quantity Ordered (or, for market rows, displayed) quantity, -1 if unknown
+     * @param filled Executed quantity, -1 if unknown
+     * @param status Status or action of the row, empty if unknown
+     * @param deleted Whether the row marks the order as deleted (market rows)
+     */
+    public OrderEvent(Source source, String slNo, String orderId, long timeMillis, long seq, char side, String symbol,
+                      long quantity, long filled, String status, boolean deleted) {
+        this.source = source;
+        this.slNo = slNo != null ? slNo : "";
+        this.orderId = orderId != null ? orderId : "";
+        this.timeMillis = timeMillis;
+        this.seq = seq;
+        this.side = side;
+        this.symbol = symbol != null ? symbol : "";
+        this.quantity = quantity;
+        this.filled = filled;
+        this.status = status != null ? status : "";
+        this.deleted = deleted;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public String getSlNo() {
+        return slNo;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public char getSide() {
+        return side;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getFilled() {
+        return filled;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Rough heap size of the event, used against the reconciler's memory budget
+     */
+    long estimateBytes() {
+        return 96 + 2L * (slNo.length() + orderId.length() + symbol.length() + status.length());
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(source.ordinal());
+        out.writeUTF(slNo);
+        out.writeUTF(orderId);
+        out.writeLong(timeMillis);
+        out.writeLong(seq);
+        out.writeChar(side);
+        out.writeUTF(symbol);
+        out.writeLong(quantity);
+        out.writeLong(filled);
+        out.writeUTF(status);
+        out.writeBoolean(deleted);
+    }
+
+    static OrderEvent readFrom(DataInputStream in) throws IOException {
+        return new OrderEvent(SOURCES[in.readByte()], in.readUTF(), in.readUTF(), in.readLong(), in.readLong(),
+                in.readChar(), in.readUTF(), in.readLong(), in.readLong(), in.readUTF(), in.readBoolean());
+    }
+
+    /**
+     * Normalise a side code: 1/B/BUY/BID for buy, 2/5/S/SELL/A/ASK/OFFER for sell (FIX tag 54 or XDP SIDE)
+     * @return BUY, SELL or UNKNOWN_SIDE
+     */
+    public static char parseSide(String value) {
+        if (value == null) {
+            return UNKNOWN_SIDE;
+        }
+        switch (value.trim().toUpperCase()) {
+            case "1":
+            case "B":
+            case "BUY":
+            case "BID":
+                return BUY;
+            case "2":
+            case "5":
+            case "S":
+            case "SELL":
+            case "A":
+            case "ASK":
+            case "OFFER":
+                return SELL;
+            default:
+                return UNKNOWN_SIDE;
+        }
+    }
+
+    /**
+     * Normalise an order id or SL_NO so NUMBER and VARCHAR2 columns join: "00123", "123" and "123.0" all give "123"
+     */
+    public static String key(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return trimmed;
+        }
+        try {
+            return new BigDecimal(trimmed).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * Parse a quantity column that may be stored as text
+     * @return Whole quantity, -1 if empty or not a number
+     */
+    public static long quantity(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        try {
+            return new BigDecimal(value.trim()).longValue();
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source + " sl=" + slNo + " id=" + orderId + " t=" + timeMillis + " side=" + side + " sym=" + symbol
+                + " qty=" + quantity + " filled=" + filled + " status=" + status + (deleted ? " deleted" : "");
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.verification.orders;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Groups order events by a join key within a memory budget
+ * Events are kept in a hash table of key to events until their estimated size passes the budget. The table
+ * is then hash-partitioned into spill files, and every later event is appended straight to its partition
+ * file. forEachGroup() reads one partition at a time back into memory, so the heap holds about
+ * budget / partitions of spilled events at once; a partition is the unit of memory, so a single key with more
+ * events than the budget still has to fit.
+ * Not thread-safe. Close the spool to delete its files.
+ */
+public class OrderEventSpool implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(OrderEventSpool.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String name;
+    private final Function<OrderEvent, String> keyOf;
+    private final long budgetBytes;
+    private final int partitions;
+    private final Path spillDir;
+
+    private Map<String, List<OrderEvent>> groups = new HashMap<>();
+    private long heldBytes;
+    private long eventCount;
+    private long spilledEvents;
+    private Path directory;
+    private Path[] files;
+    private DataOutputStream[] writers;
+
+    /**
+     * Constructor
+     * @param name Name of the spool, used in file names and logs
+     * @param keyOf Join key of an event; events with an empty key are dropped
+     * @param budgetBytes Estimated event bytes held in memory before spilling
+     * @param partitions Spill files
+     * @param spillDir Directory the spill files are created under
+     */
+    public OrderEventSpool(String name, Function<OrderEvent, String> keyOf, long budgetBytes, int partitions, Path spillDir) {
+        this.name = name;
+        this.keyOf = keyOf;
+        this.budgetBytes = budgetBytes;
+        this.partitions = Math.max(1, partitions);
+        this.spillDir = spillDir;
+    }
+
+    /**
+     * Add an event, spilling to disk once the budget is passed
+     * @return false if the event has no key and was dropped
+     */
+    public boolean add(OrderEvent event) throws IOException {
+        String key = keyOf.apply(event);
+        if (key.isEmpty()) {
+            return false;
+        }
+        eventCount++;
+        if (writers != null) {
+            write(key, event);
+            return true;
+        }
+        groups.computeIfAbsent(key, k -> new ArrayList<>(2)).add(event);
+        heldBytes += event.estimateBytes();
+        if (heldBytes > budgetBytes) {
+            spill();
+        }
+        return true;
+    }
+
+    /**
+     * Hand every key's events to the handler, in the order they were added
+     * Call once, after the last add(). Partition files are deleted as soon as they have been read.
+     */
+    public void forEachGroup(GroupHandler handler) throws IOException {
+        if (writers == null) {
+            for (Map.Entry<String, List<OrderEvent>> entry : groups.entrySet()) {
+                handler.onGroup(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        closeWriters();
+        for (int partition = 0; partition < partitions; partition++) {
+            Map<String, List<OrderEvent>> partitionGroups = read(files[partition]);
+            for (Map.Entry<String, List<OrderEvent>> entry : partitionGroups.entrySet()) {
+                handler.onGroup(entry.getKey(), entry.getValue());
+            }
+            Files.deleteIfExists(files[partition]);
+        }
+    }
+
+    /**
+     * Get the number of events added with a key
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Whether the budget was passed and events went to disk
+     */
+    public boolean isSpilled() {
+        return files != null;
+    }
+
+    /**
+     * Get the number of events written to spill files
+     */
+    public long getSpilledEvents() {
+        return spilledEvents;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeWriters();
+        groups = new HashMap<>();
+        if (directory != null) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+            directory = null;
+        }
+    }
+
+    private void spill() throws IOException {
+        Files.createDirectories(spillDir);
+        directory = Files.createTempDirectory(spillDir, "order-lifecycle-" + name + "-");
+        files = new Path[partitions];
+        writers = new DataOutputStream[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            files[partition] = directory.resolve("part-" + partition + ".bin");
+            writers[partition] = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(files[partition]), BUFFER_SIZE));
+        }
+        for (Map.Entry<String, List<OrderEvent>> entry : groups.entrySet()) {
+            for (OrderEvent event : entry.getValue()) {
+                write(entry.getKey(), event);
+            }
+        }
+        logger.info("Order lifecycle spool " + name + " passed its " + budgetBytes + " byte budget after " + eventCount
+                + " event(s), spilling to " + partitions + " partition(s) in " + directory);
+        groups = new HashMap<>();
+        heldBytes = 0;
+    }
+
+    private void write(String key, OrderEvent event) throws IOException {
+        event.writeTo(writers[(key.hashCode() & Integer.MAX_VALUE) % partitions]);
+        spilledEvents++;
+    }
+
+    private Map<String, List<OrderEvent>> read(Path file) throws IOException {
+        Map<String, List<OrderEvent>> partitionGroups = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            while (true) {
+                OrderEvent event;
+                try {
+                    event = OrderEvent.readFrom(in);
+                } catch (EOFException e) {
+                    break;
+                }
+                partitionGroups.computeIfAbsent(keyOf.apply(event), k -> new ArrayList<>(2)).add(event);
+            }
+        }
+        return partitionGroups;
+    }
+
+    private void closeWriters() throws IOException {
+        if (writers == null) {
+            return;
+        }
+        IOException failure = null;
+        for (DataOutputStream writer : writers) {
+            try {
+                if (writer != null) {
+                    writer.close();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        writers = null;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Receives the events of one join key
+     */
+    @FunctionalInterface
+    public interface GroupHandler {
+        /**
+         * @param key Join key
+         * @param events Events of the key, in the order they were added
+         */
+        void onGroup(String key, List<OrderEvent> events);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.verification.orders;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Reconciles one trading day of order lifecycles across SEC_ORDERS, SEC_FIX_SEND_QUEY_TAGS, XDP_ORDERS and
+ * XDP_ORDERS_HIST
+ * Each table is streamed once through a cursor into two hash joins: SEC_ORDERS with the FIX messages on
+ * SL_NO, and SEC_ORDERS with the market rows on the exchange order id (ORDER_ID_MITCH_278 = MITCH_ORDERID).
+ * The market tables hold every member's orders, so only the rows of the day's own orders are read (IN
+ * subquery on SEC_ORDERS). Each join keeps its rows in an OrderEventSpool, which spills to hash-partitioned
+ * files once half the memory budget is used and then joins one partition at a time. Every joined group is
+ * checked by LifecycleChecker.
+ *
+ * ORDER_TYPE is read as the order's side (FIX_ORD_TYPE_40 holds the FIX order type). XDP_ORDERS only carries
+ * INST_SEQ, which has no mapping to COMPANY_CODE, so symbols are checked against TAG_55_SYMBOL only.
+ *
+ * Settings (database.properties or -D):
+ * - orders.reconcile.memoryBudgetMb   estimated row memory both joins may hold before spilling (default 256)
+ * - orders.reconcile.spillDir         directory for spill files (default java.io.tmpdir)
+ * - orders.reconcile.spillPartitions  spill files per join (default 64)
+ * - orders.reconcile.maxStoredIssues  issue details kept in the report (default 1000)
+ */
+public class OrderLifecycleReconciler {
+
+    private static final Logger logger = Logger.getLogger(OrderLifecycleReconciler.class);
+
+    private static final String ORDERS_QUERY = "SELECT o.SL_NO, o.ORDER_ID_MITCH_278, o.ORDER_STATUS, o.ORDER_TYPE, " +
+            "o.COMPANY_CODE, o.VOLUMN_OF_SHARES, o.EXECUTED_SHARES, o.TIME_STAMP FROM SEC_ORDERS o WHERE ";
+    private static final String FIX_QUERY = "SELECT SF.SL_NO, SF.STATUS, SF.TAG_54_SIDE, SF.TAG_55_SYMBOL, " +
+            "SF.TAG_38_ORDER_QTY, SF.TIME_STAMP FROM SEC_FIX_SEND_QUEY_TAGS SF WHERE ";
+    private static final String MARKET_COLUMNS = "SELECT x.MITCH_ORDERID, x.SIDE, x.VOLUME, x.ACTIONTYPE, " +
+            "x.ISDELETED, x.TIME_STAMP, x.MARKET_SEQ FROM ";
+    private static final String OWN_ORDERS = " x WHERE x.MITCH_ORDERID IN (SELECT o.ORDER_ID_MITCH_278 FROM " +
+            "SEC_ORDERS o WHERE o.ORDER_ID_MITCH_278 IS NOT NULL AND ";
+
+    private final OracleDBConnection dbConnection;
+    private final long memoryBudgetBytes;
+    private final Path spillDir;
+    private final int spillPartitions;
+    private final int maxStoredIssues;
+    private final LifecycleChecker checker = new LifecycleChecker();
+
+    /**
+     * Constructor, settings from database.properties
+     * @param dbConnection Database connection instance
+     */
+    public OrderLifecycleReconciler(OracleDBConnection dbConnection) {
+        this.dbConnection = dbConnection;
+        this.memoryBudgetBytes = Math.max(1, DBConfig.getLong("orders.reconcile.memoryBudgetMb", 256)) << 20;
+        this.spillDir = Paths.get(DBConfig.getProperty("orders.reconcile.spillDir", System.getProperty("java.io.tmpdir")));
+        this.spillPartitions = Math.max(1, DBConfig.getInt("orders.reconcile.spillPartitions", 64));
+        this.maxStoredIssues = Math.max(0, DBConfig.getInt("orders.reconcile.maxStoredIssues", 1000));
+    }
+
+    /**
+     * Reconcile today's orders, by the database clock
+     * @return Report with the row counts and the broken or orphaned lifecycles
+     * @throws SQLException if a table cannot be read or the spill files cannot be written
+     */
+    public OrderLifecycleReport reconcile() throws SQLException {
+        return reconcile(DateWindow.databaseToday());
+    }
+
+    /**
+     * Reconcile the orders of one trading day
+     * Orders are selected on ORDER_DATE, FIX messages on TIME_STAMP.
+     * @param window Trading day
+     * @return Report with the row counts and the broken or orphaned lifecycles
+     * @throws SQLException if a table cannot be read or the spill files cannot be written
+     */
+    public OrderLifecycleReport reconcile(DateWindow window) throws SQLException {
+        long started = System.currentTimeMillis();
+        OrderLifecycleReport report = new OrderLifecycleReport(window.toString(), maxStoredIssues);
+        long budget = memoryBudgetBytes / 2;
+        try (OrderEventSpool bySlNo = new OrderEventSpool("fix", OrderEvent::getSlNo, budget, spillPartitions, spillDir);
+             OrderEventSpool byOrderId = new OrderEventSpool("market", OrderEvent::getOrderId, budget, spillPartitions,
+                     spillDir)) {
+            long[] orders = readOrders(window, bySlNo, byOrderId);
+            long fixMessages = readFixMessages(window, bySlNo);
+            long marketRows = readMarket("XDP_ORDERS", OrderEvent.Source.MARKET, window, byOrderId);
+            long historyRows = readMarket("XDP_ORDERS_HIST", OrderEvent.Source.MARKET_HISTORY, window, byOrderId);
+            report.setRows(orders[0], fixMessages, marketRows, historyRows, orders[1]);
+            logger.info("Order lifecycle rows read in " + (System.currentTimeMillis() - started) + " ms: "
+                    + orders[0] + " order(s), " + fixMessages + " FIX message(s), " + marketRows + " + " + historyRows
+                    + " market row(s)");
+
+            bySlNo.forEachGroup((slNo, events) -> report.addIssues(checker.checkFix(slNo, events)));
+            byOrderId.forEachGroup((orderId, events) -> report.addIssues(checker.checkMarket(orderId, events)));
+            report.addSpilledEvents(bySlNo.getSpilledEvents() + byOrderId.getSpilledEvents());
+        } catch (IOException e) {
+            throw new SQLException("Order lifecycle spill failed: " + e.getMessage(), e);
+        }
+        report.setTotalMillis(System.currentTimeMillis() - started);
+        logger.info("Order lifecycle reconciliation finished\n" + report.getSummary());
+        return report;
+    }
+
+    /**
+     * @return Orders read and orders without an exchange order id
+     */
+    private long[] readOrders(DateWindow window, OrderEventSpool bySlNo, OrderEventSpool byOrderId)
+            throws SQLException, IOException {
+        long[] counts = new long[2];
+        try (RowCursor cursor = dbConnection.openCursor(ORDERS_QUERY + window.predicate("o.ORDER_DATE"),
+                window.getParameters().toArray())) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                counts[0]++;
+                OrderEvent event = new OrderEvent(OrderEvent.Source.ORDER, OrderEvent.key(row.getString("SL_NO")),
+                        OrderEvent.key(row.getString("ORDER_ID_MITCH_278")), millis(row.getTimestamp("TIME_STAMP")), 0,
+                        OrderEvent.parseSide(row.getString("ORDER_TYPE")), row.getString("COMPANY_CODE").trim(),
+                        OrderEvent.quantity(row.getString("VOLUMN_OF_SHARES")),
+                        OrderEvent.quantity(row.getString("EXECUTED_SHARES")), row.getString("ORDER_STATUS"), false);
+                bySlNo.add(event);
+                if (!byOrderId.add(event)) {
+                    counts[1]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private long readFixMessages(DateWindow window, OrderEventSpool bySlNo) throws SQLException, IOException {
+        long count = 0;
+        try (RowCursor cursor = dbConnection.openCursor(FIX_QUERY + window.predicate("SF.TIME_STAMP"),
+                window.getParameters().toArray())) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                count++;
+                bySlNo.add(new OrderEvent(OrderEvent.Source.FIX, OrderEvent.key(row.getString("SL_NO")), "",
+                        millis(row.getTimestamp("TIME_STAMP")), count, OrderEvent.parseSide(row.getString("TAG_54_SIDE")),
+                        row.getString("TAG_55_SYMBOL").trim(), OrderEvent.quantity(row.getString("TAG_38_ORDER_QTY")),
+                        -1, row.getString("STATUS"), false));
+            }
+        }
+        return count;
+    }
+
+    private long readMarket(String table, OrderEvent.Source source, DateWindow window, OrderEventSpool byOrderId)
+            throws SQLException, IOException {
+        long count = 0;
+        try (RowCursor cursor = dbConnection.openCursor(MARKET_COLUMNS + table + OWN_ORDERS
+                + window.predicate("o.ORDER_DATE") + ")", window.getParameters().toArray())) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                count++;
+                byOrderId.add(new OrderEvent(source, "", OrderEvent.key(row.getString("MITCH_ORDERID")),
+                        millis(row.getTimestamp("TIME_STAMP")), row.getLong("MARKET_SEQ"),
+                        OrderEvent.parseSide(row.getString("SIDE")), "", OrderEvent.quantity(row.getString("VOLUME")),
+                        -1, row.getString("ACTIONTYPE"), isSet(row.getString("ISDELETED"))));
+            }
+        }
+        return count;
+    }
+
+    private static long millis(Timestamp time) {
+        return time != null ? time.getTime() : 0;
+    }
+
+    /**
+     * Whether a flag column is set (Y, 1 or TRUE, any case)
+     */
+    private static boolean isSet(String flag) {
+        String value = flag.trim();
+        return value.equalsIgnoreCase("Y") || value.equals("1") || value.equalsIgnoreCase("TRUE");
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.verification.orders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of reconciling one trading day of order lifecycles
+ * Holds every issue count but only the first maxStoredIssues issue details.
+ */
+public class OrderLifecycleReport {
+
+    private final String window;
+    private final int maxStoredIssues;
+    private final Map<LifecycleIssue.Kind, Long> issueCounts = new EnumMap<>(LifecycleIssue.Kind.class);
+    private final List<LifecycleIssue> issues = new ArrayList<>();
+    private long orders;
+    private long fixMessages;
+    private long marketRows;
+    private long historyRows;
+    private long unroutedOrders;
+    private long lifecycles;
+    private long spilledEvents;
+    private long totalMillis;
+
+    OrderLifecycleReport(String window, int maxStoredIssues) {
+        this.window = window;
+        this.maxStoredIssues = maxStoredIssues;
+    }
+
+    void addIssues(List<LifecycleIssue> found) {
+        lifecycles++;
+        for (LifecycleIssue issue : found) {
+            issueCounts.merge(issue.getKind(), 1L, Long::sum);
+            if (issues.size() < maxStoredIssues) {
+                issues.add(issue);
+            }
+        }
+    }
+
+    void setRows(long orders, long fixMessages, long marketRows, long historyRows, long unroutedOrders) {
+        this.orders = orders;
+        this.fixMessages = fixMessages;
+        this.marketRows = marketRows;
+        this.historyRows = historyRows;
+        this.unroutedOrders = unroutedOrders;
+    }
+
+    void addSpilledEvents(long spilledEvents) {
+        this.spilledEvents += spilledEvents;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Get the reconciled trading day
+     */
+    public String getWindow() {
+        return window;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getFixMessages() {
+        return fixMessages;
+    }
+
+    public long getMarketRows() {
+        return marketRows;
+    }
+
+    public long getHistoryRows() {
+        return historyRows;
+    }
+
+    /**
+     * Get the number of orders without an exchange order id, which are not checked against the market
+     */
+    public long getUnroutedOrders() {
+        return unroutedOrders;
+    }
+
+    /**
+     * Get the number of joined groups checked, one per SL_NO plus one per exchange order id
+     */
+    public long getLifecycles() {
+        return lifecycles;
+    }
+
+    /**
+     * Get the number of rows that went through spill files, 0 if the day fitted the memory budget
+     */
+    public long getSpilledEvents() {
+        return spilledEvents;
+    }
+
+    public long getIssueCount(LifecycleIssue.Kind kind) {
+        return issueCounts.getOrDefault(kind, 0L);
+    }
+
+    public long getIssueCount() {
+        long total = 0;
+        for (long count : issueCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Get the first issues found, up to the configured limit
+     */
+    public List<LifecycleIssue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Whether every lifecycle of the day is complete and consistent
+     */
+    public boolean isClean() {
+        return issueCounts.isEmpty();
+    }
+
+    /**
+     * Get a printable summary of the reconciliation
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Order lifecycles %s: %d order(s), %d FIX message(s), %d XDP_ORDERS row(s), "
+                + "%d XDP_ORDERS_HIST row(s), %d unrouted%n", window, orders, fixMessages, marketRows, historyRows,
+                unroutedOrders));
+        summary.append(String.format("Lifecycles checked: %d, spilled rows: %d, time: %d ms%n",
+                lifecycles, spilledEvents, totalMillis));
+        for (Map.Entry<LifecycleIssue.Kind, Long> entry : issueCounts.entrySet()) {
+            summary.append(String.format("  %-18s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.verification.sweep;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-table results of a sweep, in the order the tables were requested
+ */
+public class TableSweepReport {
+
+    private final List<TableSweepResult> results;
+    private final long wallMillis;
+    private final int parallelism;
+
+    TableSweepReport(List<TableSweepResult> results, long wallMillis, int parallelism) {
+        this.results = Collections.unmodifiableList(results);
+        this.wallMillis = wallMillis;
+        this.parallelism = parallelism;
+    }
+
+    public List<TableSweepResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Get elapsed time of the whole sweep, in milliseconds
+     */
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    /**
+     * Get the sum of the per-table times, i.e. what a sequential sweep would roughly take
+     */
+    public long getSequentialMillis() {
+        long total = 0;
+        for (TableSweepResult result : results) {
+            total += result.getElapsedMillis();
+        }
+        return total;
+    }
+
+    /**
+     * Get the slowest table's time, the lower bound for the sweep's wall time
+     */
+    public long getSlowestTableMillis() {
+        long slowest = 0;
+        for (TableSweepResult result : results) {
+            slowest = Math.max(slowest, result.getElapsedMillis());
+        }
+        return slowest;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getTotalRows() {
+        long total = 0;
+        for (TableSweepResult result : results) {
+            total += result.getRowCount();
+        }
+        return total;
+    }
+
+    public int getFailureCount() {
+        int failures = 0;
+        for (TableSweepResult result : results) {
+            if (!result.isSuccess()) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Get a printable per-table table plus totals
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-30s | %10s | %12s | %9s | %12s | %s%n",
+                "TABLE", "ROWS", "BYTES", "MS", "ROWS/SEC", "STATUS"));
+        summary.append("-".repeat(100)).append(System.lineSeparator());
+        for (TableSweepResult result : results) {
+            summary.append(String.format("%-30s | %10d | %12d | %9d | %12.1f | %s%n",
+                    result.getTableName(), result.getRowCount(), result.getBytes(), result.getElapsedMillis(),
+                    result.getRowsPerSecond(), result.isSuccess() ? "OK" : "ERROR: " + result.getError()));
+        }
+        summary.append("-".repeat(100)).append(System.lineSeparator());
+        summary.append(String.format("Tables: %d (%d failed), Rows: %d, Wall: %d ms, Slowest table: %d ms, "
+                        + "Sequential sum: %d ms, Parallelism: %d%n",
+                results.size(), getFailureCount(), getTotalRows(), wallMillis, getSlowestTableMillis(),
+                getSequentialMillis(), parallelism));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.verification.sweep;
+
+/**
+ * Outcome of reading one table in a sweep
+ */
+public class TableSweepResult {
+
+    private final TableSweepSpec spec;
+    private final long rowCount;
+    private final long bytes;
+    private final long elapsedMillis;
+    private final long firstRowMillis;
+    private final String error;
+
+    TableSweepResult(TableSweepSpec spec, long rowCount, long bytes, long elapsedMillis, long firstRowMillis, String error) {
+        this.spec = spec;
+        this.rowCount = rowCount;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+        this.firstRowMillis = firstRowMillis;
+        this.error = error;
+    }
+
+    public TableSweepSpec getSpec() {
+        return spec;
+    }
+
+    public String getTableName() {
+        return spec.getTableName();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get approximate payload size: text length of every non-null value, byte length for RAW/BLOB values
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Get time until the first row arrived, -1 if the table returned no rows
+     */
+    public long getFirstRowMillis() {
+        return firstRowMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowCount * 1000.0 / elapsedMillis : rowCount;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Get the error message, null if the table was read successfully
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.verification.sweep;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+import org.apache.log4j.Logger;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads many tables concurrently over pooled connections
+ * Each table is streamed through its own RowCursor (its own pooled connection) on a fixed-size
+ * executor, so a sweep takes roughly as long as its slowest table instead of the sum of all tables.
+ * Rows are counted and measured as they stream by and never kept in memory.
+ *
+ * A failing table is recorded in its result and does not stop the other tables.
+ */
+public class TableSweepRunner {
+
+    private static final Logger logger = Logger.getLogger(TableSweepRunner.class);
+
+    private final OracleDBConnection dbConnection;
+    private final int parallelism;
+
+    /**
+     * Constructor, parallelism from db.sweep.parallelism
+     * @param dbConnection Database connection instance
+     */
+    public TableSweepRunner(OracleDBConnection dbConnection) {
+        this(dbConnection, DBConfig.getSweepParallelism());
+    }
+
+    /**
+     * Constructor
+     * @param dbConnection Database connection instance
+     * @param parallelism Maximum number of tables read at once
+     */
+    public TableSweepRunner(OracleDBConnection dbConnection, int parallelism) {
+        this.dbConnection = dbConnection;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Read every table with the default row cap (db.sweep.rowCap)
+     * @param tableNames Tables to read
+     * @return Sweep report
+     */
+    public TableSweepReport sweepTables(List<String> tableNames) {
+        List<TableSweepSpec> specs = new ArrayList<>();
+        for (String tableName : tableNames) {
+            specs.add(TableSweepSpec.table(tableName).limit(DBConfig.getSweepRowCap()));
+        }
+        return sweep(specs);
+    }
+
+    /**
+     * Read every table as described by its spec
+     * @param specs What to read from each table
+     * @return Sweep report, results in the same order as the specs
+     */
+    public TableSweepReport sweep(List<TableSweepSpec> specs) {
+        int threads = Math.min(parallelism, Math.max(1, specs.size()));
+        logger.info("Sweeping " + specs.size() + " tables with " + threads + " parallel readers");
+        long started = System.currentTimeMillis();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "table-sweep-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<TableSweepResult> results = new ArrayList<>();
+        try {
+            List<Future<TableSweepResult>> futures = new ArrayList<>();
+            for (TableSweepSpec spec : specs) {
+                futures.add(executor.submit(() -> readTable(spec)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), specs.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TableSweepReport report = new TableSweepReport(results, System.currentTimeMillis() - started, threads);
+        logger.info("Table sweep finished: " + report.getTotalRows() + " rows from " + results.size() + " tables in "
+                + report.getWallMillis() + " ms (sequential sum " + report.getSequentialMillis() + " ms)");
+        return report;
+    }
+
+    private TableSweepResult await(Future<TableSweepResult> future, TableSweepSpec spec) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new TableSweepResult(spec, 0, 0, 0, -1, "Interrupted");
+        } catch (ExecutionException e) {
+            return new TableSweepResult(spec, 0, 0, 0, -1, String.valueOf(e.getCause()));
+        }
+    }
+
+    private TableSweepResult readTable(TableSweepSpec spec) {
+        long started = System.nanoTime();
+        long rows = 0;
+        long bytes = 0;
+        long firstRowMillis = -1;
+        int fetchSize = spec.getRowCap() > 0 ? Math.min(spec.getRowCap(), DBConfig.getFetchSize()) : DBConfig.getFetchSize();
+        Object[] parameters = spec.getRowCap() > 0 ? new Object[]{spec.getRowCap()} : new Object[0];
+
+        try (RowCursor cursor = dbConnection.openCursor(fetchSize, spec.toSql(), parameters)) {
+            int columns = cursor.getColumns().size();
+            while (cursor.next()) {
+                if (rows == 0) {
+                    firstRowMillis = (System.nanoTime() - started) / 1_000_000;
+                }
+                Row row = cursor.row();
+                for (int i = 0; i < columns; i++) {
+                    bytes += sizeOf(row.getObject(i));
+                }
+                rows++;
+            }
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            logger.info("Swept " + spec + ": " + rows + " rows in " + elapsed + " ms");
+            return new TableSweepResult(spec, rows, bytes, elapsed, firstRowMillis, null);
+        } catch (SQLException e) {
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            logger.error("Error sweeping " + spec + ": " + e.getMessage());
+            return new TableSweepResult(spec, rows, bytes, elapsed, firstRowMillis, e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Object value) throws SQLException {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof Blob) {
+            return ((Blob) value).length();
+        }
+        if (value instanceof Clob) {
+            return ((Clob) value).length();
+        }
+        return value.toString().length();
+    }
+}
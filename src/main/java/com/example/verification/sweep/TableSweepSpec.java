@@ -0,0 +1,87 @@
+package com.example.verification.sweep;
+
+import java.math.BigDecimal;
+
+/**
+ * What a table sweep reads from one table
+ * Either the first rowCap rows, a block SAMPLE percentage of the table, or the whole table.
+ */
+public class TableSweepSpec {
+
+    private final String tableName;
+    private final int rowCap;
+    private final double samplePercent;
+
+    private TableSweepSpec(String tableName, int rowCap, double samplePercent) {
+        if (tableName == null || !tableName.matches("[A-Za-z][A-Za-z0-9_$#.]*")) {
+            throw new IllegalArgumentException("Invalid table name: " + tableName);
+        }
+        if (samplePercent < 0 || samplePercent >= 100) {
+            throw new IllegalArgumentException("samplePercent must be in [0, 100): " + samplePercent);
+        }
+        this.tableName = tableName;
+        this.rowCap = Math.max(0, rowCap);
+        this.samplePercent = samplePercent;
+    }
+
+    /**
+     * Read the whole table
+     */
+    public static TableSweepSpec table(String tableName) {
+        return new TableSweepSpec(tableName, 0, 0);
+    }
+
+    /**
+     * Read at most rowCap rows (0 reads the whole table)
+     */
+    public TableSweepSpec limit(int rowCap) {
+        return new TableSweepSpec(tableName, rowCap, samplePercent);
+    }
+
+    /**
+     * Read a random SAMPLE of the table, e.g. 1.0 for about 1% of the rows
+     * Only works on tables, not views; combine with limit() to cap the sample as well.
+     */
+    public TableSweepSpec sample(double samplePercent) {
+        return new TableSweepSpec(tableName, rowCap, samplePercent);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getRowCap() {
+        return rowCap;
+    }
+
+    public double getSamplePercent() {
+        return samplePercent;
+    }
+
+    /**
+     * Build the SELECT for this spec; the row cap is bound as the only parameter when set
+     */
+    String toSql() {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(tableName);
+        if (samplePercent > 0) {
+            sql.append(" SAMPLE (").append(plainPercent()).append(")");
+        }
+        if (rowCap > 0) {
+            sql.append(" FETCH FIRST ? ROWS ONLY");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Sample percentage in plain digits; Double.toString gives 1.0E-5 for small ones, which SAMPLE rejects
+     */
+    private String plainPercent() {
+        return BigDecimal.valueOf(samplePercent).stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        return tableName + (samplePercent > 0 ? " sample " + plainPercent() + "%" : "")
+                + (rowCap > 0 ? " limit " + rowCap : "");
+    }
+}
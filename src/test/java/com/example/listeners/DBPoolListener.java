@@ -0,0 +1,24 @@
+package com.example.listeners;
+
+import com.example.utils.db.OracleConnectionPool;
+import com.example.utils.db.SnapshotStore;
+import org.apache.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * DBPoolListener - Shuts down the shared Oracle connection pools when the suite finishes
+ * Test classes only release their OracleDBConnection handle, so the pool survives across classes
+ * Also reports recorded, replayed, missing and stale result snapshots when db.replay.mode is set
+ */
+public class DBPoolListener implements ISuiteListener {
+
+    private static final Logger logger = Logger.getLogger(DBPoolListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        logger.info("Suite " + suite.getName() + " finished, shutting down database connection pools");
+        OracleConnectionPool.shutdownAll();
+        SnapshotStore.getShared().logReport();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.listeners;
+
+import com.example.utils.db.DBConfig;
+import com.example.utils.db.StatementSample;
+import com.example.utils.db.StatementStats;
+import io.qameta.allure.Allure;
+import org.apache.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * DBStatsListener - Reports per-statement database timings
+ * Attaches the statements each test ran to its Allure result and writes the suite-wide
+ * per-fingerprint histograms to db-statements.json and db-statements.prom when the suite finishes
+ */
+public class DBStatsListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = Logger.getLogger(DBStatsListener.class);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && StatementStats.getShared().isEnabled()) {
+            StatementStats.getShared().beginCapture();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !StatementStats.getShared().isEnabled()) {
+            return;
+        }
+        List<StatementSample> samples = StatementStats.getShared().endCapture();
+        if (!samples.isEmpty()) {
+            Allure.addAttachment("Database statements", "text/plain", StatementStats.formatSamples(samples), ".txt");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        StatementStats stats = StatementStats.getShared();
+        if (!stats.isEnabled() || stats.getEntries().isEmpty()) {
+            return;
+        }
+        Path outputDir = Paths.get(DBConfig.getStatsOutputDir());
+        try {
+            stats.writeJson(outputDir.resolve("db-statements.json"));
+            stats.writePrometheus(outputDir.resolve("db-statements.prom"));
+            stats.logSummary(10);
+            logger.info("Statement statistics written to " + outputDir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write statement statistics: " + e.getMessage(), e);
+        }
+    }
+}
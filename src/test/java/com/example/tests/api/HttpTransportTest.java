@@ -0,0 +1,158 @@
+package com.example.tests.api;
+
+import com.example.api.APIResponse;
+import com.example.api.BaseAPIClient;
+import com.example.api.CompaniesAPI;
+import com.example.api.HttpTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for the shared HttpTransport used by BaseAPIClient
+ * Runs against a local in-process HTTP server, no external endpoint needed
+ */
+@Epic("API Testing")
+@Feature("HTTP Transport")
+@Test(singleThreaded = true)
+public class HttpTransportTest {
+
+    private HttpServer server;
+    private String serverUrl;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Minimal client exposing the protected request methods
+     */
+    private static class TestClient extends BaseAPIClient {
+        TestClient(String baseUrl) {
+            super(baseUrl);
+        }
+
+        APIResponse post(String endpoint, String body) throws Exception {
+            return executeRequestWithResponse(endpoint, "POST", body);
+        }
+
+        APIResponse get(String endpoint) throws Exception {
+            return executeRequestWithResponse(endpoint, "GET", null);
+        }
+    }
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> respond(exchange, 200, readBody(exchange)));
+        server.createContext("/reuse", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, 200, readBody(exchange));
+        });
+        server.createContext("/auth", exchange ->
+                respond(exchange, 200, String.valueOf(exchange.getRequestHeaders().getFirst("Authorization"))));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.start();
+        serverUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Test(priority = 1, groups = {"api", "regression", "fast"})
+    @Story("Byte-level body handling")
+    @Description("Response body keeps newlines and multi-byte characters")
+    public void testBodyRoundTripPreservesNewlinesAndUtf8() throws Exception {
+        String body = "{\n  \"name\": \"مجموعة\",\n  \"symbol\": \"QNBK\"\n}\n";
+
+        APIResponse response = new TestClient(serverUrl).post("/echo", body);
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.getResponseBody(), body, "Body should come back byte for byte");
+        assertEquals(response.getRequestUrl(), serverUrl + "/echo");
+    }
+
+    @Test(priority = 2, groups = {"api", "regression", "fast"})
+    @Story("Error responses")
+    @Description("Error status codes return the error body")
+    public void testErrorStatusReturnsBody() throws Exception {
+        APIResponse response = new TestClient(serverUrl).get("/missing");
+
+        assertEquals(response.getStatusCode(), 404);
+        assertFalse(response.isSuccess());
+        assertEquals(response.getResponseBody(), "{\"error\":\"not found\"}");
+    }
+
+    @Test(priority = 3, groups = {"api", "regression", "fast"})
+    @Story("Auth header")
+    @Description("Bearer token is sent when set on the client")
+    public void testAuthTokenHeader() throws Exception {
+        TestClient client = new TestClient(serverUrl);
+        client.setAuthToken("abc123");
+
+        APIResponse response = client.get("/auth");
+
+        assertEquals(response.getResponseBody(), "Bearer abc123");
+    }
+
+    @Test(priority = 4, groups = {"api", "regression", "fast"})
+    @Story("Auth header")
+    @Description("CompaniesAPI.sendRequest sends neither the bearer token nor the default headers")
+    public void testCompaniesRequestKeepsItsHeaders() throws Exception {
+        CompaniesAPI client = new CompaniesAPI(serverUrl);
+        client.setAuthToken("abc123");
+        client.setDefaultHeaders(Collections.singletonMap("Authorization", "Basic xyz"));
+
+        APIResponse response = client.sendRequest(serverUrl + "/auth", "{}");
+
+        assertEquals(response.getResponseBody(), "null");
+    }
+
+    @Test(priority = 5, groups = {"api", "regression", "fast"})
+    @Story("Connection reuse")
+    @Description("Separate API clients share one keep-alive connection")
+    public void testConnectionIsReusedAcrossClients() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            new TestClient(serverUrl).post("/reuse", "{\"i\":" + i + "}");
+        }
+
+        assertSame(HttpTransport.getClient(), HttpTransport.getClient(), "Transport should be shared");
+        assertEquals(clientPorts.size(), 1, "Sequential requests should reuse one connection, ports: " + clientPorts);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
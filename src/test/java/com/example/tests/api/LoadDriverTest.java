@@ -0,0 +1,138 @@
+package com.example.tests.api;
+
+import com.example.api.load.LoadDriver;
+import com.example.api.load.LoadProfile;
+import com.example.api.load.LoadReport;
+import com.example.api.load.LoadRequest;
+import com.example.api.load.LoadStats;
+import com.example.api.load.LocalStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for the API load driver
+ * Runs against LocalStubServer, no external endpoint needed
+ */
+@Epic("API Testing")
+@Feature("API Load Driver")
+@Test(singleThreaded = true)
+public class LoadDriverTest {
+
+    private static final String NIN = "12345678";
+
+    private LoadDriver driver;
+
+    @BeforeClass
+    public void setUp() {
+        driver = new LoadDriver();
+    }
+
+    private static LoadProfile.Builder mixedProfile(String url) {
+        return LoadProfile.builder()
+                .url(url)
+                .add(LoadRequest.customerAssets(NIN, 3))
+                .add(LoadRequest.bankBal(NIN, "CASH", 2))
+                .add(LoadRequest.mngAlert(NIN, 1))
+                .add(LoadRequest.preferredCompanies(NIN, 1))
+                .add(LoadRequest.marginContactAllowance(NIN, 1))
+                .add(LoadRequest.login("loadtest", "secret", 1))
+                .duration(Duration.ofSeconds(10));
+    }
+
+    @Test(priority = 1, groups = {"api", "regression", "fast"})
+    @Story("Closed loop")
+    @Description("Fixed concurrency sends exactly maxRequests requests and records every type in the mix")
+    public void testClosedLoopRecordsEveryRequestType() throws Exception {
+        try (LocalStubServer stub = new LocalStubServer()) {
+            LoadReport report = driver.run(mixedProfile(stub.getUrl()).concurrency(8).maxRequests(400).build());
+
+            assertEquals(report.getOverall().getCount(), 400, report.getSummary());
+            assertEquals(stub.getReceived(), 400);
+            assertEquals(report.getOverall().getErrors(), 0, report.getSummary());
+            assertEquals(report.getStatsByType().size(), 6);
+            for (LoadStats stats : report.getStatsByType().values()) {
+                assertTrue(stats.getCount() > 0, "No requests recorded for " + stats.getName());
+            }
+            assertTrue(report.getStats("CUSTOMER_ASSETS").getCount() > report.getStats("LOGIN").getCount(),
+                    "Weights should shape the mix: " + report.getSummary());
+            assertTrue(report.getThroughput() > 0);
+            assertTrue(report.getOverall().getPercentileMillis(50) <= report.getOverall().getPercentileMillis(99));
+            assertTrue(report.getOverall().getPercentileMillis(99) <= report.getOverall().getMaxMillis());
+        }
+    }
+
+    @Test(priority = 2, groups = {"api", "regression", "fast"})
+    @Story("Error accounting")
+    @Description("Non-2xx responses are counted as errors")
+    public void testErrorRatio() throws Exception {
+        try (LocalStubServer stub = new LocalStubServer("{\"status\":\"SUCCESS\"}", 0, 4, 8)) {
+            LoadReport report = driver.run(LoadProfile.builder()
+                    .url(stub.getUrl())
+                    .add(LoadRequest.customerAssets(NIN, 1))
+                    .concurrency(1)
+                    .maxRequests(100)
+                    .duration(Duration.ofSeconds(10))
+                    .build());
+
+            assertEquals(report.getOverall().getCount(), 100);
+            assertEquals(report.getOverall().getErrors(), 25, report.getSummary());
+            assertEquals(report.getOverall().getErrorRatio(), 0.25, 1e-9);
+        }
+    }
+
+    @Test(priority = 3, groups = {"api", "regression", "fast"})
+    @Story("Open loop")
+    @Description("Fixed rate includes server delay in the latency and holds the target rate")
+    public void testOpenLoopHoldsRate() throws Exception {
+        try (LocalStubServer stub = new LocalStubServer("{\"status\":\"SUCCESS\"}", 20, 0, 32)) {
+            LoadReport report = driver.run(mixedProfile(stub.getUrl())
+                    .rate(200)
+                    .maxInFlight(50)
+                    .duration(Duration.ofSeconds(1))
+                    .build());
+
+            long count = report.getOverall().getCount();
+            assertTrue(count >= 150 && count <= 210, "Expected about 200 requests: " + report.getSummary());
+            assertTrue(report.getOverall().getPercentileMillis(50) >= 20, report.getSummary());
+            assertEquals(report.getUnfinished(), 0);
+        }
+    }
+
+    @Test(priority = 4, groups = {"api", "regression", "fast"})
+    @Story("Closed loop")
+    @Description("The same seed sends the same request mix, whichever completion thread schedules each request")
+    public void testSeedReproducesMix() throws Exception {
+        try (LocalStubServer stub = new LocalStubServer()) {
+            LoadReport first = driver.run(mixedProfile(stub.getUrl()).concurrency(8).maxRequests(300).seed(7).build());
+            LoadReport second = driver.run(mixedProfile(stub.getUrl()).concurrency(8).maxRequests(300).seed(7).build());
+
+            for (String type : first.getStatsByType().keySet()) {
+                assertEquals(second.getStats(type).getCount(), first.getStats(type).getCount(),
+                        type + ": " + first.getSummary() + " / " + second.getSummary());
+            }
+        }
+    }
+
+    @Test(priority = 5, groups = {"api", "regression", "fast"})
+    @Story("Profile validation")
+    @Description("A profile without requests is rejected")
+    public void testEmptyMixRejected() {
+        assertThrows(IllegalStateException.class, () -> LoadProfile.builder().url("http://127.0.0.1/").build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            driver.close();
+        }
+    }
+}
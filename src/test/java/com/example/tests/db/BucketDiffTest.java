@@ -0,0 +1,184 @@
+package com.example.tests.db;
+
+import com.example.verification.mirror.BucketDiff;
+import com.example.verification.mirror.BucketSpill;
+import com.example.verification.mirror.RowDifference;
+import com.example.verification.mirror.TableDiffSpec;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * BucketDiff Test Suite
+ * Verifies how one hash bucket of a source table and its mirror is classified into matched, missing,
+ * extra, changed and duplicate rows, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Table Diff")
+public class BucketDiffTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("CL_ID", "FUND_CODE", "BALANCE", "ACCOUNT_STATUS");
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Rows are classified as matched, missing, extra or changed")
+    public void testClassification() {
+        BucketDiff diff = new BucketDiff("FUND_CLIENTS", "FUND_CLIENTS_MIRROR", COLUMNS, 2, 100);
+        diff.addMirrorRow(row("12240", "F1", "100.00", "ACTIVE"));
+        diff.addMirrorRow(row("12241", "F1", "250.00", "ACTIVE"));
+        diff.addMirrorRow(row("99999", "F1", "1.00", "CLOSED"));
+
+        diff.addSourceRow(row("12240", "F1", "100.00", "ACTIVE"));
+        diff.addSourceRow(row("12241", "F1", "250.00", "CLOSED"));
+        diff.addSourceRow(row("12242", "F2", "75.00", "ACTIVE"));
+        diff.finish();
+
+        Assert.assertEquals(diff.getSourceCount(), 3);
+        Assert.assertEquals(diff.getMirrorCount(), 3);
+        Assert.assertEquals(diff.getMatched(), 1);
+        Assert.assertEquals(diff.getChanged(), 1);
+        Assert.assertEquals(diff.getMissing(), 1);
+        Assert.assertEquals(diff.getExtra(), 1);
+
+        RowDifference changed = find(diff, RowDifference.Kind.CHANGED);
+        Assert.assertEquals(changed.getKey().get("CL_ID"), "12241");
+        Assert.assertEquals(changed.getSourceValues().get("ACCOUNT_STATUS"), "CLOSED");
+        Assert.assertEquals(find(diff, RowDifference.Kind.MISSING).getKey().get("FUND_CODE"), "F2");
+        Assert.assertEquals(find(diff, RowDifference.Kind.EXTRA).getTable(), "FUND_CLIENTS_MIRROR");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Numbers and dates compare by value, not by representation")
+    public void testValueEquivalence() {
+        Timestamp opened = Timestamp.valueOf("2025-11-25 00:00:00");
+        BucketDiff diff = new BucketDiff("A", "B", Arrays.asList("ID", "AMOUNT", "OPEN_DATE"), 1, 10);
+        diff.addMirrorRow(new Object[]{new BigDecimal("1"), 12.5d, new java.util.Date(opened.getTime())});
+        diff.addMirrorRow(new Object[]{new BigDecimal("2"), new BigDecimal("0.00"), null});
+
+        diff.addSourceRow(new Object[]{1L, new BigDecimal("12.50"), opened});
+        diff.addSourceRow(new Object[]{2, BigDecimal.ZERO, null});
+        diff.finish();
+
+        Assert.assertEquals(diff.getMatched(), 2, "differences: " + diff.getDifferences());
+        Assert.assertTrue(diff.getDifferences().isEmpty());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Leading zeros and NULL versus empty text are real differences")
+    public void testStringsCompareExactly() {
+        BucketDiff diff = new BucketDiff("A", "B", Arrays.asList("ID", "ACCOUNT_NUMBER", "NOTE"), 1, 10);
+        diff.addMirrorRow(new Object[]{"1", "0012345", null});
+        diff.addMirrorRow(new Object[]{"2", "12345", ""});
+
+        diff.addSourceRow(new Object[]{"1", "12345", null});
+        diff.addSourceRow(new Object[]{"2", "12345", null});
+        diff.finish();
+
+        Assert.assertEquals(diff.getChanged(), 2);
+        Assert.assertEquals(diff.getMatched(), 0);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Repeated keys on either side are reported as duplicates")
+    public void testDuplicateKeys() {
+        BucketDiff diff = new BucketDiff("FUND_CLIENTS", "FUND_CLIENTS_MIRROR", COLUMNS, 2, 100);
+        diff.addMirrorRow(row("12240", "F1", "100.00", "ACTIVE"));
+        diff.addMirrorRow(row("12240", "F1", "100.00", "ACTIVE"));
+
+        diff.addSourceRow(row("12240", "F1", "100.00", "ACTIVE"));
+        diff.addSourceRow(row("12240", "F1", "100.00", "ACTIVE"));
+        diff.finish();
+
+        Assert.assertEquals(diff.getDuplicateKeys(), 2);
+        Assert.assertEquals(diff.getMatched(), 1);
+        long sourceDuplicates = diff.getDifferences().stream()
+                .filter(d -> d.getKind() == RowDifference.Kind.DUPLICATE_KEY && d.getTable().equals("FUND_CLIENTS"))
+                .count();
+        Assert.assertEquals(sourceDuplicates, 1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Counts stay complete when stored details are capped")
+    public void testStoredDifferencesCapped() {
+        BucketDiff diff = new BucketDiff("A", "B", Arrays.asList("ID", "VALUE"), 1, 3);
+        for (int i = 0; i < 50; i++) {
+            diff.addSourceRow(new Object[]{i, "v"});
+        }
+        diff.finish();
+
+        Assert.assertEquals(diff.getMissing(), 50);
+        Assert.assertEquals(diff.getDifferences().size(), 3);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Mirror rows must all be added before source rows")
+    public void testMirrorFirst() {
+        BucketDiff diff = new BucketDiff("A", "B", Arrays.asList("ID", "VALUE"), 1, 10);
+        diff.addSourceRow(new Object[]{1, "v"});
+        Assert.assertThrows(IllegalStateException.class, () -> diff.addMirrorRow(new Object[]{1, "v"}));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Spilled rows come back from the bucket of their key, values intact")
+    public void testSpillRouting() throws Exception {
+        Path dir = Files.createTempDirectory("spill");
+        Timestamp opened = Timestamp.valueOf("2025-11-25 09:30:00.123456");
+        try (BucketSpill source = new BucketSpill(dir, "source", 8, 1, 3);
+             BucketSpill mirror = new BucketSpill(dir, "mirror", 8, 1, 3)) {
+            for (int id = 0; id < 100; id++) {
+                source.add(new Object[]{new BigDecimal(id), opened, id % 10 == 0 ? null : "v" + id});
+                mirror.add(new Object[]{String.valueOf(id), opened, "v" + id});
+            }
+            source.finish();
+            mirror.finish();
+            Assert.assertEquals(source.getRowCount(), 100);
+
+            int bucket = BucketSpill.bucketOf(new Object[]{new BigDecimal("42.0")}, 1, 8);
+            Assert.assertEquals(BucketSpill.bucketOf(new Object[]{"42"}, 1, 8), bucket,
+                    "a NUMBER key and its VARCHAR2 copy share a bucket");
+            BucketDiff diff = new BucketDiff("S", "M", Arrays.asList("ID", "OPENED", "VALUE"), 1, 100);
+            mirror.forEach(bucket, diff::addMirrorRow);
+            source.forEach(bucket, values -> {
+                Assert.assertEquals(values[1], opened);
+                diff.addSourceRow(values);
+            });
+            diff.finish();
+            Assert.assertEquals(diff.getSourceCount(), source.getRowCount(bucket));
+            Assert.assertEquals(diff.getMissing() + diff.getExtra(), 0, "every key meets its copy in the same bucket");
+            Assert.assertTrue(diff.getMatched() > 0);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            Assert.assertEquals(files.count(), 0L, "closing deletes the bucket files");
+        }
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Specs reject unsafe table and key names")
+    public void testSpecValidation() {
+        TableDiffSpec spec = TableDiffSpec.of("fund_clients", "fund_clients_mirror", "cl_id", "fund_code")
+                .ignore("last_update_date");
+        Assert.assertEquals(spec.getSourceTable(), "FUND_CLIENTS");
+        Assert.assertEquals(spec.getKeyColumns(), Arrays.asList("CL_ID", "FUND_CODE"));
+        Assert.assertTrue(spec.getIgnoredColumns().contains("LAST_UPDATE_DATE"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> TableDiffSpec.of("FUND_CLIENTS; DROP", "M", "ID"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TableDiffSpec.of("S", "M", "ID) OR (1=1"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TableDiffSpec.of("S", "M"));
+    }
+
+    private static Object[] row(String clientId, String fundCode, String balance, String status) {
+        return new Object[]{clientId, fundCode, new BigDecimal(balance), status};
+    }
+
+    private static RowDifference find(BucketDiff diff, RowDifference.Kind kind) {
+        return diff.getDifferences().stream()
+                .filter(d -> d.getKind() == kind)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + kind + " difference in " + diff.getDifferences()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.tests.db;
+
+import com.example.verification.market.ClosePriceIndex;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Close Price Index Test Suite
+ * Verifies that the close index loads, keeps closes exactly as read, and refreshes through the handle each
+ * call is given, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Close Price Index")
+public class ClosePriceIndexTest {
+
+    private static final String[] NAMES = {"COMPANY_CODE", "TRADE_DATE", "CLOSE"};
+    private static final int[] TYPES = {Types.VARCHAR, Types.TIMESTAMP, Types.NUMERIC};
+    private static final String[] TYPE_NAMES = {"VARCHAR2", "DATE", "NUMBER"};
+
+    /**
+     * Handle serving MDF_TIME_SERIES rows on or after the first parameter from memory
+     */
+    private static FakeConnection timeSeries(List<Object[]> rows) {
+        return new FakeConnection((query, parameters) -> {
+            LocalDate from = ((Date) parameters[0]).toLocalDate();
+            List<Object[]> selected = new ArrayList<>();
+            for (Object[] row : rows) {
+                if (!((Timestamp) row[1]).toLocalDateTime().toLocalDate().isBefore(from)) {
+                    selected.add(row);
+                }
+            }
+            return FakeResultSets.of(NAMES, TYPES, TYPE_NAMES, selected);
+        });
+    }
+
+    private static Object[] close(String company, String day, String close) {
+        return new Object[]{company, Timestamp.valueOf(day + " 00:00:00"), new BigDecimal(close)};
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Closes are found on or before and strictly before a date")
+    public void testLookups() throws SQLException {
+        ClosePriceIndex index = new ClosePriceIndex();
+        index.reload(timeSeries(Arrays.asList(
+                close("BRES", "2025-11-24", "1.10"), close("BRES", "2025-11-26", "1.20"))));
+
+        Assert.assertEquals(index.closeOnOrBefore("BRES", LocalDate.of(2025, 11, 26)), 1.20, 1e-9);
+        Assert.assertEquals(index.closeOnOrBefore("BRES", LocalDate.of(2025, 11, 25)), 1.10, 1e-9);
+        Assert.assertEquals(index.closeBefore("BRES", LocalDate.of(2025, 11, 26)), 1.10, 1e-9);
+        Assert.assertTrue(Double.isNaN(index.closeOnOrBefore("BRES", LocalDate.of(2025, 11, 23))));
+        Assert.assertEquals(index.getCloseOnOrBefore("BRES", LocalDate.of(2025, 11, 25)), new BigDecimal("1.10"),
+                "closes keep the scale they were read with");
+        Assert.assertNull(index.getCloseOnOrBefore("ZAIN", LocalDate.of(2025, 11, 26)));
+        Assert.assertEquals(index.getLastTradeDate(), LocalDate.of(2025, 11, 26));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "After the loading handle is closed the index refreshes through another one")
+    public void testRefreshThroughAnotherHandle() throws SQLException {
+        FakeConnection first = timeSeries(Collections.singletonList(close("BRES", "2025-11-24", "1.10")));
+        ClosePriceIndex index = new ClosePriceIndex();
+        index.reload(first);
+        first.closeConnection();
+
+        Assert.expectThrows(SQLException.class, () -> index.refresh(first));
+
+        List<Object[]> rows = new ArrayList<>(Arrays.asList(
+                close("BRES", "2025-11-24", "1.15"), close("BRES", "2025-11-25", "1.30")));
+        FakeConnection second = timeSeries(rows);
+        Assert.assertEquals(index.refresh(second), 2, "the newest loaded day is re-read");
+        Assert.assertEquals(index.closeOnOrBefore("BRES", LocalDate.of(2025, 11, 24)), 1.15, 1e-9);
+        Assert.assertEquals(index.latestClose("BRES"), 1.30, 1e-9);
+
+        rows.add(close("BRES", "2025-11-26", "1.40"));
+        FakeConnection third = timeSeries(rows);
+        index.refresh(third);
+        Assert.assertEquals(second.getQueries().size(), 1, "the index does not keep the handle it was given");
+        Assert.assertEquals(third.getQueries().size(), 1);
+        Assert.assertEquals(index.getLastTradeDate(), LocalDate.of(2025, 11, 26));
+    }
+}
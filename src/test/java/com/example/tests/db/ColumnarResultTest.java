@@ -0,0 +1,97 @@
+package com.example.tests.db;
+
+import com.example.utils.db.ColumnIndex;
+import com.example.utils.db.ColumnarResult;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ColumnarResult Test Suite
+ * Verifies that the columnar storage returns exactly the values the driver produced
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Columnar Query Results")
+public class ColumnarResultTest {
+
+    private ColumnarResult newTradesResult() {
+        ColumnIndex columns = new ColumnIndex(
+                new String[]{"SEQ", "PRICE", "TRADE_DATE", "TRADE_STATE", "VOLUME"},
+                new int[]{Types.NUMERIC, Types.NUMERIC, Types.TIMESTAMP, Types.CHAR, Types.NUMERIC});
+        return new ColumnarResult(columns);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Map view matches the original row values")
+    public void testMapViewMatchesOriginalRow() {
+        ColumnarResult result = newTradesResult();
+        Timestamp tradeDate = Timestamp.valueOf("2026-10-15 09:30:00");
+        result.appendRow(new BigDecimal("1001"), new BigDecimal("12.50"), tradeDate, "A", null);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("SEQ", new BigDecimal("1001"));
+        expected.put("PRICE", new BigDecimal("12.50"));
+        expected.put("TRADE_DATE", tradeDate);
+        expected.put("TRADE_STATE", "A");
+        expected.put("VOLUME", null);
+
+        Map<String, Object> row = result.get(0);
+        Assert.assertEquals(row, expected, "Map view should equal a HashMap row");
+        Assert.assertEquals(row.get("PRICE").toString(), "12.50", "Scale should be preserved");
+        Assert.assertEquals(row.get("trade_state"), "A", "Lookups should be case-insensitive");
+        Assert.assertNull(row.get("VOLUME"), "NULL should be returned as null");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Typed accessors read primitive values")
+    public void testTypedAccessors() {
+        ColumnarResult result = newTradesResult();
+        Timestamp tradeDate = Timestamp.valueOf("2026-10-15 09:30:00.123456789");
+        result.appendRow(new BigDecimal("7"), new BigDecimal("3.25"), tradeDate, "C", new BigDecimal("150"));
+
+        Assert.assertEquals(result.getLong(0, "SEQ"), 7L);
+        Assert.assertEquals(result.getDouble(0, "PRICE"), 3.25, 0.0);
+        Assert.assertEquals(result.getLong(0, "VOLUME"), 150L);
+        Assert.assertEquals(result.getEpochMillis(0, "TRADE_DATE"), tradeDate.getTime());
+        Assert.assertEquals(result.getObject(0, "TRADE_DATE"), tradeDate, "Nanos should be preserved");
+        Assert.assertEquals(result.getString(0, "TRADE_STATE"), "C");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Values that do not fit a primitive column are kept as objects")
+    public void testWideNumberFallsBackToObjects() {
+        ColumnarResult result = newTradesResult();
+        BigDecimal wide = new BigDecimal("123456789012345678901234567890.5");
+        result.appendRow(new BigDecimal("1"), new BigDecimal("1.5"), null, "A", new BigDecimal("10"));
+        result.appendRow(new BigDecimal("2"), wide, null, "A", new BigDecimal("20"));
+        result.trimToSize();
+
+        Assert.assertEquals(result.size(), 2);
+        Assert.assertEquals(result.getBigDecimal(0, "PRICE"), new BigDecimal("1.5"));
+        Assert.assertEquals(result.getBigDecimal(1, "PRICE"), wide);
+        Assert.assertTrue(result.isNull(1, "TRADE_DATE"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Result grows past its initial capacity")
+    public void testManyRows() {
+        ColumnarResult result = newTradesResult();
+        for (int i = 0; i < 10_000; i++) {
+            result.appendRow(BigDecimal.valueOf(i), BigDecimal.valueOf(i, 2), null, i % 2 == 0 ? "A" : "C", null);
+        }
+        result.trimToSize();
+
+        Assert.assertEquals(result.size(), 10_000);
+        Assert.assertEquals(result.getLong(9_999, "SEQ"), 9_999L);
+        Assert.assertEquals(result.get(1234).get("PRICE"), new BigDecimal("12.34"));
+        Assert.assertEquals(result.getString(3, "TRADE_STATE"), "C");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.tests.db;
+
+import com.example.utils.db.DateWindow;
+import com.example.utils.db.SqlWhere;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DateWindow and SqlWhere Test Suite
+ * Verifies date parsing and the half-open range predicates without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Date Window Queries")
+public class DateWindowTest {
+
+    private static final LocalDate NOV_25 = LocalDate.of(2025, 11, 25);
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Every date format used by the data classes parses to the same day")
+    public void testParseDateFormats() {
+        for (String text : new String[]{"2025-11-25", "25-11-2025", "25/11/2025", "25-Nov-2025", "25-NOV-2025", "25-nov-25", " 25-Nov-2025 "}) {
+            Assert.assertEquals(DateWindow.parseDate(text), NOV_25, text);
+        }
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Unparseable dates are rejected before reaching the database")
+    public void testParseDateRejectsBadInput() {
+        for (String text : new String[]{null, "", "2025/11/25", "31-02-2025", "yesterday"}) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> DateWindow.parseDate(text));
+        }
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A day is a half-open range on the bare column")
+    public void testDayPredicate() {
+        DateWindow day = DateWindow.day("25-Nov-2025");
+        Assert.assertEquals(day.predicate("TIME_STAMP"), "TIME_STAMP >= ? AND TIME_STAMP < ?");
+        Assert.assertEquals(day.getParameters(), Arrays.asList(Date.valueOf("2025-11-25"), Date.valueOf("2025-11-26")));
+        Assert.assertTrue(day.contains(NOV_25));
+        Assert.assertFalse(day.contains(NOV_25.plusDays(1)));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Between includes the end day by ending before the next one")
+    public void testBetweenAndOpenEnds() {
+        DateWindow range = DateWindow.between("01-Nov-2025", "30-Nov-2025");
+        Assert.assertEquals(range.getEndExclusive(), LocalDate.of(2025, 12, 1));
+        Assert.assertTrue(range.contains(LocalDate.of(2025, 11, 30)));
+        Assert.assertFalse(range.contains(LocalDate.of(2025, 12, 1)));
+
+        Assert.assertEquals(DateWindow.from("2025-11-25").predicate("D"), "D >= ?");
+        Assert.assertEquals(DateWindow.until("2025-11-25").predicate("D"), "D < ?");
+        Assert.assertEquals(DateWindow.until("2025-11-25").getParameters(), Collections.singletonList(Date.valueOf("2025-11-26")));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Database today uses the database clock and binds nothing")
+    public void testDatabaseToday() {
+        DateWindow today = DateWindow.databaseToday();
+        Assert.assertEquals(today.predicate("o.order_date"), "o.order_date >= TRUNC(SYSDATE) AND o.order_date < TRUNC(SYSDATE) + 1");
+        Assert.assertTrue(today.getParameters().isEmpty());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "SqlWhere binds values in placeholder order and skips blank values")
+    public void testSqlWhere() {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("CL_ID", "12240");
+        filters.put("ORDER_STATUS", " ");
+        filters.put("COMPANY_CODE", null);
+
+        SqlWhere where = SqlWhere.create()
+                .eqAll(filters)
+                .in("SYMBOL", Arrays.asList("QNBK", "DOHI"))
+                .within("ORDER_DATE", DateWindow.day(NOV_25))
+                .raw("VOLUME > ?", 0);
+
+        Assert.assertEquals(where.toSql(),
+                " WHERE CL_ID = ? AND SYMBOL IN (?, ?) AND ORDER_DATE >= ? AND ORDER_DATE < ? AND VOLUME > ?");
+        Assert.assertEquals(where.getParameters(),
+                new Object[]{"12240", "QNBK", "DOHI", Date.valueOf("2025-11-25"), Date.valueOf("2025-11-26"), 0});
+        Assert.assertEquals(SqlWhere.create().toSql(), "");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Column names that are not plain identifiers are refused")
+    public void testColumnNameValidation() {
+        Assert.assertTrue(SqlWhere.isValidColumnName("o.cl_id"));
+        Assert.assertFalse(SqlWhere.isValidColumnName("CL_ID = 1 OR 1"));
+        Assert.assertFalse(SqlWhere.isValidColumnName("1COL"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SqlWhere.create().eq("X; DROP TABLE Y", 1));
+    }
+}
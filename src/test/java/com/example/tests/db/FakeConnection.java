@@ -0,0 +1,125 @@
+package com.example.tests.db;
+
+import com.example.utils.OracleDBConnection;
+import com.example.utils.db.Row;
+import com.example.utils.db.RowCursor;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database handle whose queries are answered from memory, for the database tests that run without a database
+ * Every cursor, forEachRow and executeQueryWithParams call is answered by a Responder, usually with a
+ * FakeResultSets result, and the SQL and parameters of each call are kept for the test to check.
+ * borrowConnection() hands out the JDBC connection set with jdbcConnection(), by default one that has dropped:
+ * it can be closed, and everything else fails like a closed connection (ORA-17008), so code working on a raw
+ * connection takes its error path. Once closeConnection() is called, every call fails like a released handle.
+ */
+public class FakeConnection extends OracleDBConnection {
+
+    /**
+     * Answers one query
+     */
+    @FunctionalInterface
+    public interface Responder {
+        ResultSet answer(String query, Object[] parameters) throws SQLException;
+    }
+
+    private final Responder responder;
+    // Chunked multi-key queries run on pooled threads
+    private final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+    private final List<Object[]> parameters = Collections.synchronizedList(new ArrayList<>());
+    private Connection jdbcConnection;
+    private int connectionRequests;
+    private boolean open = true;
+
+    public FakeConnection(Responder responder) {
+        super("FAKE", "sec1", "secret");
+        this.responder = responder;
+    }
+
+    /**
+     * Set the connection borrowConnection() hands out
+     */
+    public FakeConnection jdbcConnection(Connection jdbcConnection) {
+        this.jdbcConnection = jdbcConnection;
+        return this;
+    }
+
+    @Override
+    public RowCursor openCursor(int fetchSize, String query, Object... parameters) throws SQLException {
+        ensureOpen();
+        queries.add(query);
+        this.parameters.add(parameters);
+        return new RowCursor(null, null, responder.answer(query, parameters));
+    }
+
+    @Override
+    public List<Map<String, Object>> executeQueryWithParams(String query, Object... parameters) throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (RowCursor cursor = openCursor(query, parameters)) {
+            while (cursor.next()) {
+                Row row = cursor.row();
+                rows.add(row.toMap());
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public Connection borrowConnection() throws SQLException {
+        ensureOpen();
+        connectionRequests++;
+        return jdbcConnection != null ? jdbcConnection : droppedConnection();
+    }
+
+    @Override
+    public void closeConnection() {
+        open = false;
+        super.closeConnection();
+    }
+
+    /**
+     * Get the SQL of every query answered so far, in order
+     */
+    public List<String> getQueries() {
+        return queries;
+    }
+
+    /**
+     * Get the parameters of every query answered so far, in order
+     */
+    public List<Object[]> getParameters() {
+        return parameters;
+    }
+
+    public int getConnectionRequests() {
+        return connectionRequests;
+    }
+
+    private static Connection droppedConnection() {
+        return (Connection) Proxy.newProxyInstance(FakeConnection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "isClosed":
+                            return true;
+                        default:
+                            throw new SQLException("Closed Connection", "08003", 17008);
+                    }
+                });
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (!open) {
+            throw new SQLException("Connection is not established. Please call connect() first.");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tests.db;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result sets over rows kept in memory, for the database tests that run without a database
+ * Only what RowCursor, Row, ColumnIndex and the snapshot encoding read is answered: the column names,
+ * JDBC types and database type names, next(), the typed getters and close(). Anything else throws
+ * UnsupportedOperationException, so a test notices when the code under test starts reading more.
+ */
+public final class FakeResultSets {
+
+    private FakeResultSets() {
+    }
+
+    /**
+     * Result set over rows, as the driver would return it
+     * @param names Column names
+     * @param types JDBC types (Oracle DATE columns are reported as Types.TIMESTAMP)
+     * @param typeNames Database type names, e.g. "DATE" or "NUMBER"
+     * @param rows Values in column order
+     */
+    public static ResultSet of(String[] names, int[] types, String[] typeNames, Object[][] rows) {
+        return of(names, types, typeNames, Arrays.asList(rows));
+    }
+
+    /**
+     * Result set over rows, as the driver would return it
+     * @param names Column names
+     * @param types JDBC types (Oracle DATE columns are reported as Types.TIMESTAMP)
+     * @param typeNames Database type names, e.g. "DATE" or "NUMBER"
+     * @param rows Values in column order
+     */
+    public static ResultSet of(String[] names, int[] types, String[] typeNames, List<Object[]> rows) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(FakeResultSets.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return names.length;
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return names[(Integer) args[0] - 1];
+                        case "getColumnType":
+                            return types[(Integer) args[0] - 1];
+                        case "getColumnTypeName":
+                            return typeNames[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        int[] position = {-1};
+        boolean[] lastNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(FakeResultSets.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData":
+                            return metaData;
+                        case "next":
+                            return ++position[0] < rows.size();
+                        case "wasNull":
+                            return lastNull[0];
+                        case "close":
+                            return null;
+                        default:
+                            break;
+                    }
+                    if (args == null || args.length != 1 || !(args[0] instanceof Integer)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = rows.get(position[0])[(Integer) args[0] - 1];
+                    lastNull[0] = value == null;
+                    switch (method.getName()) {
+                        case "getObject":
+                        case "getTimestamp":
+                            return value;
+                        case "getString":
+                            return value != null ? value.toString() : null;
+                        case "getBigDecimal":
+                            return value == null || value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+                        case "getDouble":
+                            return value != null ? ((Number) value).doubleValue() : 0d;
+                        case "getLong":
+                            return value != null ? ((Number) value).longValue() : 0L;
+                        case "getInt":
+                            return value != null ? ((Number) value).intValue() : 0;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.tests.db;
+
+import com.example.verification.holdings.HoldingMismatch;
+import com.example.verification.holdings.HoldingMovement;
+import com.example.verification.holdings.HoldingsLedger;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Holdings Rebuild Test Suite
+ * Verifies how a client's share movements are replayed against stored portfolio snapshots, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Holdings Rebuild")
+public class HoldingsRebuildTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 12, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 5);
+
+    private static LocalDate day(int dayOfMonth) {
+        return LocalDate.of(2025, 12, dayOfMonth);
+    }
+
+    private static HoldingMovement move(HoldingMovement.Source source, String company, int dayOfMonth, long quantity) {
+        return new HoldingMovement(source, company, day(dayOfMonth), BigDecimal.valueOf(quantity));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Snapshots hold the shares after every movement of their day")
+    public void testReplayMatches() {
+        HoldingsLedger ledger = new HoldingsLedger("12240");
+        ledger.putSnapshot(LocalDate.of(2025, 11, 28), "BRES", BigDecimal.valueOf(100));
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "BRES", 1, 50));
+        ledger.addMovement(move(HoldingMovement.Source.VIRTUAL_TRADE, "BRES", 2, -30));
+        ledger.addMovement(move(HoldingMovement.Source.STOCK_TRANSFER, "ZAIN", 2, 10));
+        ledger.addMovement(move(HoldingMovement.Source.REGISTRY_TRANSFER, "ZAIN", 3, -10));
+        ledger.putSnapshot(day(1), "BRES", BigDecimal.valueOf(150));
+        ledger.putSnapshot(day(2), "BRES", BigDecimal.valueOf(120));
+        ledger.putSnapshot(day(2), "ZAIN", BigDecimal.TEN);
+        ledger.putSnapshot(day(3), "BRES", BigDecimal.valueOf(120));
+
+        List<HoldingMismatch> mismatches = ledger.replay(START, END, BigDecimal.ZERO);
+
+        Assert.assertTrue(mismatches.isEmpty(), mismatches.toString());
+        Assert.assertEquals(ledger.getOpeningDate(START), LocalDate.of(2025, 11, 28));
+        Assert.assertEquals(ledger.getComparedCount(), 4);
+        Assert.assertEquals(ledger.getMovementCounts().get(HoldingMovement.Source.TRADE).intValue(), 1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Wrong, missing and extra share counts are reported per date")
+    public void testSnapshotMismatches() {
+        HoldingsLedger ledger = new HoldingsLedger("12240");
+        ledger.putSnapshot(LocalDate.of(2025, 11, 28), "BRES", BigDecimal.valueOf(100));
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "BRES", 2, 50));
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "ZAIN", 2, 5));
+        ledger.putSnapshot(day(1), "BRES", BigDecimal.valueOf(100));
+        ledger.putSnapshot(day(1), "KHCB", BigDecimal.ONE);
+        ledger.putSnapshot(day(2), "BRES", BigDecimal.valueOf(140));
+
+        List<HoldingMismatch> mismatches = ledger.replay(START, END, BigDecimal.ZERO);
+
+        Assert.assertEquals(mismatches.size(), 3, mismatches.toString());
+        HoldingMismatch extra = mismatches.get(0);
+        Assert.assertEquals(extra.getCompanyCode(), "KHCB");
+        Assert.assertEquals(extra.getDate(), day(1));
+        Assert.assertEquals(extra.getExpected().signum(), 0);
+        HoldingMismatch wrong = mismatches.get(1);
+        Assert.assertEquals(wrong.getCompanyCode(), "BRES");
+        Assert.assertEquals(wrong.getDifference().intValue(), -10);
+        HoldingMismatch missing = mismatches.get(2);
+        Assert.assertEquals(missing.getCompanyCode(), "ZAIN");
+        Assert.assertNull(missing.getActual(), "no row for ZAIN on the 2nd");
+        Assert.assertEquals(missing.getKind(), HoldingMismatch.Kind.SNAPSHOT);
+
+        List<HoldingMismatch> tolerated = ledger.replay(START, END, BigDecimal.valueOf(5));
+        Assert.assertEquals(tolerated.size(), 1, "a 5 share tolerance only leaves the 10 share BRES difference");
+        Assert.assertEquals(tolerated.get(0).getCompanyCode(), "BRES");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Movements before the opening snapshot are already in it")
+    public void testOpeningSnapshot() {
+        HoldingsLedger ledger = new HoldingsLedger("12240");
+        ledger.putSnapshot(LocalDate.of(2025, 11, 28), "BRES", BigDecimal.valueOf(100));
+        ledger.addMovement(new HoldingMovement(HoldingMovement.Source.TRADE, "BRES", LocalDate.of(2025, 11, 28),
+                BigDecimal.valueOf(100)));
+        ledger.addMovement(new HoldingMovement(HoldingMovement.Source.TRADE, "BRES", LocalDate.of(2025, 11, 29),
+                BigDecimal.valueOf(-40)));
+        ledger.putSnapshot(day(1), "BRES", BigDecimal.valueOf(60));
+
+        Assert.assertTrue(ledger.replay(START, END, BigDecimal.ZERO).isEmpty());
+
+        HoldingsLedger newClient = new HoldingsLedger("843");
+        newClient.addMovement(new HoldingMovement(HoldingMovement.Source.TRADE, "BRES", LocalDate.of(2025, 11, 29),
+                BigDecimal.valueOf(40)));
+        newClient.addMovement(move(HoldingMovement.Source.TRADE, "BRES", 1, 25));
+        newClient.putSnapshot(day(1), "BRES", BigDecimal.valueOf(25));
+
+        Assert.assertNull(newClient.getOpeningDate(START));
+        Assert.assertTrue(newClient.replay(START, END, BigDecimal.ZERO).isEmpty(),
+                "without an opening snapshot the replay starts empty on the window start");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Current shares and negative positions are checked after the last movement")
+    public void testCurrentAndNegative() {
+        HoldingsLedger ledger = new HoldingsLedger("12240");
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "BRES", 1, -20));
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "BRES", 1, 30));
+        ledger.addMovement(move(HoldingMovement.Source.REGISTRY_TRANSFER, "BRES", 3, -15));
+        ledger.addMovement(move(HoldingMovement.Source.REGISTRY_TRANSFER, "BRES", 4, -5));
+        ledger.addMovement(move(HoldingMovement.Source.TRADE, "ZAIN", 4, 7));
+        ledger.putCurrent("BRES", BigDecimal.valueOf(-10));
+
+        List<HoldingMismatch> mismatches = ledger.replay(START, END, BigDecimal.ZERO);
+
+        Assert.assertEquals(mismatches.size(), 2, mismatches.toString());
+        HoldingMismatch negative = mismatches.get(0);
+        Assert.assertEquals(negative.getKind(), HoldingMismatch.Kind.NEGATIVE_POSITION,
+                "a same-day sell before the buy is not negative, the later withdrawal is, and only once");
+        Assert.assertEquals(negative.getDate(), day(3));
+        HoldingMismatch current = mismatches.get(1);
+        Assert.assertEquals(current.getKind(), HoldingMismatch.Kind.CURRENT);
+        Assert.assertEquals(current.getCompanyCode(), "ZAIN");
+        Assert.assertEquals(current.getDate(), END);
+        Assert.assertEquals(ledger.getComparedCount(), 2);
+    }
+}
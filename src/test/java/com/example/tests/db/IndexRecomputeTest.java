@@ -0,0 +1,120 @@
+package com.example.tests.db;
+
+import com.example.verification.index.IndexCalculator;
+import com.example.verification.index.IndexComposition;
+import com.example.verification.index.IndexDeviation;
+import com.example.verification.index.IndexLevel;
+import com.example.verification.index.ReportedIndex;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index Recompute Test Suite
+ * Verifies how index levels are recomputed from their constituents and reconciled with XDP_INDICES,
+ * without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Index Recompute")
+public class IndexRecomputeTest {
+
+    private final IndexCalculator calculator = new IndexCalculator(0.01, 0.01);
+
+    /**
+     * QSI: QNBK 100 shares x 0.5 factor at 10.00, CBQK 200 shares at 5.00 (previous-close value 1500)
+     * BANKS: QNBK 10 shares at 10.00
+     */
+    private static IndexComposition composition() {
+        return IndexComposition.builder()
+                .add("QSI", "QNBK", 100, 0.5, 10.00)
+                .add("BANKS", "QNBK", 10, Double.NaN, 10.00)
+                .add("QSI", "CBQK", 200, Double.NaN, 5.00)
+                .build();
+    }
+
+    private static double[] prices(IndexComposition composition, double qnbk, double cbqk) {
+        double[] prices = new double[composition.getConstituentCount()];
+        prices[composition.constituentSlot("QNBK")] = qnbk;
+        prices[composition.constituentSlot("CBQK")] = cbqk;
+        return prices;
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Members are grouped per index with weight x factor")
+    public void testComposition() {
+        IndexComposition composition = composition();
+
+        Assert.assertEquals(composition.getIndices(), Arrays.asList("QSI", "BANKS"));
+        Assert.assertEquals(composition.getConstituentCount(), 2);
+        Assert.assertEquals(composition.getMemberCount(composition.indexSlot("QSI")), 2);
+        Assert.assertEquals(composition.getMemberCount(composition.indexSlot("BANKS")), 1);
+        Assert.assertEquals(composition.indexSlot("NONE"), -1);
+
+        boolean[] marks = new boolean[composition.getIndexCount()];
+        composition.markIndices(composition.constituentSlot("CBQK"), marks);
+        Assert.assertEquals(marks, new boolean[]{true, false}, "CBQK only belongs to QSI");
+        composition.markIndices(composition.constituentSlot("QNBK"), marks);
+        Assert.assertEquals(marks, new boolean[]{true, true});
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The ratio weighs each member's move; unpriced members stay at their close")
+    public void testRatio() {
+        IndexComposition composition = composition();
+        int qsi = composition.indexSlot("QSI");
+        int[] unpriced = new int[1];
+
+        double ratio = composition.ratio(qsi, prices(composition, 11.00, 5.00), unpriced);
+        Assert.assertEquals(ratio, (50 * 11.00 + 200 * 5.00) / 1500, 1e-12);
+        Assert.assertEquals(unpriced[0], 0);
+
+        ratio = composition.ratio(qsi, prices(composition, 11.00, Double.NaN), unpriced);
+        Assert.assertEquals(ratio, (50 * 11.00 + 200 * 5.00) / 1500, 1e-12, "CBQK without a price counts at its close");
+        Assert.assertEquals(unpriced[0], 1);
+
+        IndexComposition noBase = IndexComposition.builder().add("EMPTY", "QNBK", 1, 1, Double.NaN).build();
+        Assert.assertTrue(Double.isNaN(noBase.ratio(0, new double[]{10.0}, null)));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Level, variation and percent follow from the row's previous close")
+    public void testRecompute() {
+        IndexComposition composition = composition();
+        int banks = composition.indexSlot("BANKS");
+        ReportedIndex reported = new ReportedIndex("BANKS", 1100.0, 100.0, 10.0, 0);
+
+        IndexLevel level = calculator.recompute(composition, banks, prices(composition, 11.00, 5.00), reported);
+
+        Assert.assertEquals(level.getPercentVariation(), 10.0, 1e-9);
+        Assert.assertEquals(level.getLevel(), 1100.0, 1e-9);
+        Assert.assertEquals(level.getVariation(), 100.0, 1e-9);
+        Assert.assertTrue(calculator.check(level).isEmpty(), calculator.check(level).toString());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Deviations beyond tolerance and missing rows are reported")
+    public void testDeviations() {
+        IndexComposition composition = composition();
+        int banks = composition.indexSlot("BANKS");
+        double[] prices = prices(composition, 11.00, 5.00);
+
+        List<IndexDeviation> deviations = calculator.check(calculator.recompute(composition, banks, prices,
+                new ReportedIndex("BANKS", 1105.0, 100.0, 10.5, 0)));
+        Assert.assertEquals(deviations.size(), 2, deviations.toString());
+        Assert.assertEquals(deviations.get(0).getKind(), IndexDeviation.Kind.LEVEL_MISMATCH);
+        Assert.assertEquals(deviations.get(0).getExpected(), 1005.0 * 1.1, 1e-9);
+        Assert.assertEquals(deviations.get(1).getKind(), IndexDeviation.Kind.PERCENT_MISMATCH);
+
+        deviations = calculator.check(calculator.recompute(composition, banks, prices,
+                new ReportedIndex("BANKS", Double.NaN, Double.NaN, 10.005, 0)));
+        Assert.assertTrue(deviations.isEmpty(), "only reported values are compared: " + deviations);
+
+        deviations = calculator.check(calculator.recompute(composition, banks, prices, null));
+        Assert.assertEquals(deviations.get(0).getKind(), IndexDeviation.Kind.NO_INDEX_ROW);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.tests.db;
+
+import com.example.screensData.orders.GetOrdersData;
+import com.example.screensData.orders.GetOrdersHistData;
+import com.example.screensData.xdp.GetTradesData;
+import com.example.utils.db.KeysetPage;
+import com.example.utils.db.KeysetPager;
+import com.example.utils.db.KeysetSpec;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * KeysetPager Test Suite
+ * Verifies the keyset SQL, bind order and continuation tokens without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Keyset Pagination")
+public class KeysetPagerTest {
+
+    private static final KeysetSpec TRADES = KeysetSpec.table("XDP_TRADES").key("SEQ").descending().pageSize(1000);
+    private static final KeysetSpec ORDERS = KeysetSpec.table("XDP_ORDERS").key("TIME_STAMP", KeysetSpec.ROWID).descending();
+
+    @Test(groups = {"db", "regression", "fast"}, description = "First page has no key predicate, next pages continue after the last key")
+    public void testSingleKeySql() {
+        Assert.assertEquals(TRADES.toSql(false),
+                "SELECT t.* FROM XDP_TRADES t WHERE t.SEQ IS NOT NULL ORDER BY t.SEQ DESC FETCH FIRST ? ROWS ONLY");
+        Assert.assertEquals(TRADES.toSql(true),
+                "SELECT t.* FROM XDP_TRADES t WHERE t.SEQ IS NOT NULL AND ((t.SEQ < ?)) ORDER BY t.SEQ DESC FETCH FIRST ? ROWS ONLY");
+        Assert.assertEquals(TRADES.bindParameters(new Object[]{new BigDecimal("42")}),
+                Arrays.asList(new BigDecimal("42"), 1000));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Composite keys expand to an index-friendly OR chain with ROWID tie-break")
+    public void testCompositeKeySqlAndBindOrder() {
+        Assert.assertEquals(ORDERS.toSql(true),
+                "SELECT t.*, ROWIDTOCHAR(t.ROWID) AS KEYSET_ROWID FROM XDP_ORDERS t WHERE t.TIME_STAMP IS NOT NULL AND "
+                        + "(t.TIME_STAMP <= ? AND ((t.TIME_STAMP < ?) OR (t.TIME_STAMP = ? AND t.ROWID < CHARTOROWID(?)))) "
+                        + "ORDER BY t.TIME_STAMP DESC, t.ROWID DESC FETCH FIRST ? ROWS ONLY");
+
+        Timestamp ts = Timestamp.valueOf("2026-10-15 09:30:00");
+        List<Object> parameters = ORDERS.pageSize(50).bindParameters(new Object[]{ts, "AAAR3sAAEAAAACXAAA"});
+        Assert.assertEquals(parameters, Arrays.asList(ts, ts, ts, "AAAR3sAAEAAAACXAAA", 50));
+        Assert.assertEquals(ORDERS.getResultColumn(1), KeysetSpec.ROWID_ALIAS);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Filter parameters are bound before the key")
+    public void testFilterIsPartOfTheWalk() {
+        KeysetSpec filtered = TRADES.where("INST_SEQ = ?", "QNBK");
+        Assert.assertTrue(filtered.toSql(true).contains("WHERE (INST_SEQ = ?) AND t.SEQ IS NOT NULL AND ((t.SEQ < ?))"));
+        Assert.assertEquals(filtered.bindParameters(new Object[]{BigDecimal.TEN}), Arrays.asList("QNBK", BigDecimal.TEN, 1000));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Continuation tokens round-trip numbers, timestamps and strings")
+    public void testTokenRoundTrip() {
+        Timestamp ts = Timestamp.valueOf("2026-10-15 09:30:00.123456");
+        String token = KeysetPager.encodeToken(ORDERS, new Object[]{ts, "AAAR3sAAEAAAACX|AA"});
+
+        Object[] key = KeysetPager.decodeToken(ORDERS.pageSize(10), token);
+        Assert.assertEquals(key[0], ts);
+        Assert.assertEquals(key[1], "AAAR3sAAEAAAACX|AA");
+
+        Object[] seq = KeysetPager.decodeToken(TRADES, KeysetPager.encodeToken(TRADES, new Object[]{new BigDecimal("9007199254740993")}));
+        Assert.assertEquals(seq[0], new BigDecimal("9007199254740993"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Tokens from another walk or garbage are rejected")
+    public void testForeignTokenRejected() {
+        String token = KeysetPager.encodeToken(TRADES, new Object[]{BigDecimal.ONE});
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> KeysetPager.decodeToken(KeysetSpec.table("XDP_TRADES").key("SEQ"), token));
+        Assert.assertThrows(IllegalArgumentException.class, () -> KeysetPager.decodeToken(ORDERS, token));
+        Assert.assertThrows(IllegalArgumentException.class, () -> KeysetPager.decodeToken(TRADES, "not a token!"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "DATE keys are re-bound as DATE and the token records the type")
+    public void testDateKeyBoundAsDate() throws Exception {
+        Timestamp last = Timestamp.valueOf("2026-10-15 09:30:07");
+        Object[][] rows = {{Timestamp.valueOf("2026-10-15 09:31:00"), "AAAR3sAAEAAAACXAAB"}, {last, "AAAR3sAAEAAAACXAAA"}};
+        FakeConnection db = new FakeConnection((query, parameters) ->
+                ordersResult(query.contains("t.TIME_STAMP <") ? new Object[0][] : rows));
+        KeysetPager pager = new KeysetPager(db, ORDERS.pageSize(2));
+
+        KeysetPage first = pager.fetch(null);
+        KeysetPage second = pager.fetch(first.getContinuationToken());
+
+        Assert.assertTrue(second.isEmpty());
+        Object key = db.getParameters().get(1)[0];
+        Assert.assertTrue(key instanceof oracle.sql.DATE, "TIME_STAMP is a DATE column, got " + key.getClass().getName());
+        Assert.assertEquals(((oracle.sql.DATE) key).timestampValue(), last);
+        Assert.assertEquals(db.getParameters().get(1)[3], "AAAR3sAAEAAAACXAAA");
+
+        Object[] decoded = KeysetPager.decodeToken(ORDERS, first.getContinuationToken());
+        Assert.assertTrue(decoded[0] instanceof oracle.sql.DATE, "the token keeps the DATE type");
+        Object[] timestamp = KeysetPager.decodeToken(ORDERS, KeysetPager.encodeToken(ORDERS, new Object[]{last, "AAAR3sAAEAAAACXAAA"}));
+        Assert.assertTrue(timestamp[0] instanceof Timestamp, "TIMESTAMP keys stay TIMESTAMP");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Limits below 1 find nothing without querying, as FETCH FIRST 0 ROWS did")
+    public void testNonPositiveLimitFindsNothing() {
+        FakeConnection db = new FakeConnection((query, parameters) -> ordersResult(new Object[][]{
+                {Timestamp.valueOf("2026-10-15 09:31:00"), "AAAR3sAAEAAAACXAAB"}}));
+
+        Assert.assertFalse(new GetOrdersData(db).fetchAllOrdersFromXDPWithLimit(0));
+        Assert.assertFalse(new GetOrdersHistData(db).fetchOrdersHistByLimit(-1));
+        Assert.assertFalse(new GetTradesData(db).fetchLastNTrades(0));
+        Assert.assertTrue(db.getQueries().isEmpty());
+    }
+
+    /**
+     * XDP_ORDERS page as the driver returns it: TIME_STAMP is a DATE reported as TIMESTAMP
+     */
+    private static ResultSet ordersResult(Object[][] rows) {
+        return FakeResultSets.of(new String[]{"TIME_STAMP", KeysetSpec.ROWID_ALIAS}, new int[]{Types.TIMESTAMP, Types.VARCHAR},
+                new String[]{"DATE", "VARCHAR2"}, rows);
+    }
+}
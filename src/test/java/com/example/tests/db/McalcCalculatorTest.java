@@ -0,0 +1,192 @@
+package com.example.tests.db;
+
+import com.example.verification.mcalc.McalcCalculator;
+import com.example.verification.mcalc.McalcInputs;
+import com.example.verification.mcalc.StudyRow;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * My Calculator Recompute Test Suite
+ * Verifies each MYCALCULATOR_STUDY field recomputed from hand-built inputs, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("My Calculator Recompute")
+public class McalcCalculatorTest {
+
+    private static final LocalDate PREV = LocalDate.of(2025, 12, 1);
+    private static final LocalDate DATE = LocalDate.of(2025, 12, 2);
+
+    /**
+     * Calculator over MDF_TIME_SERIES closes kept in memory, reading withdrawals from a QUANTITY column
+     */
+    private static McalcCalculator calculator(Map<String, NavigableMap<LocalDate, BigDecimal>> closes) {
+        return new McalcCalculator((companyCode, date) -> {
+            NavigableMap<LocalDate, BigDecimal> series = closes.get(companyCode);
+            Map.Entry<LocalDate, BigDecimal> entry = series != null ? series.floorEntry(date) : null;
+            return entry != null ? entry.getValue() : null;
+        }, "QUANTITY");
+    }
+
+    private static Map<String, NavigableMap<LocalDate, BigDecimal>> closes() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> closes = new HashMap<>();
+        close(closes, "BRES", PREV, "1.00");
+        close(closes, "BRES", DATE, "1.10");
+        close(closes, "ZAIN", PREV, "2.00");
+        close(closes, "KHCB", LocalDate.of(2025, 11, 30), "0.50");
+        return closes;
+    }
+
+    private static void close(Map<String, NavigableMap<LocalDate, BigDecimal>> closes, String companyCode,
+                              LocalDate date, String close) {
+        closes.computeIfAbsent(companyCode, k -> new TreeMap<>()).put(date, new BigDecimal(close));
+    }
+
+    private static Timestamp at(LocalDate date, int hour) {
+        return Timestamp.valueOf(date.atTime(hour, 0));
+    }
+
+    private static Map<String, Object> transfer(String symbol, String timeColumn, Timestamp time,
+                                                String quantityColumn, long quantity) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("SYMBOL", symbol);
+        row.put(timeColumn, time);
+        row.put(quantityColumn, BigDecimal.valueOf(quantity));
+        return row;
+    }
+
+    private static StudyRow study(LocalDate portfolioDate, LocalDate prevPortfolioDate) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("NIN", "12240");
+        row.put("TRNX_DATE", at(DATE, 0));
+        row.put("PORTFOLIO_DATE", portfolioDate != null ? at(portfolioDate, 0) : null);
+        row.put("PREV_PORTFOLIO_DATE", prevPortfolioDate != null ? at(prevPortfolioDate, 0) : null);
+        return new StudyRow(row);
+    }
+
+    /**
+     * Two days of one client: BRES bought up and ZAIN sold out on the 2nd, with registry movements
+     */
+    private static McalcInputs twoDays() {
+        McalcInputs inputs = new McalcInputs("12240", PREV, DATE);
+        inputs.putPortfolioVolume("BRES", PREV, BigDecimal.valueOf(100));
+        inputs.putPortfolioVolume("ZAIN", PREV, BigDecimal.valueOf(10));
+        inputs.putPortfolioVolume("BRES", DATE, BigDecimal.valueOf(150));
+        inputs.addTotal("BUY", "BRES", PREV, new BigDecimal("99.00"));
+        inputs.addTotal("BUY", "BRES", DATE, new BigDecimal("55.00"));
+        inputs.addTotal("SELL", "ZAIN", DATE, new BigDecimal("20.00"));
+        inputs.addCommission("BUY", "BRES", DATE, new BigDecimal("0.25"));
+        inputs.addCommission("SELL", "ZAIN", DATE, new BigDecimal("0.10"));
+        inputs.addRegistryDeposit(transfer("BRES", "EXECUTION_TIME", at(DATE, 10), "VOLUME", 10));
+        inputs.addRegistryWithdrawal(transfer("KHCB", "CREATION_TIME", at(DATE, 11), "QUANTITY", 5));
+        inputs.addRegistryWithdrawal(transfer("KHCB", "CREATION_TIME", at(PREV, 11), "QUANTITY", 7));
+        inputs.putDailyCashBalance(PREV, new BigDecimal("1000.00"));
+        inputs.putDailyCashBalance(DATE, new BigDecimal("960.00"));
+        inputs.putFundSummary(PREV, new BigDecimal("500.00"), new BigDecimal("3.00"));
+        return inputs;
+    }
+
+    private static void assertAmount(Map<String, BigDecimal> fields, String field, String expected) {
+        Assert.assertTrue(fields.containsKey(field), field + " missing from " + fields);
+        Assert.assertEquals(fields.get(field).compareTo(new BigDecimal(expected)), 0,
+                field + " = " + fields.get(field) + ", expected " + expected);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Every field is recomputed from complete inputs")
+    public void testAllFields() {
+        Map<String, BigDecimal> fields = calculator(closes()).recompute(twoDays(), study(DATE, PREV));
+
+        Assert.assertEquals(fields.size(), 7, fields.toString());
+        assertAmount(fields, McalcCalculator.SHARES_VALUE, "165.00");
+        assertAmount(fields, McalcCalculator.CASH, "960.00");
+        assertAmount(fields, McalcCalculator.FUND_AMOUNT, "500.00");
+        assertAmount(fields, McalcCalculator.FEES_AMOUNT, "3.00");
+        // 10 BRES deposited at 1.10, 5 KHCB withdrawn at 0.50; the 1st is before the window
+        assertAmount(fields, McalcCalculator.REGISTRY_TRANSFER, "8.50");
+        // 165 - 120 - 55 buys + 20 sells - 0.35 commissions - 8.50 transfers
+        assertAmount(fields, McalcCalculator.PROFIT_LOSS, "1.15");
+        // 960 - 1000 - 20 sells + 55 buys + 0.35 commissions
+        assertAmount(fields, McalcCalculator.CASH_FLOW, "-4.65");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "NULL study columns read as missing or zero")
+    public void testNullColumns() {
+        McalcCalculator calculator = calculator(closes());
+        Map<String, Object> row = new HashMap<>();
+        row.put("TRNX_DATE", at(DATE, 0));
+        row.put("PORTFOLIO_DATE", null);
+        row.put("SHARES_VALUE", null);
+        row.put("DIVIDEND", null);
+        row.put("DEPOSIT", new BigDecimal("10.00"));
+        row.put("WITHDRAW", "14.65");
+        StudyRow study = new StudyRow(row);
+
+        Assert.assertEquals(study.getNin(), "");
+        Assert.assertEquals(study.getPortfolioDate(), DATE, "an empty PORTFOLIO_DATE falls back to TRNX_DATE");
+        Assert.assertNull(study.getPrevPortfolioDate());
+        Assert.assertNull(calculator.storedValue(study, McalcCalculator.SHARES_VALUE));
+        Assert.assertEquals(calculator.storedValue(study, McalcCalculator.CASH_FLOW).compareTo(new BigDecimal("-4.65")), 0,
+                "CASH_FLOW is compared with DIVIDEND + DEPOSIT - WITHDRAW, NULL counting as zero");
+
+        Map<String, Object> undated = new HashMap<>();
+        undated.put("TRNX_DATE", null);
+        Assert.assertTrue(calculator.recompute(twoDays(), new StudyRow(undated)).isEmpty());
+
+        McalcInputs noBalances = new McalcInputs("12240", PREV, DATE);
+        noBalances.putFundSummary(PREV, null, null);
+        Map<String, BigDecimal> fields = calculator.recompute(noBalances, study(DATE, PREV));
+        assertAmount(fields, McalcCalculator.SHARES_VALUE, "0");
+        Assert.assertFalse(fields.containsKey(McalcCalculator.CASH), "no cash balance in the window");
+        Assert.assertFalse(fields.containsKey(McalcCalculator.CASH_FLOW));
+        Assert.assertFalse(fields.containsKey(McalcCalculator.FUND_AMOUNT), "NULL LAST_ACTUAL_FUND");
+        Assert.assertFalse(fields.containsKey(McalcCalculator.FEES_AMOUNT), "NULL LAST_TOTAL_DELAY_FEES");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A client's first row has no movement fields")
+    public void testFirstRow() {
+        McalcCalculator calculator = calculator(closes());
+        Map<String, BigDecimal> fields = calculator.recompute(twoDays(), study(DATE, null));
+
+        Assert.assertEquals(fields.keySet().toString(), "[SHARES_VALUE, CASH, FUND_AMOUNT, FEES_AMOUNT]");
+        assertAmount(fields, McalcCalculator.SHARES_VALUE, "165.00");
+        assertAmount(fields, McalcCalculator.CASH, "960.00");
+
+        Map<String, BigDecimal> sameDay = calculator.recompute(twoDays(), study(DATE, DATE));
+        Assert.assertFalse(sameDay.containsKey(McalcCalculator.PROFIT_LOSS), "a previous date not before the row is ignored");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A missing close drops the fields valued with it")
+    public void testMissingClose() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> closes = closes();
+        McalcCalculator calculator = calculator(closes);
+        McalcInputs inputs = twoDays();
+        inputs.putPortfolioVolume("NEWCO", DATE, BigDecimal.ONE);
+        Map<String, BigDecimal> fields = calculator.recompute(inputs, study(DATE, PREV));
+
+        Assert.assertFalse(fields.containsKey(McalcCalculator.SHARES_VALUE), "NEWCO has no close");
+        Assert.assertFalse(fields.containsKey(McalcCalculator.PROFIT_LOSS));
+        assertAmount(fields, McalcCalculator.REGISTRY_TRANSFER, "8.50");
+        assertAmount(fields, McalcCalculator.CASH_FLOW, "-4.65");
+
+        closes.remove("KHCB");
+        fields = calculator.recompute(twoDays(), study(DATE, PREV));
+        Assert.assertFalse(fields.containsKey(McalcCalculator.REGISTRY_TRANSFER), "the withdrawn KHCB has no close");
+        Assert.assertFalse(fields.containsKey(McalcCalculator.PROFIT_LOSS));
+        assertAmount(fields, McalcCalculator.SHARES_VALUE, "165.00");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tests.db;
+
+import com.example.utils.db.MultiKeyQuery;
+import com.example.utils.db.StatementStats;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MultiKeyQuery Test Suite
+ * Verifies the collection-bound and chunked SQL, their bind order and the fallback between them without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Multi-Key Queries")
+public class MultiKeyQueryTest {
+
+    private static final MultiKeyQuery CLIENTS = MultiKeyQuery.of("SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN ({keys})");
+    private static final MultiKeyQuery TRADES = MultiKeyQuery.of(
+            "SELECT * FROM XDP_TRADES WHERE TRADE_DATE >= ? AND INST_CODE IN ({keys}) FETCH FIRST ? ROWS ONLY");
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Array SQL binds the whole key set as one collection")
+    public void testArraySql() {
+        Assert.assertEquals(CLIENTS.toArraySql(),
+                "SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (SELECT COLUMN_VALUE FROM TABLE(?))");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Chunk SQL has a fixed number of placeholders")
+    public void testChunkSql() {
+        Assert.assertEquals(CLIENTS.toChunkSql(3), "SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (?, ?, ?)");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The last chunk is padded with its final key so every chunk shares one statement")
+    public void testChunksArePadded() {
+        List<Object[]> chunks = CLIENTS.chunkParameters(Arrays.asList("1", "2", "3", "4", "5"), 2);
+
+        Assert.assertEquals(chunks.size(), 3);
+        Assert.assertEquals(chunks.get(0), new Object[]{"1", "2"});
+        Assert.assertEquals(chunks.get(2), new Object[]{"5", "5"});
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Other parameters keep their place before and after the keys")
+    public void testParametersAroundKeys() {
+        List<Object[]> chunks = TRADES.chunkParameters(Arrays.asList("QNBK", "DOHI", "QIBK"), 2, "2025-11-25", 100);
+
+        Assert.assertEquals(chunks.get(0), new Object[]{"2025-11-25", "QNBK", "DOHI", 100});
+        Assert.assertEquals(chunks.get(1), new Object[]{"2025-11-25", "QIBK", "QIBK", 100});
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Empty key sets return no rows without querying")
+    public void testEmptyKeys() throws Exception {
+        Assert.assertTrue(CLIENTS.execute(null, Collections.emptyList()).isEmpty());
+        Assert.assertTrue(CLIENTS.execute(null, null).isEmpty());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The keys marker must appear exactly once")
+    public void testMarkerRequired() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> MultiKeyQuery.of("SELECT * FROM SEC_CLIENTS"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> MultiKeyQuery.of("SELECT {keys} FROM T WHERE A IN ({keys})"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Only an unsupported collection type turns the array bind off")
+    public void testArrayBindFallback() throws SQLException {
+        MultiKeyQuery query = MultiKeyQuery.of("SELECT * FROM SEC_CLIENT_FALLBACK C WHERE C.cl_id IN ({keys})");
+        Exception[] failure = {new SQLException("Closed Connection", "08003", 17008)};
+        FakeConnection connection = new FakeConnection((sql, parameters) -> FakeResultSets.of(new String[]{"CL_ID"},
+                new int[]{Types.VARCHAR}, new String[]{"VARCHAR2"}, new Object[][]{{parameters[0]}}))
+                .jdbcConnection(failingCollections(failure));
+
+        Assert.assertEquals(query.execute(connection, Arrays.asList("1", "2")).size(), 1);
+        Assert.assertEquals(query.execute(connection, Arrays.asList("1", "2")).size(), 1);
+        Assert.assertEquals(connection.getConnectionRequests(), 2, "a closed connection does not turn the array bind off");
+        Assert.assertEquals(connection.getQueries().size(), 2);
+        Assert.assertEquals(errors(query), 2, "each failed array attempt is recorded");
+
+        failure[0] = new SQLFeatureNotSupportedException("createOracleArray");
+        query.execute(connection, Arrays.asList("1", "2"));
+        query.execute(connection, Arrays.asList("1", "2"));
+        Assert.assertEquals(connection.getConnectionRequests(), 3, "an unsupported collection is not tried again");
+        Assert.assertEquals(connection.getQueries().size(), 4);
+        Assert.assertEquals(errors(query), 3);
+    }
+
+    private static long errors(MultiKeyQuery query) {
+        String fingerprint = StatementStats.fingerprint(query.toArraySql());
+        return StatementStats.getShared().getEntries().stream()
+                .filter(entry -> entry.getFingerprint().equals(fingerprint))
+                .mapToLong(StatementStats.FingerprintStats::getErrors).sum();
+    }
+
+    /**
+     * JDBC connection that fails to build a collection with the current failure
+     */
+    private static Connection failingCollections(Exception[] failure) {
+        return (Connection) Proxy.newProxyInstance(MultiKeyQueryTest.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "unwrap":
+                            throw failure[0];
+                        case "isWrapperFor":
+                            return true;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.tests.db;
+
+import com.example.verification.market.BookIssue;
+import com.example.verification.market.BookSide;
+import com.example.verification.market.MbpBook;
+import com.example.verification.market.MbpXmlParser;
+import com.example.verification.market.OrderBookChecker;
+import com.example.verification.market.TopOfBook;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Order Book Test Suite
+ * Verifies how MBP DATA_XML messages are read into price levels and how rebuilt books are checked
+ * against quotes, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Order Book")
+public class OrderBookTest {
+
+    private static final long NOW = 1_764_000_000_000L;
+    private final OrderBookChecker checker = new OrderBookChecker(0.0001, 60_000);
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Levels are read from attributes under side containers")
+    public void testAttributeLevels() throws Exception {
+        BookSide bids = new BookSide();
+        BookSide asks = new BookSide();
+        int skipped = new MbpXmlParser().parse(new StringReader("<Mbp><Bids>"
+                + "<Level Price=\"12.35\" Qty=\"1000\" Orders=\"3\"/><Level Price=\"12.30\" Qty=\"250\" Orders=\"1\"/>"
+                + "</Bids><Asks><Level PRICE=\"12.40\" QUANTITY=\"500\"/></Asks></Mbp>"), MbpXmlParser.UNKNOWN, bids, asks);
+
+        Assert.assertEquals(skipped, 0);
+        Assert.assertEquals(bids.size(), 2);
+        Assert.assertEquals(bids.getPrice(0), 12.35);
+        Assert.assertEquals(bids.getQuantity(1), 250);
+        Assert.assertEquals(bids.getOrders(0), 3);
+        Assert.assertEquals(asks.size(), 1);
+        Assert.assertEquals(asks.getOrders(0), -1, "order count is -1 when the feed does not send it");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Levels are read from child elements, with the side from the element or the SIDE column")
+    public void testElementLevels() throws Exception {
+        BookSide bids = new BookSide();
+        BookSide asks = new BookSide();
+        MbpXmlParser parser = new MbpXmlParser();
+        parser.parse(new StringReader("<Entries>"
+                + "<Entry><Side>S</Side><Px>12.40</Px><Size>500</Size><Nb_Orders>2</Nb_Orders></Entry>"
+                + "<Entry><Px>12.35</Px><Size>800</Size></Entry>"
+                + "</Entries>"), MbpXmlParser.BID, bids, asks);
+
+        Assert.assertEquals(asks.size(), 1);
+        Assert.assertEquals(asks.getOrders(0), 2);
+        Assert.assertEquals(bids.size(), 1, "an entry without a side takes the SIDE column");
+        Assert.assertEquals(bids.getQuantity(0), 800);
+
+        int skipped = parser.parse(new StringReader("<Entries><Entry><Px>1</Px><Size>1</Size></Entry></Entries>"),
+                MbpXmlParser.UNKNOWN, new BookSide(), new BookSide());
+        Assert.assertEquals(skipped, 1, "a level with no side at all is skipped");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Side values follow the feed and FIX conventions")
+    public void testParseSide() {
+        Assert.assertEquals(MbpXmlParser.parseSide("b"), MbpXmlParser.BID);
+        Assert.assertEquals(MbpXmlParser.parseSide("1"), MbpXmlParser.BID);
+        Assert.assertEquals(MbpXmlParser.parseSide(" Sell "), MbpXmlParser.ASK);
+        Assert.assertEquals(MbpXmlParser.parseSide("2"), MbpXmlParser.ASK);
+        Assert.assertEquals(MbpXmlParser.parseSide(null), MbpXmlParser.UNKNOWN);
+        Assert.assertEquals(MbpXmlParser.parseSide("X"), MbpXmlParser.UNKNOWN);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A book matching its quote has no issues")
+    public void testConsistentBook() {
+        MbpBook book = book(new double[]{12.35, 12.30}, new double[]{12.40, 12.45});
+        TopOfBook quote = new TopOfBook("XDP_QUOTES", 12.35, 1000, 2, 12.40, 1000, 2, NOW);
+        Assert.assertTrue(checker.check(book, quote, null).isEmpty(), checker.check(book, quote).toString());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Crossed books and out-of-order levels are flagged")
+    public void testBookChecks() {
+        List<BookIssue> issues = checker.check(book(new double[]{12.40, 12.45}, new double[]{12.40}));
+        Assert.assertTrue(has(issues, BookIssue.Kind.CROSSED), issues.toString());
+        Assert.assertTrue(has(issues, BookIssue.Kind.INVALID_LEVELS), "bids must descend: " + issues);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Price and depth differences are told apart from stale book sides")
+    public void testReferenceChecks() {
+        MbpBook book = book(new double[]{12.35}, new double[]{12.40});
+        book.getBids().setTimeMillis(NOW);
+        book.getAsks().setTimeMillis(NOW);
+
+        List<BookIssue> issues = checker.check(book, new TopOfBook("XDP_QUOTES", 12.30, 1000, 2, 12.40, 900, 2, NOW));
+        Assert.assertEquals(issues.size(), 2, issues.toString());
+        Assert.assertEquals(issues.get(0).getKind(), BookIssue.Kind.PRICE_MISMATCH);
+        Assert.assertEquals(issues.get(0).getSide(), "BID");
+        Assert.assertEquals(issues.get(1).getKind(), BookIssue.Kind.DEPTH_MISMATCH);
+
+        issues = checker.check(book, new TopOfBook("XDP_INST_LIVEQUOTE", 12.30, -1, -1, 12.40, -1, -1, NOW + 120_000));
+        Assert.assertEquals(issues.size(), 1, issues.toString());
+        Assert.assertEquals(issues.get(0).getKind(), BookIssue.Kind.STALE_LEVELS);
+
+        issues = checker.check(new MbpBook("QNBK"), new TopOfBook("XDP_QUOTES", 12.35, -1, -1, Double.NaN, -1, -1, NOW));
+        Assert.assertEquals(issues.size(), 1, "only the quoted side is compared: " + issues);
+        Assert.assertEquals(issues.get(0).getKind(), BookIssue.Kind.PRICE_MISMATCH);
+    }
+
+    private static MbpBook book(double[] bidPrices, double[] askPrices) {
+        MbpBook book = new MbpBook("QNBK");
+        for (double price : bidPrices) {
+            book.getBids().add(price, 1000, 2);
+        }
+        for (double price : askPrices) {
+            book.getAsks().add(price, 1000, 2);
+        }
+        return book;
+    }
+
+    private static boolean has(List<BookIssue> issues, BookIssue.Kind kind) {
+        return issues.stream().anyMatch(issue -> issue.getKind() == kind);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.tests.db;
+
+import com.example.records.TradeRecord;
+import com.example.verification.latency.HopStats;
+import com.example.verification.latency.OrderHop;
+import com.example.verification.latency.OrderLatencyReport;
+import com.example.verification.latency.OrderLatencyTracer;
+import com.example.verification.latency.OrderTrace;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Latency Test Suite
+ * Verifies how traced order timelines are turned into per-hop latency distributions, and how one polling
+ * round finds an order's hops, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Order Latency")
+public class OrderLatencyTest {
+
+    private static OrderTrace trace(long submitted, long persisted, long sent, long traded) {
+        OrderTrace trace = new OrderTrace("843", 0, submitted);
+        if (persisted >= 0) {
+            trace.recordHop(OrderHop.PERSISTED, submitted + persisted);
+        }
+        if (sent >= 0) {
+            trace.recordHop(OrderHop.FIX_SENT, submitted + sent);
+        }
+        if (traded >= 0) {
+            trace.recordHop(OrderHop.TRADED, submitted + traded);
+        }
+        return trace;
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "FIX sending times are parsed as UTC with any fraction")
+    public void testFixTimestamps() {
+        Assert.assertEquals(OrderLatencyTracer.parseFixTimestamp("19700101-00:00:01"), 1000);
+        Assert.assertEquals(OrderLatencyTracer.parseFixTimestamp("19700101-00:00:01.250"), 1250);
+        Assert.assertEquals(OrderLatencyTracer.parseFixTimestamp("19700101-00:00:01.250999"), 1250);
+        Assert.assertEquals(OrderLatencyTracer.parseFixTimestamp("2025-11-01 10:00:00"), -1);
+        Assert.assertEquals(OrderLatencyTracer.parseFixTimestamp(" "), -1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A trace measures each hop from the click and from the previous hop")
+    public void testTrace() {
+        OrderTrace trace = trace(10_000, 40, 90, -1);
+        trace.recordHop(OrderHop.PERSISTED, 99_999);
+
+        Assert.assertEquals(trace.getLatencyMillis(OrderHop.PERSISTED), 40, "the first time recorded wins");
+        Assert.assertEquals(trace.getStepMillis(OrderHop.PERSISTED), 40);
+        Assert.assertEquals(trace.getLatencyMillis(OrderHop.FIX_SENT), 90);
+        Assert.assertEquals(trace.getStepMillis(OrderHop.FIX_SENT), 50);
+        Assert.assertEquals(trace.getLatencyMillis(OrderHop.TRADED), -1);
+        Assert.assertFalse(trace.isComplete());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Distributions count missing hops and latency target breaches")
+    public void testReport() {
+        List<OrderTrace> traces = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            traces.add(trace(i * 1_000L, i, 2L * i, i <= 50 ? 10L * i : -1));
+        }
+        traces.add(trace(0, -1, 30, -1));
+        Map<OrderHop, Long> sla = new EnumMap<>(OrderHop.class);
+        sla.put(OrderHop.FIX_SENT, 150L);
+
+        OrderLatencyReport report = new OrderLatencyReport(traces, sla);
+
+        HopStats persisted = report.getLatency(OrderHop.PERSISTED);
+        Assert.assertEquals(persisted.getCount(), 100);
+        Assert.assertEquals(persisted.getMissing(), 1);
+        Assert.assertEquals(persisted.getPercentileMillis(50), 50.0, 0.1);
+        Assert.assertEquals(persisted.getMaxMillis(), 100.0, 0.1);
+
+        HopStats sent = report.getLatency(OrderHop.FIX_SENT);
+        Assert.assertEquals(sent.getCount(), 101);
+        Assert.assertEquals(sent.getBreaches(), 25, "orders 76 to 100 are sent after 150 ms");
+        Assert.assertFalse(report.isWithinSla());
+
+        HopStats sentStep = report.getStep(OrderHop.FIX_SENT);
+        Assert.assertEquals(sentStep.getCount(), 100, "no step without the previous hop");
+        Assert.assertEquals(sentStep.getMissing(), 1);
+        Assert.assertEquals(report.getStep(OrderHop.TRADED).getCount(), 50);
+        Assert.assertEquals(report.getComplete(), 50);
+        Assert.assertTrue(report.getSummary().contains("SUBMIT -> FIX_SENT"), report.getSummary());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Database times ahead of the click count as zero latency")
+    public void testClockSkew() {
+        OrderTrace trace = trace(5_000, -1, 10, 15);
+        trace.recordHop(OrderHop.PERSISTED, 4_980);
+        OrderLatencyReport report = new OrderLatencyReport(Collections.singletonList(trace), Collections.emptyMap());
+
+        Assert.assertEquals(report.getLatency(OrderHop.PERSISTED).getCount(), 1);
+        Assert.assertEquals(report.getLatency(OrderHop.PERSISTED).getMaxMillis(), 0.0, 0.01);
+        Assert.assertTrue(report.isWithinSla());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Polling finds the order, its FIX send and its first print by INST_SEQ")
+    public void testCollect() throws Exception {
+        long click = System.currentTimeMillis();
+        FakeConnection connection = new FakeConnection((query, parameters) -> orderTables(query, click));
+        OrderLatencyTracer tracer = new OrderLatencyTracer(connection);
+
+        OrderTrace trace = tracer.submit("843", () -> click);
+        OrderLatencyReport report = tracer.collect();
+
+        Assert.assertTrue(trace.isComplete(), trace.toString());
+        Assert.assertEquals(trace.getSlNo(), "101");
+        Assert.assertTrue(trace.getHopMillis(OrderHop.TRADED) >= trace.getHopMillis(OrderHop.FIX_SENT));
+        Assert.assertEquals(report.getTraces().size(), 1);
+
+        String tradesQuery = connection.getQueries().stream().filter(query -> query.contains("FROM XDP_TRADES t"))
+                .findFirst().orElseThrow(() -> new AssertionError("no XDP_TRADES query in " + connection.getQueries()));
+        SchemaAssert.assertColumnsExist(tradesQuery, "t", TradeRecord.COLUMNS);
+        Assert.assertEquals(connection.getParameters().get(connection.getQueries().indexOf(tradesQuery))[0], "QNBK");
+    }
+
+    /**
+     * SEC_ORDERS, SEC_FIX_SEND_QUEY_TAGS and XDP_TRADES rows of one QNBK order: stored, sent and traded
+     * 0.2, 0.5 and 2 seconds after the click
+     */
+    private static ResultSet orderTables(String query, long click) {
+        if (query.contains("MAX(o.SL_NO)")) {
+            return FakeResultSets.of(new String[]{"MARK", "DB_NOW"}, new int[]{Types.NUMERIC, Types.TIMESTAMP},
+                    new String[]{"NUMBER", "TIMESTAMP"}, new Object[][]{{new BigDecimal("100"), new Timestamp(click)}});
+        }
+        if (query.contains("FROM SEC_ORDERS o")) {
+            return FakeResultSets.of(new String[]{"SL_NO", "TIME_STAMP", "COMPANY_CODE", "ACTUAL_PRICE"},
+                    new int[]{Types.NUMERIC, Types.TIMESTAMP, Types.VARCHAR, Types.NUMERIC},
+                    new String[]{"NUMBER", "DATE", "VARCHAR2", "NUMBER"},
+                    new Object[][]{{new BigDecimal("101"), new Timestamp(click + 200), "QNBK", new BigDecimal("12.5")}});
+        }
+        if (query.contains("SEC_FIX_SEND_QUEY_TAGS")) {
+            return FakeResultSets.of(new String[]{"SL_NO", "TAG_52_SENDING_TIME", "TIME_STAMP"},
+                    new int[]{Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP}, new String[]{"NUMBER", "VARCHAR2", "DATE"},
+                    new Object[][]{{new BigDecimal("101"), null, new Timestamp(click + 500)}});
+        }
+        return FakeResultSets.of(new String[]{"INST_SEQ", "PRICE", "TRADE_DATE"},
+                new int[]{Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP}, new String[]{"VARCHAR2", "FLOAT", "DATE"},
+                new Object[][]{{"QNBK", new BigDecimal("12.5"), new Timestamp(click + 2000)}});
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.tests.db;
+
+import com.example.verification.orders.LifecycleChecker;
+import com.example.verification.orders.LifecycleIssue;
+import com.example.verification.orders.OrderEvent;
+import com.example.verification.orders.OrderEventSpool;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Order Lifecycle Test Suite
+ * Verifies how order rows are joined within a memory budget and how broken or orphaned lifecycles are found,
+ * without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Order Lifecycle Reconciliation")
+public class OrderLifecycleTest {
+
+    private final LifecycleChecker checker = new LifecycleChecker();
+
+    private static OrderEvent order(String slNo, String orderId, long time, char side, String symbol, long quantity, long filled) {
+        return new OrderEvent(OrderEvent.Source.ORDER, slNo, orderId, time, 0, side, symbol, quantity, filled, "NEW", false);
+    }
+
+    private static OrderEvent fix(String slNo, long time, String side, String symbol, long quantity) {
+        return new OrderEvent(OrderEvent.Source.FIX, slNo, "", time, 0, OrderEvent.parseSide(side), symbol, quantity, -1,
+                "SENT", false);
+    }
+
+    private static OrderEvent market(OrderEvent.Source source, String orderId, long time, char side, long volume,
+                                     boolean deleted) {
+        return new OrderEvent(source, "", orderId, time, 0, side, "", volume, -1, deleted ? "DELETE" : "ADD", deleted);
+    }
+
+    private static List<LifecycleIssue.Kind> kinds(List<LifecycleIssue> issues) {
+        List<LifecycleIssue.Kind> kinds = new ArrayList<>();
+        for (LifecycleIssue issue : issues) {
+            kinds.add(issue.getKind());
+        }
+        return kinds;
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Keys join across NUMBER and VARCHAR2 columns and sides normalise")
+    public void testKeysAndSides() {
+        Assert.assertEquals(OrderEvent.key(" 00123 "), "123");
+        Assert.assertEquals(OrderEvent.key("123.0"), "123");
+        Assert.assertEquals(OrderEvent.key("ORD-7"), "ORD-7");
+        Assert.assertEquals(OrderEvent.key(null), "");
+        Assert.assertEquals(OrderEvent.parseSide("1"), OrderEvent.BUY);
+        Assert.assertEquals(OrderEvent.parseSide("sell"), OrderEvent.SELL);
+        Assert.assertEquals(OrderEvent.parseSide("X"), OrderEvent.UNKNOWN_SIDE);
+        Assert.assertEquals(OrderEvent.quantity("1500.00"), 1500);
+        Assert.assertEquals(OrderEvent.quantity(""), -1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "An order and its FIX messages agree on quantity, side and symbol")
+    public void testFixLifecycle() {
+        List<OrderEvent> events = Arrays.asList(
+                order("1", "900", 2000, OrderEvent.BUY, "QNBK", 500, 0),
+                fix("1", 1000, "1", "QNBK", 400),
+                fix("1", 3000, "1", "qnbk", 500));
+        Assert.assertTrue(checker.checkFix("1", events).isEmpty(), "latest tag 38 matches: " + checker.checkFix("1", events));
+
+        events = Arrays.asList(
+                order("2", "901", 1000, OrderEvent.BUY, "QNBK", 500, 600),
+                fix("2", 1000, "2", "CBQK", 450));
+        Assert.assertEquals(kinds(checker.checkFix("2", events)), Arrays.asList(LifecycleIssue.Kind.BROKEN_TRANSITION,
+                LifecycleIssue.Kind.QUANTITY_MISMATCH, LifecycleIssue.Kind.SIDE_MISMATCH, LifecycleIssue.Kind.SYMBOL_MISMATCH));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Orders without messages and messages without orders are orphans")
+    public void testOrphans() {
+        Assert.assertEquals(kinds(checker.checkFix("3", Arrays.asList(fix("3", 1000, "1", "QNBK", 10)))),
+                Arrays.asList(LifecycleIssue.Kind.ORPHAN_FIX));
+        Assert.assertEquals(kinds(checker.checkFix("4", Arrays.asList(
+                        order("4", "", 1000, OrderEvent.BUY, "QNBK", 10, 0),
+                        order("4", "", 2000, OrderEvent.BUY, "QNBK", 10, 0)))),
+                Arrays.asList(LifecycleIssue.Kind.DUPLICATE_ORDER, LifecycleIssue.Kind.MISSING_FIX));
+        Assert.assertEquals(kinds(checker.checkMarket("905", Arrays.asList(order("5", "905", 1000, OrderEvent.BUY, "QNBK", 10, 0)))),
+                Arrays.asList(LifecycleIssue.Kind.MISSING_ON_MARKET));
+        Assert.assertTrue(checker.checkMarket("999", Arrays.asList(
+                market(OrderEvent.Source.MARKET, "999", 1000, OrderEvent.SELL, 10, false))).isEmpty(),
+                "market rows of orders that are not ours are ignored");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Market rows follow the order's side, size and state")
+    public void testMarketTransitions() {
+        OrderEvent order = order("6", "906", 1000, OrderEvent.SELL, "QNBK", 100, 40);
+        List<OrderEvent> events = Arrays.asList(order,
+                market(OrderEvent.Source.MARKET_HISTORY, "906", 1000, OrderEvent.SELL, 100, false),
+                market(OrderEvent.Source.MARKET_HISTORY, "906", 2000, OrderEvent.SELL, 60, false),
+                market(OrderEvent.Source.MARKET, "906", 2000, OrderEvent.SELL, 60, false));
+        Assert.assertTrue(checker.checkMarket("906", events).isEmpty(), checker.checkMarket("906", events).toString());
+
+        events = Arrays.asList(order,
+                market(OrderEvent.Source.MARKET_HISTORY, "906", 1000, OrderEvent.BUY, 150, false),
+                market(OrderEvent.Source.MARKET_HISTORY, "906", 2000, OrderEvent.BUY, 0, true),
+                market(OrderEvent.Source.MARKET_HISTORY, "906", 3000, OrderEvent.BUY, 50, false));
+        Assert.assertEquals(kinds(checker.checkMarket("906", events)), Arrays.asList(LifecycleIssue.Kind.SIDE_MISMATCH,
+                LifecycleIssue.Kind.QUANTITY_MISMATCH, LifecycleIssue.Kind.BROKEN_TRANSITION));
+
+        OrderEvent filled = order("7", "907", 1000, OrderEvent.BUY, "QNBK", 100, 100);
+        events = Arrays.asList(filled, market(OrderEvent.Source.MARKET, "907", 2000, OrderEvent.BUY, 30, false));
+        List<LifecycleIssue> issues = checker.checkMarket("907", events);
+        Assert.assertEquals(kinds(issues), Arrays.asList(LifecycleIssue.Kind.BROKEN_TRANSITION));
+        Assert.assertEquals(issues.get(0).getSlNo(), "7");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Past the memory budget the join spills to partitions and keeps every group whole")
+    public void testSpillKeepsGroups() throws Exception {
+        Path dir = Files.createTempDirectory("order-spool-test");
+        Map<String, List<OrderEvent>> groups = new HashMap<>();
+        try (OrderEventSpool spool = new OrderEventSpool("test", OrderEvent::getSlNo, 2_000, 4, dir)) {
+            for (int i = 0; i < 200; i++) {
+                Assert.assertTrue(spool.add(fix(String.valueOf(i % 50), i, "1", "QNBK", i)));
+            }
+            Assert.assertFalse(spool.add(fix("", 0, "1", "QNBK", 1)), "events without a key are dropped");
+            Assert.assertTrue(spool.isSpilled());
+            Assert.assertEquals(spool.getEventCount(), 200);
+            Assert.assertEquals(spool.getSpilledEvents(), 200);
+            spool.forEachGroup((key, events) -> Assert.assertNull(groups.put(key, events), "one call per key"));
+        }
+        Assert.assertEquals(groups.size(), 50);
+        List<OrderEvent> group = groups.get("7");
+        Assert.assertEquals(group.size(), 4);
+        for (int i = 0; i < group.size(); i++) {
+            Assert.assertEquals(group.get(i).getQuantity(), 7 + 50 * i, "events keep their order");
+        }
+        try (Stream<Path> left = Files.list(dir)) {
+            Assert.assertEquals(left.count(), 0, "spill files are deleted on close");
+        }
+        Files.delete(dir);
+    }
+}
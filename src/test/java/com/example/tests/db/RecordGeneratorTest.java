@@ -0,0 +1,125 @@
+package com.example.tests.db;
+
+import com.example.records.TradeRecord;
+import com.example.utils.db.RowMapper;
+import com.example.utils.db.codegen.RecordGenerator;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * RecordGenerator Test Suite
+ * Verifies the generated records are current and that their mappers read columns by position
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Typed Records")
+public class RecordGeneratorTest {
+
+    private static final Path SCHEMA_DIR = Paths.get("src/main/schema");
+    private static final Path RECORDS_DIR = Paths.get("src/main/java/com/example/records");
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Committed records match what the generator produces from the snapshots")
+    public void testGeneratedRecordsAreCurrent() throws Exception {
+        Path output = Files.createTempDirectory("records");
+        RecordGenerator.main(new String[]{SCHEMA_DIR.toString(), output.toString(), "com.example.records"});
+
+        int checked = 0;
+        try (DirectoryStream<Path> generated = Files.newDirectoryStream(output.resolve("com/example/records"))) {
+            for (Path file : generated) {
+                Assert.assertEquals(read(file), read(RECORDS_DIR.resolve(file.getFileName())),
+                        file.getFileName() + " is stale, run mvn -Pgenerate-records process-classes");
+                checked++;
+            }
+        }
+        Assert.assertEquals(checked, 3);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Column types and names map to the expected Java components")
+    public void testTypeAndNameMapping() throws Exception {
+        Path schemaDir = Files.createTempDirectory("schema");
+        Files.write(schemaDir.resolve("SampleRecord.columns"), Arrays.asList(
+                "# sample",
+                "table SAMPLE_TABLE",
+                "SEQ NUMBER(18,0) N",
+                "QTY NUMBER(10,0) Y",
+                "PRICE NUMBER(12,4) Y",
+                "RATE FLOAT Y",
+                "TRADE_DATE DATE Y",
+                "UPDATED_AT TIMESTAMP(6) Y",
+                "CLASS VARCHAR2 Y"), StandardCharsets.UTF_8);
+        Path output = Files.createTempDirectory("records");
+
+        RecordGenerator.main(new String[]{schemaDir.toString(), output.toString(), "sample"});
+
+        String source = read(output.resolve("sample/SampleRecord.java"));
+        Assert.assertTrue(source.contains("public record SampleRecord(\n        long seq,\n        Long qty,\n"
+                + "        BigDecimal price,\n        BigDecimal rate,\n        LocalDateTime tradeDate,\n"
+                + "        LocalDateTime updatedAt,\n        String classValue) {"), source);
+        Assert.assertTrue(source.contains("resultSet.getLong(1),\n            RowMapper.getLong(resultSet, 2),"), source);
+        Assert.assertTrue(source.contains("\"SEQ, QTY, PRICE, RATE, TRADE_DATE, UPDATED_AT, CLASS\""), source);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Unsupported column types fail generation")
+    public void testUnsupportedTypeFails() throws Exception {
+        Path schemaDir = Files.createTempDirectory("schema");
+        Files.write(schemaDir.resolve("BadRecord.columns"), Arrays.asList("table T", "DOC BLOB Y"), StandardCharsets.UTF_8);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> RecordGenerator.main(new String[]{schemaDir.toString(), schemaDir.toString(), "bad"}));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Generated mapper reads each column by position with its database type")
+    public void testMapperReadsByPosition() throws Exception {
+        Timestamp tradeDate = Timestamp.valueOf("2025-11-25 09:30:00");
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    int column = args != null && args[0] instanceof Integer ? (Integer) args[0] : 0;
+                    switch (method.getName()) {
+                        case "getBigDecimal":
+                            return column == 1 ? new BigDecimal("1001") : column == 6 ? new BigDecimal("12.35") : null;
+                        case "getString":
+                            return column == 4 ? "QNBK" : null;
+                        case "getTimestamp":
+                            return column == 5 ? tradeDate : null;
+                        case "getLong":
+                            return 0L;
+                        case "wasNull":
+                            return true;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        TradeRecord trade = TradeRecord.MAPPER.map(resultSet);
+
+        Assert.assertEquals(trade.seq(), new BigDecimal("1001"));
+        Assert.assertEquals(trade.instSeq(), "QNBK");
+        Assert.assertEquals(trade.tradeDate(), LocalDateTime.of(2025, 11, 25, 9, 30));
+        Assert.assertEquals(trade.price(), new BigDecimal("12.35"));
+        Assert.assertNull(trade.cancelleddate());
+        Assert.assertNull(RowMapper.getLong(resultSet, 3), "wasNull() should map to null");
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
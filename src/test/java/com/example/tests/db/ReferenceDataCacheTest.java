@@ -0,0 +1,173 @@
+package com.example.tests.db;
+
+import com.example.utils.db.ReferenceDataCache;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReferenceDataCache Test Suite
+ * Verifies read-through caching, single-flight loading, TTL and eviction without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Reference Data Cache")
+public class ReferenceDataCacheTest {
+
+    private static final String SOURCE = "XDP@TEST";
+    private static final String QUERY = "SELECT * FROM XDP_LKUP_CURRENCY WHERE CURRENCY_CODE = ?";
+
+    private static ReferenceDataCache.Loader rows(AtomicInteger loads, String code) {
+        return () -> {
+            loads.incrementAndGet();
+            Map<String, Object> row = new HashMap<>();
+            row.put("CURRENCY_CODE", code);
+            List<Map<String, Object>> result = new ArrayList<>();
+            result.add(row);
+            return result;
+        };
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Second request for the same key is served from the cache")
+    public void testHitAfterMiss() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Map<String, Object>> first = cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        List<Map<String, Object>> second = cache.get(SOURCE, "xdp_lkup_currency", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+
+        Assert.assertEquals(loads.get(), 1, "Only the first request should query");
+        Assert.assertSame(second, first);
+        Assert.assertEquals(cache.getStats().getHits(), 1);
+        Assert.assertEquals(cache.getStats().getMisses(), 1);
+        Assert.assertEquals(cache.getStats().getHitRatio(), 0.5, 1e-9);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Different bind parameters and sources are cached separately")
+    public void testKeyIncludesParametersAndSource() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        List<Map<String, Object>> usd = cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"USD"}, rows(loads, "USD"));
+        cache.get("OTHER@TEST", "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+
+        Assert.assertEquals(loads.get(), 3);
+        Assert.assertEquals(usd.get(0).get("CURRENCY_CODE"), "USD");
+        Assert.assertEquals(cache.size(), 3);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Concurrent misses for one key trigger a single load")
+    public void testSingleFlightLoad() throws Exception {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ReferenceDataCache.Loader slowLoader = () -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ArrayList<>();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Map<String, Object>>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(SOURCE, "XDP_MARKETS", "SELECT * FROM XDP_MARKETS", new Object[0], slowLoader);
+                }));
+            }
+            start.countDown();
+            for (Future<List<Map<String, Object>>> future : futures) {
+                Assert.assertTrue(future.get(5, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(loads.get(), 1, "Waiting requests should share the one load");
+        Assert.assertEquals(cache.getStats().getMisses(), 1);
+        Assert.assertEquals(cache.getStats().getHits(), 7);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Expired entries are reloaded")
+    public void testTtlExpiry() throws Exception {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofMillis(50), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(SOURCE, "ALERT_STATUS", "SELECT * FROM ALERT_STATUS", new Object[0], rows(loads, "A"));
+        Thread.sleep(80);
+        cache.get(SOURCE, "ALERT_STATUS", "SELECT * FROM ALERT_STATUS", new Object[0], rows(loads, "A"));
+
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(cache.getStats().getExpirations(), 1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Least recently used entries are evicted above the size bound")
+    public void testLruEviction() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 2);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"USD"}, rows(loads, "USD"));
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"EUR"}, rows(loads, "EUR"));
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getStats().getEvictions(), 1);
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        Assert.assertEquals(loads.get(), 3, "Recently used QAR should have survived, USD evicted");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Failed loads are not cached")
+    public void testFailedLoadIsNotCached() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertThrows(SQLException.class, () -> cache.get(SOURCE, "ALERT_ACTIONS", "SELECT * FROM ALERT_ACTIONS",
+                new Object[0], () -> {
+                    throw new SQLException("ORA-00942: table or view does not exist");
+                }));
+        cache.get(SOURCE, "ALERT_ACTIONS", "SELECT * FROM ALERT_ACTIONS", new Object[0], rows(loads, "A"));
+
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(cache.getStats().getLoadFailures(), 1);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Invalidation drops every result of a table and rows are read-only")
+    public void testInvalidateAndReadOnlyRows() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(Duration.ofHours(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Map<String, Object>> result = cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"QAR"}, rows(loads, "QAR"));
+        cache.get(SOURCE, "XDP_LKUP_CURRENCY", QUERY, new Object[]{"USD"}, rows(loads, "USD"));
+        cache.get(SOURCE, "XDP_MARKETS", "SELECT * FROM XDP_MARKETS", new Object[0], rows(loads, "M"));
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> result.get(0).put("CURRENCY_CODE", "XXX"));
+        Assert.assertThrows(UnsupportedOperationException.class, result::clear);
+        Assert.assertEquals(cache.invalidate("xdp_lkup_currency"), 2);
+        Assert.assertEquals(cache.size(), 1);
+    }
+}
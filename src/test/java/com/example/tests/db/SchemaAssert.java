@@ -0,0 +1,36 @@
+package com.example.tests.db;
+
+import org.testng.Assert;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks SQL written by the verification engines against the schema snapshots in src/main/schema
+ * The snapshots reach the tests as the COLUMNS constants of the generated records.
+ */
+public final class SchemaAssert {
+
+    private SchemaAssert() {
+    }
+
+    /**
+     * Assert that every alias.COLUMN reference of a query is a column of the snapshot
+     * @param sql Query text
+     * @param alias Table alias used in the query, e.g. "t"
+     * @param columns Comma-separated snapshot columns, e.g. TradeRecord.COLUMNS
+     */
+    public static void assertColumnsExist(String sql, String alias, String columns) {
+        Set<String> known = new HashSet<>(Arrays.asList(columns.split(",\\s*")));
+        Matcher reference = Pattern.compile("\\b" + Pattern.quote(alias) + "\\.(\\w+)").matcher(sql);
+        int checked = 0;
+        while (reference.find()) {
+            Assert.assertTrue(known.contains(reference.group(1)), reference.group(1) + " is not a column of the snapshot: " + sql);
+            checked++;
+        }
+        Assert.assertTrue(checked > 0, "no " + alias + ".<column> reference in " + sql);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.tests.db;
+
+import com.example.utils.db.RowCursor;
+import com.example.utils.db.SnapshotStore;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+
+/**
+ * SnapshotStore Test Suite
+ * Verifies that recorded results replay with their values and types, and that missing and stale
+ * snapshots are reported, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Record and Replay")
+public class SnapshotStoreTest {
+
+    private static final String SOURCE = "sec1@GRPUAT";
+    private static final String SQL = "SELECT SEQ, INST_CODE, PRICE, TRADE_DATE FROM XDP_TRADES WHERE INST_CODE = ?";
+    private static final Timestamp TRADE_DATE = Timestamp.valueOf("2025-11-25 09:30:00.123");
+
+    private static final String[] NAMES = {"SEQ", "INST_CODE", "PRICE", "TRADE_DATE"};
+    private static final int[] TYPES = {Types.NUMERIC, Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP};
+    private static final String[] TYPE_NAMES = {"NUMBER", "VARCHAR2", "NUMBER", "TIMESTAMP"};
+    private static final Object[][] ROWS = {
+            {new BigDecimal("1001"), "QNBK", new BigDecimal("12.3500"), TRADE_DATE},
+            {new BigDecimal("1002"), "QNBK", null, null}
+    };
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A recorded result replays with the same values, types and metadata")
+    public void testRecordAndReplay() throws Exception {
+        Path dir = Files.createTempDirectory("snapshots");
+        SnapshotStore recorder = new SnapshotStore(SnapshotStore.Mode.RECORD, dir, Duration.ofDays(7));
+        try (ResultSet recorded = recorder.record(SOURCE, SQL, new Object[]{"QNBK"}, liveResult())) {
+            Assert.assertTrue(recorded.next(), "recording should pass the rows through");
+        }
+
+        SnapshotStore replayer = new SnapshotStore(SnapshotStore.Mode.REPLAY, dir, Duration.ofDays(7));
+        try (ResultSet replayed = replayer.replay(SOURCE, SQL, "QNBK")) {
+            ResultSetMetaData metaData = replayed.getMetaData();
+            Assert.assertEquals(metaData.getColumnCount(), 4);
+            Assert.assertEquals(metaData.getColumnName(3), "PRICE");
+            Assert.assertEquals(metaData.getColumnType(4), Types.TIMESTAMP);
+
+            Assert.assertTrue(replayed.next());
+            Assert.assertEquals(replayed.getObject(3), new BigDecimal("12.3500"));
+            Assert.assertEquals(replayed.getString("PRICE"), "12.3500");
+            Assert.assertEquals(replayed.getLong("SEQ"), 1001L);
+            Assert.assertEquals(replayed.getTimestamp(4), TRADE_DATE);
+            Assert.assertEquals(replayed.getTimestamp(4).getNanos(), TRADE_DATE.getNanos());
+
+            Assert.assertTrue(replayed.next());
+            Assert.assertNull(replayed.getBigDecimal("PRICE"));
+            Assert.assertTrue(replayed.wasNull());
+            Assert.assertFalse(replayed.next());
+        }
+        Assert.assertTrue(replayer.getReport().contains("served=1 missing=0 stale=0"), replayer.getReport());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Replayed results can back a RowCursor without a connection")
+    public void testReplayedCursor() throws Exception {
+        Path dir = Files.createTempDirectory("snapshots");
+        new SnapshotStore(SnapshotStore.Mode.RECORD, dir, Duration.ofDays(7)).record(SOURCE, SQL, new Object[]{"QNBK"}, liveResult()).close();
+        SnapshotStore replayer = new SnapshotStore(SnapshotStore.Mode.REPLAY, dir, Duration.ofDays(7));
+
+        try (RowCursor cursor = new RowCursor(null, null, replayer.replay(SOURCE, SQL, "QNBK"))) {
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(cursor.row().getString("INST_CODE"), "QNBK");
+            Assert.assertEquals(cursor.row().toMap().get("SEQ"), new BigDecimal("1001"));
+            Assert.assertTrue(cursor.next());
+            Assert.assertFalse(cursor.next());
+        }
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Update counts are recorded and replayed")
+    public void testUpdateCount() throws Exception {
+        Path dir = Files.createTempDirectory("snapshots");
+        String update = "UPDATE XDP_TRADES SET PRICE = ? WHERE SEQ = ?";
+        new SnapshotStore(SnapshotStore.Mode.RECORD, dir, Duration.ofDays(7)).recordUpdate(SOURCE, update, new Object[]{1, 2}, 3);
+
+        Assert.assertEquals(new SnapshotStore(SnapshotStore.Mode.REPLAY, dir, Duration.ofDays(7)).replayUpdate(SOURCE, update, 1, 2), 3);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Missing snapshots fail the statement and are reported")
+    public void testMissingSnapshot() throws Exception {
+        SnapshotStore replayer = new SnapshotStore(SnapshotStore.Mode.REPLAY, Files.createTempDirectory("snapshots"), Duration.ofDays(7));
+
+        SQLException error = Assert.expectThrows(SQLException.class, () -> replayer.replay(SOURCE, SQL, "DOHI"));
+        Assert.assertTrue(error.getMessage().contains("db.replay.mode=record"), error.getMessage());
+        Assert.assertTrue(replayer.getReport().contains("missing=1"), replayer.getReport());
+        Assert.assertTrue(replayer.getReport().contains("missing: " + SQL), replayer.getReport());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Snapshots older than the maximum age are served and reported as stale")
+    public void testStaleSnapshot() throws Exception {
+        Path dir = Files.createTempDirectory("snapshots");
+        new SnapshotStore(SnapshotStore.Mode.RECORD, dir, Duration.ofDays(7)).record(SOURCE, SQL, new Object[]{"QNBK"}, liveResult()).close();
+        Thread.sleep(5);
+        SnapshotStore replayer = new SnapshotStore(SnapshotStore.Mode.REPLAY, dir, Duration.ZERO);
+
+        replayer.replay(SOURCE, SQL, "QNBK").close();
+
+        Assert.assertTrue(replayer.getReport().contains("served=1 missing=0 stale=1"), replayer.getReport());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Keys ignore layout but not bind values, their types or the data source")
+    public void testKeys() {
+        String key = SnapshotStore.key(SOURCE, SQL, new Object[]{"QNBK"});
+        Assert.assertEquals(SnapshotStore.key(SOURCE, SQL.replace(" ", "\n  "), new Object[]{"QNBK"}), key);
+        Assert.assertNotEquals(SnapshotStore.key(SOURCE, SQL, new Object[]{"DOHI"}), key);
+        Assert.assertNotEquals(SnapshotStore.key("sec1@GRPPRD", SQL, new Object[]{"QNBK"}), key);
+        Assert.assertNotEquals(SnapshotStore.key(SOURCE, SQL, new Object[]{1}), SnapshotStore.key(SOURCE, SQL, new Object[]{"1"}));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "With recording off the live result set is passed through untouched")
+    public void testOffPassesThrough() throws Exception {
+        ResultSet live = liveResult();
+        SnapshotStore off = new SnapshotStore(SnapshotStore.Mode.OFF, Files.createTempDirectory("snapshots"), Duration.ofDays(7));
+
+        Assert.assertSame(off.record(SOURCE, SQL, new Object[]{"QNBK"}, live), live);
+    }
+
+    /**
+     * Minimal live result set over ROWS, as the driver would return it
+     */
+    private static ResultSet liveResult() {
+        return FakeResultSets.of(NAMES, TYPES, TYPE_NAMES, ROWS);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.tests.db;
+
+import com.example.utils.db.StatementSample;
+import com.example.utils.db.StatementStats;
+import com.example.utils.db.StatementTimer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * StatementStats Test Suite
+ * Verifies SQL fingerprinting, per-fingerprint aggregation, per-thread capture and the export formats
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Statement Statistics")
+public class StatementStatsTest {
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Literals, IN lists and layout do not change the fingerprint")
+    public void testFingerprint() {
+        Assert.assertEquals(StatementStats.fingerprint("select *\n  from XDP_TRADES where inst_code = 'QNBK' and qty > 100"),
+                "SELECT * FROM XDP_TRADES WHERE INST_CODE = ? AND QTY > ?");
+        Assert.assertEquals(StatementStats.fingerprint("SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (?, ?, ?)"),
+                StatementStats.fingerprint("SELECT * FROM SEC_CLIENTS C WHERE C.cl_id IN (?,?)"));
+        Assert.assertEquals(StatementStats.fingerprint("SELECT NAME FROM T WHERE NOTE = 'it''s' AND T2.COL_1 = -1.5"),
+                "SELECT NAME FROM T WHERE NOTE = ? AND T2.COL_1 = ?");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Statements with one fingerprint share one entry")
+    public void testAggregation() {
+        StatementStats stats = new StatementStats(true);
+        stats.startTimer("SELECT * FROM XDP_TRADES WHERE SEQ = 1").finish(1);
+        stats.startTimer("SELECT * FROM XDP_TRADES WHERE SEQ = 2").finish(1);
+        stats.startTimer("SELECT * FROM XDP_TRADES WHERE SEQ = 3").fail();
+        stats.startTimer("UPDATE XDP_TRADES SET PRICE = ?").finish(5);
+
+        List<StatementStats.FingerprintStats> entries = stats.getEntries();
+        Assert.assertEquals(entries.size(), 2);
+        StatementStats.FingerprintStats select = entries.stream()
+                .filter(entry -> entry.getFingerprint().startsWith("SELECT")).findFirst().orElseThrow();
+        Assert.assertEquals(select.getCount(), 3);
+        Assert.assertEquals(select.getErrors(), 1);
+        Assert.assertEquals(select.getRows(), 2);
+        Assert.assertEquals(select.getCallers(), List.of("StatementStatsTest.testAggregation"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "A thread captures only the statements it ran")
+    public void testCapture() throws Exception {
+        StatementStats stats = new StatementStats(true);
+        stats.beginCapture();
+        StatementTimer timer = stats.startTimer("SELECT * FROM SEC_CLIENTS");
+        timer.connected();
+        timer.firstRow();
+        timer.addValue("QNBK");
+        timer.finish(1);
+        Thread other = new Thread(() -> stats.startTimer("SELECT * FROM XDP_ORDERS").finish(0));
+        other.start();
+        other.join();
+
+        List<StatementSample> samples = stats.endCapture();
+        Assert.assertEquals(samples.size(), 1);
+        Assert.assertEquals(samples.get(0).getFingerprint(), "SELECT * FROM SEC_CLIENTS");
+        Assert.assertEquals(samples.get(0).getBytes(), 4);
+        Assert.assertTrue(samples.get(0).getFirstRowMicros() >= 0);
+        Assert.assertTrue(stats.endCapture().isEmpty(), "capture should end");
+        Assert.assertEquals(stats.getEntries().size(), 2);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Disabled statistics record nothing")
+    public void testDisabled() {
+        StatementStats stats = new StatementStats(false);
+        stats.startTimer("SELECT 1 FROM DUAL").finish(1);
+        Assert.assertTrue(stats.getEntries().isEmpty());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "JSON and Prometheus files carry each fingerprint's counts and quantiles")
+    public void testExport() throws Exception {
+        StatementStats stats = new StatementStats(true);
+        stats.startTimer("SELECT * FROM T WHERE NAME = 'a\"b'").finish(3);
+        Path dir = Files.createTempDirectory("db-stats");
+
+        stats.writeJson(dir.resolve("out/db-statements.json"));
+        stats.writePrometheus(dir.resolve("out/db-statements.prom"));
+
+        JsonNode statement = new ObjectMapper().readTree(dir.resolve("out/db-statements.json").toFile()).get("statements").get(0);
+        Assert.assertEquals(statement.get("fingerprint").asText(), "SELECT * FROM T WHERE NAME = ?");
+        Assert.assertEquals(statement.get("rows").asLong(), 3);
+        Assert.assertEquals(statement.get("wallMs").get("count").asLong(), 1);
+
+        String prom = new String(Files.readAllBytes(dir.resolve("out/db-statements.prom")), StandardCharsets.UTF_8);
+        String id = statement.get("id").asText();
+        Assert.assertTrue(prom.contains("db_statement_info{id=\"" + id + "\",fingerprint=\"SELECT * FROM T WHERE NAME = ?\""), prom);
+        Assert.assertTrue(prom.contains("db_statement_duration_seconds{id=\"" + id + "\",quantile=\"0.99\"}"), prom);
+        Assert.assertTrue(prom.contains("db_statement_duration_seconds_count{id=\"" + id + "\"} 1"), prom);
+        Assert.assertTrue(prom.contains("db_statement_rows_total{id=\"" + id + "\"} 3"), prom);
+    }
+}
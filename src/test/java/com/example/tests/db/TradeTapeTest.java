@@ -0,0 +1,144 @@
+package com.example.tests.db;
+
+import com.example.records.TradeRecord;
+import com.example.utils.db.DateWindow;
+import com.example.verification.market.InstrumentBar;
+import com.example.verification.market.TapeIssue;
+import com.example.verification.market.TradeTape;
+import com.example.verification.market.TradeTapeChecker;
+import com.example.verification.market.TradeTapeVerifier;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Trade Tape Test Suite
+ * Verifies the per-instrument OHLC/VWAP accumulators, how their figures are compared with the
+ * summary tables and that the tape query only reads documented XDP_TRADES columns, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Trade Tape")
+public class TradeTapeTest {
+
+    private static final long T = 1_764_000_000_000L;
+    private final TradeTapeChecker checker = new TradeTapeChecker(0.0001, 0.0001);
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Open and last follow trade time and sequence, whatever the read order")
+    public void testOhlcOutOfOrder() {
+        TradeTape tape = new TradeTape();
+        int qnbk = tape.slot("QNBK");
+        tape.add(qnbk, T + 2000, 3, 12.50, 100, false);
+        tape.add(qnbk, T, 1, 12.00, 200, false);
+        tape.add(qnbk, T + 2000, 2, 12.80, 100, false);
+        tape.add(qnbk, T + 1000, 5, 11.90, 100, false);
+
+        InstrumentBar bar = tape.getBar("QNBK");
+        Assert.assertEquals(bar.getOpen(), 12.00);
+        Assert.assertEquals(bar.getHigh(), 12.80);
+        Assert.assertEquals(bar.getLow(), 11.90);
+        Assert.assertEquals(bar.getLast(), 12.50, "same time, higher sequence is later");
+        Assert.assertEquals(bar.getVolume(), 500);
+        Assert.assertEquals(bar.getTrades(), 4);
+        Assert.assertEquals(bar.getValue(), 12.50 * 100 + 12.00 * 200 + 12.80 * 100 + 11.90 * 100, 1e-9);
+        Assert.assertEquals(bar.getVwap(), bar.getValue() / 500, 1e-12);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Cancelled trades are counted but left out of every figure")
+    public void testCancelledTrades() {
+        TradeTape tape = new TradeTape(1);
+        int qnbk = tape.slot("QNBK");
+        int cbqk = tape.slot("CBQK");
+        tape.add(qnbk, T, 1, 12.00, 100, false);
+        tape.add(qnbk, T + 1000, 2, 99.00, 500, true);
+        tape.add(cbqk, T, 1, 5.00, 10, true);
+
+        Assert.assertEquals(tape.slot("QNBK"), qnbk, "an instrument keeps its slot");
+        Assert.assertEquals(tape.size(), 2);
+        InstrumentBar bar = tape.bar(qnbk);
+        Assert.assertEquals(bar.getHigh(), 12.00);
+        Assert.assertEquals(bar.getLast(), 12.00);
+        Assert.assertEquals(bar.getVolume(), 100);
+        Assert.assertEquals(tape.getCancelled(qnbk), 1);
+        Assert.assertFalse(tape.bar(cbqk).hasTrades());
+        Assert.assertEquals(tape.totals("ALL").getTrades(), 1);
+
+        Assert.assertTrue(TradeTapeVerifier.isCancelled(" y "));
+        Assert.assertTrue(TradeTapeVerifier.isCancelled("1"));
+        Assert.assertTrue(TradeTapeVerifier.isCancelled("TRUE"));
+        Assert.assertFalse(TradeTapeVerifier.isCancelled("N"));
+        Assert.assertFalse(TradeTapeVerifier.isCancelled("0"));
+        Assert.assertFalse(TradeTapeVerifier.isCancelled(null));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The running figures of the latest trade row are kept")
+    public void testReportedFigures() {
+        TradeTape tape = new TradeTape();
+        int qnbk = tape.slot("QNBK");
+        Assert.assertNull(tape.reportedBar(qnbk));
+        tape.report(qnbk, T + 1000, 2, 12.80, 11.90, 400);
+        tape.report(qnbk, T, 1, 12.00, 12.00, 200);
+
+        InstrumentBar reported = tape.reportedBar(qnbk);
+        Assert.assertEquals(reported.getHigh(), 12.80);
+        Assert.assertEquals(reported.getVolume(), 400);
+        Assert.assertTrue(Double.isNaN(reported.getOpen()), "figures the row does not carry are not compared");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Matching summaries have no issues; only reported fields are compared")
+    public void testMatchingSummary() {
+        InstrumentBar tape = new InstrumentBar("QNBK", TradeTape.SOURCE, 12.0, 12.8, 11.9, 12.5, 12.2, 500, 6100, 4);
+        InstrumentBar live = new InstrumentBar("QNBK", "XDP_INST_LIVEQUOTE", 12.0, 12.8, 11.9, 12.5, 12.2004, 500, 6100.5, 4);
+        InstrumentBar partial = new InstrumentBar("QNBK", "XDP_INST_LIVEQUOTE", Double.NaN, 12.8, Double.NaN, Double.NaN,
+                Double.NaN, -1, Double.NaN, -1);
+
+        Assert.assertTrue(checker.check(tape, live).isEmpty(), checker.check(tape, live).toString());
+        Assert.assertTrue(checker.check(tape, partial).isEmpty(), checker.check(tape, partial).toString());
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Each differing figure is reported once, by kind")
+    public void testMismatches() {
+        InstrumentBar tape = new InstrumentBar("QNBK", TradeTape.SOURCE, 12.0, 12.8, 11.9, 12.5, 12.2, 500, 6100, 4);
+        InstrumentBar live = new InstrumentBar("QNBK", "XDP_INST_LIVEQUOTE", 12.0, 12.9, 11.9, 12.5, 12.3, 400, 6000, 3);
+
+        List<TapeIssue> issues = checker.check(tape, live);
+        Assert.assertEquals(issues.size(), 5, issues.toString());
+        Assert.assertEquals(issues.get(0).getKind(), TapeIssue.Kind.PRICE_MISMATCH);
+        Assert.assertEquals(issues.get(0).getField(), "HIGH");
+        Assert.assertEquals(issues.get(1).getKind(), TapeIssue.Kind.VWAP_MISMATCH);
+        Assert.assertEquals(issues.get(2).getKind(), TapeIssue.Kind.VOLUME_MISMATCH);
+        Assert.assertEquals(issues.get(3).getKind(), TapeIssue.Kind.VALUE_MISMATCH);
+        Assert.assertEquals(issues.get(4).getKind(), TapeIssue.Kind.TRADE_COUNT_MISMATCH);
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Instruments missing on either side are reported")
+    public void testMissingRows() {
+        InstrumentBar tape = new InstrumentBar("QNBK", TradeTape.SOURCE, 12.0, 12.0, 12.0, 12.0, 12.0, 100, 1200, 1);
+        InstrumentBar live = new InstrumentBar("CBQK", "XDP_INST_LIVEQUOTE", 5.0, 5.0, 5.0, 5.0, 5.0, 10, 50, 1);
+        InstrumentBar quiet = new InstrumentBar("MARK", "XDP_INST_LIVEQUOTE", Double.NaN, Double.NaN, Double.NaN,
+                3.1, Double.NaN, 0, 0, 0);
+
+        Assert.assertEquals(checker.check(tape, null).get(0).getKind(), TapeIssue.Kind.NO_SUMMARY);
+        Assert.assertEquals(checker.check(null, live).get(0).getKind(), TapeIssue.Kind.NO_TRADES);
+        Assert.assertTrue(checker.check(null, quiet).isEmpty(), "a row without trading needs no trades");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The tape query only reads columns of the XDP_TRADES snapshot")
+    public void testTradesQueryMatchesSchema() throws Exception {
+        FakeConnection connection = new FakeConnection((query, parameters) ->
+                FakeResultSets.of(new String[0], new int[0], new String[0], new Object[0][]));
+        new TradeTapeVerifier(connection).verify(DateWindow.day("2025-11-25"));
+
+        String tradesQuery = connection.getQueries().stream().filter(query -> query.contains("FROM XDP_TRADES t"))
+                .findFirst().orElseThrow(() -> new AssertionError("no XDP_TRADES query in " + connection.getQueries()));
+        SchemaAssert.assertColumnsExist(tradesQuery, "t", TradeRecord.COLUMNS);
+        Assert.assertTrue(tradesQuery.contains("t.INST_SEQ"), "instruments are keyed on INST_SEQ");
+    }
+}
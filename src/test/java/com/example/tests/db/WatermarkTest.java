@@ -0,0 +1,156 @@
+package com.example.tests.db;
+
+import com.example.utils.db.RowCursor;
+import com.example.utils.db.WatermarkRun;
+import com.example.utils.db.WatermarkSpec;
+import com.example.utils.db.WatermarkStore;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Watermark Test Suite
+ * Verifies the changed-since SQL, how the next watermarks are derived from the rows read, and that
+ * watermarks are only stored on commit, without a database
+ *
+ * TestNG Groups:
+ * - db: Module group
+ * - regression: Suite group
+ * - fast: Performance group
+ */
+@Epic("Database Utilities")
+@Feature("Incremental Validation")
+public class WatermarkTest {
+
+    private static final String SOURCE = "sec1@GRPUAT";
+    private static final WatermarkSpec TRADES = WatermarkSpec.table("xdp_trades")
+            .columns("DATEOFLASTUPDATE", "CREATION_DATE").timestampColumns("DATEOFLASTUPDATE", "CREATION_DATE")
+            .overlap(Duration.ofMinutes(5));
+    private static final Timestamp READ_START = Timestamp.valueOf("2025-11-25 12:00:00");
+
+    @Test(groups = {"db", "regression", "fast"}, description = "The first run reads the whole table, later runs only changed rows")
+    public void testChangedSinceSql() {
+        Assert.assertEquals(TRADES.toSql(Collections.emptyMap()), "SELECT t.* FROM XDP_TRADES t");
+        Assert.assertTrue(TRADES.bindParameters(Collections.emptyMap()).isEmpty());
+
+        Map<String, Timestamp> marks = new HashMap<>();
+        marks.put("DATEOFLASTUPDATE", Timestamp.valueOf("2025-11-25 10:00:00"));
+        marks.put("CREATION_DATE", Timestamp.valueOf("2025-11-25 09:00:00"));
+        Assert.assertEquals(TRADES.toSql(marks),
+                "SELECT t.* FROM XDP_TRADES t WHERE t.DATEOFLASTUPDATE > ? OR t.CREATION_DATE > ?");
+        Assert.assertEquals(TRADES.bindParameters(marks), Arrays.asList(
+                Timestamp.valueOf("2025-11-25 09:55:00"), Timestamp.valueOf("2025-11-25 08:55:00")));
+
+        marks.remove("CREATION_DATE");
+        Assert.assertEquals(TRADES.toSql(marks), "SELECT t.* FROM XDP_TRADES t", "a column without a watermark needs a full scan");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "DATE columns are bound as DATE to the second, TIMESTAMP columns as TIMESTAMP")
+    public void testBindTypes() throws Exception {
+        WatermarkSpec mbp = WatermarkSpec.table("XDP_ALL_MBP").columns("CREATION_DATE", "TIME_STAMP")
+                .timestampColumns("creation_date").overlap(Duration.ofSeconds(1));
+        Map<String, Timestamp> marks = new HashMap<>();
+        marks.put("CREATION_DATE", Timestamp.valueOf("2025-11-25 10:00:00.250"));
+        marks.put("TIME_STAMP", Timestamp.valueOf("2025-11-25 10:00:00.250"));
+
+        List<Object> parameters = mbp.bindParameters(marks);
+
+        Assert.assertEquals(parameters.get(0), Timestamp.valueOf("2025-11-25 09:59:59.250"));
+        Assert.assertTrue(parameters.get(1) instanceof oracle.sql.DATE, "no TIMESTAMP bind against a DATE column");
+        Assert.assertEquals(((oracle.sql.DATE) parameters.get(1)).timestampValue(), Timestamp.valueOf("2025-11-25 09:59:59"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> mbp.timestampColumns("QUOTE_DATE"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Specs reject unsafe names and a missing column list")
+    public void testSpecValidation() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> WatermarkSpec.table("XDP_TRADES; DROP"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> WatermarkSpec.table("XDP_TRADES").columns("TIME_STAMP OR 1=1"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> WatermarkSpec.table("XDP_TRADES").columns());
+        Assert.assertThrows(IllegalStateException.class, () -> WatermarkSpec.table("XDP_TRADES").toSql(Collections.emptyMap()));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Next watermarks follow the latest values read, capped at the read start")
+    public void testNextWatermarks() throws Exception {
+        Map<String, Timestamp> previous = new LinkedHashMap<>();
+        previous.put("DATEOFLASTUPDATE", Timestamp.valueOf("2025-11-25 10:00:00"));
+        previous.put("CREATION_DATE", Timestamp.valueOf("2025-11-25 09:00:00"));
+        WatermarkRun run = new WatermarkRun(TRADES, SOURCE, previous, READ_START, store());
+
+        observe(run, new Object[][]{
+                {Timestamp.valueOf("2025-11-25 11:30:00"), Timestamp.valueOf("2025-11-25 08:59:00")},
+                {null, Timestamp.valueOf("2025-11-25 13:00:00")},
+                {Timestamp.valueOf("2025-11-25 09:58:00"), null}
+        });
+
+        Assert.assertEquals(run.getRowCount(), 3);
+        Assert.assertFalse(run.isFullScan());
+        Map<String, Timestamp> next = run.getNextWatermarks();
+        Assert.assertEquals(next.get("DATEOFLASTUPDATE"), Timestamp.valueOf("2025-11-25 11:30:00"));
+        Assert.assertEquals(next.get("CREATION_DATE"), READ_START, "future stamps are capped at the read start");
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "After a full scan, columns with no values start at the read start")
+    public void testFullScanOfEmptyColumn() throws Exception {
+        WatermarkRun run = new WatermarkRun(TRADES, SOURCE, Collections.emptyMap(), READ_START, store());
+        observe(run, new Object[][]{{null, Timestamp.valueOf("2025-11-20 08:00:00")}});
+
+        Assert.assertTrue(run.isFullScan());
+        Assert.assertEquals(run.getNextWatermarks().get("DATEOFLASTUPDATE"), READ_START);
+        Assert.assertEquals(run.getNextWatermarks().get("CREATION_DATE"), Timestamp.valueOf("2025-11-20 08:00:00"));
+    }
+
+    @Test(groups = {"db", "regression", "fast"}, description = "Watermarks are stored only on commit and survive a new store instance")
+    public void testCommit() throws Exception {
+        Path file = Files.createTempDirectory("watermarks").resolve("db-watermarks.properties");
+        WatermarkStore store = new WatermarkStore(file);
+        WatermarkRun run = new WatermarkRun(TRADES, SOURCE, Collections.emptyMap(), READ_START, store);
+        observe(run, new Object[][]{{Timestamp.valueOf("2025-11-25 11:00:00.123456"), Timestamp.valueOf("2025-11-25 10:00:00")}});
+
+        Assert.assertTrue(store.get(SOURCE, "XDP_TRADES").isEmpty(), "nothing is stored before commit");
+        run.commit();
+        Assert.assertTrue(run.isCommitted());
+        Assert.assertThrows(IllegalStateException.class, run::commit);
+
+        Map<String, Timestamp> reloaded = new WatermarkStore(file).get(SOURCE, "xdp_trades");
+        Assert.assertEquals(reloaded, run.getNextWatermarks());
+        Assert.assertEquals(reloaded.get("DATEOFLASTUPDATE").getNanos(), 123456000);
+        Assert.assertTrue(new WatermarkStore(file).get("sec1@GRPPRD", "XDP_TRADES").isEmpty(), "watermarks are per data source");
+
+        store.reset(SOURCE, "XDP_TRADES");
+        Assert.assertTrue(store.get(SOURCE, "XDP_TRADES").isEmpty());
+    }
+
+    private static WatermarkStore store() throws Exception {
+        return new WatermarkStore(Files.createTempDirectory("watermarks").resolve("db-watermarks.properties"));
+    }
+
+    private static void observe(WatermarkRun run, Object[][] rows) throws Exception {
+        try (RowCursor cursor = new RowCursor(null, null, result(rows))) {
+            while (cursor.next()) {
+                run.observe(cursor.row());
+            }
+        }
+    }
+
+    /**
+     * Minimal result set of DATEOFLASTUPDATE and CREATION_DATE values
+     */
+    private static ResultSet result(Object[][] rows) {
+        return FakeResultSets.of(new String[]{"DATEOFLASTUPDATE", "CREATION_DATE"},
+                new int[]{Types.TIMESTAMP, Types.TIMESTAMP}, new String[]{"TIMESTAMP", "TIMESTAMP"}, rows);
+    }
+}
@@ -2,6 +2,10 @@ package com.example.tests.fix;
 
 import com.example.screensData.xdp.GetTradesData;
 import com.example.utils.OracleDBConnection;
+import com.example.utils.db.WatermarkRun;
+import com.example.verification.market.InstrumentBar;
+import com.example.verification.market.TapeIssue;
+import com.example.verification.market.TradeTapeReport;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -9,17 +13,21 @@ import org.testng.annotations.Test;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Test class for GetTradesData
  * Tests retrieval of trades from XDP_TRADES table
  *
- * This class contains 4 focused test methods:
+ * This class contains 7 focused test methods:
  * 1. Fetch trades for today
  * 2. Fetch trades by specific date
  * 3. Fetch trades by instrument code
  * 4. Fetch and get trade count by instrument for today
+ * 5. Stream all trades with a row cursor
+ * 6. Validate only the trades changed since the last run
+ * 7. Check today's trade tape against the live quote and market summary
  */
 public class GetTradesDataTest {
 
@@ -264,6 +272,76 @@ public class GetTradesDataTest {
         System.out.println("╚════════════════════════════════════════════════════════════════╝");
     }
 
+    /**
+     * TEST 5: Stream all trades from XDP_TRADES
+     * Counts trades per instrument through the streaming cursor, without materialising the table
+     */
+    @Test(priority = 5, description = "Stream all trades with a row cursor")
+    public void testStreamAllTrades() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 5: Stream All Trades                                  ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        Map<String, Integer> instrumentCounts = new HashMap<>();
+        long processed = tradesData.streamAllTrades(row ->
+                instrumentCounts.merge(row.getString("INST_SEQ"), 1, Integer::sum));
+
+        Assert.assertTrue(processed >= 0, "Streaming query should not fail");
+        int countedTrades = instrumentCounts.values().stream().mapToInt(Integer::intValue).sum();
+        Assert.assertEquals(countedTrades, processed, "Every streamed row should be counted once");
+
+        System.out.println("✓ Streamed " + processed + " trade(s) across " + instrumentCounts.size() + " instrument(s)");
+        System.out.println("\n✓ TEST 5 PASSED: Trades streamed in constant memory");
+    }
+
+    @Test(priority = 6, description = "Validate only the trades changed since the last committed run")
+    public void testIncrementalTradeValidation() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 6: Incremental Trade Validation                       ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        WatermarkRun run = tradesData.fetchTradesChangedSinceLastRun();
+
+        Assert.assertNotNull(run, "Incremental fetch should not fail");
+        System.out.println("✓ " + run);
+        System.out.println("  Previous watermarks: " + run.getPreviousWatermarks());
+        for (Map<String, Object> trade : run.getRows()) {
+            Assert.assertNotNull(trade.get("SEQ"), "Every trade should have a sequence");
+            Assert.assertNotNull(trade.get("INST_SEQ"), "Trade " + trade.get("SEQ") + " should have an instrument");
+        }
+
+        // Only move the watermark once every changed trade has passed
+        run.commit();
+        System.out.println("  Next watermarks: " + run.getNextWatermarks());
+        System.out.println("\n✓ TEST 6 PASSED: " + run.getRowCount() + " changed trade(s) validated");
+    }
+
+    @Test(priority = 7, description = "Check today's OHLC, VWAP and volume against XDP_INST_LIVEQUOTE and XDP_MARKET_SUMMARY")
+    public void testTradeTapeAgainstSummaries() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 7: Trade Tape vs Live Quote and Market Summary        ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        TradeTapeReport report = tradesData.verifyTradeTapeToday();
+
+        Assert.assertNotNull(report, "Trade tape check should not fail");
+        System.out.println(report.getSummary());
+        for (InstrumentBar bar : report.getBars()) {
+            if (bar.hasTrades()) {
+                Assert.assertTrue(bar.getLow() <= bar.getOpen() && bar.getOpen() <= bar.getHigh(),
+                        "Open should lie within the day range: " + bar);
+                Assert.assertTrue(bar.getLow() <= bar.getLast() && bar.getLast() <= bar.getHigh(),
+                        "Last should lie within the day range: " + bar);
+            }
+        }
+        for (TapeIssue issue : report.getIssues()) {
+            System.out.println("  ✗ " + issue);
+        }
+
+        Assert.assertTrue(report.isClean(), report.getIssueCount() + " difference(s) between the tape and its summaries");
+        System.out.println("\n✓ TEST 7 PASSED: " + report.getInstrumentCount() + " instrument(s) agree with their summaries");
+    }
+
     @AfterClass
     public void tearDown() {
         System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
@@ -283,6 +361,8 @@ public class GetTradesDataTest {
         System.out.println("║  2. ✓ Fetch trades by specific date                          ║");
         System.out.println("║  3. ✓ Fetch trades by instrument code                        ║");
         System.out.println("║  4. ✓ Get trade count by instrument for today                ║");
+        System.out.println("║  6. ✓ Validate trades changed since the last run             ║");
+        System.out.println("║  7. ✓ Check the trade tape against its summaries             ║");
         System.out.println("╚═══════════════════════════════════════════════════════════════╝");
     }
 }
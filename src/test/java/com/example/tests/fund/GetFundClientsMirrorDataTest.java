@@ -2,6 +2,8 @@ package com.example.tests.fund;
 
 import com.example.screensData.fund.GetFundClientsMirrorData;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.mirror.RowDifference;
+import com.example.verification.mirror.TableDiffReport;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -276,6 +278,26 @@ public class GetFundClientsMirrorDataTest {
         }
     }
 
+    @Test(priority = 10)
+    public void testCompareWithFundClients() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 10: Diff Fund Clients Mirror Against Fund Clients     ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        TableDiffReport report = fundClientsMirrorData.compareWithFundClients();
+
+        Assert.assertNotNull(report, "Diff report should not be null");
+        System.out.println(report.getSummary());
+        for (RowDifference difference : report.getDifferences()) {
+            System.out.println("  " + difference);
+        }
+
+        Assert.assertTrue(report.getFailedBuckets().isEmpty(), "Every bucket should be diffed: " + report.getFailedBuckets());
+        Assert.assertTrue(report.getMatchedRows() + report.getChangedRows() + report.getMissingRows() <= report.getSourceRows(),
+                "Each source row should be counted at most once");
+        System.out.println("\n✓ Mirror " + (report.isConsistent() ? "matches" : "differs from") + " fund clients");
+    }
+
     @AfterClass
     public void tearDown() {
         System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
@@ -2,6 +2,8 @@ package com.example.tests.orders;
 
 import com.example.screensData.orders.GetOrdersData;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.orders.LifecycleIssue;
+import com.example.verification.orders.OrderLifecycleReport;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -484,6 +486,23 @@ public class GetOrdersDataTest {
         }
     }
 
+    @Test(priority = 16)
+    public void testReconcileOrderLifecyclesToday() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 16: Reconcile Order Lifecycles Today                  ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        OrderLifecycleReport report = ordersData.reconcileOrderLifecyclesToday();
+
+        Assert.assertNotNull(report, "Order lifecycle reconciliation should run");
+        System.out.println(report.getSummary());
+        for (LifecycleIssue issue : report.getIssues()) {
+            System.out.println("  " + issue);
+        }
+        System.out.println(report.isClean() ? "✓ Every order lifecycle is consistent"
+                : "ℹ " + report.getIssueCount() + " lifecycle issue(s) found");
+    }
+
     @AfterClass
     public void tearDown() {
         System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
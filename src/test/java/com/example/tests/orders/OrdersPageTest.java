@@ -6,6 +6,10 @@ import com.example.pages.OrdersPage;
 import com.example.screensData.xdp.GetInstrumentsData;
 import com.example.utils.Constants;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.latency.OrderHop;
+import com.example.verification.latency.OrderLatencyReport;
+import com.example.verification.latency.OrderLatencyTracer;
+import com.example.verification.latency.OrderTrace;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -1010,4 +1014,54 @@ public class OrdersPageTest extends BaseTest {
 
         logTestComplete("testClickAllInstrumentsAndCreateSellOrders", Constants.TEST_PASSED);
     }
+
+    @Test(priority = 18)
+    @Story("Order Path Latency")
+    @Description("Place BUY orders and measure the time from the confirm click to SEC_ORDERS, the FIX send and the first trade")
+    @Severity(SeverityLevel.NORMAL)
+    public void testBuyOrderPathLatency() {
+        logTestStart("testBuyOrderPathLatency");
+
+        OracleDBConnection dbConnection = null;
+
+        try {
+            Allure.step("Establish database connection");
+            dbConnection = new OracleDBConnection("DB01M:1523/GRPUAT", "sec1", "sec12345");
+            dbConnection.connect();
+
+            OrderLatencyTracer tracer = new OrderLatencyTracer(dbConnection);
+            int orders = 5;
+
+            Allure.step("Place " + orders + " BUY orders with confirmation for NIN 843");
+            for (int i = 0; i < orders; i++) {
+                tracer.submit("843", () -> {
+                    ordersPage.placeBuyOrderWithConfirmation("10", "100.00");
+                    return ordersPage.getLastConfirmMillis();
+                });
+                ordersPage.waitForPageLoad(1000);
+            }
+
+            Allure.step("Poll the order path until every order is traced");
+            OrderLatencyReport report = tracer.collect();
+            System.out.println(report.getSummary());
+            for (OrderTrace trace : report.getTraces()) {
+                System.out.println("  " + trace);
+            }
+
+            Assert.assertEquals(report.getTraces().size(), orders, "Every submitted order should be traced");
+            Assert.assertTrue(report.getLatency(OrderHop.PERSISTED).getCount() > 0, "Orders should reach SEC_ORDERS");
+            Assert.assertTrue(report.isWithinSla(), "Order path latency should be within the configured targets");
+
+        } catch (Exception e) {
+            logger.error("Error in testBuyOrderPathLatency: " + e.getMessage(), e);
+            Assert.fail("Test failed due to exception: " + e.getMessage());
+        } finally {
+            if (dbConnection != null) {
+                Allure.step("Close database connection");
+                dbConnection.closeConnection();
+            }
+        }
+
+        logTestComplete("testBuyOrderPathLatency", Constants.TEST_PASSED);
+    }
 }
@@ -2,6 +2,8 @@ package com.example.tests.portfolio;
 
 import com.example.screensData.portfolio.GetEquDailyPortfolioData;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.holdings.HoldingMismatch;
+import com.example.verification.holdings.HoldingsRebuildReport;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -12,7 +14,7 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Test class for GetEquDailyPortfolioData - Testing 5 fetch methods
+ * Test class for GetEquDailyPortfolioData - Testing 5 fetch methods and the holdings rebuild
  */
 public class GetEquDailyPortfolioDataTest {
 
@@ -354,6 +356,33 @@ public class GetEquDailyPortfolioDataTest {
         System.out.println("========================================\n");
     }
 
+    @Test(priority = 6, description = "Test rebuildHoldingsByNin method")
+    public void testRebuildHoldingsByNin() {
+        logger.info("=== Test 6: rebuildHoldingsByNin ===");
+        System.out.println("\n========================================");
+        System.out.println("Test 6: Rebuild Holdings By NIN");
+        System.out.println("========================================");
+        System.out.println("Parameters:");
+        System.out.println("  - NIN: " + TARGET_NIN);
+        System.out.println("  - Window: " + TARGET_DATE + " to " + TARGET_DATE);
+
+        HoldingsRebuildReport report = portfolioData.rebuildHoldingsByNin(TARGET_NIN, TARGET_DATE, TARGET_DATE);
+
+        Assert.assertNotNull(report, "Holdings rebuild should read all movement and snapshot tables");
+        System.out.println("\n" + report.getSummary());
+        for (HoldingMismatch mismatch : report.getMismatches()) {
+            System.out.println("  " + mismatch);
+        }
+        Assert.assertEquals(report.getClientCount(), 1);
+        if (report.isClean()) {
+            logger.info("✓ rebuildHoldingsByNin matched every stored share count");
+        } else {
+            logger.warn("⚠ " + report.getMismatchCount() + " share count(s) differ from the movement history");
+        }
+
+        System.out.println("========================================\n");
+    }
+
     @AfterClass(alwaysRun = true)
     public void teardownDatabase() {
         try {
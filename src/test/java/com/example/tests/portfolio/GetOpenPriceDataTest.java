@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Test class for GetOpenPriceData - Testing 6 fetch methods
+ * Test class for GetOpenPriceData - Testing 6 fetch methods and the price index lookup
  */
 public class GetOpenPriceDataTest {
 
@@ -393,6 +393,41 @@ public class GetOpenPriceDataTest {
         logger.info("✓ fetchLatestOpenPriceByCompanyBeforeDate executed successfully");
     }
 
+    @Test(priority = 7, description = "Test getOpenPriceBeforeDate matches the SQL lookup")
+    public void testGetOpenPriceBeforeDateFromIndex() {
+        logger.info("=== Test 7: getOpenPriceBeforeDate (price index) ===");
+        System.out.println("\n========================================");
+        System.out.println("Test 7: Open Price From In-Memory Price Index");
+        System.out.println("========================================");
+        System.out.println("Parameters:");
+        System.out.println("  - Company Code: " + TARGET_COMPANY);
+        System.out.println("  - Before Date: " + TARGET_DATE);
+
+        GetOpenPriceData indexData = new GetOpenPriceData(dbConnection);
+        Double indexed = indexData.getOpenPriceBeforeDate(TARGET_COMPANY, TARGET_DATE);
+
+        Double queried = null;
+        try {
+            String query = "SELECT CLOSE FROM MDF_TIME_SERIES " +
+                          "WHERE COMPANY_CODE = ? " +
+                          "AND TRADE_DATE = (SELECT MAX(TRADE_DATE) FROM MDF_TIME_SERIES " +
+                          "                   WHERE COMPANY_CODE = ? AND TRADE_DATE < TO_DATE(?, 'DD-Mon-YYYY'))";
+            List<Map<String, Object>> results = dbConnection.executeQueryWithParams(query, TARGET_COMPANY, TARGET_COMPANY, TARGET_DATE);
+            if (!results.isEmpty() && results.get(0).get("CLOSE") != null) {
+                queried = ((Number) results.get(0).get("CLOSE")).doubleValue();
+            }
+        } catch (Exception e) {
+            logger.error("Error querying open price: " + e.getMessage(), e);
+        }
+
+        System.out.println("\nIndex: " + indexed + ", SQL: " + queried);
+        System.out.println("========================================\n");
+
+        Assert.assertNotNull(indexed, "Price index should return an open price for company: " + TARGET_COMPANY);
+        Assert.assertEquals(indexed, queried, "Price index and SQL lookup should agree");
+        logger.info("✓ getOpenPriceBeforeDate executed successfully");
+    }
+
     @AfterClass(alwaysRun = true)
     public void teardownDatabase() {
         try {
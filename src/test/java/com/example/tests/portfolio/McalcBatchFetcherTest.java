@@ -0,0 +1,99 @@
+package com.example.tests.portfolio;
+
+import com.example.screensData.mcalc.GetTotalBuyInBetweenData;
+import com.example.utils.OracleDBConnection;
+import com.example.verification.mcalc.McalcBatchFetcher;
+import com.example.verification.mcalc.McalcInputs;
+import org.apache.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for McalcBatchFetcher - Testing batched calculator inputs against the per-NIN classes
+ */
+public class McalcBatchFetcherTest {
+
+    private static final Logger logger = Logger.getLogger(McalcBatchFetcherTest.class);
+    private OracleDBConnection dbConnection;
+    private McalcBatchFetcher batchFetcher;
+
+    private static final String TARGET_NIN = "12240";
+    private static final List<String> TARGET_NINS = Arrays.asList("12240", "12241", "12242");
+    private static final LocalDate START_DATE = LocalDate.of(2025, 12, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2025, 12, 21);
+
+    @BeforeClass
+    public void setupDatabase() {
+        try {
+            logger.info("Setting up database connection for calculator batch tests");
+
+            dbConnection = new OracleDBConnection("DB01M:1523/GRPUAT", "sec1", "sec12345");
+            dbConnection.connect();
+            batchFetcher = new McalcBatchFetcher(dbConnection, 2);
+            logger.info("Database connection established successfully");
+        } catch (Exception e) {
+            logger.error("Failed to establish database connection: " + e.getMessage(), e);
+            throw new RuntimeException("Database connection failed", e);
+        }
+    }
+
+    @Test(priority = 1, groups = {"portfolio", "database", "regression"},
+            description = "Test batched fetch returns one input bundle per NIN")
+    public void testFetchBundlesPerNin() {
+        System.out.println("\n========================================");
+        System.out.println("Test 1: Batched Calculator Inputs");
+        System.out.println("========================================");
+        System.out.println("  - NINs: " + TARGET_NINS);
+        System.out.println("  - Window: " + START_DATE + " to " + END_DATE);
+
+        boolean success = batchFetcher.fetch(TARGET_NINS, START_DATE, END_DATE);
+
+        Assert.assertTrue(success, "Batched fetch should succeed");
+        Assert.assertEquals(batchFetcher.getAllInputs().size(), TARGET_NINS.size());
+        for (McalcInputs bundle : batchFetcher.getAllInputs().values()) {
+            System.out.println("NIN " + bundle.getNin() + ": cash days=" + bundle.getDailyCashBalances().size()
+                    + ", companies=" + bundle.getCompanyCodes().size()
+                    + ", deposits=" + bundle.getRegistryDeposits().size()
+                    + ", withdrawals=" + bundle.getRegistryWithdrawals().size());
+        }
+        System.out.println("Queries: " + batchFetcher.getQueryCount() + ", Time: " + batchFetcher.getElapsedMillis() + " ms");
+        System.out.println("========================================\n");
+    }
+
+    @Test(priority = 2, groups = {"portfolio", "database", "regression"},
+            dependsOnMethods = "testFetchBundlesPerNin",
+            description = "Test batched buy totals match GetTotalBuyInBetweenData")
+    public void testBuyTotalsMatchPerNinQuery() {
+        McalcInputs bundle = batchFetcher.getInputs(TARGET_NIN);
+        Assert.assertNotNull(bundle, "Bundle should exist for " + TARGET_NIN);
+
+        GetTotalBuyInBetweenData buyData = new GetTotalBuyInBetweenData(dbConnection);
+        for (String company : bundle.getCompanyCodes()) {
+            Double expected = buyData.getTotalBuyByNinAndCompanyBetweenDates(TARGET_NIN, "01-Dec-2025", "21-Dec-2025", company);
+            BigDecimal actual = bundle.getTotalBuy().getOrDefault(company, BigDecimal.ZERO);
+            System.out.println(company + ": per-NIN=" + expected + ", batch=" + actual);
+            Assert.assertEquals(actual.doubleValue(), expected != null ? expected : 0.0, 0.001,
+                    "Total buy mismatch for " + company);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void teardownDatabase() {
+        try {
+            if (dbConnection != null) {
+                logger.info("Closing database connection");
+                dbConnection.closeConnection();
+                logger.info("Database connection closed successfully");
+            }
+        } catch (Exception e) {
+            logger.error("Error closing database connection: " + e.getMessage(), e);
+        }
+    }
+}
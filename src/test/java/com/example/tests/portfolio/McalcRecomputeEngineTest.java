@@ -0,0 +1,80 @@
+package com.example.tests.portfolio;
+
+import com.example.utils.OracleDBConnection;
+import com.example.verification.mcalc.McalcReconciliationReport;
+import com.example.verification.mcalc.McalcRecomputeEngine;
+import com.example.verification.mcalc.StudyMismatch;
+import org.apache.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for McalcRecomputeEngine - Reconciling MYCALCULATOR_STUDY against a local recomputation
+ */
+public class McalcRecomputeEngineTest {
+
+    private static final Logger logger = Logger.getLogger(McalcRecomputeEngineTest.class);
+    private OracleDBConnection dbConnection;
+    private McalcRecomputeEngine engine;
+
+    private static final List<String> TARGET_NINS = Arrays.asList("12240", "12241", "12242");
+    private static final LocalDate START_DATE = LocalDate.of(2025, 12, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2025, 12, 21);
+
+    @BeforeClass
+    public void setupDatabase() {
+        try {
+            logger.info("Setting up database connection for calculator reconciliation tests");
+
+            dbConnection = new OracleDBConnection("DB01M:1523/GRPUAT", "sec1", "sec12345");
+            dbConnection.connect();
+            engine = new McalcRecomputeEngine(dbConnection);
+            logger.info("Database connection established successfully");
+        } catch (Exception e) {
+            logger.error("Failed to establish database connection: " + e.getMessage(), e);
+            throw new RuntimeException("Database connection failed", e);
+        }
+    }
+
+    @Test(priority = 1, groups = {"portfolio", "database", "regression"},
+            description = "Test reconciliation of selected clients")
+    public void testReconcileClients() throws Exception {
+        System.out.println("\n========================================");
+        System.out.println("Test 1: Reconcile MYCALCULATOR_STUDY");
+        System.out.println("========================================");
+        System.out.println("  - NINs: " + TARGET_NINS);
+        System.out.println("  - Window: " + START_DATE + " to " + END_DATE);
+
+        McalcReconciliationReport report = engine.reconcile(TARGET_NINS, START_DATE, END_DATE);
+
+        System.out.println(report.getSummary());
+        for (StudyMismatch mismatch : report.getMismatches()) {
+            System.out.println("  " + mismatch);
+        }
+        System.out.println("========================================\n");
+
+        Assert.assertEquals(report.getClientCount(), TARGET_NINS.size(), "Every client should be reconciled");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void teardownDatabase() {
+        if (engine != null) {
+            engine.close();
+        }
+        try {
+            if (dbConnection != null) {
+                logger.info("Closing database connection");
+                dbConnection.closeConnection();
+                logger.info("Database connection closed successfully");
+            }
+        } catch (Exception e) {
+            logger.error("Error closing database connection: " + e.getMessage(), e);
+        }
+    }
+}
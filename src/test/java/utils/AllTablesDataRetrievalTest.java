@@ -5,11 +5,17 @@ import com.example.screensData.orders.GetOrdersData;
 import com.example.screensData.orders.GetOrdersHistData;
 import com.example.screensData.xdp.*;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.sweep.TableSweepReport;
+import com.example.verification.sweep.TableSweepRunner;
 import org.apache.log4j.Logger;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Comprehensive test class to execute all data retrieval classes
  * and fetch data from all XDP tables
@@ -21,6 +27,13 @@ public class AllTablesDataRetrievalTest {
     private static final Logger logger = Logger.getLogger(AllTablesDataRetrievalTest.class);
     private OracleDBConnection dbConnection;
 
+    private static final List<String> XDP_TABLES = Arrays.asList(
+            "XDP_INSTRUMENTS", "XDP_ORDERS", "XDP_TRADES", "XDP_MARKET_SUMMARY", "XDP_MARKETS",
+            "XDP_QUOTES", "XDP_INST_LIVEQUOTE", "XDP_INDICES", "XDP_ALL_MBP", "XDP_INDEX_COMPOSITION",
+            "XDP_GRP_SESSION_TIMETABLE", "XDP_LKUP_ACTIONTYPE", "XDP_LKUP_CATEGORY", "XDP_LKUP_CORP_EVENT",
+            "XDP_LKUP_CURRENCY", "XDP_LKUP_GROUP_STATE", "XDP_LKUP_HALT_ACTIONS", "XDP_LKUP_HEADER",
+            "XDP_LKUP_INST_CNTRY", "XDP_ORDERS_HIST");
+
     @BeforeClass
     public void setupDatabase() {
         try {
@@ -451,6 +464,22 @@ public class AllTablesDataRetrievalTest {
         System.out.println();
     }
 
+    /**
+     * Sweep all 20 XDP tables concurrently over pooled connections
+     * Row cap and parallelism come from db.sweep.rowCap and db.sweep.parallelism
+     */
+    @Test(priority = 0, description = "Parallel sweep of all XDP tables")
+    public void testParallelTableSweep() {
+        logger.info("\n\n========== TEST: Parallel XDP Table Sweep ==========");
+        printTableHeader("PARALLEL XDP SWEEP");
+
+        TableSweepReport report = new TableSweepRunner(dbConnection).sweepTables(XDP_TABLES);
+        System.out.println(report.getSummary());
+
+        Assert.assertEquals(report.getResults().size(), XDP_TABLES.size(), "Every XDP table should be swept");
+        Assert.assertEquals(report.getFailureCount(), 0, "No XDP table should fail to read");
+    }
+
     /**
      * Print overall summary of all tables data retrieval
      */
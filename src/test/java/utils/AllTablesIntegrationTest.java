@@ -6,6 +6,8 @@ import com.example.screensData.mcalc.GetVirtualTradeData;
 import com.example.screensData.portfolio.GetDailyPortfolioData;
 import com.example.screensData.portfolio.GetEqSharesData;
 import com.example.utils.OracleDBConnection;
+import com.example.verification.sweep.TableSweepReport;
+import com.example.verification.sweep.TableSweepRunner;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -13,6 +15,7 @@ import org.testng.annotations.Test;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -412,6 +415,20 @@ public class AllTablesIntegrationTest {
         Assert.assertEquals(exportData.size(), allClientIds.size(), "Export should contain all clients");
     }
 
+    @Test(priority = 8)
+    public void testParallelSweepOfClientTables() {
+        System.out.println("\n╔═══════════════════════════════════════════════════════════════╗");
+        System.out.println("║   TEST 8: Parallel Sweep of All Client Tables                 ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════════╝");
+
+        List<String> tables = Arrays.asList("SEC_CLIENTS", "sec_portfolio_avg_price", "MYCALCULATOR_STUDY",
+                "sec_virtual_trade", "Sec_Eq_Shares", "SEC_EQU_DAILY_PORTFOLIO");
+        TableSweepReport report = new TableSweepRunner(dbConnection).sweepTables(tables);
+        System.out.println(report.getSummary());
+
+        Assert.assertEquals(report.getFailureCount(), 0, "Every client table should be readable");
+    }
+
 
     @AfterClass
     public void tearDown() {